@@ -86,28 +86,21 @@ public class SBLS_Smart {
         // SPATIAL BALANCE
         for (int a = 1; a <= n; a++) {
             for (int b = a + 1; b <= n; b++) {
-                IntVar[] distances = new IntVar[n * n];
+                // sum of the Manhattan distances between each cell of color a and each cell of color b
+                IntVar[] fromA = new IntVar[2 * n * n];
+                IntVar[] toB = new IntVar[2 * n * n];
                 int idx = 0;
                 for (int kA = 0; kA < n; kA++) {
                     for (int kB = 0; kB < n; kB++) {
-
                         // --- Row Difference ---
-                        IntVar rDelta = rowsOfColor[a-1][kA].sub(rowsOfColor[b-1][kB]).intVar();
-                        IntVar rDiff = model.intVar(model.generateName(), 0, n);
-                        model.absolute(rDiff, rDelta).post();
-
+                        fromA[idx] = rowsOfColor[a-1][kA];
+                        toB[idx++] = rowsOfColor[b-1][kB];
                         // --- Column Difference ---
-                        IntVar cDelta = colsOfColor[a-1][kA].sub(colsOfColor[b-1][kB]).intVar();
-                        IntVar cDiff = model.intVar(model.generateName(), 0, n);
-                        model.absolute(cDiff, cDelta).post();
-
-                        // --- Sum into Distances array ---
-                        distances[idx] = model.intVar(model.generateName(), 0, 2 * n);
-                        model.arithm(rDiff, "+", cDiff, "=", distances[idx]).post();
-                        idx++;
+                        fromA[idx] = colsOfColor[a-1][kA];
+                        toB[idx++] = colsOfColor[b-1][kB];
                     }
                 }
-                model.sum(distances, "=", K).post();
+                model.sumAbsDiff(fromA, toB, "=", K).post();
             }
         }
 
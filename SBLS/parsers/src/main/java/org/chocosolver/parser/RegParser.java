@@ -18,6 +18,7 @@ import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ParallelPortfolio;
 import org.chocosolver.solver.Settings;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.presolve.Presolver;
 import org.chocosolver.solver.search.strategy.BlackBoxConfigurator;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.SearchParams;
@@ -173,6 +174,9 @@ public abstract class RegParser implements IParser {
     @Option(name = "-lcg", usage = "Set Lazy Clause Generation (LCG) on. ")
     protected boolean lcg = false;
 
+    @Option(name = "-presolve", usage = "Reformulate the model before solving (default: false).")
+    protected boolean presolve = false;
+
     @Option(name = "--disable-shutdown-hook", usage = "Disable the shutdown hook.")
     protected boolean disableShutdownHook = false;
 
@@ -212,7 +216,8 @@ public abstract class RegParser implements IParser {
     }
 
     public void createSettings() {
-        defaultSettings = Settings.prod().setLCG(lcg);
+        defaultSettings = Settings.prod().setLCG(lcg)
+                .setPresolver(presolve ? Presolver.defaults() : Presolver.none());
     }
 
     public final Settings getSettings() {
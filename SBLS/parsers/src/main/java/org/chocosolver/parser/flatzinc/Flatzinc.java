@@ -18,6 +18,7 @@ import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Settings;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.presolve.Presolver;
 import org.chocosolver.solver.search.strategy.BlackBoxConfigurator;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.SearchParams;
@@ -102,6 +103,7 @@ public class Flatzinc extends RegParser {
         defaultSettings = Settings.prod()
                 .setMinCardinalityForSumDecomposition(256)
                 .setLCG(lcg)
+                .setPresolver(presolve ? Presolver.defaults() : Presolver.none())
                 .setNbMaxLearntClauses(100_000)
                 //.setIntVarLazyLitWithWeakBounds(false)
                 .set("adhocReification", true)
@@ -0,0 +1,37 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.sat;
+
+/**
+ * An object which explains, on demand, the literals it has deduced with a lazy reason.
+ * <br/>
+ * Deducing a literal with {@link Reason#lazy(LazyExplainer, int)} only records the explainer and an integer payload
+ * on the trail, so no reason is built for the literals that never take part in a conflict analysis.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public interface LazyExplainer {
+
+    /**
+     * Explain the literal <i>p</i>, deduced with the payload <i>payload</i>.
+     * <p>
+     * When called during conflict analysis, the current state may be stronger than the one
+     * in which <i>p</i> was deduced.
+     * So, the reason should only be made of literals set before <i>p</i>,
+     * which can be checked with {@link MiniSat#falsifiedBefore(int, int)}.
+     * </p>
+     *
+     * @param p       the literal to explain
+     * @param payload the integer given when the literal was deduced
+     * @return a reason, which cannot be lazy
+     */
+    Reason explain(int p, int payload);
+}
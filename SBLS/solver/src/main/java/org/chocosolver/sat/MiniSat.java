@@ -457,6 +457,9 @@ public class MiniSat implements SatFactory, Dimacs {
         assert valueLit(l) != lTrue;
         int v = var(l);
         if (valueLit(l) == lFalse) {
+            if (r != null && r.type == 1) { // a lazy reason is needed right now
+                r = ((Reason.LazyReason) r).explain(l);
+            }
             if (r == null || r == R_Undef) {
                 // assert(decisionLevel() == 0);
                 confl = C_Fail; // todo: check
@@ -984,7 +987,26 @@ public class MiniSat implements SatFactory, Dimacs {
     }
 
     Reason reason(int x) {
-        return vardata.get(x).cr;
+        VarData vd = vardata.get(x);
+        if (vd.explainer != null) { // a lazy reason, explained once, on demand
+            vd.cr = vd.explainer.explain(trail_.get(vd.pos), vd.payload);
+            vd.explainer = null;
+        }
+        return vd.cr;
+    }
+
+    /**
+     * Check whether a literal was set to false before another one was set to true.
+     * A lazy explainer should only use such literals to explain the literal <i>p</i>.
+     *
+     * @param q a literal of a reason
+     * @param p the explained literal
+     * @return <i>true</i> if <i>q</i> is false and,
+     * when <i>p</i> is true, if <i>q</i> was set before <i>p</i> on the trail
+     */
+    public boolean falsifiedBefore(int q, int p) {
+        return valueLit(q) == lFalse
+                && (valueLit(p) != lTrue || pos(var(q)) < pos(var(p)));
     }
 
     int level(int x) {
@@ -996,7 +1018,8 @@ public class MiniSat implements SatFactory, Dimacs {
     }
 
     boolean locked(Clause c) {
-        Clause cr = getConfl(c._g(0));
+        // do not look into the reason, a lazy one would be explained for nothing
+        Reason cr = vardata.get(var(c._g(0))).cr;
         return valueLit(c._g(0)) == lTrue
                 && cr != C_Undef
                 && cr == c;
@@ -1173,9 +1196,9 @@ public class MiniSat implements SatFactory, Dimacs {
                 st.append(")");
                 //st.append(" -> ").append(printLit(r.cl._g(0)));
                 break;
-            //case 1:
-            //    ss << "absorbed binary clause?";
-            //    break;
+            case 1:
+                st.append("lazy reason from ").append(((Reason.LazyReason) r).explainer);
+                break;
             case 2:
                 st.append("single literal ").append(printLit(neg(((Reason.Reason1) r).d1)));
                 break;
@@ -1211,23 +1234,35 @@ public class MiniSat implements SatFactory, Dimacs {
 
     private static final class VarData {
         private Reason cr;
+        /**
+         * When the reason is lazy, only its explainer and its payload are stored, and <i>cr</i> is null
+         */
+        private LazyExplainer explainer;
+        private int payload;
         private int level;
         private int pos;
 
         public VarData(Reason cr, int level, int pos) {
-            this.cr = cr;
-            this.level = level;
-            this.pos = pos;
+            set(cr, level, pos);
         }
 
         private void set(Reason cr, int level, int pos){
-            this.cr = cr;
+            if (cr != null && cr.type == 1) {
+                Reason.LazyReason lr = (Reason.LazyReason) cr;
+                this.cr = null;
+                this.explainer = lr.explainer;
+                this.payload = lr.payload;
+            } else {
+                this.cr = cr;
+                this.explainer = null;
+            }
             this.level = level;
             this.pos = pos;
         }
 
         private void clearReason(){
             this.cr = R_Undef;
+            this.explainer = null;
         }
     }
 
@@ -36,7 +36,13 @@ public abstract class Reason implements ICause {
      */
     private final static ThreadLocal<Clause> short_expl_3 = ThreadLocal.withInitial(() -> new Clause(new int[]{0, 0, 0}));
     /**
-     * The type of reason among {0, 2, 3}.
+     * A thread-local lazy reason.
+     * This reason is static and can be reused in the same thread.
+     */
+    private final static ThreadLocal<LazyReason> lazy_expl = ThreadLocal.withInitial(LazyReason::new);
+    /**
+     * The type of reason among {0, 1, 2, 3}.
+     * 1: a lazy reason, explained on demand
      * 2: a reason with one literal (and the asserting literal)
      * 3: a reason with two literals (and the asserting literal)
      * 0: a reason with more than two literals (and the asserting literal)
@@ -115,6 +121,25 @@ public abstract class Reason implements ICause {
         }
     }
 
+    /**
+     * Create a lazy reason.
+     * Only the explainer and the payload are recorded on the trail,
+     * the reason itself is built by {@link LazyExplainer#explain(int, int)}
+     * when the literal is involved in a conflict analysis, which is usually rare.
+     *
+     * @param explainer the object to call back to explain the literal
+     * @param payload   an integer that allows <i>explainer</i> to retrieve what it has deduced
+     * @return a reason
+     * @implSpec In practice, this reason is static and can be reused in the same thread,
+     * it should thus be passed to a variable modification right away.
+     */
+    public static Reason lazy(LazyExplainer explainer, int payload) {
+        LazyReason r = lazy_expl.get();
+        r.explainer = explainer;
+        r.payload = payload;
+        return r;
+    }
+
     /**
      * Gather a reason with a new literal.
      *
@@ -133,6 +158,8 @@ public abstract class Reason implements ICause {
                 ps[cl.size()] = p;
                 return Reason.r(ps);
             }
+            case 1:
+                return gather(((LazyReason) r).explain(0), p);
             case 2:
                 return Reason.r(((Reason1) r).d1, p);
             case 3: {
@@ -204,4 +231,36 @@ public abstract class Reason implements ICause {
         }
     }
 
+    /**
+     * A reason which is explained on demand
+     */
+    final static class LazyReason extends Reason {
+        LazyExplainer explainer;
+        int payload;
+
+        private LazyReason() {
+            super(1);
+        }
+
+        /**
+         * @param p the literal to explain, the constant false literal (<i>0</i>) when it is not set yet
+         * @return the reason of <i>p</i>
+         */
+        Reason explain(int p) {
+            Reason r = explainer.explain(p, payload);
+            assert r.type != 1 : "a lazy reason should be explained by an eager one";
+            return r;
+        }
+
+        @Override
+        public Clause getConflict() {
+            return explain(0).getConflict();
+        }
+
+        @Override
+        public String toString() {
+            return "lazy:" + explainer + "/" + payload;
+        }
+    }
+
 }
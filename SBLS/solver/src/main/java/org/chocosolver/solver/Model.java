@@ -65,6 +65,10 @@ public final class Model implements IModel {
     public static final String TASK_SET_HOOK_NAME = "H_TASKSET";
     public static final String MINISAT_HOOK_NAME = "H_MINISAT";
     public static final String IBEX_HOOK_NAME = "H_IBEX";
+    /**
+     * Name of internal hook dedicated to store the multi-valued decision diagrams shared by table constraints.
+     */
+    public static final String MDD_HOOK_NAME = "H_MDD";
 
     /**
      * Settings to use with this solver
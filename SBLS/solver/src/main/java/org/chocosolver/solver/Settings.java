@@ -14,6 +14,7 @@ import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.solver.constraints.ISatFactory;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.real.Ibex;
+import org.chocosolver.solver.presolve.Presolver;
 import org.chocosolver.solver.search.strategy.BlackBoxConfigurator;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.impl.IntVarLazyLit;
@@ -51,6 +52,8 @@ public class Settings {
 
     private int timeLimitForPreprocessing = -1;
 
+    private Presolver presolver = Presolver.none();
+
     private boolean sortPropagatorActivationWRTPriority = true;
 
     private int maxPropagatorPriority = PropagatorPriority.VERY_SLOW.getValue();
@@ -327,6 +330,28 @@ public class Settings {
         return this;
     }
 
+    /**
+     * @return the presolver applied to the model before the initial propagation
+     */
+    public Presolver getPresolver() {
+        return presolver;
+    }
+
+    /**
+     * Set the presolver to apply to the model before the initial propagation.
+     * The presolver reformulates the model, for instance by removing duplicated constraints
+     * or by replacing cliques of disequalities by allDifferent constraints.
+     * By default, no reformulation is applied.
+     *
+     * @param presolver a presolver
+     * @return the current instance
+     * @see Presolver#defaults()
+     */
+    public Settings setPresolver(Presolver presolver) {
+        this.presolver = presolver;
+        return this;
+    }
+
 
     /**
      * @return {@code true} if propagators are sorted wrt their priority on initial activation.
@@ -23,6 +23,10 @@ import java.util.List;
 
 /**
  * Class which stores the value of each variable in a solution <br/>
+ * <p>
+ * Each variable to store is given a slot, once, so that recording, accessing and restoring values
+ * boil down to array accesses. Values of variables not declared to be stored can still be set,
+ * they are kept in maps.
  *
  * @author Jean-Guillaume Fages
  * @author Charles Prud'homme
@@ -45,15 +49,40 @@ public class Solution implements ICause {
      */
     private boolean empty;
     /**
-     * Maps of value for integer variable (id - value)
+     * Slot of each variable to store, wrt its ID minus {@link #base}, plus one (0 stands for no slot).
+     * It is computed once and shared by copies of this object.
+     */
+    private int[] slots;
+    /**
+     * Smallest ID of the variables to store
+     */
+    private int base;
+    /**
+     * Set to <tt>true</tt> when the value of a slot is known
+     */
+    private boolean[] known;
+    /**
+     * Values of integer variables, in their slot
+     */
+    private int[] ivals;
+    /**
+     * Bounds of real variables, in twice their slot
+     */
+    private double[] rvals;
+    /**
+     * Values of set variables, in their slot
+     */
+    private int[][] svals;
+    /**
+     * Maps of value for integer variable (id - value), when not declared to be stored
      */
     private TIntIntHashMap intmap;
     /**
-     * Maps of value for real variable (id - value)
+     * Maps of value for real variable (id - value), when not declared to be stored
      */
     private TIntObjectHashMap<double[]> realmap;
     /**
-     * Maps of value for set variable (id - values)
+     * Maps of value for set variable (id - values), when not declared to be stored
      */
     private TIntObjectHashMap<int[]> setmap;
 
@@ -90,6 +119,45 @@ public class Solution implements ICause {
     // METHODS
     //***********************************************************************************
 
+    /**
+     * Compute the slot of each variable to store, if not done yet.
+     *
+     * @return <tt>false</tt> if the variables to store are not known yet
+     */
+    private boolean index() {
+        if (slots == null) {
+            if (varsToStore.length == 0) {
+                if (model == null || model.getNbVars() == 0) {
+                    return false;
+                }
+                varsToStore = model.getVars();
+            }
+            int min = Integer.MAX_VALUE, max = 0;
+            for (Variable var : varsToStore) {
+                min = Math.min(min, var.getId());
+                max = Math.max(max, var.getId());
+            }
+            base = min;
+            slots = new int[max - min + 1];
+            for (int i = 0; i < varsToStore.length; i++) {
+                slots[varsToStore[i].getId() - base] = i + 1;
+            }
+            known = new boolean[varsToStore.length];
+        }
+        return true;
+    }
+
+    /**
+     * @return the slot of the variable whose ID is <i>id</i>, or -1 if it has no slot
+     */
+    private int slot(int id) {
+        if (!index()) {
+            return -1;
+        }
+        id -= base;
+        return id >= 0 && id < slots.length ? slots[id] - 1 : -1;
+    }
+
     /**
      * Records the current solution of the solver clears all previous recordings
      *
@@ -98,9 +166,7 @@ public class Solution implements ICause {
     public Solution record() {
         empty = false;
         boolean warn = false;
-        if (varsToStore.length == 0) {
-            varsToStore = model.getVars();
-        }
+        index();
         assert varsToStore.length > 0;
         if (intmap != null) {
             intmap.clear();
@@ -111,33 +177,36 @@ public class Solution implements ICause {
         if (setmap != null) {
             setmap.clear();
         }
-        for (Variable var : varsToStore) {
+        for (int i = 0; i < varsToStore.length; i++) {
+            Variable var = varsToStore[i];
+            known[i] = false;
             if ((var.getTypeAndKind() & Variable.TYPE) != Variable.CSTE) {
                 int kind = var.getTypeAndKind() & Variable.KIND;
                 if (var.isInstantiated()) {
                     switch (kind) {
                         case Variable.INT:
                         case Variable.BOOL:
-                            if (intmap == null) {
-                                intmap = new TIntIntHashMap(16, .5f, Solution.NO_ENTRY,
-                                    Solution.NO_ENTRY);
+                            if (ivals == null) {
+                                ivals = new int[varsToStore.length];
                             }
-                            IntVar v = (IntVar) var;
-                            intmap.put(v.getId(), v.getValue());
+                            ivals[i] = ((IntVar) var).getValue();
+                            known[i] = true;
                             break;
                         case Variable.REAL:
-                            if (realmap == null) {
-                                realmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
+                            if (rvals == null) {
+                                rvals = new double[2 * varsToStore.length];
                             }
                             RealVar r = (RealVar) var;
-                            realmap.put(r.getId(), new double[]{r.getLB(), r.getUB()});
+                            rvals[2 * i] = r.getLB();
+                            rvals[2 * i + 1] = r.getUB();
+                            known[i] = true;
                             break;
                         case Variable.SET:
-                            if (setmap == null) {
-                                setmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
+                            if (svals == null) {
+                                svals = new int[varsToStore.length][];
                             }
-                            SetVar s = (SetVar) var;
-                            setmap.put(s.getId(), s.getValue().toArray());
+                            svals[i] = ((SetVar) var).getValue().toArray();
+                            known[i] = true;
                             break;
                         default:
                             // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
@@ -161,26 +230,24 @@ public class Solution implements ICause {
             return "Empty solution. No solution recorded yet";
         }
         StringBuilder st = new StringBuilder("Solution: ");
-        for (Variable var : varsToStore) {
+        for (int i = 0; i < varsToStore.length; i++) {
+            Variable var = varsToStore[i];
             if ((var.getTypeAndKind() & Variable.TYPE) != Variable.CSTE) {
                 int kind = var.getTypeAndKind() & Variable.KIND;
                 switch (kind) {
                     case Variable.INT:
                     case Variable.BOOL:
-                        IntVar v = (IntVar) var;
-                        st.append(v.getName()).append("=").append(intmap.get(v.getId()))
-                            .append(", ");
+                        st.append(var.getName()).append("=")
+                            .append(known[i] ? ivals[i] : NO_ENTRY).append(", ");
                         break;
                     case Variable.REAL:
-                        RealVar r = (RealVar) var;
-                        double[] bounds = realmap.get(r.getId());
-                        st.append(r.getName()).append("=[").append(bounds[0]).append(",")
-                            .append(bounds[1]).append("], ");
+                        st.append(var.getName()).append("=[")
+                            .append(known[i] ? rvals[2 * i] : NO_ENTRY).append(",")
+                            .append(known[i] ? rvals[2 * i + 1] : NO_ENTRY).append("], ");
                         break;
                     case Variable.SET:
-                        SetVar s = (SetVar) var;
-                        st.append(s.getName()).append("=")
-                            .append(Arrays.toString(setmap.get(s.getId()))).append(", ");
+                        st.append(var.getName()).append("=")
+                            .append(Arrays.toString(known[i] ? svals[i] : null)).append(", ");
                         break;
                     default:
                         // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
@@ -192,9 +259,42 @@ public class Solution implements ICause {
         return st.toString();
     }
 
+    /**
+     * Create an empty solution object able to store the value of the same variables as this one
+     * when calling <code>record()</code>.
+     * The slot of each variable is computed once and shared by the two objects,
+     * which avoids computing it again when many solutions over the same variables are built.
+     *
+     * @return a new empty solution over the variables of this one
+     */
+    public Solution emptyCopy() {
+        Solution ret = new Solution(model, varsToStore);
+        if (index()) {
+            ret.varsToStore = varsToStore;
+            ret.slots = slots;
+            ret.base = base;
+            ret.known = new boolean[varsToStore.length];
+        }
+        return ret;
+    }
+
     public Solution copySolution() {
         Solution ret = new Solution(model, varsToStore);
         ret.empty = empty;
+        ret.slots = slots;
+        ret.base = base;
+        if (known != null) {
+            ret.known = known.clone();
+        }
+        if (ivals != null) {
+            ret.ivals = ivals.clone();
+        }
+        if (rvals != null) {
+            ret.rvals = rvals.clone();
+        }
+        if (svals != null) {
+            ret.svals = svals.clone();
+        }
         if (intmap != null) {
             ret.intmap = new TIntIntHashMap(intmap);
         }
@@ -221,7 +321,10 @@ public class Solution implements ICause {
             throw new SolverException("Cannot access value of " + v
                 + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (intmap != null && intmap.containsKey(v.getId())) {
+        int i = slot(v.getId());
+        if (i >= 0 && known[i] && ivals != null) {
+            return ivals[i];
+        } else if (intmap != null && intmap.containsKey(v.getId())) {
             return intmap.get(v.getId());
         } else {
             if ((v.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
@@ -241,10 +344,19 @@ public class Solution implements ICause {
      */
     public void setIntVal(IntVar var, int val) {
         empty = false;
-        if (intmap == null) {
-            intmap = new TIntIntHashMap(16, .5f, Solution.NO_ENTRY, Solution.NO_ENTRY);
+        int i = slot(var.getId());
+        if (i >= 0) {
+            if (ivals == null) {
+                ivals = new int[varsToStore.length];
+            }
+            ivals[i] = val;
+            known[i] = true;
+        } else {
+            if (intmap == null) {
+                intmap = new TIntIntHashMap(16, .5f, Solution.NO_ENTRY, Solution.NO_ENTRY);
+            }
+            intmap.put(var.getId(), val);
         }
-        intmap.put(var.getId(), val);
     }
 
     /**
@@ -261,7 +373,10 @@ public class Solution implements ICause {
             throw new SolverException("Cannot access value of " + s
                 + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (setmap != null && setmap.containsKey(s.getId())) {
+        int i = slot(s.getId());
+        if (i >= 0 && known[i] && svals != null) {
+            return svals[i];
+        } else if (setmap != null && setmap.containsKey(s.getId())) {
             return setmap.get(s.getId());
         } else if ((s.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
             return s.getValue().toArray();
@@ -279,10 +394,19 @@ public class Solution implements ICause {
      */
     public void setSetVal(SetVar var, int[] val) {
         empty = false;
-        if (setmap == null) {
-            setmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
+        int i = slot(var.getId());
+        if (i >= 0) {
+            if (svals == null) {
+                svals = new int[varsToStore.length][];
+            }
+            svals[i] = val;
+            known[i] = true;
+        } else {
+            if (setmap == null) {
+                setmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
+            }
+            setmap.put(var.getId(), val);
         }
-        setmap.put(var.getId(), val);
     }
 
     /**
@@ -299,7 +423,10 @@ public class Solution implements ICause {
             throw new SolverException("Cannot access value of " + r
                 + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (realmap != null && realmap.containsKey(r.getId())) {
+        int i = slot(r.getId());
+        if (i >= 0 && known[i] && rvals != null) {
+            return new double[]{rvals[2 * i], rvals[2 * i + 1]};
+        } else if (realmap != null && realmap.containsKey(r.getId())) {
             return realmap.get(r.getId());
         } else {
             if ((r.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
@@ -319,13 +446,23 @@ public class Solution implements ICause {
      */
     public void setRealBounds(RealVar var, double[] val) {
         empty = false;
-        if (realmap == null) {
-            realmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-        }
         if (val.length != 2) {
             throw new SolverException("wrong array size");
         }
-        realmap.put(var.getId(), val);
+        int i = slot(var.getId());
+        if (i >= 0) {
+            if (rvals == null) {
+                rvals = new double[2 * varsToStore.length];
+            }
+            rvals[2 * i] = val[0];
+            rvals[2 * i + 1] = val[1];
+            known[i] = true;
+        } else {
+            if (realmap == null) {
+                realmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
+            }
+            realmap.put(var.getId(), val);
+        }
     }
 
     /**
@@ -372,23 +509,28 @@ public class Solution implements ICause {
      * @throws ContradictionException if restoring the solution leads to failure
      */
     public void restore() throws ContradictionException {
-        for (Variable var : varsToStore) {
+        index();
+        for (int i = 0; i < varsToStore.length; i++) {
+            Variable var = varsToStore[i];
             if ((var.getTypeAndKind() & Variable.TYPE) != Variable.CSTE) {
                 int kind = var.getTypeAndKind() & Variable.KIND;
                 switch (kind) {
                     case Variable.INT:
                     case Variable.BOOL:
-                        IntVar v = (IntVar) var;
-                        v.instantiateTo(intmap.get(v.getId()), this);
+                        // a variable not instantiated while recording is given no value, which fails
+                        ((IntVar) var).instantiateTo(known[i] ? ivals[i] : NO_ENTRY, this);
                         break;
                     case Variable.REAL:
-                        RealVar r = (RealVar) var;
-                        double[] bounds = realmap.get(r.getId());
-                        r.updateBounds(bounds[0], bounds[1], this);
+                        if (!known[i]) {
+                            var.contradiction(this, "no value recorded");
+                        }
+                        ((RealVar) var).updateBounds(rvals[2 * i], rvals[2 * i + 1], this);
                         break;
                     case Variable.SET:
-                        SetVar s = (SetVar) var;
-                        s.instantiateTo(setmap.get(s.getId()), this);
+                        if (!known[i]) {
+                            var.contradiction(this, "no value recorded");
+                        }
+                        ((SetVar) var).instantiateTo(svals[i], this);
                         break;
                     default:
                         // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
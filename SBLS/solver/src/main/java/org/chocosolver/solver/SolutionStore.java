@@ -0,0 +1,415 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A compact store of many solutions over a fixed set of integer variables.
+ * <p>
+ * Values are stored column-wise: each variable comes with a bit-packed column where a value is
+ * encoded as its offset from the variable's lower bound at the creation of this store.
+ * So, a value of a variable whose initial domain is <i>[lb, ub]</i> requires <i>log2(ub - lb + 1)</i> bits,
+ * that is, one bit for a boolean variable and none for a constant.
+ * <p>
+ * A store can be plugged to a solver, as a solution monitor, to record each solution found:
+ * <pre>
+ *     {@code
+ *     SolutionStore store = new SolutionStore(model);
+ *     model.getSolver().plugMonitor(store);
+ *     while (model.getSolver().solve()) ;
+ *     int[] first = store.getIntVals(0);
+ *     }
+ * </pre>
+ * or be filled by {@link org.chocosolver.solver.search.IResolutionHelper#findAllSolutions(SolutionStore, org.chocosolver.util.criteria.Criterion...)}.
+ * Solutions can also be written to, and read from, a data stream, to be spilled to disk for instance.
+ *
+ * @author Charles Prud'homme
+ * @see Solution
+ * @since 19/10/2026
+ */
+public class SolutionStore implements IMonitorSolution, ICause, Iterable<Solution> {
+
+    /**
+     * Model of the solutions
+     */
+    private final Model model;
+    /**
+     * Variables to store
+     */
+    private final IntVar[] vars;
+    /**
+     * Lower bound of each variable, when this store was created
+     */
+    private final int[] offsets;
+    /**
+     * Number of bits to store a value of each variable
+     */
+    private final int[] widths;
+    /**
+     * Bit-packed values of each variable
+     */
+    private final long[][] columns;
+    /**
+     * Position of a variable in {@link #vars}, wrt its ID
+     */
+    private final TIntIntHashMap positions;
+    /**
+     * An empty solution over {@link #vars}, whose slots are shared by the solutions built by {@link #get(int)}
+     */
+    private final Solution shape;
+    /**
+     * Number of solutions stored, and maximum number of solutions storable without growing
+     */
+    private int size, capacity;
+
+    /**
+     * Create an empty store for the solutions of <i>model</i> over all its integer variables.
+     *
+     * @param model model of the solutions
+     */
+    public SolutionStore(Model model) {
+        this(model, model.retrieveIntVars(true));
+    }
+
+    /**
+     * Create an empty store for the solutions of <i>model</i> over <i>vars</i>.
+     * The domain of each variable is read at this time, to compute the space its values need.
+     *
+     * @param model model of the solutions
+     * @param vars  variables to store
+     */
+    public SolutionStore(Model model, IntVar... vars) {
+        this.model = model;
+        this.vars = vars.clone();
+        this.offsets = new int[vars.length];
+        this.widths = new int[vars.length];
+        this.columns = new long[vars.length][];
+        this.positions = new TIntIntHashMap(vars.length, .5f, -1, -1);
+        this.shape = new Solution(model, this.vars);
+        this.capacity = 16;
+        for (int i = 0; i < vars.length; i++) {
+            offsets[i] = vars[i].getLB();
+            widths[i] = 64 - Long.numberOfLeadingZeros((long) vars[i].getUB() - vars[i].getLB());
+            columns[i] = new long[words(i, capacity)];
+            positions.put(vars[i].getId(), i);
+        }
+    }
+
+    private int words(int i, int nbSolutions) {
+        return (int) (((long) widths[i] * nbSolutions + 63) >>> 6);
+    }
+
+    private void ensureCapacity(int nbSolutions) {
+        if (nbSolutions > capacity) {
+            capacity = Math.max(nbSolutions, (int) Math.min(Integer.MAX_VALUE - 8, capacity * 3L / 2 + 1));
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], words(i, capacity));
+            }
+        }
+    }
+
+    /**
+     * Write the offset <i>code</i> of variable <i>i</i> in solution <i>s</i>
+     */
+    private void put(int i, int s, long code) {
+        int w = widths[i];
+        if (w == 0) {
+            return;
+        }
+        long[] col = columns[i];
+        long pos = (long) s * w;
+        int word = (int) (pos >>> 6);
+        int off = (int) (pos & 63);
+        long mask = -1L >>> (64 - w);
+        code &= mask;
+        col[word] = (col[word] & ~(mask << off)) | (code << off);
+        if (off + w > 64) {
+            col[word + 1] = (col[word + 1] & ~(mask >>> (64 - off))) | (code >>> (64 - off));
+        }
+    }
+
+    /**
+     * @return the offset code of variable <i>i</i> in solution <i>s</i>
+     */
+    private long code(int i, int s) {
+        int w = widths[i];
+        if (w == 0) {
+            return 0;
+        }
+        long[] col = columns[i];
+        long pos = (long) s * w;
+        int word = (int) (pos >>> 6);
+        int off = (int) (pos & 63);
+        long code = col[word] >>> off;
+        if (off + w > 64) {
+            code |= col[word + 1] << (64 - off);
+        }
+        return code & (-1L >>> (64 - w));
+    }
+
+    /**
+     * Records the current solution of the solver, after the ones already stored.
+     *
+     * @return the index of the recorded solution
+     * @throws SolverException if a variable is not instantiated
+     *                         or if its value is out of its domain when this store was created
+     */
+    public int record() {
+        for (int i = 0; i < vars.length; i++) {
+            if (!vars[i].isInstantiated()) {
+                throw new SolverException("Cannot record " + vars[i] + " in a SolutionStore: it is not instantiated");
+            }
+            if (!fits(i, (long) vars[i].getValue() - offsets[i])) {
+                throw new SolverException("Cannot record " + vars[i] + " in a SolutionStore: " +
+                        "its value is out of its domain when the store was created");
+            }
+        }
+        ensureCapacity(size + 1);
+        for (int i = 0; i < vars.length; i++) {
+            put(i, size, (long) vars[i].getValue() - offsets[i]);
+        }
+        return size++;
+    }
+
+    /**
+     * @return <tt>true</tt> if the offset <i>code</i> can be stored in the column of variable <i>i</i>
+     */
+    private boolean fits(int i, long code) {
+        return code >= 0 && 64 - Long.numberOfLeadingZeros(code) <= widths[i];
+    }
+
+    @Override
+    public void onSolution() {
+        record();
+    }
+
+    /**
+     * @return the number of solutions stored
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return <tt>true</tt> if no solution is stored
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all the solutions stored
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return a copy of the variables stored
+     */
+    public IntVar[] getVars() {
+        return vars.clone();
+    }
+
+    private void checkIndex(int s) {
+        if (s < 0 || s >= size) {
+            throw new SolverException("No solution " + s + " in a SolutionStore of size " + size);
+        }
+    }
+
+    /**
+     * Get the value of variable <i>v</i> in the <i>s</i>-th solution.
+     *
+     * @param s index of a solution
+     * @param v a variable stored
+     * @return the value of variable <i>v</i> in the <i>s</i>-th solution
+     * @throws SolverException if there is no <i>s</i>-th solution or if <i>v</i> is not stored
+     */
+    public int getIntVal(int s, IntVar v) {
+        checkIndex(s);
+        int i = positions.get(v.getId());
+        if (i < 0 || vars[i] != v) {
+            if ((v.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
+                return v.getValue();
+            }
+            throw new SolverException("Cannot access value of " + v
+                    + ": This variable has not been declared to be recorded in the SolutionStore (see SolutionStore constructor).");
+        }
+        return (int) (offsets[i] + code(i, s));
+    }
+
+    /**
+     * Get the values of the <i>s</i>-th solution, in the order of the variables stored.
+     *
+     * @param s index of a solution
+     * @return the values of the <i>s</i>-th solution
+     * @throws SolverException if there is no <i>s</i>-th solution
+     */
+    public int[] getIntVals(int s) {
+        checkIndex(s);
+        int[] values = new int[vars.length];
+        for (int i = 0; i < vars.length; i++) {
+            values[i] = (int) (offsets[i] + code(i, s));
+        }
+        return values;
+    }
+
+    /**
+     * Build a {@link Solution} from the <i>s</i>-th solution.
+     *
+     * @param s index of a solution
+     * @return a new {@link Solution} over the variables stored
+     * @throws SolverException if there is no <i>s</i>-th solution
+     */
+    public Solution get(int s) {
+        checkIndex(s);
+        Solution solution = shape.emptyCopy();
+        for (int i = 0; i < vars.length; i++) {
+            solution.setIntVal(vars[i], (int) (offsets[i] + code(i, s)));
+        }
+        return solution;
+    }
+
+    /**
+     * Restore the <i>s</i>-th solution in the model, as {@link Solution#restore()} does.
+     *
+     * @param s index of a solution
+     * @throws SolverException        if there is no <i>s</i>-th solution
+     * @throws ContradictionException if restoring the solution leads to failure
+     */
+    public void restore(int s) throws ContradictionException {
+        checkIndex(s);
+        for (int i = 0; i < vars.length; i++) {
+            vars[i].instantiateTo((int) (offsets[i] + code(i, s)), this);
+        }
+        model.getSolver().propagate();
+    }
+
+    /**
+     * @return an iterator over the solutions stored, each one is built on demand (see {@link #get(int)}).
+     */
+    @Override
+    public Iterator<Solution> iterator() {
+        return new Iterator<Solution>() {
+            int s = 0;
+
+            @Override
+            public boolean hasNext() {
+                return s < size;
+            }
+
+            @Override
+            public Solution next() {
+                if (s >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(s++);
+            }
+        };
+    }
+
+    /**
+     * @return a sequential stream of the solutions stored, each one is built on demand (see {@link #get(int)}).
+     */
+    public Stream<Solution> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Write the solutions stored in <i>out</i>.
+     *
+     * @param out a data output
+     * @throws IOException if an I/O error occurs
+     * @see #read(DataInput)
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(vars.length);
+        for (int i = 0; i < vars.length; i++) {
+            out.writeInt(offsets[i]);
+            out.writeInt(widths[i]);
+        }
+        out.writeInt(size);
+        for (int i = 0; i < vars.length; i++) {
+            int n = words(i, size);
+            for (int k = 0; k < n; k++) {
+                out.writeLong(columns[i][k]);
+            }
+        }
+    }
+
+    /**
+     * Read solutions written by {@link #write(DataOutput)} and add them after the ones already stored.
+     * The solutions must have been written by a store over the same variables, in the same order.
+     *
+     * @param in a data input
+     * @throws IOException     if an I/O error occurs
+     * @throws SolverException if the solutions read are not over the same variables
+     *                         or if a value read is out of the initial domain of its variable in this store
+     */
+    public void read(DataInput in) throws IOException {
+        if (in.readInt() != vars.length) {
+            throw new SolverException("SolutionStore: the solutions read are not over the same variables");
+        }
+        int[] offs = new int[vars.length];
+        int[] ws = new int[vars.length];
+        for (int i = 0; i < vars.length; i++) {
+            offs[i] = in.readInt();
+            ws[i] = in.readInt();
+        }
+        int n = in.readInt();
+        ensureCapacity(size + n);
+        long[][] read = new long[vars.length][];
+        for (int i = 0; i < vars.length; i++) {
+            read[i] = new long[(int) (((long) ws[i] * n + 63) >>> 6)];
+            for (int k = 0; k < read[i].length; k++) {
+                read[i][k] = in.readLong();
+            }
+        }
+        int from = size;
+        for (int s = 0; s < n; s++) {
+            for (int i = 0; i < vars.length; i++) {
+                long code = (long) offs[i] - offsets[i];
+                int w = ws[i];
+                if (w > 0) {
+                    long pos = (long) s * w;
+                    int word = (int) (pos >>> 6);
+                    int off = (int) (pos & 63);
+                    long c = read[i][word] >>> off;
+                    if (off + w > 64) {
+                        c |= read[i][word + 1] << (64 - off);
+                    }
+                    code += c & (-1L >>> (64 - w));
+                }
+                if (!fits(i, code)) {
+                    // none of the solutions read is kept
+                    size = from;
+                    throw new SolverException("SolutionStore: the value read for " + vars[i] + " is out of its domain");
+                }
+                put(i, size, code);
+            }
+            size++;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.objective.IBoundsManager;
 import org.chocosolver.solver.objective.IObjectiveManager;
 import org.chocosolver.solver.objective.ObjectiveFactory;
+import org.chocosolver.solver.presolve.Presolver;
 import org.chocosolver.solver.propagation.PropagationEngine;
 import org.chocosolver.solver.search.SearchState;
 import org.chocosolver.solver.search.limits.ICounter;
@@ -387,6 +388,7 @@ public final class Solver implements ISolver, IMeasures, IOutputFactory {
      */
     private boolean initialize() {
         boolean ok = true;
+        presolve();
         checkDeclaredConstraints();
         checkExplainedVariables();
         checkExplainedConstraints();
@@ -455,6 +457,19 @@ public final class Solver implements ISolver, IMeasures, IOutputFactory {
         return ok;
     }
 
+    /**
+     * Apply the presolver declared in the settings, if the resolution did not start yet.
+     */
+    private void presolve() {
+        Presolver presolver = mModel.getSettings().getPresolver();
+        if (!engine.isInitialized() && !presolver.isEmpty()) {
+            int n = presolver.apply(mModel);
+            if (n > 0 && getModel().getSettings().warnUser()) {
+                logger.white().printf("Presolve made %d reformulation(s).\n", n);
+            }
+        }
+    }
+
     private void checkDeclaredConstraints() {
         if (mModel.getSettings().checkDeclaredConstraints()) {
             //noinspection unchecked
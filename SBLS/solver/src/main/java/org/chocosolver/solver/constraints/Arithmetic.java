@@ -161,6 +161,27 @@ public class Arithmetic extends Constraint {
 		}
 	}
 
+	/**
+	 * @return the operators of this constraint, as declared on creation, the second one is {@link Operator#NONE} for VAR op CSTE
+	 */
+	public Operator[] getOperators() {
+		return new Operator[]{op1, op2};
+	}
+
+	/**
+	 * @return the constant of this constraint, as declared on creation
+	 */
+	public int getConstant() {
+		return cste;
+	}
+
+	/**
+	 * @return the variables of this constraint, as declared on creation
+	 */
+	public IntVar[] getVariables() {
+		return vars.clone();
+	}
+
 	@Override
 	public Constraint makeOpposite(){
 		Model model = vars[0].getModel();
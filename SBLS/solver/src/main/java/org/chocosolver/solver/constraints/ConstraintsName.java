@@ -167,6 +167,8 @@ public class ConstraintsName {
 
     public static final String SUM = "SUM";
 
+    public static final String SUMABSDIFF = "SUMABSDIFF";
+
     public static final String MIXEDSCALAR = "MIXEDSCALAR";
 
     public static final String INTEQREAL = "INTEQREAL";
@@ -49,6 +49,7 @@ import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
 import org.chocosolver.solver.constraints.nary.element.PropElementV_fast;
 import org.chocosolver.solver.constraints.nary.globalcardinality.GlobalCardinality;
 import org.chocosolver.solver.constraints.nary.knapsack.PropKnapsack;
+import org.chocosolver.solver.constraints.nary.knapsack.PropKnapsackDP;
 import org.chocosolver.solver.constraints.nary.knapsack.PropKnapsackKatriel01;
 import org.chocosolver.solver.constraints.nary.lex.PropIncreasing;
 import org.chocosolver.solver.constraints.nary.lex.PropLex;
@@ -62,6 +63,7 @@ import org.chocosolver.solver.constraints.nary.nvalue.amnv.rules.R1;
 import org.chocosolver.solver.constraints.nary.nvalue.amnv.rules.R3;
 import org.chocosolver.solver.constraints.nary.sort.PropKeysorting;
 import org.chocosolver.solver.constraints.nary.sum.IntLinCombFactory;
+import org.chocosolver.solver.constraints.nary.sum.PropSumAbsDiff;
 import org.chocosolver.solver.constraints.nary.tree.PropAntiArborescences;
 import org.chocosolver.solver.constraints.ternary.*;
 import org.chocosolver.solver.constraints.unary.Member;
@@ -76,6 +78,7 @@ import org.chocosolver.util.iterators.DisposableRangeIterator;
 import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.tools.ArrayUtils;
+import org.chocosolver.util.tools.MathUtils;
 import org.chocosolver.util.tools.VariableUtils;
 
 import java.util.ArrayList;
@@ -450,12 +453,14 @@ public interface IIntConstraintFactory extends ISelf<Model> {
      * @param var1   first variable
      * @param var2   second variable
      * @param tuples the relation between the two variables, among {"AC3", "AC3rm", "AC3bit+rm", "AC2001", "CT+", "FC"}
+     * @implNote When LCG is enabled, the table is turned into clauses, unless the tuples are allowed ones and
+     * <i>algo</i> is "CT+", which is explained.
      */
     default Constraint table(IntVar var1, IntVar var2, Tuples tuples, String algo) {
         Object[] args = variableUniqueness(new IntVar[]{var1, var2});
         var1 = ((IntVar[]) args[0])[0];
         var2 = ((IntVar[]) args[0])[1];
-        if (ref().getSolver().isLCG()) {
+        if (ref().getSolver().isLCG() && !(tuples.isFeasible() && algo.equals("CT+"))) {
             if (ref().getSettings().warnUser()) {
                 ref().getSolver().log().white().println(
                         "Warning: table constraint is turned into clauses (due to LCG).");
@@ -1161,6 +1166,29 @@ public interface IIntConstraintFactory extends ISelf<Model> {
      *                 (which counts from 1 to n instead of from 0 to n-1)
      */
     default Constraint binPacking(IntVar[] itemBin, int[] itemSize, IntVar[] binLoad, int offset) {
+        return binPacking(itemBin, itemSize, binLoad, offset, false);
+    }
+
+    /**
+     * Creates a BinPacking constraint.
+     * Bin Packing formulation:
+     * forall b in [0,binLoad.length-1],
+     * binLoad[b]=sum(itemSize[i] | i in [0,itemSize.length-1], itemBin[i] = b+offset
+     * forall i in [0,itemSize.length-1], itemBin is in [offset,binLoad.length-1+offset],
+     * <p>
+     * When <i>knapsack</i> is set to <tt>true</tt>, the loads reachable in each bin are computed exactly
+     * with a dynamic programming, whose memory grows with the capacity of the bins and the number of items,
+     * and the L2 lower bound of Martello and Toth is applied.
+     * This may strengthen the filtering but also slows down each propagation.
+     *
+     * @param itemBin  IntVar representing the bin of each item
+     * @param itemSize int representing the size of each item
+     * @param binLoad  IntVar representing the load of each bin (i.e. the sum of the size of the items in it)
+     * @param offset   0 by default but typically 1 if used within MiniZinc
+     *                 (which counts from 1 to n instead of from 0 to n-1)
+     * @param knapsack set to <tt>true</tt> to enable knapsack-based filtering and the L2 lower bound
+     */
+    default Constraint binPacking(IntVar[] itemBin, int[] itemSize, IntVar[] binLoad, int offset, boolean knapsack) {
         if (itemBin.length != itemSize.length) {
             throw new SolverException("itemBin and itemSize arrays should have same size");
         }
@@ -1202,7 +1230,7 @@ public interface IIntConstraintFactory extends ISelf<Model> {
         }
         return Constraint.merge(
                 ConstraintsName.BINPACKING,
-                new Constraint(ConstraintsName.BINPACKING, new PropBinPacking(itemBin, itemSize, binLoad, offset)),
+                new Constraint(ConstraintsName.BINPACKING, new PropBinPacking(itemBin, itemSize, binLoad, offset, true, knapsack)),
                 ref().sum(binLoad, "=", sum),
                 !list.isEmpty() ? ref().allDifferent(list.toArray(new IntVar[0])) : null
         );
@@ -1508,12 +1536,15 @@ public interface IIntConstraintFactory extends ISelf<Model> {
      * @param incremental specifies if an incremental propagation should be applied
      * @param filters     specifies which filtering algorithms to apply
      * @return a cumulative constraint
+     * @implNote With LCG, the time-table filters (TIME and SWEEP), the disjunctive filter and the default filter
+     * explain their filtering (see {@link CumulFilter#isExplained()}).
+     * When any other filter is requested, the constraint is decomposed.
      */
     default Constraint cumulative(Task[] tasks, IntVar[] heights, IntVar capacity, boolean incremental, CumulFilter... filters) {
-        if (ref().getSolver().isLCG()) {
+        if (ref().getSolver().isLCG() && !Arrays.stream(filters).allMatch(CumulFilter::isExplained)) {
             if (ref().getSettings().warnUser()) {
                 ref().getSolver().log().white().println(
-                        "Warning: cumulative constraint is decomposed (due to LCG).");
+                        "Warning: cumulative constraint is decomposed (due to LCG and unexplained filters).");
             }
             ref().cumulativeDec(tasks, heights, capacity);
             return ref().voidConstraint();
@@ -1708,6 +1739,33 @@ public interface IIntConstraintFactory extends ISelf<Model> {
      * @param closed      restricts domains of vars to values if set to true
      */
     default Constraint globalCardinality(IntVar[] vars, int[] values, IntVar[] occurrences, boolean closed) {
+        return globalCardinality(vars, values, occurrences, closed, GlobalCardinality.DEFAULT);
+    }
+
+    /**
+     * Creates a global cardinality constraint (GCC):
+     * Each value values[i] should be taken by exactly occurrences[i] variables of vars.
+     * <br/>
+     * The consistency level, on the variables of vars, should be chosen among "AC", "BC" and "DEFAULT".
+     *
+     * @param vars        collection of variables
+     * @param values      collection of constrained values
+     * @param occurrences collection of cardinality variables
+     * @param closed      restricts domains of vars to values if set to true
+     * @param consistency consistency level, among {"AC", "BC", "DEFAULT"}
+     *                    <p>
+     *                    <b>AC</b>:
+     *                    Uses Regin algorithm, based on a flow maintained from one call to another.
+     *                    Ensures generalized arc consistency on vars wrt the bounds of the cardinality variables.
+     *                    <p>
+     *                    <b>BC</b>:
+     *                    Same as AC but holes in domains are ignored and only bounds of vars are filtered.
+     *                    The size of the underlying graph does not depend on the size of the domains.
+     *                    <p>
+     *                    <b>DEFAULT</b>:
+     *                    No particular consistency but fast.
+     */
+    default Constraint globalCardinality(IntVar[] vars, int[] values, IntVar[] occurrences, boolean closed, String consistency) {
         if (ref().getSolver().isLCG()) {
             if (ref().getSettings().warnUser()) {
                 ref().getSolver().log().white().println(
@@ -1751,10 +1809,10 @@ public interface IIntConstraintFactory extends ISelf<Model> {
                     v2[i] = toAdd.get(i - values.length);
                     cards[i] = vars[0].getModel().intVar(0);
                 }
-                return new GlobalCardinality(vars, v2, cards);
+                return new GlobalCardinality(vars, v2, cards, consistency);
             }
         }
-        return new GlobalCardinality(vars, values, occurrences);
+        return new GlobalCardinality(vars, values, occurrences, consistency);
     }
 
     /**
@@ -1924,6 +1982,32 @@ public interface IIntConstraintFactory extends ISelf<Model> {
      */
     default Constraint knapsack(IntVar[] occurrences, IntVar weightSum, IntVar energySum,
                                 int[] weight, int[] energy) {
+        return knapsack(occurrences, weightSum, energySum, weight, energy, false);
+    }
+
+    /**
+     * Creates a knapsack constraint.
+     * Ensures that :
+     * <br/>- occurrences[i] * weight[i] = weightSum
+     * <br/>- occurrences[i] * energy[i] = energySum
+     * <br/>and maximizing the value of energySum.
+     * <p>
+     * When <i>dp</i> is set to <tt>true</tt> and the upper bound of weightSum is moderate
+     * (see {@link PropKnapsackDP#isApplicable(IntVar[], int, int[], int[])}),
+     * a dynamic programming propagator also ensures arc consistency on 0/1 occurrences
+     * (bounds consistency otherwise).
+     * Its two tables hold up to (number of items + 1) * (weightSum upper bound + 1) cells each.
+     *
+     * @param occurrences number of occurrences of every item
+     * @param weightSum   load of the knapsack
+     * @param energySum   profit of the knapsack
+     * @param weight      weight of each item (must be >=0)
+     * @param energy      energy of each item (must be >=0)
+     * @param dp          set to <tt>true</tt> to add the dynamic programming propagator, when applicable
+     * @see #knapsack(IntVar[], IntVar, IntVar, int[], int[])
+     */
+    default Constraint knapsack(IntVar[] occurrences, IntVar weightSum, IntVar energySum,
+                                int[] weight, int[] energy, boolean dp) {
         Constraint scalar1 = scalar(occurrences, weight, "=", weightSum);
         scalar1.ignore();
         Constraint scalar2 = scalar(occurrences, energy, "=", energySum);
@@ -1960,14 +2044,19 @@ public interface IIntConstraintFactory extends ISelf<Model> {
                     scalar2.propagators,
                     new Propagator[]{new PropKnapsack(occurrences, weightSum, energySum, weight, energy)}));
         }
+        Propagator<?>[] props = new Propagator[]{
+                new PropKnapsack(occurrences, weightSum, energySum, weight, energy),
+                new PropKnapsackKatriel01(bs.toArray(new BoolVar[0]), weightSum, energySum,
+                        ws.stream().mapToInt(k -> k).toArray(), es.stream().mapToInt(k -> k).toArray())
+        };
+        if (dp && PropKnapsackDP.isApplicable(occurrences, weightSum.getUB(), weight, energy)) {
+            props = ArrayUtils.append(props, new Propagator[]{
+                    new PropKnapsackDP(occurrences, weightSum, energySum, weight, energy)});
+        }
         return new Constraint(ConstraintsName.KNAPSACK, ArrayUtils.append(
                 scalar1.propagators,
                 scalar2.propagators,
-                new Propagator[]{
-                        new PropKnapsack(occurrences, weightSum, energySum, weight, energy),
-                        new PropKnapsackKatriel01(bs.toArray(new BoolVar[0]), weightSum, energySum,
-                                ws.stream().mapToInt(k -> k).toArray(), es.stream().mapToInt(k -> k).toArray())
-                }
+                props
         ));
     }
 
@@ -2254,11 +2343,34 @@ public interface IIntConstraintFactory extends ISelf<Model> {
      */
     default Constraint multiCostRegular(IntVar[] vars, IntVar[] costVars,
                                         ICostAutomaton costAutomaton, double precision) {
+        return multiCostRegular(vars, costVars, costAutomaton, precision, PropMultiCostRegular.MAXBOUNDITER);
+    }
+
+    /**
+     * Creates a regular constraint that supports a multiple cost function.
+     * Ensures that the assignment of a sequence of vars is recognized by costAutomaton, a deterministic finite automaton,
+     * and that the sum of the cost vector associated to each assignment is bounded by the variable vector costVars.
+     * This version allows to specify different costs according to the automaton state at which the assignment occurs
+     * (i.e. the transition starts).
+     * The bounds of the first cost variable are computed with a lagrangian relaxation of the other resources,
+     * the number of iterations of which is bounded by lagrangianIterations.
+     * The fewer the iterations, the faster but the weaker the filtering.
+     *
+     * @param vars                 sequence of variables
+     * @param costVars             cost variables
+     * @param costAutomaton        a deterministic finite automaton defining the regular language and the costs
+     *                             Can be built from method CostAutomaton.makeMultiResources(...)
+     * @param precision            the smallest used double for MCR algorithm
+     * @param lagrangianIterations maximum number of iterations of the lagrangian relaxation, for each bound
+     *                             computation (default is {@link PropMultiCostRegular#MAXBOUNDITER})
+     */
+    default Constraint multiCostRegular(IntVar[] vars, IntVar[] costVars,
+                                        ICostAutomaton costAutomaton, double precision, int lagrangianIterations) {
         if (ref().getSolver().isLCG()) {
             throw new SolverException("multiCostRegular constraint is not supported in LCG mode");
         }
         return new Constraint(ConstraintsName.MULTICOSTREGULAR,
-                new PropMultiCostRegular(vars, costVars, costAutomaton, precision));
+                new PropMultiCostRegular(vars, costVars, costAutomaton, precision, lagrangianIterations));
     }
 
     /**
@@ -2712,6 +2824,51 @@ public interface IIntConstraintFactory extends ISelf<Model> {
         }
     }
 
+    /**
+     * Creates a sum of absolute differences constraint: Sum(|x[i] - y[i]|) operator total.
+     * <p>
+     * A single propagator maintains the bounds of each |x[i] - y[i]| from the domains of x[i] and y[i],
+     * which is stronger and lighter than composing {@link #absolute(IntVar, IntVar)}, subtractions
+     * and a {@link #sum(IntVar[], String, IntVar)}, for instance to express Manhattan distances.
+     *
+     * @param x        a collection of IntVar
+     * @param y        a collection of IntVar, for which |x|=|y|
+     * @param operator an operator in {"=", "!=", ">","<",">=","<="}
+     * @param total    an IntVar
+     * @return a sum of absolute differences constraint
+     */
+    default Constraint sumAbsDiff(IntVar[] x, IntVar[] y, String operator, IntVar total) {
+        if (x.length != y.length) {
+            throw new SolverException("x and y arrays should have same size");
+        }
+        Operator op = Operator.get(operator);
+        switch (op) {
+            case EQ:
+            case LE:
+            case GE:
+                return new Constraint(ConstraintsName.SUMABSDIFF, new PropSumAbsDiff(x, y, op, total));
+            case LT:
+                return new Constraint(ConstraintsName.SUMABSDIFF,
+                        new PropSumAbsDiff(x, y, Operator.LE, ref().offset(total, -1)));
+            case GT:
+                return new Constraint(ConstraintsName.SUMABSDIFF,
+                        new PropSumAbsDiff(x, y, Operator.GE, ref().offset(total, 1)));
+            case NQ: {
+                long ub = 0;
+                for (int i = 0; i < x.length; i++) {
+                    ub += Math.max((long) x[i].getUB() - y[i].getLB(), (long) y[i].getUB() - x[i].getLB());
+                }
+                IntVar s = ref().intVar(ref().generateName("SAD_"), 0, MathUtils.safeCast(Math.max(0, ub)), true);
+                return new Constraint(ConstraintsName.SUMABSDIFF,
+                        new PropSumAbsDiff(x, y, Operator.EQ, s),
+                        new PropNotEqualX_Y(s, total));
+            }
+            default:
+                throw new SolverException("Unexpected operator " + operator
+                        + " (should be in {\"=\", \"!=\", \">\",\"<\",\">=\",\"<=\"})");
+        }
+    }
+
     /**
      * Creates a table constraint specifying that the sequence of variables vars must belong to the list of tuples
      * (or must NOT belong in case of infeasible tuples)
@@ -2764,11 +2921,13 @@ public interface IIntConstraintFactory extends ISelf<Model> {
      * @param vars   variables forming the tuples
      * @param tuples the relation between the variables (list of allowed/forbidden tuples). Should not be modified once passed to the constraint.
      * @param algo   to choose among {"CT+", "GAC3rm", "GAC2001", "GACSTR", "GAC2001+", "GAC3rm+", "FC", "STR2+"}
+     * @implNote When LCG is enabled, the table is turned into clauses, unless the tuples are allowed ones and
+     * <i>algo</i> is either "CT+" or "STR2+", which are explained.
      */
     default Constraint table(IntVar[] vars, Tuples tuples, String algo) {
         // if some variables appears more than one time, the filtering algorithm can be not correct
         vars = (IntVar[]) variableUniqueness(vars)[0];
-        if (ref().getSolver().isLCG()) {
+        if (ref().getSolver().isLCG() && !(tuples.isFeasible() && (algo.equals("CT+") || algo.equals("STR2+")))) {
             if (ref().getSettings().warnUser()) {
                 ref().getSolver().log().white().println(
                         "Warning: table constraint is turned into clauses.");
@@ -2807,7 +2966,7 @@ public interface IIntConstraintFactory extends ISelf<Model> {
             }
             break;
             case "MDD+":
-                p = new PropLargeMDDC(new MultivaluedDecisionDiagram(vars, tuples), vars);
+                p = new PropLargeMDDC(MultivaluedDecisionDiagram.share(vars, tuples), vars);
                 break;
             case "FC":
                 p = new PropLargeFC(vars, tuples);
@@ -9,9 +9,13 @@
  */
 package org.chocosolver.solver.constraints.extension.nary;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.memory.IStateInt;
 import org.chocosolver.memory.IStateLong;
+import org.chocosolver.sat.LazyExplainer;
+import org.chocosolver.sat.MiniSat;
+import org.chocosolver.sat.Reason;
 import org.chocosolver.solver.constraints.Explained;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
@@ -20,19 +24,29 @@ import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.solver.variables.impl.BoolVarEagerLit;
+import org.chocosolver.solver.variables.impl.IntVarEagerLit;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.procedure.UnaryIntProcedure;
 
+import java.util.Arrays;
+
 /**
  * Propagator for table constraint based on "Compact-Table: Efficiently Filtering Table Constraints
  * with Reversible Sparse Bit-Sets" Only for feasible Tuples
+ * <p>
+ * In LCG, the removal of a value is explained by the removed values of the other variables
+ * which invalidate its supports.
+ * These values are selected greedily over the bitset of the supports:
+ * the value which invalidates the largest number of remaining supports is picked first.
+ * When all variables are eagerly encoded, the removals are explained lazily, only when needed.
  *
  * @author Jean-Guillaume FAGES
  * @author Charles Prud'homme
  * @since 28/04/2016
  */
-@Explained(ignored = true, comment = "Turned into clauses")
-public class PropCompactTable extends Propagator<IntVar> {
+@Explained
+public class PropCompactTable extends Propagator<IntVar> implements LazyExplainer {
 
     //***********************************************************************************
     // VARIABLES
@@ -45,6 +59,19 @@ public class PropCompactTable extends Propagator<IntVar> {
     protected int[] offset;
     protected IIntDeltaMonitor[] monitors;
     private final UnaryIntProcedure<Integer> onValRem;
+    /**
+     * For explanations only: the index, in {@link #tuples}, of the tuple each bit stands for
+     */
+    protected int[] tupleOf;
+    /**
+     * For explanations only: the supports still to be explained
+     */
+    private long[] dead;
+    private TIntArrayList lits;
+    /**
+     * Set to <i>true</i> when removals are explained lazily
+     */
+    private boolean lazy;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -60,6 +87,12 @@ public class PropCompactTable extends Propagator<IntVar> {
         super(vars, PropagatorPriority.QUADRATIC, true);
         this.tuples = tuples;
         this.currTable = new RSparseBitSet(model.getEnvironment(), this.tuples.nbTuples());
+        if (lcg()) {
+            this.tupleOf = new int[tuples.nbTuples()];
+            this.dead = new long[currTable.words.length];
+            this.lits = new TIntArrayList();
+            this.lazy = Arrays.stream(vars).allMatch(v -> v instanceof IntVarEagerLit || v instanceof BoolVarEagerLit);
+        }
         computeSupports(tuples);
         monitors = new IIntDeltaMonitor[vars.length];
         for (int i = 0; i < vars.length; i++) {
@@ -118,6 +151,9 @@ public class PropCompactTable extends Propagator<IntVar> {
                 tmp = supports[i][tuple[i] - offset[i]];
                 tmp[wI] |= 1L << (bI);
             }
+            if (tupleOf != null) {
+                tupleOf[wI * 64 + 63 - bI] = ti;
+            }
             if (--bI < 0) {
                 bI = 63;
                 wI++;
@@ -161,14 +197,14 @@ public class PropCompactTable extends Propagator<IntVar> {
         }
         currTable.intersectWithMask();
         if (currTable.isEmpty()) { // fail as soon as possible
-            fails();
+            fails(lcg() ? explainFailure() : Reason.undef());
         }
         forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
     }
 
     private void filterDomains() throws ContradictionException {
         if (currTable.isEmpty()) {// to keep as we skip instantiated vars
-            fails();
+            fails(lcg() ? explainFailure() : Reason.undef());
         }
         for (int i = 0; i < vars.length; i++) {
             if (vars[i].hasEnumeratedDomain()) {
@@ -196,7 +232,19 @@ public class PropCompactTable extends Propagator<IntVar> {
                 break;
             }
         }
-        vars[i].updateLowerBound(lb, this);
+        if (lcg() && lb > vars[i].getLB()) {
+            Arrays.fill(dead, 0L);
+            for (int v = vars[i].getLB(); v < lb; v++) {
+                addToDead(supports[i][v - offset[i]]);
+            }
+            cover(i, 0);
+            if (vars[i].getLB() > offset[i]) { // the values below the current lower bound are not explained
+                lits.add(vars[i].getMinLit());
+            }
+            vars[i].updateLowerBound(lb, this, reason());
+        } else {
+            vars[i].updateLowerBound(lb, this);
+        }
         for (int v = ub; v >= lb; v--) {
             int index = residues[i][v - offset[i]];
             if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
@@ -211,7 +259,19 @@ public class PropCompactTable extends Propagator<IntVar> {
                 break;
             }
         }
-        vars[i].updateUpperBound(ub, this);
+        if (lcg() && ub < vars[i].getUB()) {
+            Arrays.fill(dead, 0L);
+            for (int v = vars[i].getUB(); v > ub; v--) {
+                addToDead(supports[i][v - offset[i]]);
+            }
+            cover(i, 0);
+            if (vars[i].getUB() < offset[i] + supports[i].length - 1) { // the values above the current upper bound are not explained
+                lits.add(vars[i].getMaxLit());
+            }
+            vars[i].updateUpperBound(ub, this, reason());
+        } else {
+            vars[i].updateUpperBound(ub, this);
+        }
     }
 
     private void enumFilter(int i) throws ContradictionException {
@@ -221,7 +281,16 @@ public class PropCompactTable extends Propagator<IntVar> {
             if ((currTable.words[index].get() & supports[i][v - offset[i]][index]) == 0L) {
                 index = currTable.intersectIndex(supports[i][v - offset[i]]);
                 if (index == -1) {
-                    vars[i].removeValue(v, this);
+                    if (lazy) {
+                        vars[i].removeValue(v, this, Reason.lazy(this, (v - offset[i]) * vars.length + i));
+                    } else if (lcg()) {
+                        Arrays.fill(dead, 0L);
+                        addToDead(supports[i][v - offset[i]]);
+                        cover(i, 0);
+                        vars[i].removeValue(v, this, reason());
+                    } else {
+                        vars[i].removeValue(v, this);
+                    }
                 } else {
                     residues[i][v - offset[i]] = index;
                 }
@@ -229,6 +298,155 @@ public class PropCompactTable extends Propagator<IntVar> {
         }
     }
 
+    //***********************************************************************************
+    // EXPLANATIONS
+    //***********************************************************************************
+
+    /**
+     * @param var index of a variable
+     * @param idx index of a value of this variable
+     * @return the supports which are not valid anymore when the value is removed from the variable
+     */
+    protected long[] lostSupports(int var, int idx) {
+        return supports[var][idx];
+    }
+
+    private void addToDead(long[] m) {
+        for (int k = 0; k < dead.length; k++) {
+            dead[k] |= m[k];
+        }
+    }
+
+    /**
+     * @return the reason why no tuple is valid anymore
+     */
+    private Reason explainFailure() {
+        Arrays.fill(dead, 0L);
+        for (long[] m : supports[0]) {
+            addToDead(m);
+        }
+        cover(-1, 0);
+        return reason();
+    }
+
+    @Override
+    public Reason explain(int p, int payload) {
+        int i = payload % vars.length;
+        Arrays.fill(dead, 0L);
+        addToDead(supports[i][payload / vars.length]);
+        cover(i, p);
+        return reason();
+    }
+
+    /**
+     * Explain why the supports in {@link #dead} are not valid anymore,
+     * by the removed values of all variables but the <i>i</i>-th one.
+     * The value which invalidates the largest number of remaining supports is picked first.
+     * The literals are stored in {@link #lits}.
+     *
+     * @param i index of the variable to ignore, -1 to ignore none
+     * @param p the literal to explain, only relevant when explanations are lazy
+     */
+    private void cover(int i, int p) {
+        lits.resetQuick();
+        lits.add(0); // place for the modified literal
+        boolean star = tuples.allowUniversalValue();
+        for (int w = 0; w < dead.length; w++) {
+            while (dead[w] != 0L) {
+                int[] tuple = tuples.get(tupleOf[w * 64 + Long.numberOfLeadingZeros(dead[w])]);
+                int best = -1;
+                int bestLit = -1;
+                int max = 0;
+                for (int j = 0; j < vars.length; j++) {
+                    if (j == i || (star && tuple[j] == tuples.getStarValue())) {
+                        continue;
+                    }
+                    int q = removedLit(j, tuple[j], p);
+                    if (q == -1) {
+                        continue;
+                    }
+                    long[] m = lostSupports(j, tuple[j] - offset[j]);
+                    int cnt = 0;
+                    for (int k = w; k < dead.length; k++) {
+                        cnt += Long.bitCount(dead[k] & m[k]);
+                    }
+                    if (cnt > max) {
+                        max = cnt;
+                        best = j;
+                        bestLit = q;
+                    }
+                }
+                assert best > -1 : "a dead support should have a removed value";
+                lits.add(bestLit);
+                long[] m = lostSupports(best, tuple[best] - offset[best]);
+                for (int k = w; k < dead.length; k++) {
+                    dead[k] &= ~m[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the reason made of {@link #lits}
+     */
+    private Reason reason() {
+        if (lits.size() == 1) {
+            return Reason.undef();
+        } else if (lits.size() == 2) {
+            return Reason.r(lits.getQuick(1));
+        }
+        return Reason.r(lits.toArray());
+    }
+
+    /**
+     * @return the literal to add to a reason to state that <i>v</i> is not in the domain of the <i>j</i>-th variable,
+     * -1 if it is in the domain (or, when explanations are lazy, if it was removed after <i>p</i>)
+     */
+    private int removedLit(int j, int v, int p) {
+        if (lazy) {
+            return removedLit(vars[j], v, model.getSolver().getSat(), p);
+        }
+        return vars[j].contains(v) ? -1 : removedLit(vars[j], v);
+    }
+
+    /**
+     * @return the literal to add to a reason to state that <i>v</i> is not in the domain of <i>x</i>.
+     * When <i>v</i> is out of the bounds of <i>x</i>, it is lifted to the weakest bound
+     * if <i>x</i> is eagerly encoded, it is the current bound otherwise.
+     */
+    static int removedLit(IntVar x, int v) {
+        if (v < x.getLB()) {
+            return x instanceof IntVarEagerLit ? MiniSat.neg(x.getLit(v + 1, IntVar.LR_GE)) : x.getMinLit();
+        } else if (v > x.getUB()) {
+            return x instanceof IntVarEagerLit ? MiniSat.neg(x.getLit(v - 1, IntVar.LR_LE)) : x.getMaxLit();
+        }
+        return x.getLit(v, IntVar.LR_EQ);
+    }
+
+    /**
+     * @return the literal, set before <i>p</i>, which states that <i>v</i> is not in the domain of <i>x</i>,
+     * -1 if there is none.
+     * <i>x</i> is expected to be eagerly encoded.
+     */
+    static int removedLit(IntVar x, int v, MiniSat sat, int p) {
+        int q = x.getLit(v, IntVar.LR_EQ);
+        if (sat.falsifiedBefore(q, p)) {
+            return q;
+        }
+        if (x instanceof IntVarEagerLit) {
+            // the value may have been removed by a bound update
+            q = MiniSat.neg(x.getLit(v + 1, IntVar.LR_GE));
+            if (sat.falsifiedBefore(q, p)) {
+                return q;
+            }
+            q = MiniSat.neg(x.getLit(v - 1, IntVar.LR_LE));
+            if (sat.falsifiedBefore(q, p)) {
+                return q;
+            }
+        }
+        return -1;
+    }
+
     @Override
     public ESat isEntailed() {
         // TODO optim : check current according to currTable?
@@ -25,7 +25,7 @@ import org.chocosolver.util.procedure.UnaryIntProcedure;
  * @author Jean-Guillaume FAGES
  * @since 16/05/2017
  */
-@Explained(ignored = true, comment = "Turned into clauses")
+@Explained
 public class PropCompactTableStar extends PropCompactTable {
 
     //***********************************************************************************
@@ -110,10 +110,18 @@ public class PropCompactTableStar extends PropCompactTable {
                     }
                 }
             }
+            if (tupleOf != null) {
+                tupleOf[wI * 64 + 63 - bI] = ti;
+            }
             if (--bI < 0) {
                 bI = 63;
                 wI++;
             }
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    protected long[] lostSupports(int var, int idx) {
+        return inc_supports[var][idx];
+    }
+}
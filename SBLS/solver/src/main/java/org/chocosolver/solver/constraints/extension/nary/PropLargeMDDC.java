@@ -9,29 +9,64 @@
  */
 package org.chocosolver.solver.constraints.extension.nary;
 
-import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
+import org.chocosolver.memory.IStateIntVector;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.ESat;
-import org.chocosolver.util.objects.StoredSparseSet;
+import org.chocosolver.util.objects.graphs.LayeredMDD;
 import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
+import org.chocosolver.util.procedure.UnaryIntProcedure;
 
 /**
- * Implementation based on "Maintaining GAC on adhoc r-ary constraints", Cheng and Yap, CP12.
+ * Implementation based on "Improving GAC-4 for Table and MDD Constraints", Perez and Régin, CP14 (MDD-4R).
+ * <p/>
+ * The edges of each value are stored in a sparse set, with a backtrackable size,
+ * and each node maintains the number of its live in-coming and out-going edges.
+ * When values are removed, which is read from the deltas of the variables,
+ * their edges are removed, then the nodes that lost all their in-coming (resp. out-going) edges
+ * are removed with their out-going (resp. in-coming) edges, and so on.
+ * A value is removed from its domain when its last edge is removed.
+ * So, the work done is proportional to the number of removed edges, not to the size of the diagram.
+ * <p/>
+ * The diagram and its {@link LayeredMDD} are read-only: they can be shared between multiple propagators,
+ * only the sparse sets and the counters are specific to each propagator.
  * <p/>
  * Created by cprudhom on 04/11/14.
  * Project: choco.
  */
 public class PropLargeMDDC extends Propagator<IntVar> {
 
-    private final TIntSet yes;
-    private final TIntSet[] sets;
-    private final StoredSparseSet no;
     private final MultivaluedDecisionDiagram MDD;
+    private final LayeredMDD graph;
     private final int nvars;
+    /**
+     * Edges grouped by value: the live edges of value v are edges[labelStart(v), labelStart(v) + size(v))
+     */
+    private final int[] edges;
+    private final int[] position;
+    private final IStateIntVector size;
+    /**
+     * Number of live in-coming and out-going edges of each node
+     */
+    private final IStateIntVector inDegree;
+    private final IStateIntVector outDegree;
+    /**
+     * Nodes to remove, with their out-going (resp. in-coming) edges
+     */
+    private final int[] downStack;
+    private final int[] upStack;
+    private int downSize, upSize;
+    /**
+     * Values that lost their last edge
+     */
+    private final int[] emptied;
+    private int emptiedSize;
+    private final IIntDeltaMonitor[] monitors;
+    private final UnaryIntProcedure<Integer> onValRem;
 
     /**
      * Create a propagator maintaining GAC based on a MDD.
@@ -41,85 +76,210 @@ public class PropLargeMDDC extends Propagator<IntVar> {
      * @param VARS the related variables -- the order is important, and need to match the MDD.
      */
     public PropLargeMDDC(MultivaluedDecisionDiagram MDD, IntVar... VARS) {
-        super(VARS, PropagatorPriority.QUADRATIC, false);
+        super(VARS, PropagatorPriority.QUADRATIC, true);
         this.MDD = MDD;
         this.nvars = vars.length;
-        this.yes = new TIntHashSet();
-        this.no = new StoredSparseSet(VARS[0].getEnvironment());
-        this.sets = new TIntHashSet[nvars];
+        this.graph = MDD.getLayered();
+        int nbNodes = graph.getNbNodes();
+        int nbEdges = graph.getNbEdges();
+        int nbValues = graph.getNbValues();
+        this.edges = graph.getLabelEdges().clone();
+        this.position = new int[nbEdges];
+        for (int i = 0; i < nbEdges; i++) {
+            position[edges[i]] = i;
+        }
+        // initial values are not trailed, since they are set in the current world
+        this.size = model.getEnvironment().makeIntVector(nbValues, 0);
+        for (int v = 0; v < nbValues; v++) {
+            size.quickSet(v, graph.labelStart(v + 1) - graph.labelStart(v));
+        }
+        this.inDegree = model.getEnvironment().makeIntVector(nbNodes, 0);
+        this.outDegree = model.getEnvironment().makeIntVector(nbNodes, 0);
+        for (int u = 0; u < nbNodes; u++) {
+            inDegree.quickSet(u, graph.inStart(u + 1) - graph.inStart(u));
+            outDegree.quickSet(u, graph.outStart(u + 1) - graph.outStart(u));
+        }
+        this.downStack = new int[nbNodes];
+        this.upStack = new int[nbNodes];
+        this.emptied = new int[nbValues];
+        this.monitors = new IIntDeltaMonitor[nvars];
         for (int i = 0; i < nvars; i++) {
-            this.sets[i] = new TIntHashSet(vars[i].getDomainSize());
+            monitors[i] = vars[i].monitorDelta(this);
         }
+        this.onValRem = new UnaryIntProcedure<Integer>() {
+            int layer;
+
+            @Override
+            public UnaryIntProcedure<Integer> set(Integer o) {
+                layer = o;
+                return this;
+            }
+
+            @Override
+            public void execute(int v) {
+                int j = v - MDD.getOffset(layer);
+                if (j >= 0 && j < MDD.getNodeSize(layer)) {
+                    removeValue(graph.valueStart(layer) + j);
+                }
+            }
+        };
     }
 
     @Override
     public void propagate(int evtmask) throws ContradictionException {
-        mddc();
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            clear();
+            // nodes that cannot be reached, or that cannot reach the terminal node
+            for (int u = 0; u < graph.getNbNodes(); u++) {
+                if (u != 0 && inDegree.quickGet(u) == 0) {
+                    downStack[downSize++] = u;
+                }
+                if (u != graph.terminal() && outDegree.quickGet(u) == 0) {
+                    upStack[upSize++] = u;
+                }
+            }
+            for (int i = 0; i < nvars; i++) {
+                int o = MDD.getOffset(i);
+                for (int j = 0; j < MDD.getNodeSize(i); j++) {
+                    if (!vars[i].contains(j + o)) {
+                        removeValue(graph.valueStart(i) + j);
+                    }
+                }
+            }
+            filter();
+            for (int i = 0; i < nvars; i++) {
+                // values out of the diagram, or without edge
+                int o = MDD.getOffset(i);
+                vars[i].updateBounds(o, o + MDD.getNodeSize(i) - 1, this);
+                int ub = vars[i].getUB();
+                for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
+                    if (size.quickGet(graph.valueStart(i) + v - o) == 0) {
+                        vars[i].removeValue(v, this);
+                    }
+                }
+                monitors[i].startMonitoring();
+            }
+        }
     }
 
     @Override
-    public ESat isEntailed() {
-        if (isCompletelyInstantiated()) {
-            int[] diag = MDD.getDiagram();
-            int l = 0;
-            int n = vars[l].getValue() - MDD.getOffset(l);
-            while (l < nvars - 1 && diag[n] > 0) {
-                l++;
-                n = diag[n] + vars[l].getValue() - MDD.getOffset(l);
-            }
-            return ESat.eval(l == nvars - 1 && diag[n] == MultivaluedDecisionDiagram.TERMINAL);
-        }
-        return ESat.UNDEFINED;
+    public void propagate(int vIdx, int mask) throws ContradictionException {
+        clear();
+        monitors[vIdx].forEachRemVal(onValRem.set(vIdx));
+        filter();
     }
 
+    private void clear() {
+        downSize = upSize = emptiedSize = 0;
+    }
 
-    private void mddc() throws ContradictionException {
-        yes.clear();
-        for (int i = 0; i < nvars; i++) {
-            sets[i].clear();
-            int o = MDD.getOffset(i);
-            int UB = vars[i].getUB();
-            for (int j = vars[i].getLB(); j <= UB; j = vars[i].nextValue(j)) {
-                sets[i].add(j - o);
+    /**
+     * Remove the nodes in the stacks, then remove the values that lost their last edge
+     */
+    private void filter() throws ContradictionException {
+        while (downSize > 0) {
+            int u = downStack[--downSize];
+            if (u == graph.terminal()) {
+                fails();
+            }
+            for (int e = graph.outStart(u); e < graph.outStart(u + 1); e++) {
+                if (isAlive(e)) {
+                    removeEdge(e);
+                    decrementIn(graph.head(e));
+                }
             }
         }
-        mddcSeekSupport(0, 0);
-        for (int i = 0; i < nvars; i++) {
-            int o = MDD.getOffset(i);
-            int[] values = sets[i].toArray();
-            for (int j = 0; j < values.length; j++) {
-                vars[i].removeValue(values[j] + o, this);
+        int[] in = graph.getInEdges();
+        while (upSize > 0) {
+            int u = upStack[--upSize];
+            if (u == 0) {
+                fails();
+            }
+            for (int k = graph.inStart(u); k < graph.inStart(u + 1); k++) {
+                int e = in[k];
+                if (isAlive(e)) {
+                    removeEdge(e);
+                    decrementOut(graph.tail(e));
+                }
+            }
+        }
+        for (int l = 0, k = 0; k < emptiedSize; k++) {
+            int v = emptied[k];
+            while (graph.valueStart(l + 1) <= v) {
+                l++;
             }
+            while (graph.valueStart(l) > v) {
+                l--;
+            }
+            vars[l].removeValue(v - graph.valueStart(l) + MDD.getOffset(l), this);
         }
     }
 
-    private boolean mddcSeekSupport(int node, int layer) {
-        // If the node has already been visited
-        if (yes.contains(node)) return true;
-        if (no.contains(node)) return false;
-        // otherwise ...
-        boolean res = false;
-        // get the initial LB of the variable, required for 'contains'
-        int o = MDD.getOffset(layer);
-        for (int i = 0; i < MDD.getNodeSize(layer); i++) { // for all node of the same layer
-            int sG = MDD.getEdge(node + i); // get the sub-mmd induced
-            // if there is a sub-mdds valid
-            if (sG != MultivaluedDecisionDiagram.EMPTY && vars[layer].contains(i + o)
-                    && (sG == MultivaluedDecisionDiagram.TERMINAL || mddcSeekSupport(sG, layer + 1))) {
-                res = true;
-                sets[layer].remove(i);
-                int l2 = layer;
-                while (l2 < nvars && sets[l2].isEmpty()) {
-                    l2++;
-                }
-                if (l2 == nvars) break;
+    /**
+     * Remove all the edges of the value <i>v</i> (a flat index), and update the degrees of their ends
+     */
+    private void removeValue(int v) {
+        int from = graph.labelStart(v);
+        int s = size.quickGet(v);
+        if (s > 0) {
+            size.quickSet(v, 0);
+            for (int k = from; k < from + s; k++) {
+                int e = edges[k];
+                decrementOut(graph.tail(e));
+                decrementIn(graph.head(e));
             }
         }
-        if (res) {
-            yes.add(node);
-        } else {
-            no.add(node);
+    }
+
+    private boolean isAlive(int e) {
+        int v = graph.label(e);
+        return position[e] < graph.labelStart(v) + size.quickGet(v);
+    }
+
+    private void removeEdge(int e) {
+        int v = graph.label(e);
+        int s = size.quickGet(v) - 1;
+        int last = graph.labelStart(v) + s;
+        int p = position[e];
+        int f = edges[last];
+        edges[last] = e;
+        position[e] = last;
+        edges[p] = f;
+        position[f] = p;
+        size.quickSet(v, s);
+        if (s == 0) {
+            emptied[emptiedSize++] = v;
         }
-        return res;
+    }
+
+    private void decrementIn(int u) {
+        int d = inDegree.quickGet(u) - 1;
+        inDegree.quickSet(u, d);
+        if (d == 0) {
+            downStack[downSize++] = u;
+        }
+    }
+
+    private void decrementOut(int u) {
+        int d = outDegree.quickGet(u) - 1;
+        outDegree.quickSet(u, d);
+        if (d == 0) {
+            upStack[upSize++] = u;
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        if (isCompletelyInstantiated()) {
+            int[] diag = MDD.getDiagram();
+            int l = 0;
+            int n = vars[l].getValue() - MDD.getOffset(l);
+            while (l < nvars - 1 && diag[n] > 0) {
+                l++;
+                n = diag[n] + vars[l].getValue() - MDD.getOffset(l);
+            }
+            return ESat.eval(l == nvars - 1 && diag[n] == MultivaluedDecisionDiagram.TERMINAL);
+        }
+        return ESat.UNDEFINED;
     }
 }
@@ -9,31 +9,40 @@
  */
 package org.chocosolver.solver.constraints.extension.nary;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.memory.IStateInt;
-import org.chocosolver.solver.ICause;
+import org.chocosolver.sat.LazyExplainer;
+import org.chocosolver.sat.Reason;
 import org.chocosolver.solver.constraints.Explained;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.impl.BoolVarEagerLit;
+import org.chocosolver.solver.variables.impl.IntVarEagerLit;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.SetFactory;
 import org.chocosolver.util.objects.setDataStructures.SetType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 
 /**
  * STR2 Propagator for table constraints (only positive tuples)
+ * <p>
+ * In LCG, the removal of a value is explained by the removed values of the other variables
+ * which invalidate the tuples supporting it.
+ * When all variables are eagerly encoded, the removals are explained lazily, only when needed.
  *
  * @author Guillaume Perez, Jean-Guillaume Fages (minor)
  * @since 26/07/2014
  */
-@Explained(ignored = true, comment = "Turned into clauses")
-public class PropTableStr2 extends Propagator<IntVar> {
+@Explained
+public class PropTableStr2 extends Propagator<IntVar> implements LazyExplainer {
 
     //***********************************************************************************
     // VARIABLES
@@ -47,6 +56,15 @@ public class PropTableStr2 extends Propagator<IntVar> {
     private boolean firstProp = true;
     private final Tuples tuplesObject;
     private final int star;
+    /**
+     * For explanations only: the literals of the reason, and the removed values they stand for
+     */
+    private TIntArrayList lits, expVars, expVals;
+    /**
+     * Set to <i>true</i> when removals are explained lazily, then the initial lower bounds are used to encode them
+     */
+    private boolean lazy;
+    private int[] lbs;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -71,6 +89,15 @@ public class PropTableStr2 extends Propagator<IntVar> {
         tuples = SetFactory.makeStoredSet(SetType.BIPARTITESET, 0, model);
         ssup = new ArrayList<>();
         sval = new ArrayList<>();
+        if (lcg()) {
+            lits = new TIntArrayList();
+            expVars = new TIntArrayList();
+            expVals = new TIntArrayList();
+            lazy = Arrays.stream(vars).allMatch(v -> v instanceof IntVarEagerLit || v instanceof BoolVarEagerLit);
+            if (lazy) {
+                lbs = Arrays.stream(vars).mapToInt(IntVar::getLB).toArray();
+            }
+        }
     }
 
     //***********************************************************************************
@@ -130,6 +157,76 @@ public class PropTableStr2 extends Propagator<IntVar> {
         return true;
     }
 
+    /**
+     * Explain why the value <i>val</i> of the <i>i</i>-th variable has no support anymore,
+     * by the removed values of the other variables.
+     * Each tuple which supported it is invalidated by the first removed value found,
+     * unless a previously selected value already invalidates it.
+     *
+     * @param i   index of a variable
+     * @param val a value of this variable
+     * @param p   the literal to explain, only relevant when explanations are lazy
+     * @return the reason
+     */
+    private Reason explain(int i, int val, int p) {
+        lits.resetQuick();
+        lits.add(0); // place for the modified literal
+        expVars.resetQuick();
+        expVals.resetQuick();
+        top:
+        for (int[] tuple : table) {
+            if (tuple[i] != val && tuple[i] != star) {
+                continue;
+            }
+            for (int k = 0; k < expVars.size(); k++) {
+                if (tuple[expVars.getQuick(k)] == expVals.getQuick(k)) {
+                    continue top;
+                }
+            }
+            int j = 0;
+            int q = -1;
+            while (q == -1) {
+                if (j != i && tuple[j] != star) {
+                    q = removedLit(j, tuple[j], p);
+                }
+                j++;
+            }
+            expVars.add(j - 1);
+            expVals.add(tuple[j - 1]);
+            lits.add(q);
+        }
+        if (lits.size() == 1) {
+            return Reason.undef();
+        } else if (lits.size() == 2) {
+            return Reason.r(lits.getQuick(1));
+        }
+        return Reason.r(lits.toArray());
+    }
+
+    /**
+     * @return the literal to add to a reason to state that <i>v</i> is not in the domain of the <i>j</i>-th variable,
+     * -1 if it is in the domain (or, when explanations are lazy, if it was removed after <i>p</i>)
+     */
+    private int removedLit(int j, int v, int p) {
+        if (lazy) {
+            return PropCompactTable.removedLit(vars[j], v, model.getSolver().getSat(), p);
+        }
+        return vars[j].contains(v) ? -1 : PropCompactTable.removedLit(vars[j], v);
+    }
+
+    private Reason reason(int i, int val) {
+        if (lazy) {
+            return Reason.lazy(this, (val - lbs[i]) * vars.length + i);
+        }
+        return lcg() ? explain(i, val, 0) : Reason.undef();
+    }
+
+    @Override
+    public Reason explain(int p, int payload) {
+        int i = payload % vars.length;
+        return explain(i, payload / vars.length + lbs[i], p);
+    }
+
     private void initialPropagate() throws ContradictionException {
         for (int t = 0; t < table.length; t++) {
             tuples.add(t);
@@ -223,11 +320,11 @@ public class PropTableStr2 extends Propagator<IntVar> {
             cnt = var.getDomainSize();
         }
 
-        private void remove_unsupported_value(ICause cause) throws ContradictionException {
+        private void remove_unsupported_value(PropTableStr2 cause) throws ContradictionException {
             if (var.hasEnumeratedDomain()) {
                 for (int val = var.getLB(); cnt > 0 && val <= var.getUB(); val = var.nextValue(val)) {
                     if (!ac.get(val - offset)) {
-                        var.removeValue(val, cause);
+                        var.removeValue(val, cause, cause.reason(index, val));
                         cnt--;
                     }
                 }
@@ -235,7 +332,7 @@ public class PropTableStr2 extends Propagator<IntVar> {
                 int val = var.getLB();
                 while (cnt > 0 && val <= var.getUB()) {
                     if (!ac.get(val - offset)) {
-                        if (var.removeValue(val, cause)) {
+                        if (var.removeValue(val, cause, cause.reason(index, val))) {
                             cnt--;
                         } else break;
                     }
@@ -244,7 +341,7 @@ public class PropTableStr2 extends Propagator<IntVar> {
                 val = var.getUB();
                 while (cnt > 0 && val >= var.getLB()) {
                     if (!ac.get(val - offset)) {
-                        if (var.removeValue(val, cause)) {
+                        if (var.removeValue(val, cause, cause.reason(index, val))) {
                             cnt--;
                         } else break;
                     }
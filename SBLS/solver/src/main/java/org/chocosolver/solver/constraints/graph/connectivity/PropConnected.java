@@ -16,8 +16,7 @@ import org.chocosolver.solver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.variables.events.GraphEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.graphOperations.connectivity.UGVarConnectivityHelper;
-
-import java.util.BitSet;
+import org.chocosolver.util.graphOperations.connectivity.UGVarDynamicConnectivity;
 
 /**
  * Propagator checking that the graph is connected
@@ -33,10 +32,9 @@ public class PropConnected extends Propagator<UndirectedGraphVar> {
     // VARIABLES
     //***********************************************************************************
 
-    private final int n;
     private final UndirectedGraphVar g;
-    private final BitSet visited;
     private final UGVarConnectivityHelper helper;
+    private final UGVarDynamicConnectivity envCC;
 
     //***********************************************************************************
     // CONSTRUCTORS
@@ -45,9 +43,8 @@ public class PropConnected extends Propagator<UndirectedGraphVar> {
     public PropConnected(UndirectedGraphVar graph) {
         super(new UndirectedGraphVar[]{graph}, PropagatorPriority.LINEAR, false);
         this.g = graph;
-        this.n = graph.getNbMaxNodes();
-        this.visited = new BitSet(n);
         this.helper = new UGVarConnectivityHelper(g);
+        this.envCC = new UGVarDynamicConnectivity(g);
     }
 
     //***********************************************************************************
@@ -69,13 +66,14 @@ public class PropConnected extends Propagator<UndirectedGraphVar> {
         // cannot filter if no mandatory node
         if (g.getMandatoryNodes().size() > 0) {
 
-            // 1 --- explore the graph from the first mandatory node and
-            // remove unreachable nodes (fail if mandatory node is not reached)
-            visited.clear();
+            // 1 --- remove nodes that are not in the CC of the first mandatory node
+            // (fail if a mandatory node is not in it)
+            envCC.findAllCC();
             int root = g.getMandatoryNodes().iterator().next();
-            helper.exploreFrom(root, visited);
+            int[] ccOf = envCC.getNodeCC();
+            int rootCC = ccOf[root];
             for (int o : g.getPotentialNodes()) {
-                if (!visited.get(o)) {
+                if (ccOf[o] != rootCC) {
                     g.removeNode(o, this);
                 }
             }
@@ -101,13 +99,13 @@ public class PropConnected extends Propagator<UndirectedGraphVar> {
         if (g.getMandatoryNodes().size() < 2) {
             return ESat.UNDEFINED;
         }
-        // BFS from a mandatory node
-        visited.clear();
+        // CC of a mandatory node
+        envCC.findAllCC();
         int root = g.getMandatoryNodes().iterator().next();
-        helper.exploreFrom(root, visited);
-        // every mandatory node is reached?
+        int[] ccOf = envCC.getNodeCC();
+        // every mandatory node is in it?
         for (int i : g.getMandatoryNodes()) {
-            if (!visited.get(i)) {
+            if (ccOf[i] != ccOf[root]) {
                 return ESat.FALSE;
             }
         }
@@ -17,6 +17,7 @@ import org.chocosolver.solver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.graphOperations.connectivity.UGVarConnectivityHelper;
+import org.chocosolver.util.graphOperations.connectivity.UGVarDynamicConnectivity;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 
 import java.util.BitSet;
@@ -37,7 +38,8 @@ public class PropNbCC extends Propagator<Variable> {
     private final UndirectedGraphVar g;
     private final IntVar k;
     private final UGVarConnectivityHelper helper;
-    private final BitSet visitedMin, visitedMax;
+    private final UGVarDynamicConnectivity envCC;
+    private final BitSet mandatoryCC, visitedMax;
     private final int[] fifo, ccOf;
 
     //***********************************************************************************
@@ -49,7 +51,8 @@ public class PropNbCC extends Propagator<Variable> {
         this.g = graph;
         this.k = k;
         this.helper = new UGVarConnectivityHelper(g);
-        this.visitedMin = new BitSet(g.getNbMaxNodes());
+        this.envCC = new UGVarDynamicConnectivity(g);
+        this.mandatoryCC = new BitSet(g.getNbMaxNodes());
         this.visitedMax = new BitSet(g.getNbMaxNodes());
         this.fifo = new int[g.getNbMaxNodes()];
         this.ccOf = new int[g.getNbMaxNodes()];
@@ -82,9 +85,9 @@ public class PropNbCC extends Propagator<Variable> {
             if (k.getUB() == min) {
 
                 // 1 --- remove unreachable nodes
-                int n = g.getNbMaxNodes();
+                int[] envCCOf = envCC.getNodeCC();
                 for (int o : g.getPotentialNodes()) {
-                    if (!visitedMin.get(o)) {
+                    if (!mandatoryCC.get(envCCOf[o])) {
                         g.removeNode(o, this);
                     }
                 }
@@ -126,10 +129,12 @@ public class PropNbCC extends Propagator<Variable> {
 
     private int minCC() {
         int min = 0;
-        visitedMin.clear();
+        mandatoryCC.clear();
+        envCC.findAllCC();
+        int[] envCCOf = envCC.getNodeCC();
         for (int i : g.getMandatoryNodes()) {
-            if (!visitedMin.get(i)) {
-                helper.exploreFrom(i, visitedMin);
+            if (!mandatoryCC.get(envCCOf[i])) {
+                mandatoryCC.set(envCCOf[i]);
                 min++;
             }
         }
@@ -18,6 +18,7 @@ import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.GraphEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.graphOperations.connectivity.ConnectivityFinder;
+import org.chocosolver.util.graphOperations.connectivity.UGVarDynamicConnectivity;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,7 +40,7 @@ public class PropSizeMinCC extends Propagator<Variable> {
     private final UndirectedGraphVar g;
     private final IntVar sizeMinCC;
     private final ConnectivityFinder GLBCCFinder;
-    private final ConnectivityFinder GUBCCFinder;
+    private final UGVarDynamicConnectivity GUBCCFinder;
 
     /* Constructor */
 
@@ -48,7 +49,7 @@ public class PropSizeMinCC extends Propagator<Variable> {
         this.g = graph;
         this.sizeMinCC = sizeMinCC;
         this.GLBCCFinder = new ConnectivityFinder(g.getLB());
-        this.GUBCCFinder = new ConnectivityFinder(g.getUB());
+        this.GUBCCFinder = new UGVarDynamicConnectivity(g);
     }
 
     /* Methods */
@@ -11,6 +11,8 @@ package org.chocosolver.solver.constraints.graph.cost.tsp.lagrangian;
 
 import gnu.trove.list.array.TIntArrayList;
 
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateDouble;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.graph.cost.GraphLagrangianRelaxation;
@@ -29,6 +31,12 @@ import org.chocosolver.util.objects.setDataStructures.ISet;
  * TSP Lagrangian relaxation
  * Inspired from the work of Held & Karp
  * and Benchimol et. al. (Constraints 2012)
+ * <p>
+ * The Lagrangian multipliers that gave the best bound are stored in backtrackable doubles,
+ * so that each call is warm-started from the best multipliers found at this node or at one of its ancestors,
+ * whatever the search did in-between.
+ * The subgradient optimisation stops as soon as the 1-tree is a Hamiltonian cycle
+ * or when the iteration budget (see {@link #setIterationBudget(int)}) is exhausted.
  *
  * @author Jean-Guillaume Fages
  */
@@ -48,6 +56,11 @@ public class PropLagrOneTree extends Propagator<Variable> implements GraphLagran
     private final int[][] originalCosts;
     private final double[] penalities;
     private double totalPenalities;
+    // warm start
+    private final IStateDouble[] warmPenalities;
+    private final double[] bestPenalities;
+    private double bestBound;
+    private int iterationBudget;
     private UndirectedGraph mst;
     private double step;
     private final AbstractTreeFinder HKfilter, HK;
@@ -66,6 +79,13 @@ public class PropLagrOneTree extends Propagator<Variable> implements GraphLagran
         penalities = new double[n];
         mandatoryArcsList = new TIntArrayList();
         nbSprints = 30;
+        iterationBudget = 5 * nbSprints;
+        bestPenalities = new double[n];
+        warmPenalities = new IStateDouble[n];
+        IEnvironment environment = getModel().getEnvironment();
+        for (int i = 0; i < n; i++) {
+            warmPenalities[i] = environment.makeFloat(0);
+        }
         HK = new PrimOneTreeFinder(n, this);
         HKfilter = new KruskalOneTreeGAC(n, this);
     }
@@ -87,6 +107,7 @@ public class PropLagrOneTree extends Propagator<Variable> implements GraphLagran
         }
         // initialisation
         rebuild();
+        warmStart();
         setCosts();
         int lb;
         do {
@@ -101,23 +122,28 @@ public class PropLagrOneTree extends Propagator<Variable> implements GraphLagran
         double beta = 0.5;
         double bestHKB;
         bestHKB = 0;
+        int budget = iterationBudget;
+        boolean tour = false;
         HKfilter.computeMST(costs, g);
         hkb = HKfilter.getBound() - totalPenalities;
         bestHKB = hkb;
         mst = HKfilter.getMST();
+        recordBound(hkb);
         if (hkb - Math.floor(hkb) < 0.001) {
             hkb = Math.floor(hkb);
         }
         obj.updateLowerBound((int) Math.ceil(hkb), this);
         HKfilter.performPruning((double) (obj.getUB()) + totalPenalities + 0.001);
-        for (int iter = 5; iter > 0; iter--) {
-            for (int i = nbSprints; i > 0; i--) {
+        for (int iter = 5; iter > 0 && !tour && budget > 0; iter--) {
+            for (int i = nbSprints; i > 0 && budget > 0; i--) {
+                budget--;
                 HK.computeMST(costs, g);
                 hkb = HK.getBound() - totalPenalities;
                 if (hkb > bestHKB + 1) {
                     bestHKB = hkb;
                 }
                 mst = HK.getMST();
+                recordBound(hkb);
                 if (hkb - Math.floor(hkb) < 0.001) {
                     hkb = Math.floor(hkb);
                 }
@@ -125,6 +151,11 @@ public class PropLagrOneTree extends Propagator<Variable> implements GraphLagran
                 // HK.performPruning((double) (obj.getUB()) + totalPenalities + 0.001);
                 //	DO NOT FILTER HERE TO SPEED UP CONVERGENCE (not always true)
                 updateStep(hkb, alpha);
+                if (step == 0) {
+                    // the 1-tree is a Hamiltonian cycle: the multipliers cannot do better
+                    tour = true;
+                    break;
+                }
                 penalitiesHK();
                 updateCostMatrix();
             }
@@ -134,23 +165,52 @@ public class PropLagrOneTree extends Propagator<Variable> implements GraphLagran
                 bestHKB = hkb;
             }
             mst = HKfilter.getMST();
+            recordBound(hkb);
             if (hkb - Math.floor(hkb) < 0.001) {
                 hkb = Math.floor(hkb);
             }
             obj.updateLowerBound((int) Math.ceil(hkb), this);
             HKfilter.performPruning((double) (obj.getUB()) + totalPenalities + 0.001);
             updateStep(hkb, alpha);
+            tour |= step == 0;
             penalitiesHK();
             updateCostMatrix();
             alpha *= beta;
             beta /= 2;
         }
+        for (int i = 0; i < n; i++) {
+            warmPenalities[i].set(bestPenalities[i]);
+        }
     }
 
     //***********************************************************************************
     // DETAILS
     //***********************************************************************************
 
+    /**
+     * Restore the multipliers that gave the best bound at this node or at one of its ancestors
+     */
+    private void warmStart() {
+        double sumPenalities = 0;
+        for (int i = 0; i < n; i++) {
+            penalities[i] = warmPenalities[i].get();
+            bestPenalities[i] = penalities[i];
+            sumPenalities += penalities[i];
+        }
+        totalPenalities = 2 * sumPenalities;
+        bestBound = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Remember the current multipliers if they give the best bound of this call
+     */
+    private void recordBound(double hkb) {
+        if (hkb > bestBound) {
+            bestBound = hkb;
+            System.arraycopy(penalities, 0, bestPenalities, 0, n);
+        }
+    }
+
     protected void rebuild() {
         mandatoryArcsList.clear();
         ISet nei;
@@ -274,6 +334,16 @@ public class PropLagrOneTree extends Propagator<Variable> implements GraphLagran
         waitFirstSol = b;
     }
 
+    /**
+     * Set the maximum number of subgradient iterations (i.e., 1-tree computations) per run of the relaxation.
+     * By default, 150.
+     *
+     * @param nbIterations maximum number of iterations
+     */
+    public void setIterationBudget(int nbIterations) {
+        this.iterationBudget = nbIterations;
+    }
+
     public boolean contains(int i, int j) {
         return mst == null || mst.containsEdge(i, j);
     }
@@ -22,9 +22,11 @@ import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 import org.chocosolver.util.objects.setDataStructures.SetType;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.chocosolver.util.sort.ArraySort;
 import org.chocosolver.util.tools.ArrayUtils;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.stream.IntStream;
 
 /**
@@ -33,6 +35,17 @@ import java.util.stream.IntStream;
  * This is based on the following <a href="https://uu.diva-portal.org/smash/get/diva2:1117103/FULLTEXT01.pdf">master thesis</a>.
  * In particular, the algorithms described in Section 3 serve as a basis of this class.
  * <br/>
+ * The graph of orthotopes that may overlap is built with a sweep over the first dimension,
+ * in O(n log n + K) where K is the number of pairs that overlap in this dimension.
+ * Then, only orthotopes that changed, or that overlap an orthotope that changed,
+ * are swept again on a call.
+ * <br/>
+ * In addition, an overload checking is applied to the projection of the orthotopes on each dimension,
+ * with the product of the extents of the bounding box in the other dimensions as capacity,
+ * in O(n log n) per dimension.
+ * It is followed by an edge finding on the same projection, which adjusts both bounds of the orthotopes,
+ * in O(n<sup>2</sup>) per dimension.
+ * <br/>
  *
  * @author Charles Prud'homme
  * @since 30/08/2022
@@ -62,6 +75,21 @@ public class PropSweepBasedDiffN extends Propagator<IntVar> {
     private final int[] ls;
     private final int options;
     private final boolean dom;
+    // Orthotopes modified since the last call
+    private final BitSet changed;
+    // Orthotopes to sweep again, because they or one of their overlapping orthotopes were modified
+    private final BitSet toSweep;
+    // For the initial sweep and the overload checking
+    private final ArraySort<?> sorter;
+    private final int[] byStart;
+    private final int[] byEnd;
+    private final int[] rank;
+    private final long[] start;
+    private final long[] end;
+    // Theta-tree: energy and envelope of each node, leaves are ordered by start
+    private final long[] tEnergy;
+    private final long[] tEnvelope;
+    private final int nbLeaves;
 
     public PropSweepBasedDiffN(IntVar[][] x, int[][] l) {
         super(ArrayUtils.flatten(x), PropagatorPriority.QUADRATIC, true);
@@ -91,6 +119,21 @@ public class PropSweepBasedDiffN extends Propagator<IntVar> {
         for (int i = 0; i < fs.length; i++) {
             fs[i] = new Forbidden(nbDimensions);
         }
+        this.changed = new BitSet(nbOrthotopes);
+        this.toSweep = new BitSet(nbOrthotopes);
+        this.sorter = new ArraySort<>(nbOrthotopes, false, true);
+        this.byStart = new int[nbOrthotopes];
+        this.byEnd = new int[nbOrthotopes];
+        this.rank = new int[nbOrthotopes];
+        this.start = new long[nbOrthotopes];
+        this.end = new long[nbOrthotopes];
+        int p = 1;
+        while (p < nbOrthotopes) {
+            p <<= 1;
+        }
+        this.nbLeaves = p;
+        this.tEnergy = new long[2 * p];
+        this.tEnvelope = new long[2 * p];
     }
 
     @Override
@@ -101,13 +144,8 @@ public class PropSweepBasedDiffN extends Propagator<IntVar> {
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (PropagatorEventType.isFullPropagation(evtmask)) {
-            for (int i = 0; i < nbOrthotopes; i++) {
-                for (int j = 0; j < i; j++) {
-                    if (os[i].mayOverlap(os[j])) {
-                        overlapping.addEdge(j, i);
-                    }
-                }
-            }
+            buildOverlapping();
+            toSweep.set(0, nbOrthotopes);
         }
         filter();
     }
@@ -116,9 +154,50 @@ public class PropSweepBasedDiffN extends Propagator<IntVar> {
     public void propagate(int idxVarInProp, int mask) throws ContradictionException {
         int i = idxVarInProp / nbDimensions;
         os[i].checkSkippable(maxl);
+        changed.set(i);
         forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
     }
 
+    /**
+     * Build the graph of orthotopes that may overlap, with a sweep over the first dimension.
+     */
+    private void buildOverlapping() {
+        for (int i = 0; i < nbOrthotopes; i++) {
+            byStart[i] = i;
+        }
+        sorter.sort(byStart, nbOrthotopes, (i, j) -> Integer.compare(os[i].x[0].getLB(), os[j].x[0].getLB()));
+        // orthotopes whose projection on the first dimension may still overlap the next ones
+        int[] active = byEnd;
+        int nbActive = 0;
+        for (int k = 0; k < nbOrthotopes; k++) {
+            int i = byStart[k];
+            int lb = os[i].x[0].getLB();
+            int a = 0;
+            for (int q = 0; q < nbActive; q++) {
+                int j = active[q];
+                if (os[j].x[0].getUB() + os[j].l[0] > lb) {
+                    active[a++] = j;
+                    if (os[i].mayOverlap(os[j])) {
+                        overlapping.addEdge(j, i);
+                    }
+                }
+            }
+            nbActive = a;
+            active[nbActive++] = i;
+        }
+    }
+
+    /**
+     * Mark <i>i</i> and the orthotopes that may overlap it as to be swept again
+     */
+    private void markNeighborhood(int i) {
+        toSweep.set(i);
+        ISetIterator iter = overlapping.getNeighborsOf(i).iterator();
+        while (iter.hasNext()) {
+            toSweep.set(iter.nextInt());
+        }
+    }
+
     @Override
     public ESat isEntailed() {
         for (int i = 0; i < os.length; i++) {
@@ -139,49 +218,62 @@ public class PropSweepBasedDiffN extends Propagator<IntVar> {
     }
 
     private void filter() throws ContradictionException {
-        boolean nonfix = true;
-        boolean allFixed = true;
-        boolean checkArea = false;
-        while (nonfix) {
-            nonfix = false;
-            allFixed = true;
-            for (int i = unfixed.nextSetBit(0); i > -1; i = unfixed.nextSetBit(i + 1)) {
-                Orthotope o = os[i];
-                o.modified = false;
-                int nbF = getOutBoxes(os, nbDimensions, o, i);
-                if (o.assignedInAllDimensions()) {
-                    if (nbF > 0) {
-                        this.fails();
+        do {
+            boolean nonfix = true;
+            boolean checkArea = false;
+            for (int i = changed.nextSetBit(0); i > -1; i = changed.nextSetBit(i + 1)) {
+                markNeighborhood(i);
+            }
+            changed.clear();
+            while (nonfix) {
+                nonfix = false;
+                for (int i = unfixed.nextSetBit(0); i > -1; i = unfixed.nextSetBit(i + 1)) {
+                    if (!toSweep.get(i)) {
+                        continue;
                     }
-                } else {
-                    for (int d = 0; d < nbDimensions && nbF > 0; d++) {
-                        if (!o.assignedInDimension(d)) {
-                            pruneMin(o, d, nbF);
-                            pruneMax(o, d, nbF);
-                            if (o.enumeratedOnDimension(d) && dom) {
-                                pruneDom(o, d, nbF);
-                            }
-                            if (o.modified) {
-                                nonfix = true;
+                    toSweep.clear(i);
+                    Orthotope o = os[i];
+                    o.modified = false;
+                    int nbF = getOutBoxes(os, nbDimensions, o, i);
+                    if (o.assignedInAllDimensions()) {
+                        if (nbF > 0) {
+                            this.fails();
+                        }
+                    } else {
+                        for (int d = 0; d < nbDimensions && nbF > 0; d++) {
+                            if (!o.assignedInDimension(d)) {
+                                pruneMin(o, d, nbF);
+                                pruneMax(o, d, nbF);
+                                if (o.enumeratedOnDimension(d) && dom) {
+                                    pruneDom(o, d, nbF);
+                                }
+                                if (o.modified) {
+                                    nonfix = true;
+                                }
                             }
                         }
                     }
-                }
-                if (!o.assignedInAllDimensions()) {
-                    allFixed = false;
-                } else {
-                    unfixed.clear(i);
-                }
-                //checkEnergy(i);
-                if (options == 1 || options == 3) {
-                    checkArea = checkEnergy(i);// && this.areaCheck;
+                    if (o.modified) {
+                        markNeighborhood(i);
+                    }
+                    if (o.assignedInAllDimensions()) {
+                        unfixed.clear(i);
+                    }
+                    //checkEnergy(i);
+                    if (options == 1 || options == 3) {
+                        checkArea = checkEnergy(i);// && this.areaCheck;
+                    }
                 }
             }
-        }
-        if (options == 2 || (checkArea && options == 3)) {
-            checkArea();
-        }
-        if (allFixed) {
+            toSweep.clear();
+            if (options == 2 || (checkArea && options == 3)) {
+                checkArea();
+            }
+            for (int d = 0; d < nbDimensions; d++) {
+                overloadChecking(d);
+            }
+        } while (!changed.isEmpty()); // the energetic reasoning adjusted some bounds
+        if (unfixed.nextSetBit(0) < 0) {
             setPassive();
         }// else return FIXPOINT
     }
@@ -459,10 +551,9 @@ public class PropSweepBasedDiffN extends Propagator<IntVar> {
             ls[d] = os[i].l[d];
         }
         ISet neigh = overlapping.getNeighborsOf(i);
-        //ISetIterator iter = neigh.iterator();
-        //while (iter.hasNext()) {
-        //    int j = iter.nextInt();
-        for (int j : neigh.toArray()) {
+        ISetIterator iter = neigh.iterator();
+        while (iter.hasNext()) {
+            int j = iter.nextInt();
             long ar = 1;
             for (int d = 0; d < nbDimensions; d++) {
                 dl[d] = Math.min(dl[d], os[j].x[d].getLB());
@@ -488,6 +579,149 @@ public class PropSweepBasedDiffN extends Propagator<IntVar> {
         return os[i].area() < am;
     }
 
+    /**
+     * Overload checking on the projection of the orthotopes on dimension <i>d</i>:
+     * the orthotopes are seen as tasks whose energy is their volume,
+     * on a resource whose capacity is the volume of the bounding box in the other dimensions.
+     * The check relies on a Theta-tree, as in "Edge finding filtering algorithm for discrete cumulative resources in O(kn log n)",
+     * P. Vil&iacute;m, CP 2009.
+     * Then, the bounds of the orthotopes are adjusted with {@link #edgeFinding(int, long, long, boolean)}.
+     *
+     * @param d a dimension
+     * @throws ContradictionException if the energy of a set of orthotopes exceeds the capacity of its window
+     */
+    private void overloadChecking(int d) throws ContradictionException {
+        int origin = Integer.MAX_VALUE;
+        for (int i = 0; i < nbOrthotopes; i++) {
+            origin = Math.min(origin, os[i].x[d].getLB());
+        }
+        double volume = 1.;
+        long capa = 1;
+        for (int e = 0; e < nbDimensions; e++) {
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            for (int i = 0; i < nbOrthotopes; i++) {
+                min = Math.min(min, os[i].x[e].getLB());
+                max = Math.max(max, os[i].x[e].getUB() + os[i].l[e]);
+            }
+            volume *= (double) max - min;
+            if (e != d) {
+                capa *= (long) max - min;
+            }
+        }
+        if (volume >= Long.MAX_VALUE / 4.) {
+            return; // the envelopes may overflow
+        }
+        long energy = 0;
+        for (int i = 0; i < nbOrthotopes; i++) {
+            energy += os[i].al;
+            if (energy > volume) {
+                this.fails();
+            }
+        }
+        for (int i = 0; i < nbOrthotopes; i++) {
+            start[i] = os[i].x[d].getLB() - (long) origin;
+            end[i] = os[i].x[d].getUB() + os[i].l[d] - (long) origin;
+            byStart[i] = i;
+            byEnd[i] = i;
+        }
+        sorter.sort(byStart, nbOrthotopes, (i, j) -> Long.compare(start[i], start[j]));
+        sorter.sort(byEnd, nbOrthotopes, (i, j) -> Long.compare(end[i], end[j]));
+        for (int k = 0; k < nbOrthotopes; k++) {
+            rank[byStart[k]] = k;
+        }
+        Arrays.fill(tEnergy, 0);
+        Arrays.fill(tEnvelope, Long.MIN_VALUE / 2);
+        for (int k = 0; k < nbOrthotopes; k++) {
+            int i = byEnd[k];
+            int v = nbLeaves + rank[i];
+            tEnergy[v] = os[i].al;
+            tEnvelope[v] = capa * start[i] + os[i].al;
+            for (v >>= 1; v > 0; v >>= 1) {
+                tEnergy[v] = tEnergy[2 * v] + tEnergy[2 * v + 1];
+                tEnvelope[v] = Math.max(tEnvelope[2 * v + 1], tEnvelope[2 * v] + tEnergy[2 * v + 1]);
+            }
+            if (tEnvelope[1] > capa * end[i]) {
+                this.fails();
+            }
+        }
+        edgeFinding(d, origin, capa, false);
+        long horizon = end[byEnd[nbOrthotopes - 1]];
+        for (int i = 0; i < nbOrthotopes; i++) {
+            long s = start[i];
+            start[i] = horizon - end[i];
+            end[i] = horizon - s;
+        }
+        sorter.sort(byStart, nbOrthotopes, (i, j) -> Long.compare(start[i], start[j]));
+        sorter.sort(byEnd, nbOrthotopes, (i, j) -> Long.compare(end[i], end[j]));
+        edgeFinding(d, origin + horizon, capa, true);
+    }
+
+    /**
+     * Edge finding on the projection of the orthotopes on dimension <i>d</i>, on the same resource as
+     * {@link #overloadChecking(int)}.
+     * For each bound <i>b</i> and each orthotope <i>i</i> that ends after <i>b</i>,
+     * the sets of orthotopes that start after <i>a</i> and end before <i>b</i>, with <i>a</i> &ge; start of <i>i</i>,
+     * are considered by decreasing <i>a</i>, in O(n<sup>2</sup>).
+     * If such a set and <i>i</i> do not fit in [start of <i>i</i>, <i>b</i>), then <i>i</i> ends after the set
+     * and the start of <i>i</i> is adjusted with the energy left by the set.
+     * <br/>
+     * The start and end of orthotopes are read from {@link #start} and {@link #end}, which are sorted in
+     * {@link #byStart} and {@link #byEnd}. When <i>mirror</i> is set, they are the opposite of the bounds,
+     * so that the end of orthotopes are adjusted instead.
+     * The adjusted orthotopes are added to {@link #changed}.
+     *
+     * @param d      a dimension
+     * @param origin offset of the coordinates in {@link #start} and {@link #end}
+     * @param capa   capacity of the resource
+     * @param mirror set to <i>true</i> to adjust the upper bounds
+     * @throws ContradictionException if a bound cannot be adjusted
+     */
+    private void edgeFinding(int d, long origin, long capa, boolean mirror) throws ContradictionException {
+        for (int k = 0; k < nbOrthotopes; k++) {
+            long b = end[byEnd[k]];
+            if (k < nbOrthotopes - 1 && end[byEnd[k + 1]] == b) {
+                continue;
+            }
+            long energy = 0;
+            // maximal energy exceeding the window, over the sets already considered
+            long slack = Long.MIN_VALUE;
+            long from = b;
+            int p = nbOrthotopes - 1;
+            while (p >= 0) {
+                long a = start[byStart[p]];
+                int q = p;
+                while (q >= 0 && start[byStart[q]] == a) {
+                    int j = byStart[q--];
+                    if (end[j] <= b) {
+                        energy += os[j].al;
+                    }
+                }
+                if (energy > 0 && energy - capa * (b - a) > slack) {
+                    slack = energy - capa * (b - a);
+                    from = a;
+                }
+                for (int r = p; r > q; r--) {
+                    int i = byStart[r];
+                    long h = os[i].l[d] > 0 ? os[i].al / os[i].l[d] : 0;
+                    if (h > 0 && end[i] > b && a < b && energy + os[i].al > capa * (b - a)
+                            && slack + h * (b - from) > 0) {
+                        long lb = b - Math.floorDiv(-slack, h);
+                        if (lb > a) {
+                            if (mirror) {
+                                os[i].x[d].updateUpperBound((int) (origin - lb) - os[i].l[d], this);
+                            } else {
+                                os[i].x[d].updateLowerBound((int) (origin + lb), this);
+                            }
+                            os[i].checkSkippable(maxl);
+                            changed.set(i);
+                        }
+                    }
+                }
+                p = q;
+            }
+        }
+    }
+
     /**
      * Check area for all orthotopes, considering distance to overlapping ones.
      *
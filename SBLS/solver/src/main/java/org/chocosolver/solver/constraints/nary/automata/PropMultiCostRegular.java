@@ -10,7 +10,7 @@
 package org.chocosolver.solver.constraints.nary.automata;
 
 import gnu.trove.iterator.TIntIterator;
-import gnu.trove.map.hash.TObjectIntHashMap;
+import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.set.hash.TIntHashSet;
 import gnu.trove.stack.TIntStack;
 import gnu.trove.stack.array.TIntArrayStack;
@@ -20,11 +20,10 @@ import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.nary.automata.FA.ICostAutomaton;
 import org.chocosolver.solver.constraints.nary.automata.FA.utils.Bounds;
 import org.chocosolver.solver.constraints.nary.automata.FA.utils.ICounter;
-import org.chocosolver.solver.constraints.nary.automata.structure.Node;
 import org.chocosolver.solver.constraints.nary.automata.structure.multicostregular.FastPathFinder;
 import org.chocosolver.solver.constraints.nary.automata.structure.multicostregular.StoredDirectedMultiGraph;
-import org.chocosolver.solver.constraints.nary.automata.structure.regular.Arc;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
 import org.chocosolver.solver.variables.events.IntEventType;
@@ -35,9 +34,9 @@ import org.chocosolver.util.objects.StoredIndexedBipartiteSet;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.chocosolver.util.procedure.UnaryIntProcedure;
 import org.chocosolver.util.tools.ArrayUtils;
-import org.jgrapht.graph.DirectedMultigraph;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
 
 
 /**
@@ -62,7 +61,7 @@ import java.util.*;
 public final class PropMultiCostRegular extends Propagator<IntVar> {
 
     /**
-     * Maximum number of iteration during a bound computation
+     * Default maximum number of iteration during a bound computation
      */
     public static final int MAXBOUNDITER = 10;
 
@@ -82,11 +81,6 @@ public final class PropMultiCostRegular extends Propagator<IntVar> {
     public static final double RO = 0.7;
 
 
-    /**
-     * Map to retrieve rapidly the index of a given variable.
-     */
-    public final TObjectIntHashMap<IntVar> map;
-
     /**
      * Decision variables
      */
@@ -155,6 +149,11 @@ public final class PropMultiCostRegular extends Propagator<IntVar> {
 
     public final double _MCR_DECIMAL_PREC;
 
+    /**
+     * Maximum number of iterations of the lagrangian relaxation, for each bound computation
+     */
+    private final int maxBoundIter;
+
     private final IntIterableBitSet vrms;
 
     /**
@@ -165,8 +164,27 @@ public final class PropMultiCostRegular extends Propagator<IntVar> {
      * @param cauto         finite automaton with costs
      */
     public PropMultiCostRegular(IntVar[] variables, final IntVar[] costvariables, ICostAutomaton cauto, double precision) {
+        this(variables, costvariables, cauto, precision, MAXBOUNDITER);
+    }
+
+    /**
+     * Constructs a multi-cost-regular propagator
+     *
+     * @param variables     decision variables
+     * @param costvariables cost variables
+     * @param cauto         finite automaton with costs
+     * @param precision     the smallest used double
+     * @param maxBoundIter  maximum number of iterations of the lagrangian relaxation, for each bound computation.
+     *                      The smaller, the faster but the weaker the filtering.
+     */
+    public PropMultiCostRegular(IntVar[] variables, final IntVar[] costvariables, ICostAutomaton cauto,
+                                double precision, int maxBoundIter) {
         super(ArrayUtils.append(variables, costvariables), PropagatorPriority.CUBIC, true);
+        if (maxBoundIter < 1) {
+            throw new SolverException("The number of lagrangian iterations must be positive");
+        }
         _MCR_DECIMAL_PREC = precision;
+        this.maxBoundIter = maxBoundIter;
         this.vs = Arrays.copyOfRange(vars, 0, variables.length);
         this.offset = vs.length;
         this.z = Arrays.copyOfRange(vars, offset, vars.length);
@@ -181,10 +199,6 @@ public final class PropMultiCostRegular extends Propagator<IntVar> {
         this.uUb = new double[2 * nbR];
         this.uLb = new double[2 * nbR];
 
-        this.map = new TObjectIntHashMap<>();
-        for (int i = 0; i < vars.length; i++) {
-            this.map.put(vars[i], i);
-        }
         this.toRemove = new TIntArrayStack();
         this.toUpdateLeft = new TIntArrayStack[nbR + 1];
         this.toUpdateRight = new TIntArrayStack[nbR + 1];
@@ -254,179 +268,131 @@ public final class PropMultiCostRegular extends Propagator<IntVar> {
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private void initGraph() {
-        int aid = 0;
-        int nid = 0;
-
-
-        int[] offsets = new int[offset];
-        int[] sizes = new int[offset];
-        int[] starts = new int[offset];
+    private void initGraph() throws ContradictionException {
+        int n = offset;
+        int nbStates = pi.getNbStates();
 
+        int[] offsets = new int[n];
+        int[] starts = new int[n];
         int totalSizes = 0;
-
-        starts[0] = 0;
-        for (int i = 0; i < offset; i++) {
+        for (int i = 0; i < n; i++) {
             offsets[i] = vs[i].getLB();
-            sizes[i] = vs[i].getUB() - vs[i].getLB() + 1;
-            if (i > 0) starts[i] = sizes[i - 1] + starts[i - 1];
-            totalSizes += sizes[i];
-        }
-
-
-        DirectedMultigraph<Node, Arc> graph;
-
-        int n = offset;
-        graph = new DirectedMultigraph<>(null, null, false);
-        ArrayList<HashSet<Arc>> tmp = new ArrayList<>(totalSizes);
-        for (int i = 0; i < totalSizes; i++) {
-            tmp.add(new HashSet<>());
-        }
-
-        int i, j, k;
-        TIntIterator layerIter;
-        TIntIterator qijIter;
-
-        ArrayList<TIntHashSet> layer = new ArrayList<>();
-        TIntHashSet[] tmpQ = new TIntHashSet[totalSizes];
-        // DLList[vars.length+1];
-
-        for (i = 0; i <= n; i++) {
-            layer.add(new TIntHashSet());// = new DLList(nbNodes);
+            starts[i] = totalSizes;
+            totalSizes += vs[i].getUB() - vs[i].getLB() + 1;
         }
 
-        //forward pass, construct all paths described by the automaton for word of length nbVars.
-        layer.get(0).add(pi.getInitialState());
+        // states[i][0..sizes[i]) are the states of layer i
+        int[][] states = new int[n + 1][nbStates];
+        int[] sizes = new int[n + 1];
+        // reached[i * nbStates + k]: state k is reachable in layer i (forward), then also leads to an accepting state (backward)
+        boolean[] reached = new boolean[(n + 1) * nbStates];
         TIntHashSet nexts = new TIntHashSet();
 
-        for (i = 0; i < n; i++) {
-            int UB = vs[i].getUB();
-            for (j = vs[i].getLB(); j <= UB; j = vs[i].nextValue(j)) {
-                layerIter = layer.get(i).iterator();//getIterator();
-                while (layerIter.hasNext()) {
-                    k = layerIter.next();
+        //forward pass, construct all paths described by the automaton for word of length nbVars.
+        states[0][sizes[0]++] = pi.getInitialState();
+        reached[pi.getInitialState()] = true;
+        for (int i = 0; i < n; i++) {
+            int ub = vs[i].getUB();
+            for (int j = vs[i].getLB(); j <= ub; j = vs[i].nextValue(j)) {
+                for (int s = 0; s < sizes[i]; s++) {
                     nexts.clear();
-                    pi.delta(k, j, nexts);
+                    pi.delta(states[i][s], j, nexts);
                     TIntIterator it = nexts.iterator();
                     while (it.hasNext()) {
                         int succ = it.next();
-                        layer.get(i + 1).add(succ);
-                    }
-                    if (!nexts.isEmpty()) {
-                        int idx = starts[i] + j - offsets[i];
-                        if (tmpQ[idx] == null)
-                            tmpQ[idx] = new TIntHashSet();
-
-                        tmpQ[idx].add(k);
-
+                        if (!reached[(i + 1) * nbStates + succ]) {
+                            reached[(i + 1) * nbStates + succ] = true;
+                            states[i + 1][sizes[i + 1]++] = succ;
+                        }
                     }
                 }
             }
         }
 
         //removing reachable non accepting states
-        layerIter = layer.get(n).iterator();
-        while (layerIter.hasNext()) {
-            k = layerIter.next();
-            if (pi.isNotFinal(k)) {
-                layerIter.remove();
+        for (int s = 0; s < sizes[n]; s++) {
+            if (pi.isNotFinal(states[n][s])) {
+                reached[n * nbStates + states[n][s]] = false;
             }
-
         }
 
-        //backward pass, removing arcs that does not lead to an accepting state
-        int nbNodes = pi.getNbStates();
-        BitSet mark = new BitSet(nbNodes);
-
-        Node[] in = new Node[pi.getNbStates() * (n + 1)];
-        Node tink = new Node(pi.getNbStates() + 1, n + 1, nid++);
-        graph.addVertex(tink);
-
-        for (i = n - 1; i >= 0; i--) {
-            mark.clear(0, nbNodes);
-            int UB = vs[i].getUB();
-            for (j = vs[i].getLB(); j <= UB; j = vs[i].nextValue(j)) {
-                int idx = starts[i] + j - offsets[i];
-                TIntHashSet l = tmpQ[idx];
-                if (l != null) {
-                    qijIter = l.iterator();
-                    while (qijIter.hasNext()) {
-                        k = qijIter.next();
-                        nexts.clear();
-                        pi.delta(k, j, nexts);
-                        if (nexts.size() > 1)
-                            System.err.println("STOP");
-                        boolean added = false;
-                        for (TIntIterator it = nexts.iterator(); it.hasNext(); ) {
-                            int qn = it.next();
-
-                            if (layer.get(i + 1).contains(qn)) {
-                                added = true;
-                                Node a = in[i * pi.getNbStates() + k];
-                                if (a == null) {
-                                    a = new Node(k, i, nid++);
-                                    in[i * pi.getNbStates() + k] = a;
-                                    graph.addVertex(a);
-                                }
-
-                                Node b = in[(i + 1) * pi.getNbStates() + qn];
-                                if (b == null) {
-                                    b = new Node(qn, i + 1, nid++);
-                                    in[(i + 1) * pi.getNbStates() + qn] = b;
-                                    graph.addVertex(b);
-                                }
-
-
-                                Arc arc = new Arc(a, b, j, aid++);
-                                graph.addEdge(a, b, arc);
-                                tmp.get(idx).add(arc);
-
-                                mark.set(k);
-                            }
+        //backward pass, only keeping arcs that lead to an accepting state
+        int[] nodeOf = new int[(n + 1) * nbStates];
+        Arrays.fill(nodeOf, -1);
+        TIntArrayList nodeLayers = new TIntArrayList();
+        TIntArrayList nodeStates = new TIntArrayList();
+        TIntArrayList origs = new TIntArrayList();
+        TIntArrayList dests = new TIntArrayList();
+        TIntArrayList values = new TIntArrayList();
+        // the sink
+        nodeLayers.add(n + 1);
+        nodeStates.add(nbStates + 1);
+        for (int i = n - 1; i >= 0; i--) {
+            int ub = vs[i].getUB();
+            for (int j = vs[i].getLB(); j <= ub; j = vs[i].nextValue(j)) {
+                for (int s = 0; s < sizes[i]; s++) {
+                    int k = states[i][s];
+                    nexts.clear();
+                    pi.delta(k, j, nexts);
+                    TIntIterator it = nexts.iterator();
+                    while (it.hasNext()) {
+                        int qn = it.next();
+                        if (reached[(i + 1) * nbStates + qn]) {
+                            origs.add(node(nodeOf, nodeLayers, nodeStates, i, k, nbStates));
+                            dests.add(node(nodeOf, nodeLayers, nodeStates, i + 1, qn, nbStates));
+                            values.add(j);
                         }
-                        if (!added)
-                            qijIter.remove();
                     }
                 }
             }
-            layerIter = layer.get(i).iterator();
-
-            // If no more arcs go out of a given state in the layer, then we remove the state from that layer
-            while (layerIter.hasNext())
-                if (!mark.get(layerIter.next()))
-                    layerIter.remove();
+            // states of the layer without any arc going out are removed
+            for (int s = 0; s < sizes[i]; s++) {
+                reached[i * nbStates + states[i][s]] &= nodeOf[i * nbStates + states[i][s]] >= 0;
+            }
         }
-
-        TIntHashSet th = new TIntHashSet();
-        int[][] intLayer = new int[n + 2][];
-        for (k = 0; k < pi.getNbStates(); k++) {
-            Node o = in[n * pi.getNbStates() + k];
-            {
-                if (o != null) {
-                    Arc a = new Arc(o, tink, 0, aid++);
-                    graph.addEdge(o, tink, a);
-                }
+        if (nodeOf[pi.getInitialState()] < 0) {
+            // no word of length n is accepted
+            fails();
+        }
+        for (int k = 0; k < nbStates; k++) {
+            int o = nodeOf[n * nbStates + k];
+            if (o >= 0) {
+                origs.add(o);
+                dests.add(0);
+                values.add(0);
             }
         }
 
-
-        for (i = 0; i <= n; i++) {
-            th.clear();
-            for (k = 0; k < pi.getNbStates(); k++) {
-                Node o = in[i * pi.getNbStates() + k];
-                if (o != null) {
-                    th.add(o.id);
+        int[][] intLayer = new int[n + 2][];
+        for (int i = 0; i <= n; i++) {
+            TIntArrayList l = new TIntArrayList();
+            for (int k = 0; k < nbStates; k++) {
+                if (nodeOf[i * nbStates + k] >= 0) {
+                    l.add(nodeOf[i * nbStates + k]);
                 }
             }
-            intLayer[i] = th.toArray();
+            intLayer[i] = l.toArray();
         }
-        intLayer[n + 1] = new int[]{tink.id};
+        intLayer[n + 1] = new int[]{0};
 
-        if (intLayer[0].length > 0) {
-            IEnvironment environment = model.getEnvironment();
-            this.graph = new StoredDirectedMultiGraph(environment, graph, intLayer, starts, offsets, totalSizes, pi, z);
-            this.graph.makePathFinder();
+        IEnvironment environment = model.getEnvironment();
+        this.graph = new StoredDirectedMultiGraph(environment, nodeLayers.toArray(), nodeStates.toArray(),
+                origs.toArray(), dests.toArray(), values.toArray(), intLayer, starts, offsets, totalSizes, pi, z);
+        this.graph.makePathFinder();
+    }
+
+    /**
+     * Return the node of state <i>k</i> in <i>layer</i>, created on demand
+     */
+    private static int node(int[] nodeOf, TIntArrayList nodeLayers, TIntArrayList nodeStates,
+                            int layer, int k, int nbStates) {
+        int idx = layer * nbStates + k;
+        if (nodeOf[idx] < 0) {
+            nodeOf[idx] = nodeLayers.size();
+            nodeLayers.add(layer);
+            nodeStates.add(k);
         }
+        return nodeOf[idx];
     }
 
     private void filter() throws ContradictionException {
@@ -517,7 +483,7 @@ public final class PropMultiCostRegular extends Propagator<IntVar> {
             }
             k++;
 
-        } while (modif && nbNSig2 < MAXNONIMPROVEITER && k < MAXBOUNDITER);
+        } while (modif && nbNSig2 < MAXNONIMPROVEITER && k < maxBoundIter);
     }
 
 
@@ -604,7 +570,7 @@ public final class PropMultiCostRegular extends Propagator<IntVar> {
 
             }
             k++;
-        } while (modif && nbNSig2 < MAXNONIMPROVEITER && k < MAXBOUNDITER);
+        } while (modif && nbNSig2 < MAXNONIMPROVEITER && k < maxBoundIter);
     }
 
 
@@ -684,13 +650,11 @@ public final class PropMultiCostRegular extends Propagator<IntVar> {
 
             this.toRemove.clear();
             this.graph.inStack.clear();
-
-
-            this.getGraph().getPathFinder().computeShortestAndLongestPath(toRemove, z, this);
-            computed = true;
-            //assert(toRemove.size() == 0); // PAS SUR DE L'ASSERT
-            // this.graph.toUpdateLeft.reset();
-            //this.graph.toUpdateRight.reset();
+            // paths are restored on backtrack, along with the graph, they only need to be recomputed on demand
+            if (lastWorld == Integer.MAX_VALUE) {
+                this.getGraph().getPathFinder().computeShortestAndLongestPath(toRemove, z, this);
+                computed = true;
+            }
         }
         lastWorld = currentworld;
         lastNbOfBacktracks = currentbt;
@@ -11,6 +11,8 @@ package org.chocosolver.solver.constraints.nary.automata.structure.multicostregu
 
 
 import gnu.trove.stack.TIntStack;
+import org.chocosolver.memory.IStateDoubleVector;
+import org.chocosolver.memory.IStateIntVector;
 import org.chocosolver.solver.constraints.nary.automata.PropMultiCostRegular;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
@@ -35,16 +37,20 @@ public class FastPathFinder {
     private final int[] sp;
     private final int nbLayer;
     private final int nbR;
-    public double[][] spfs;// = new double[graph.GNodes.spfs.length][graph.nbR+1];
-    public double[][] spft;// = new double[graph.GNodes.spfs.length][graph.nbR+1];
-    private final double[][] lpfs;// = new double[graph.GNodes.spfs.length][graph.nbR+1];
-    private final double[][] lpft;// = new double[graph.GNodes.spfs.length][graph.nbR+1];
+    // spfs is a shortcut to graph.GNodes.spfsI
+    private final IStateDoubleVector spfs;
+    private final IStateDoubleVector spft;
+    private final IStateDoubleVector lpfs;
+    private final IStateDoubleVector lpft;
     private final boolean[] modified = new boolean[2];
     // prevSP is a shortcut to graph.GNodes.prevSPI
-    private final int[][] prevSP;
-    private final int[][] nextSP;
-    private final int[][] prevLP;
-    private final int[][] nextLP;
+    private final IStateIntVector prevSP;
+    private final IStateIntVector nextSP;
+    private final IStateIntVector prevLP;
+    private final IStateIntVector nextLP;
+    // current values of the paths of a node, one per resource
+    private final double[] spv;
+    private final double[] lpv;
     private final double[] tmpU;
 
     //***********************************************************************************
@@ -65,6 +71,8 @@ public class FastPathFinder {
         nextSP = this.graph.GNodes.nextSPI;
         prevLP = this.graph.GNodes.prevLPI;
         nextLP = this.graph.GNodes.nextLPI;
+        spv = new double[graph.nbR];
+        lpv = new double[graph.nbR];
     }
 
     //***********************************************************************************
@@ -321,17 +329,22 @@ public class FastPathFinder {
         return sp;
     }
 
+    /**
+     * Compute from scratch the shortest and longest paths w.r.t. each resource,
+     * and remove the arcs that cannot belong to a path within the bounds of the cost variables.
+     * The paths are then maintained incrementally by the graph, on arc removals.
+     */
     public boolean[] computeShortestAndLongestPath(TIntStack removed, IntVar[] z,
                                                    PropMultiCostRegular propagator) throws ContradictionException {
 
         int nbr = z.length;
+        int stride = graph.nbR;
 
-        for (int i = 0; i < nbr; i++) {
-            spfs[graph.sourceIndex][i] = 0.0;
-            spft[graph.tinIndex][i] = 0.0;
-            lpfs[graph.sourceIndex][i] = 0.0;
-            lpft[graph.tinIndex][i] = 0.0;
-
+        for (int d = 0; d < nbr; d++) {
+            spfs.quickSet(graph.sourceIndex * stride + d, 0.0);
+            spft.quickSet(graph.tinIndex * stride + d, 0.0);
+            lpfs.quickSet(graph.sourceIndex * stride + d, 0.0);
+            lpft.quickSet(graph.tinIndex * stride + d, 0.0);
         }
         boolean update;
 
@@ -339,105 +352,105 @@ public class FastPathFinder {
             update = false;
             int[] list = graph.layers[i]._getStructure();
             int size = graph.layers[i].size();
-            // DisposableIntIterator destIter = graph.layers[i].getIterator();
-            //while (destIter.hasNext()) {
             for (int w = size - 1; w >= 0; w--) {
-                //int dest = destIter.next();
                 int dest = list[w];
-                Arrays.fill(spfs[dest], Double.POSITIVE_INFINITY);
-                Arrays.fill(lpfs[dest], Double.NEGATIVE_INFINITY);
+                int didx = dest * stride;
+                Arrays.fill(spv, Double.POSITIVE_INFINITY);
+                Arrays.fill(lpv, Double.NEGATIVE_INFINITY);
 
                 StoredIndexedBipartiteSet bs = graph.GNodes.inArcs[dest];
                 assert (!bs.isEmpty());
                 final int[] inlist = bs._getStructure();
                 final int insize = bs.size();
 
-                for (int x = 0; x < insize; x++) //while (in.hasNext())
-                {
-                    int e = inlist[x];//in.next();
+                for (int x = 0; x < insize; x++) {
+                    int e = inlist[x];
                     if (!graph.isInStack(e)) {
-                        int orig = graph.GArcs.origs[e];//.getDestination();
+                        int oidx = graph.GArcs.origs[e] * stride;
                         double[] cost = graph.GArcs.originalCost[e];
-//                        double[] newCost = addArray(spfs[orig],cost);//cost[i][graph.GArcs.values[e]];
                         for (int d = 0; d < nbr; d++) {
-                            if (spfs[dest][d] > cost[d] + spfs[orig][d]) {
-                                spfs[dest][d] = cost[d] + spfs[orig][d];
-                                prevSP[dest][d] = e;
+                            double sp = spfs.quickGet(oidx + d) + cost[d];
+                            if (spv[d] > sp) {
+                                spv[d] = sp;
+                                prevSP.quickSet(didx + d, e);
                                 update = true;
                             }
-                            if (lpfs[dest][d] < lpfs[orig][d] + cost[d]) {
-                                lpfs[dest][d] = lpfs[orig][d] + cost[d];
-                                prevLP[dest][d] = e;
+                            double lp = lpfs.quickGet(oidx + d) + cost[d];
+                            if (lpv[d] < lp) {
+                                lpv[d] = lp;
+                                prevLP.quickSet(didx + d, e);
                                 update = true;
                             }
                         }
                     }
                 }
-                //  in.dispose();
-
+                for (int d = 0; d < nbr; d++) {
+                    spfs.quickSet(didx + d, spv[d]);
+                    lpfs.quickSet(didx + d, lpv[d]);
+                }
             }
-            //  destIter.dispose();
             if (!update) propagator.fails();
         }
         for (int i = nbLayer - 1; i >= 0; i--) {
             update = false;
-            //DisposableIntIterator origIter = graph.layers[i].getIterator();
             int[] list = graph.layers[i]._getStructure();
             int size = graph.layers[i].size();
-            //while(origIter.hasNext()){
             for (int w = size - 1; w >= 0; w--) {
-                //int orig = origIter.next();
                 int orig = list[w];
-                Arrays.fill(spft[orig], Double.POSITIVE_INFINITY);
-                Arrays.fill(lpft[orig], Double.NEGATIVE_INFINITY);
+                int oidx = orig * stride;
+                Arrays.fill(spv, Double.POSITIVE_INFINITY);
+                Arrays.fill(lpv, Double.NEGATIVE_INFINITY);
                 StoredIndexedBipartiteSet bs = graph.GNodes.outArcs[orig];
                 assert (!bs.isEmpty());
-                final int[] outlist = bs._getStructure();//getIterator();
+                final int[] outlist = bs._getStructure();
                 final int outsize = bs.size();
-                for (int x = 0; x < outsize; x++) //while (out.hasNext())
-                {
-                    int e = outlist[x];//out.next();
+                for (int x = 0; x < outsize; x++) {
+                    int e = outlist[x];
                     if (!graph.isInStack(e)) {
-                        int dest = graph.GArcs.dests[e];//e.getOrigin()  ;
+                        int didx = graph.GArcs.dests[e] * stride;
                         double[] cost = graph.GArcs.originalCost[e];
 
                         for (int d = 0; d < nbr; d++) {
-                            if (spft[dest][d] + cost[d] + spfs[orig][d] - z[d].getUB() >= propagator._MCR_DECIMAL_PREC) {
+                            double sp = spft.quickGet(didx + d) + cost[d];
+                            if (sp + spfs.quickGet(oidx + d) - z[d].getUB() >= propagator._MCR_DECIMAL_PREC) {
                                 graph.getInStack().set(e);
                                 removed.push(e);
                                 break;
-                            } else if (spft[orig][d] > spft[dest][d] + cost[d]) {
-                                spft[orig][d] = spft[dest][d] + cost[d];
-                                nextSP[orig][d] = e;
+                            } else if (spv[d] > sp) {
+                                spv[d] = sp;
+                                nextSP.quickSet(oidx + d, e);
                                 update = true;
                             }
-
-                            if (lpft[dest][d] + cost[d] + lpfs[orig][d] - z[d].getLB() <= -propagator._MCR_DECIMAL_PREC) {
+                            double lp = lpft.quickGet(didx + d) + cost[d];
+                            if (lp + lpfs.quickGet(oidx + d) - z[d].getLB() <= -propagator._MCR_DECIMAL_PREC) {
                                 graph.setInStack(e);
                                 removed.push(e);
                                 break;
-                            } else if (lpft[orig][d] < lpft[dest][d] + cost[d]) {
-                                lpft[orig][d] = lpft[dest][d] + cost[d];
-                                nextLP[orig][d] = e;
+                            } else if (lpv[d] < lp) {
+                                lpv[d] = lp;
+                                nextLP.quickSet(oidx + d, e);
                                 update = true;
                             }
                         }
 
                     }
                 }
-                //  out.dispose();
+                for (int d = 0; d < nbr; d++) {
+                    spft.quickSet(oidx + d, spv[d]);
+                    lpft.quickSet(oidx + d, lpv[d]);
+                }
             }
-            //  origIter.dispose();
             if (!update) propagator.fails();
         }
 
-        modified[0] = z[0].updateLowerBound((int) Math.ceil(spft[graph.sourceIndex][0]), propagator);//this.graph.constraint, false);
-        modified[1] = z[0].updateUpperBound((int) Math.floor(lpft[graph.sourceIndex][0]), propagator);//this.graph.constraint, false);
+        int sidx = graph.sourceIndex * stride;
+        modified[0] = z[0].updateLowerBound((int) Math.ceil(spft.quickGet(sidx)), propagator);
+        modified[1] = z[0].updateUpperBound((int) Math.floor(lpft.quickGet(sidx)), propagator);
 
 
         for (int i = 1; i < nbr; i++) {
-            z[i].updateLowerBound((int) Math.ceil(spft[graph.sourceIndex][i]), propagator);//this.graph.constraint, false);
-            z[i].updateUpperBound((int) Math.floor(lpft[graph.sourceIndex][i]), propagator);//this.graph.constraint, false);
+            z[i].updateLowerBound((int) Math.ceil(spft.quickGet(sidx + i)), propagator);
+            z[i].updateUpperBound((int) Math.floor(lpft.quickGet(sidx + i)), propagator);
         }
 
         return modified;
@@ -9,21 +9,18 @@
  */
 package org.chocosolver.solver.constraints.nary.automata.structure.multicostregular;
 
-import gnu.trove.set.hash.TIntHashSet;
 import gnu.trove.stack.TIntStack;
 import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Set;
 import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateDoubleVector;
+import org.chocosolver.memory.IStateIntVector;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.nary.automata.FA.ICostAutomaton;
-import org.chocosolver.solver.constraints.nary.automata.structure.Node;
-import org.chocosolver.solver.constraints.nary.automata.structure.regular.Arc;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.iterators.DisposableIntIterator;
 import org.chocosolver.util.objects.StoredIndexedBipartiteSetWithOffset;
-import org.jgrapht.graph.DirectedMultigraph;
 
 /**
  * Created by IntelliJ IDEA.
@@ -62,8 +59,8 @@ public class StoredDirectedMultiGraph {
                     int orig = this.GArcs.origs[arc];
                     int dest = this.GArcs.dests[arc];
                     for (int k : dim) {
-                        if (GNodes.spfsI[orig][k] + GArcs.originalCost[arc][k] + GNodes.spftI[dest][k] > z[k].getUB() ||
-                                GNodes.lpfsI[orig][k] + GArcs.originalCost[arc][k] + GNodes.lpftI[dest][k] < z[k].getLB()) {
+                        if (GNodes.spfs(orig, k) + GArcs.originalCost[arc][k] + GNodes.spft(dest, k) > z[k].getUB() ||
+                                GNodes.lpfs(orig, k) + GArcs.originalCost[arc][k] + GNodes.lpft(dest, k) < z[k].getLB()) {
                             if (!isInStack(arc)) {
                                 setInStack(arc);
                                 toRemove.push(arc);
@@ -93,16 +90,35 @@ public class StoredDirectedMultiGraph {
         public double[] lpfs;
         public double[] lpft;
 
-        public int[][] nextSPI;
-        public int[][] prevSPI;
-        public int[][] nextLPI;
-        public int[][] prevLPI;
+        /**
+         * Shortest and longest paths w.r.t. each resource, indexed by node * nbR + resource.
+         * They are maintained incrementally on arc removals and restored on backtrack.
+         */
+        public IStateIntVector nextSPI;
+        public IStateIntVector prevSPI;
+        public IStateIntVector nextLPI;
+        public IStateIntVector prevLPI;
+
+        public IStateDoubleVector spfsI;
+        public IStateDoubleVector spftI;
+        public IStateDoubleVector lpfsI;
+        public IStateDoubleVector lpftI;
+
+        public double spfs(int node, int resource) {
+            return spfsI.quickGet(node * nbR + resource);
+        }
+
+        public double spft(int node, int resource) {
+            return spftI.quickGet(node * nbR + resource);
+        }
 
-        public double[][] spfsI;
-        public double[][] spftI;
-        public double[][] lpfsI;
-        public double[][] lpftI;
+        public double lpfs(int node, int resource) {
+            return lpfsI.quickGet(node * nbR + resource);
+        }
 
+        public double lpft(int node, int resource) {
+            return lpftI.quickGet(node * nbR + resource);
+        }
     }
 
     public class Arcs {
@@ -114,8 +130,25 @@ public class StoredDirectedMultiGraph {
     }
 
 
+    /**
+     * Build the layered graph of an unfolded automaton.
+     *
+     * @param environment   backtracking environment
+     * @param nodeLayers    layer of each node
+     * @param nodeStates    state of each node
+     * @param origs         origin of each arc
+     * @param dests         destination of each arc
+     * @param values        value of each arc
+     * @param layers        nodes of each layer, the last one only contains the sink
+     * @param starts        index of the first support of each variable
+     * @param offsets       smallest value of each variable
+     * @param supportLength number of supports
+     * @param pi            the automaton
+     * @param z             the cost variables
+     */
     public StoredDirectedMultiGraph(IEnvironment environment,
-                                    DirectedMultigraph<Node, Arc> graph, int[][] layers, int[] starts, int[] offsets,
+                                    int[] nodeLayers, int[] nodeStates, int[] origs, int[] dests, int[] values,
+                                    int[][] layers, int[] starts, int[] offsets,
                                     int supportLength, ICostAutomaton pi, IntVar[] z) {
         this.nbR = pi.getNbResources();
         this.z = z;
@@ -131,112 +164,98 @@ public class StoredDirectedMultiGraph {
         this.GNodes = new Nodes();
         this.GArcs = new Arcs();
 
-        TIntHashSet[] sups = new TIntHashSet[supportLength];
-        this.supports = new StoredIndexedBipartiteSetWithOffset[supportLength];
-
-
-        Set<Arc> arcs = graph.edgeSet();
-
-        this.inStack = new BitSet(arcs.size());//environment.makeBitSet(arcs.size());
-
-        GArcs.values = new int[arcs.size()];
-        GArcs.dests = new int[arcs.size()];
-        GArcs.origs = new int[arcs.size()];
-        GArcs.originalCost = new double[arcs.size()][nbR];
-        GArcs.temporaryCost = new double[arcs.size()];
-
-
-        for (Arc a : arcs) {
-
-            GArcs.values[a.id] = a.value;
-            GArcs.dests[a.id] = a.dest.id;
-            GArcs.origs[a.id] = a.orig.id;
-            int state = a.orig.state;
-            int layer = a.orig.layer;
+        int nbArcs = origs.length;
+        int nbNodes = nodeLayers.length;
+        this.inStack = new BitSet(nbArcs);
+
+        GArcs.values = values;
+        GArcs.dests = dests;
+        GArcs.origs = origs;
+        GArcs.originalCost = new double[nbArcs][nbR];
+        GArcs.temporaryCost = new double[nbArcs];
+
+        // supports, outgoing and incoming arcs are built by counting
+        int[] supSize = new int[supportLength];
+        int[] outSize = new int[nbNodes];
+        int[] inSize = new int[nbNodes];
+        for (int a = 0; a < nbArcs; a++) {
+            int layer = nodeLayers[origs[a]];
+            int state = nodeStates[origs[a]];
             for (int r = 0; r < nbR; r++) {
-                GArcs.originalCost[a.id][r] = layer < layers.length - 2 ? pi.getCostByResourceAndState(layer, a.value, r, state) : 0.0;
+                GArcs.originalCost[a][r] = layer < layers.length - 2 ? pi.getCostByResourceAndState(layer, values[a], r, state) : 0.0;
             }
-
-
-            if (a.orig.layer < starts.length) {
-                int idx = starts[a.orig.layer] + a.value - offsets[a.orig.layer];
-                if (sups[idx] == null)
-                    sups[idx] = new TIntHashSet();
-                sups[idx].add(a.id);
+            if (layer < starts.length) {
+                supSize[starts[layer] + values[a] - offsets[layer]]++;
             }
-
+            outSize[origs[a]]++;
+            inSize[dests[a]]++;
+        }
+        int[][] sups = new int[supportLength][];
+        for (int i = 0; i < supportLength; i++) {
+            if (supSize[i] > 0) {
+                sups[i] = new int[supSize[i]];
+                supSize[i] = 0;
+            }
+        }
+        int[][] outs = new int[nbNodes][];
+        int[][] ins = new int[nbNodes][];
+        for (int n = 0; n < nbNodes; n++) {
+            outs[n] = new int[outSize[n]];
+            ins[n] = new int[inSize[n]];
+            outSize[n] = inSize[n] = 0;
+        }
+        for (int a = 0; a < nbArcs; a++) {
+            int layer = nodeLayers[origs[a]];
+            if (layer < starts.length) {
+                int idx = starts[layer] + values[a] - offsets[layer];
+                sups[idx][supSize[idx]++] = a;
+            }
+            outs[origs[a]][outSize[origs[a]]++] = a;
+            ins[dests[a]][inSize[dests[a]]++] = a;
         }
 
+        this.supports = new StoredIndexedBipartiteSetWithOffset[supportLength];
         for (int i = 0; i < sups.length; i++) {
             if (sups[i] != null)
-                supports[i] = new StoredIndexedBipartiteSetWithOffset(environment, sups[i].toArray());
+                supports[i] = new StoredIndexedBipartiteSetWithOffset(environment, sups[i]);
         }
 
-        Set<Node> nodes = graph.vertexSet();
-        GNodes.outArcs = new StoredIndexedBipartiteSetWithOffset[nodes.size()];
-        GNodes.inArcs = new StoredIndexedBipartiteSetWithOffset[nodes.size()];
-        GNodes.layers = new int[nodes.size()];
-        GNodes.states = new int[nodes.size()];
+        GNodes.outArcs = new StoredIndexedBipartiteSetWithOffset[nbNodes];
+        GNodes.inArcs = new StoredIndexedBipartiteSetWithOffset[nbNodes];
+        GNodes.layers = nodeLayers;
+        GNodes.states = nodeStates;
+        for (int n = 0; n < nbNodes; n++) {
+            if (outs[n].length > 0) {
+                GNodes.outArcs[n] = new StoredIndexedBipartiteSetWithOffset(environment, outs[n]);
+            }
+            if (ins[n].length > 0) {
+                GNodes.inArcs[n] = new StoredIndexedBipartiteSetWithOffset(environment, ins[n]);
+            }
+        }
 
-        GNodes.prevLP = new int[nodes.size()];
+        GNodes.prevLP = new int[nbNodes];
         Arrays.fill(GNodes.prevLP, Integer.MIN_VALUE);
-        GNodes.nextLP = new int[nodes.size()];
+        GNodes.nextLP = new int[nbNodes];
         Arrays.fill(GNodes.nextLP, Integer.MIN_VALUE);
-        GNodes.prevSP = new int[nodes.size()];
+        GNodes.prevSP = new int[nbNodes];
         Arrays.fill(GNodes.prevSP, Integer.MIN_VALUE);
-        GNodes.nextSP = new int[nodes.size()];
+        GNodes.nextSP = new int[nbNodes];
         Arrays.fill(GNodes.nextSP, Integer.MIN_VALUE);
 
+        GNodes.lpfs = new double[nbNodes];
+        GNodes.lpft = new double[nbNodes];
+        GNodes.spfs = new double[nbNodes];
+        GNodes.spft = new double[nbNodes];
 
-        GNodes.lpfs = new double[nodes.size()];
-        GNodes.lpft = new double[nodes.size()];
-        GNodes.spfs = new double[nodes.size()];
-        GNodes.spft = new double[nodes.size()];
-
-
-        GNodes.lpfsI = new double[nodes.size()][nbR];
-        GNodes.lpftI = new double[nodes.size()][nbR];
-        GNodes.spfsI = new double[nodes.size()][nbR];
-        GNodes.spftI = new double[nodes.size()][nbR];
-
-        GNodes.prevLPI = new int[nodes.size()][nbR];
-        GNodes.nextLPI = new int[nodes.size()][nbR];
-        GNodes.prevSPI = new int[nodes.size()][nbR];
-        GNodes.nextSPI = new int[nodes.size()][nbR];
-        for (int k = 0; k < nbR; k++) {
-            Arrays.fill(GNodes.prevLPI[k], Integer.MIN_VALUE);
-            Arrays.fill(GNodes.nextLPI[k], Integer.MIN_VALUE);
-            Arrays.fill(GNodes.prevSPI[k], Integer.MIN_VALUE);
-            Arrays.fill(GNodes.nextSPI[k], Integer.MIN_VALUE);
-        }
-
-
-        for (Node n : nodes) {
-            GNodes.layers[n.id] = n.layer;
-            GNodes.states[n.id] = n.state;
-            int i;
-            Set<Arc> outarc = graph.outgoingEdgesOf(n);
-            if (!outarc.isEmpty()) {
-                int[] out = new int[outarc.size()];
-                i = 0;
-                for (Arc a : outarc) {
-                    out[i++] = a.id;
-                }
-                GNodes.outArcs[n.id] = new StoredIndexedBipartiteSetWithOffset(environment, out);
-            }
-
-            Set<Arc> inarc = graph.incomingEdgesOf(n);
-            if (!inarc.isEmpty()) {
-                int[] in = new int[inarc.size()];
-                i = 0;
-                for (Arc a : inarc) {
-                    in[i++] = a.id;
-                }
-                GNodes.inArcs[n.id] = new StoredIndexedBipartiteSetWithOffset(environment, in);
-            }
-        }
-
+        GNodes.lpfsI = environment.makeDoubleVector(nbNodes * nbR, Double.NEGATIVE_INFINITY);
+        GNodes.lpftI = environment.makeDoubleVector(nbNodes * nbR, Double.NEGATIVE_INFINITY);
+        GNodes.spfsI = environment.makeDoubleVector(nbNodes * nbR, Double.POSITIVE_INFINITY);
+        GNodes.spftI = environment.makeDoubleVector(nbNodes * nbR, Double.POSITIVE_INFINITY);
 
+        GNodes.prevLPI = environment.makeIntVector(nbNodes * nbR, Integer.MIN_VALUE);
+        GNodes.nextLPI = environment.makeIntVector(nbNodes * nbR, Integer.MIN_VALUE);
+        GNodes.prevSPI = environment.makeIntVector(nbNodes * nbR, Integer.MIN_VALUE);
+        GNodes.nextSPI = environment.makeIntVector(nbNodes * nbR, Integer.MIN_VALUE);
     }
 
     public final void makePathFinder() {
@@ -246,11 +265,7 @@ public class StoredDirectedMultiGraph {
 
     public final StoredIndexedBipartiteSetWithOffset getUBport(int i, int j) {
         int idx = starts[i] + j - offsets[i];
-        if (idx == -1)
-            System.err.println("stop");
         return supports[idx];
-
-
     }
 
     public final FastPathFinder getPathFinder() {
@@ -293,23 +308,20 @@ public class StoredDirectedMultiGraph {
                 in = GNodes.inArcs[orig];
                 list = in._getStructure();
                 size = in.size();
-                for (int i = 0; i < size; i++)//while(it.hasNext())
-                {
-                    int id = list[i];//it.next();
+                for (int i = 0; i < size; i++) {
+                    int id = list[i];
                     if (!isInStack(id)) {
                         setInStack(id);
                         toRemove.push(id);
                     }
                 }
-                //it.dispose();
             }
         } else {
             for (int k = 0; k < nbR; k++) {
-                //   System.out.println(GNodes.nextSPI[orig][k] + " " + arcId);
-                if (GNodes.nextSPI[orig][k] == arcId || GNodes.nextLPI[orig][k] == arcId) {
+                int idx = orig * nbR + k;
+                if (GNodes.nextSPI.quickGet(idx) == arcId || GNodes.nextLPI.quickGet(idx) == arcId) {
                     updateRight[k].push(orig);
                     needUpdate = true;
-                    //  updateRight(orig,toRemove,k,modBound);
                 }
             }
         }
@@ -325,21 +337,19 @@ public class StoredDirectedMultiGraph {
                 out = GNodes.outArcs[dest];
                 list = out._getStructure();
                 size = out.size();
-                for (int i = 0; i < size; i++)//while(it.hasNext())
-                {
-                    int id = list[i];//it.next();
+                for (int i = 0; i < size; i++) {
+                    int id = list[i];
                     if (!isInStack(id)) {
                         setInStack(id);
                         toRemove.push(id);
                     }
                 }
-                // it.dispose();
-
             }
         } else {
             for (int k = 0; k < nbR; k++) {
-                if (GNodes.prevSPI[dest][k] == arcId || GNodes.prevLPI[dest][k] == arcId) {
-                    updateLeft[k].push(dest);//dest,toRemove,k,modBound);
+                int idx = dest * nbR + k;
+                if (GNodes.prevSPI.quickGet(idx) == arcId || GNodes.prevLPI.quickGet(idx) == arcId) {
+                    updateLeft[k].push(dest);
                     needUpdate = true;
                 }
             }
@@ -361,17 +371,16 @@ public class StoredDirectedMultiGraph {
         int size = GNodes.outArcs[nid].size();
 
 
-        for (int i = 0; i < size; i++)// while(it.hasNext())
-        {
-            int arcId = list[i];//it.next();
+        for (int i = 0; i < size; i++) {
+            int arcId = list[i];
             int dest = GArcs.dests[arcId];
-            double spft = GNodes.spftI[dest][dim] + GArcs.originalCost[arcId][dim];
+            double spft = GNodes.spft(dest, dim) + GArcs.originalCost[arcId][dim];
             if (tempPval > spft) {
                 tempPval = spft;
                 tempP = arcId;
             }
 
-            double lpft = GNodes.lpftI[dest][dim] + GArcs.originalCost[arcId][dim];
+            double lpft = GNodes.lpft(dest, dim) + GArcs.originalCost[arcId][dim];
             if (tempPval2 < lpft) {
                 tempPval2 = lpft;
                 temp2 = arcId;
@@ -379,14 +388,15 @@ public class StoredDirectedMultiGraph {
 
 
         }
-        //it.dispose();
-        double old = GNodes.spftI[nid][dim];
-        GNodes.spftI[nid][dim] = tempPval;
-        GNodes.nextSPI[nid][dim] = tempP;
+        // only modified entries are written, to save trailing
+        int nidx = nid * nbR + dim;
+        double old = GNodes.spftI.quickGet(nidx);
+        set(GNodes.spftI, nidx, old, tempPval);
+        set(GNodes.nextSPI, nidx, tempP);
 
-        double old2 = GNodes.lpftI[nid][dim];
-        GNodes.lpftI[nid][dim] = tempPval2;
-        GNodes.nextLPI[nid][dim] = temp2;
+        double old2 = GNodes.lpftI.quickGet(nidx);
+        set(GNodes.lpftI, nidx, old2, tempPval2);
+        set(GNodes.nextLPI, nidx, temp2);
 
         if (nid == sourceIndex) {
             if (dim == 0) {
@@ -402,16 +412,16 @@ public class StoredDirectedMultiGraph {
             list = GNodes.inArcs[nid]._getStructure();
             size = GNodes.inArcs[nid].size();
 
-            for (int i = 0; i < size; i++) //while(it.hasNext())
-            {
-                int arcId = list[i];//it.next();
+            for (int i = 0; i < size; i++) {
+                int arcId = list[i];
                 int orig = GArcs.origs[arcId];
-                if ((GNodes.nextSPI[orig][dim] == arcId && old != tempPval) || (old2 != tempPval2 && GNodes.nextLPI[orig][dim] == arcId)) {
+                int oidx = orig * nbR + dim;
+                if ((GNodes.nextSPI.quickGet(oidx) == arcId && old != tempPval)
+                        || (old2 != tempPval2 && GNodes.nextLPI.quickGet(oidx) == arcId)) {
                     updateRight.push(orig);
-                    //updateRight(orig,toRemove,dim,modBound);
                 }
-                double spfs = GNodes.spfsI[orig][dim];//.quickGet(orig);
-                double lpfs = GNodes.lpfsI[orig][dim];
+                double spfs = GNodes.spfsI.quickGet(oidx);
+                double lpfs = GNodes.lpfsI.quickGet(oidx);
 
                 double acost = GArcs.originalCost[arcId][dim];
                 if (!isInStack(arcId) && (tempPval + spfs + acost > z[dim].getUB()
@@ -420,7 +430,6 @@ public class StoredDirectedMultiGraph {
                     toRemove.push(arcId);
                 }
             }
-            //   it.dispose();
         }
 
 
@@ -440,16 +449,15 @@ public class StoredDirectedMultiGraph {
         int size = GNodes.inArcs[nid].size();
 
 
-        for (int i = 0; i < size; i++) //while(it.hasNext())
-        {
-            int arcId = list[i];//it.next();
+        for (int i = 0; i < size; i++) {
+            int arcId = list[i];
             int orig = GArcs.origs[arcId];
-            double spfs = GNodes.spfsI[orig][dim] + GArcs.originalCost[arcId][dim];
+            double spfs = GNodes.spfs(orig, dim) + GArcs.originalCost[arcId][dim];
             if (tempPval > spfs) {
                 tempPval = spfs;
                 tempP = arcId;
             }
-            double lpfs = GNodes.lpfsI[orig][dim] + GArcs.originalCost[arcId][dim];
+            double lpfs = GNodes.lpfs(orig, dim) + GArcs.originalCost[arcId][dim];
             if (tempPval2 < lpfs) {
                 tempPval2 = lpfs;
                 tempP2 = arcId;
@@ -457,13 +465,14 @@ public class StoredDirectedMultiGraph {
 
         }
 
-        //it.dispose();
-        double old = GNodes.spfsI[nid][dim];
-        GNodes.spfsI[nid][dim] = tempPval;
-        GNodes.prevSPI[nid][dim] = tempP;
-        double old2 = GNodes.lpfsI[nid][dim];
-        GNodes.lpfsI[nid][dim] = tempPval2;
-        GNodes.prevLPI[nid][dim] = tempP2;
+        // only modified entries are written, to save trailing
+        int nidx = nid * nbR + dim;
+        double old = GNodes.spfsI.quickGet(nidx);
+        set(GNodes.spfsI, nidx, old, tempPval);
+        set(GNodes.prevSPI, nidx, tempP);
+        double old2 = GNodes.lpfsI.quickGet(nidx);
+        set(GNodes.lpfsI, nidx, old2, tempPval2);
+        set(GNodes.prevLPI, nidx, tempP2);
 
         if (nid == tinIndex) {
             if (dim == 0) {
@@ -480,30 +489,41 @@ public class StoredDirectedMultiGraph {
             list = GNodes.outArcs[nid]._getStructure();
             size = GNodes.outArcs[nid].size();
 
-            for (int i = 0; i < size; i++)//while(it.hasNext())
-            {
-                int arcId = list[i];//it.next();
+            for (int i = 0; i < size; i++) {
+                int arcId = list[i];
                 int dest = GArcs.dests[arcId];
-                if ((old != tempPval && GNodes.prevSPI[dest][dim] == arcId) || (old2 != tempPval2 && GNodes.prevLPI[dest][dim] == arcId)) {
-                    // updateLeft(dest,toRemove,dim,modBound);
+                int didx = dest * nbR + dim;
+                if ((old != tempPval && GNodes.prevSPI.quickGet(didx) == arcId)
+                        || (old2 != tempPval2 && GNodes.prevLPI.quickGet(didx) == arcId)) {
                     updateLeft.push(dest);
                 }
-                double spft = GNodes.spftI[dest][dim];
+                double spft = GNodes.spftI.quickGet(didx);
                 double acost = GArcs.originalCost[arcId][dim];
-                double lpft = GNodes.lpftI[dest][dim];
+                double lpft = GNodes.lpftI.quickGet(didx);
                 if (!isInStack(arcId) && (tempPval + spft + acost > z[dim].getUB()
                         || tempPval2 + lpft + acost < z[dim].getLB())) {
                     setInStack(arcId);
                     toRemove.push(arcId);
                 }
             }
-            //it.dispose();
         }
 
 
     }
 
 
+    private static void set(IStateDoubleVector vector, int idx, double old, double val) {
+        if (old != val) {
+            vector.quickSet(idx, val);
+        }
+    }
+
+    private static void set(IStateIntVector vector, int idx, int val) {
+        if (vector.quickGet(idx) != val) {
+            vector.quickSet(idx, val);
+        }
+    }
+
     /**
      * Getter to the is arc in to be removed stack bitSet
      *
@@ -543,7 +563,7 @@ public class StoredDirectedMultiGraph {
             int destId = GArcs.dests[arcId];
             double cost = 0d;
             for (int r : resources) {
-                cost += pf.spfs[origId][r] + GArcs.originalCost[arcId][r] + pf.spft[destId][r];
+                cost += GNodes.spfs(origId, r) + GArcs.originalCost[arcId][r] + GNodes.spft(destId, r);
             }
             if (cost < result)
                 result = (int)cost;
@@ -552,7 +572,7 @@ public class StoredDirectedMultiGraph {
         }
         it.dispose();
         for (int r : resources) {
-            result -= pf.spft[sourceIndex][r];
+            result -= GNodes.spft(sourceIndex, r);
         }
 //        if (result < 0)
 //            ;//   System.err.println("STR");//
@@ -572,7 +592,7 @@ public class StoredDirectedMultiGraph {
             int destId = GArcs.dests[arcId];
             double cost = 0;
             for (int r : resources) {
-                cost += pf.spfs[origId][r] + GArcs.originalCost[arcId][r] + pf.spft[destId][r];
+                cost += GNodes.spfs(origId, r) + GArcs.originalCost[arcId][r] + GNodes.spft(destId, r);
             }
             if (cost < result)
                 result = (int)cost;
@@ -595,7 +615,7 @@ public class StoredDirectedMultiGraph {
             int destId = GArcs.dests[arcId];
             double cost = 0;
             for (int r : resources) {
-                cost += pf.spfs[origId][r] + GArcs.originalCost[arcId][r] + pf.spft[destId][r];
+                cost += GNodes.spfs(origId, r) + GArcs.originalCost[arcId][r] + GNodes.spft(destId, r);
             }
             if (cost < minmax[0])
                 minmax[0] = (int)cost;
@@ -620,7 +640,7 @@ public class StoredDirectedMultiGraph {
     public int getMinPathCost(int... resources) {
         double result = 0;
         for (int r : resources) {
-            result += pf.spft[sourceIndex][r];
+            result += GNodes.spft(sourceIndex, r);
         }
         return (int)result;
     }
@@ -25,6 +25,7 @@ import org.chocosolver.util.objects.setDataStructures.SetType;
 import org.chocosolver.util.procedure.UnaryIntProcedure;
 import org.chocosolver.util.tools.ArrayUtils;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
 import java.util.stream.IntStream;
@@ -33,6 +34,12 @@ import java.util.stream.IntStream;
  * Propagator for a Bin Packing constraint
  * This propagator is an implementation of filtering rules introduced in the following paper :
  * Shaw, P. (2004). A Constraint for Bin Packing. In M. Wallace (Ed.), Principles and Practice of Constraint Programming – CP 2004 (pp. 648–662). Springer Berlin Heidelberg.
+ * <p>
+ * Optionally (and not by default), the NoSum approximation is completed by an exact knapsack reasoning per bin:
+ * the loads reachable with the candidate items of a bin are computed with a bitset-based dynamic programming,
+ * to tighten the load bounds and to eliminate or commit items (items of the same size are handled at once).
+ * Then, the L2 lower bound of Martello and Toth is applied on the reduced problem described in the paper above,
+ * where the bins are given a common capacity and the items already packed are replaced by one item per bin.
  *
  * @author Arthur Godet <arth.godet@gmail.com>, Jean-Guillaume Fages
  */
@@ -63,6 +70,13 @@ public class PropBinPacking extends Propagator<IntVar> {
     private final int[] X;
     private int xSize;
 
+    // Knapsack parameters and Java variables
+    private final boolean useKnapsackFiltering;
+    private final ReachableLoads reachable;
+    private final int[] candidates;
+    private final int[] l2Sizes;
+    private final long[] l2Sums;
+
     @SuppressWarnings("Convert2Diamond")
     private final UnaryIntProcedure<Integer> procedure = new UnaryIntProcedure<Integer>() {
         int item;
@@ -90,9 +104,10 @@ public class PropBinPacking extends Propagator<IntVar> {
      * @param itemSize size of every item
      * @param binLoad total load of every bin
      * @param offset index offset: binOfItem[i] = k means item i is in bin k-offset
+     * NoSum filterings are used, knapsack-based filterings are not.
      */
     public PropBinPacking(IntVar[] itemBin, int[] itemSize, IntVar[] binLoad, int offset) {
-        this(itemBin, itemSize, binLoad, offset, true);
+        this(itemBin, itemSize, binLoad, offset, true, false);
     }
 
     /**
@@ -105,12 +120,28 @@ public class PropBinPacking extends Propagator<IntVar> {
      * @param useNoSumFiltering indicates whether to use NoSum filterings or not (should be true)
      */
     public PropBinPacking(IntVar[] itemBin, int[] itemSize, IntVar[] binLoad, int offset, boolean useNoSumFiltering) {
+        this(itemBin, itemSize, binLoad, offset, useNoSumFiltering, false);
+    }
+
+    /**
+     * Propagator for a Bin Packing constraint
+     *
+     * @param itemBin bin of every item (possibly with offset)
+     * @param itemSize size of every item
+     * @param binLoad total load of every bin
+     * @param offset index offset: binOfItem[i] = k means item i is in bin k-offset
+     * @param useNoSumFiltering indicates whether to use NoSum filterings or not (should be true)
+     * @param useKnapsackFiltering indicates whether to use knapsack-based filterings and the L2 lower bound or not
+     */
+    public PropBinPacking(IntVar[] itemBin, int[] itemSize, IntVar[] binLoad, int offset,
+                          boolean useNoSumFiltering, boolean useKnapsackFiltering) {
         super(ArrayUtils.append(itemBin, binLoad), PropagatorPriority.LINEAR, true);
         this.itemBin = itemBin;
         this.itemSize = itemSize;
         this.binLoad = binLoad;
         this.offset = offset;
         this.useNoSumFiltering = useNoSumFiltering;
+        this.useKnapsackFiltering = useKnapsackFiltering;
 
         nbItems = itemBin.length;
         nbAvailableBins = binLoad.length;
@@ -140,6 +171,12 @@ public class PropBinPacking extends Propagator<IntVar> {
             .sorted(Comparator.comparingInt(i -> -itemSize[i]))
             .mapToInt(i -> i)
             .toArray();
+
+        // Knapsack init
+        reachable = useKnapsackFiltering ? new ReachableLoads() : null;
+        candidates = new int[nbItems];
+        l2Sizes = new int[nbItems + nbAvailableBins];
+        l2Sums = new long[nbItems + nbAvailableBins + 1];
     }
 
     @Override
@@ -209,6 +246,9 @@ public class PropBinPacking extends Propagator<IntVar> {
             if(useNoSumFiltering) {
                 hasFiltered |= noSumFiltering(j);
             }
+            if(useKnapsackFiltering && !hasFiltered) {
+                hasFiltered = knapsackFiltering(j);
+            }
         } while(hasFiltered);
     }
 
@@ -314,6 +354,141 @@ public class PropBinPacking extends Propagator<IntVar> {
         return hasFiltered;
     }
 
+    ////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////    KNAPSACK METHODS    ////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Exact reasoning on the loads reachable with the candidate items of bin <i>j</i>.
+     *
+     * @param j a bin
+     * @return <i>true</i> if a domain has been modified
+     * @throws ContradictionException if no load in the domain of the bin can be reached
+     */
+    private boolean knapsackFiltering(int j) throws ContradictionException {
+        int m = 0;
+        int sumC = 0;
+        for(int k = 0; k < nbItems; k++) {
+            int i = indexSortedBySize[k];
+            if(P[j].contains(i) && !R[j].contains(i)) {
+                candidates[m++] = i;
+                sumC += itemSize[i];
+            }
+        }
+        int lo = binLoad[j].getLB() - sumR[j].get();
+        int hi = binLoad[j].getUB() - sumR[j].get();
+        if(m == 0 || hi < 0 || !reachable.compute(candidates, itemSize, m, Math.min(hi, sumC))) {
+            return false;
+        }
+        // Tightening Bounds on Bin Load
+        int nlo = reachable.nextReachable(lo);
+        if(nlo == -1) {
+            fails();
+        }
+        int nhi = reachable.prevReachable(hi);
+        boolean hasFiltered = binLoad[j].updateBounds(sumR[j].get() + nlo, sumR[j].get() + nhi, this);
+        // Elimination and Commitment of Items, one group of items of the same size at a time
+        for(int k = 0; k < m; ) {
+            int size = itemSize[candidates[k]];
+            int e = k;
+            while(e + 1 < m && itemSize[candidates[e + 1]] == size) {
+                e++;
+            }
+            boolean eliminate = !reachable.reachableWithout(e, nlo - size, nhi - size);
+            boolean commit = !eliminate && !reachable.reachableWithout(e, nlo, nhi);
+            for(int q = k; q <= e; q++) {
+                int i = candidates[q];
+                if(eliminate) {
+                    if(itemBin[i].removeValue(j + offset, this)) {
+                        hasFiltered = true;
+                        removeItemFromBin(j, i);
+                    }
+                } else if(commit) {
+                    hasFiltered |= itemBin[i].instantiateTo(j + offset, this);
+                    updateRAfterInstantiation(j, i);
+                }
+            }
+            k = e + 1;
+        }
+        return hasFiltered;
+    }
+
+    /**
+     * Apply the L2 lower bound of Martello and Toth on the number of bins.
+     * All bins are given the largest capacity, C.
+     * Each bin j is then represented by an item whose size is the load already packed in it plus C - ub(load<sub>j</sub>),
+     * and unpacked items keep their size.
+     *
+     * @throws ContradictionException if more bins than available are needed
+     */
+    private void l2Filtering() throws ContradictionException {
+        int c = 0;
+        for(int j = 0; j < nbAvailableBins; j++) {
+            c = Math.max(c, binLoad[j].getUB());
+        }
+        int n = 0;
+        for(int i = 0; i < nbItems; i++) {
+            if(!itemBin[i].isInstantiated() && itemSize[i] > 0) {
+                l2Sizes[n++] = itemSize[i];
+            }
+        }
+        if(n == 0 || c == 0) {
+            return;
+        }
+        for(int j = 0; j < nbAvailableBins; j++) {
+            int s = sumR[j].get() + c - binLoad[j].getUB();
+            if(s > 0) {
+                l2Sizes[n++] = s;
+            }
+        }
+        Arrays.sort(l2Sizes, 0, n);
+        // sizes are read in decreasing order
+        l2Sums[0] = 0;
+        for(int k = 0; k < n; k++) {
+            l2Sums[k + 1] = l2Sums[k] + l2Sizes[n - 1 - k];
+        }
+        // K = 0, then every distinct size up to C/2
+        long lb = l2(n, c, 0);
+        for(int k = 0; k < n && l2Sizes[k] <= c / 2; k++) {
+            if(k == 0 || l2Sizes[k] != l2Sizes[k - 1]) {
+                lb = Math.max(lb, l2(n, c, l2Sizes[k]));
+            }
+        }
+        if(lb > nbAvailableBins) {
+            fails();
+        }
+    }
+
+    /**
+     * @return L(K) = |N1| + |N2| + max(0, ceil((sum(N3) - (|N2| * C - sum(N2))) / C)), where
+     * N1 = {s &gt; C-K}, N2 = {C-K &ge; s &gt; C/2} and N3 = {C/2 &ge; s &ge; K}
+     */
+    private long l2(int n, int c, int kv) {
+        int n1 = nbGreaterThan(n, c - kv);
+        int n2 = nbGreaterThan(n, c / 2);
+        int n3 = nbGreaterThan(n, kv - 1);
+        long sum2 = l2Sums[n2] - l2Sums[n1];
+        long sum3 = l2Sums[n3] - l2Sums[n2];
+        long rem = sum3 - ((long) (n2 - n1) * c - sum2);
+        return n2 + (rem > 0 ? (rem + c - 1) / c : 0);
+    }
+
+    /**
+     * @return the number of sizes, among the first <i>n</i> ones of {@link #l2Sizes}, strictly greater than <i>t</i>
+     */
+    private int nbGreaterThan(int n, int t) {
+        int lo = 0, hi = n;
+        while(lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if(l2Sizes[mid] > t) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return n - lo;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////
     //////////////////////////////////    PROPAGATION    ///////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////
@@ -374,6 +549,9 @@ public class PropBinPacking extends Propagator<IntVar> {
         while(!binsToProcess.isEmpty()) {
             processBin(binsToProcess.nextSetBit(0));
         }
+        if(useKnapsackFiltering) {
+            l2Filtering();
+        }
     }
 
     @Override
@@ -0,0 +1,183 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.binPacking;
+
+/**
+ * Loads that can be reached by a subset of a sequence of items, computed with a bitset-based dynamic programming.
+ * <p>
+ * Given items x<sub>0</sub>, ..., x<sub>m-1</sub>, the loads reachable with x<sub>0</sub>, ..., x<sub>k-1</sub>
+ * (the k<sup>th</sup> prefix) and with x<sub>k</sub>, ..., x<sub>m-1</sub> (the k<sup>th</sup> suffix)
+ * are stored for each k, as bitsets bounded by a maximum load.
+ * Each bitset is computed from the previous one with a shift and a union, in O(max/64).
+ * Then, the loads reachable without x<sub>k</sub> are the sums of a load of the k<sup>th</sup> prefix
+ * and a load of the (k+1)<sup>th</sup> suffix.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+final class ReachableLoads {
+
+    /**
+     * Maximum number of words stored, for prefixes and suffixes each
+     */
+    private static final int LIMIT = 1 << 20;
+    /**
+     * Prefixes and suffixes, <i>words</i> words per bitset
+     */
+    private long[] pre = new long[0];
+    private long[] suf = new long[0];
+    /**
+     * Number of reachable loads of a suffix at or below each load
+     */
+    private int[] cumul = new int[0];
+    private int words;
+    private int max;
+
+    /**
+     * Compute the loads reachable with subsets of <i>items</i>, up to <i>max</i>.
+     *
+     * @param items indices of the items, the first <i>m</i> ones are considered
+     * @param sizes size of each item
+     * @param m     number of items
+     * @param max   maximum load of interest
+     * @return <i>false</i> if the bitsets would be too large, in which case nothing is computed
+     */
+    boolean compute(int[] items, int[] sizes, int m, int max) {
+        int w = (max >> 6) + 1;
+        if ((long) w * (m + 1) > LIMIT) {
+            return false;
+        }
+        this.max = max;
+        this.words = w;
+        if (pre.length < w * (m + 1)) {
+            pre = new long[w * (m + 1)];
+            suf = new long[w * (m + 1)];
+        }
+        if (cumul.length < max + 2) {
+            cumul = new int[max + 2];
+        }
+        clear(pre, 0);
+        pre[0] = 1L;
+        for (int k = 0; k < m; k++) {
+            shiftOr(pre, k, k + 1, sizes[items[k]]);
+        }
+        clear(suf, m);
+        suf[m * w] = 1L;
+        for (int k = m - 1; k >= 0; k--) {
+            shiftOr(suf, k + 1, k, sizes[items[k]]);
+        }
+        return true;
+    }
+
+    private void clear(long[] bits, int k) {
+        int o = k * words;
+        for (int i = 0; i < words; i++) {
+            bits[o + i] = 0L;
+        }
+    }
+
+    /**
+     * bits[to] = bits[from] | (bits[from] << s), truncated to {@link #max}
+     */
+    private void shiftOr(long[] bits, int from, int to, int s) {
+        int f = from * words;
+        int t = to * words;
+        int ws = s >> 6;
+        int bs = s & 63;
+        for (int i = words - 1; i >= 0; i--) {
+            long v = bits[f + i];
+            int j = i - ws;
+            if (j >= 0) {
+                long sh = bits[f + j] << bs;
+                if (bs > 0 && j > 0) {
+                    sh |= bits[f + j - 1] >>> (64 - bs);
+                }
+                v |= sh;
+            }
+            bits[t + i] = v;
+        }
+        int r = (max & 63) + 1;
+        if (r < 64) {
+            bits[t + words - 1] &= (1L << r) - 1;
+        }
+    }
+
+    /**
+     * @return the smallest load reachable with all the items that is greater than or equal to <i>from</i>, or -1
+     */
+    int nextReachable(int from) {
+        return next(suf, 0, Math.max(from, 0));
+    }
+
+    /**
+     * @return the largest load reachable with all the items that is less than or equal to <i>from</i>, or -1
+     */
+    int prevReachable(int from) {
+        from = Math.min(from, max);
+        for (int i = from >> 6; i >= 0 && from >= 0; i--) {
+            long v = suf[i];
+            if (i == from >> 6 && (from & 63) < 63) {
+                v &= (1L << ((from & 63) + 1)) - 1;
+            }
+            if (v != 0) {
+                return (i << 6) + 63 - Long.numberOfLeadingZeros(v);
+            }
+        }
+        return -1;
+    }
+
+    private int next(long[] bits, int k, int from) {
+        if (from > max) {
+            return -1;
+        }
+        int o = k * words;
+        int i = from >> 6;
+        long v = bits[o + i] & (-1L << (from & 63));
+        while (true) {
+            if (v != 0) {
+                return (i << 6) + Long.numberOfTrailingZeros(v);
+            }
+            if (++i == words) {
+                return -1;
+            }
+            v = bits[o + i];
+        }
+    }
+
+    /**
+     * @return <i>true</i> if a load in [<i>lo</i>, <i>hi</i>] can be reached without the k<sup>th</sup> item
+     */
+    boolean reachableWithout(int k, int lo, int hi) {
+        lo = Math.max(lo, 0);
+        hi = Math.min(hi, max);
+        if (lo > hi) {
+            return false;
+        }
+        // cumulated counts of the (k+1)th suffix
+        int o = (k + 1) * words;
+        int c = 0;
+        for (int l = 0; l <= hi; l++) {
+            if ((suf[o + (l >> 6)] & (1L << l)) != 0) {
+                c++;
+            }
+            cumul[l + 1] = c;
+        }
+        for (int a = next(pre, k, 0); a > -1 && a <= hi; a = next(pre, k, a + 1)) {
+            int from = Math.max(lo - a, 0);
+            int to = hi - a;
+            if (cumul[to + 1] - cumul[from] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -9,24 +9,41 @@
  */
 package org.chocosolver.solver.constraints.nary.circuit;
 
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.ESat;
-import org.chocosolver.util.graphOperations.connectivity.StrongConnectivityFinder;
 import org.chocosolver.util.objects.graphs.DirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 import org.chocosolver.util.objects.setDataStructures.SetFactory;
 import org.chocosolver.util.objects.setDataStructures.SetType;
 
+import java.util.BitSet;
 import java.util.Random;
 
 /**
  * Filters circuit based on strongly connected components
  * (see the TechReport "Improving the Asymmetric TSP by considering graph structure", Fages & Lorca, 2012)
+ * <p>
+ * The SCC decomposition of the graph split at the source is stored in backtrackable structures
+ * and maintained decrementally while the source does not change:
+ * since arcs are only removed, an SCC can only split, and only when one of its internal arcs is removed.
+ * So, on a new call, only SCCs that lost an internal arc are decomposed again.
+ * Removed internal arcs are detected thanks to the domain size and the number of internal arcs
+ * of each node, as recorded on the last call, only for the nodes whose domain has been modified since then.
+ * With {@link CircuitConf#RD}, the source randomly drawn is kept while its successor is not fixed,
+ * so that the decomposition is computed from scratch only when a new source is drawn
+ * (and, with {@link CircuitConf#ALL}, for each source).
+ * In any case, the graph is read directly from the domains.
+ * <p>
+ * The reduced graph and the arcs between SCCs are not maintained: they are computed from scratch on each call,
+ * by reading all domains, in O(n + &Sigma;|D|).
+ * The chaining of the nodes of each SCC is computed again too, in O(n).
  * @author Jean-Guillaume Fages
  */
 public class PropCircuitSCC extends Propagator<IntVar> {
@@ -37,28 +54,46 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 
 	private final int n;
     private final int n2;
-	private final DirectedGraph support;
-	private final StrongConnectivityFinder SCCfinder;
 	private final DirectedGraph G_R;
-	private int[] sccOf;
 	private final ISet[] mates;
 	// proba
 	private Random rd;
 	private final int offSet;
 	private final CircuitConf conf;
+	// backtrackable SCC decomposition, each SCC is identified by one of its nodes
+	private final IStateInt sccSource;
+	private final IStateInt[] sccRep;
+	private final IStateInt[] lastSize;
+	private final IStateInt[] nbInner;
+	// nodes whose domain may have been modified since the last call
+	private final BitSet dirty;
+	// to detect backtracks since the last call
+	private final IStateInt stamp;
+	private int lastStamp;
+	// SCC decomposition of the current call
+	private final int[] sccOf;
+	private final int[] nextNode;
+	private final int[] reps;
+	private int n_R;
+	// Tarjan's algorithm
+	private final BitSet toDecompose;
+	private final BitSet onStack;
+	private final int[] index;
+	private final int[] low;
+	private final int[] stack;
+	private final int[] calls;
+	private final int[] cursor;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
 	//***********************************************************************************
 
 	public PropCircuitSCC(IntVar[] succs, int offSet, CircuitConf conf) {
-		super(succs, PropagatorPriority.LINEAR, false);
+		super(succs, PropagatorPriority.LINEAR, true);
 		this.offSet = offSet;
 		n = vars.length;
 		n2 = n+1;
-		support = new DirectedGraph(n2,SetType.BITSET,true);
 		G_R = new DirectedGraph(n2,SetType.LINKED_LIST,false);
-		SCCfinder = new StrongConnectivityFinder(support);
 		mates = new ISet[n2];
 		for(int i=0;i<n2;i++){
 			mates[i] = SetFactory.makeLinkedList();
@@ -67,6 +102,30 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 		if(conf==CircuitConf.RD){ 
 			rd = new Random(vars[0].getModel().getSeed());
 		}
+		IEnvironment environment = model.getEnvironment();
+		sccSource = environment.makeInt(-1);
+		stamp = environment.makeInt(0);
+		dirty = new BitSet(n);
+		sccRep = new IStateInt[n2];
+		lastSize = new IStateInt[n];
+		nbInner = new IStateInt[n];
+		for (int i = 0; i < n2; i++) {
+			sccRep[i] = environment.makeInt(i);
+		}
+		for (int i = 0; i < n; i++) {
+			lastSize[i] = environment.makeInt(0);
+			nbInner[i] = environment.makeInt(0);
+		}
+		sccOf = new int[n2];
+		nextNode = new int[n2];
+		reps = new int[n2];
+		toDecompose = new BitSet(n2);
+		onStack = new BitSet(n2);
+		index = new int[n2];
+		low = new int[n2];
+		stack = new int[n2];
+		calls = new int[n2];
+		cursor = new int[n2];
 	}
 
 	//***********************************************************************************
@@ -84,13 +143,18 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 			for (int i = 0; i < n; i++) {
 				vars[i].updateBounds(offSet, n - 1 + offSet, this);
 			}
+			dirty.set(0, n);
 		}
 		switch (conf){
 			case FIRST:
 				filterFromSource(0);break;
 			default:
 			case RD:
-				filterFromSource(rd.nextInt(n));break;
+				int source = sccSource.get();
+				if (source < 0 || vars[source].isInstantiated()) {
+					source = rd.nextInt(n);
+				}
+				filterFromSource(source);break;
 			case ALL:
 				for (int i = 0; i < n; i++) {
 					filterFromSource(i);
@@ -98,14 +162,20 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 		}
 	}
 
+	@Override
+	public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+		dirty.set(idxVarInProp);
+		forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+	}
+
 	public void filterFromSource(int source) throws ContradictionException {
 		// reset data structures
 		rebuild(source);
 		// find path endpoints
 		int first = -1;
 		int last = -1;
-		int n_R = SCCfinder.getNbSCC();
-		for (int i = 0; i < n_R; i++) {
+		for (int k = 0; k < n_R; k++) {
+			int i = reps[k];
 			if (G_R.getPredecessorsOf(i).isEmpty()) {
 				if(first!=-1){
 					fails();
@@ -129,45 +199,35 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 		// additional filter (based on instantiated arcs)
 		filterFromInst(source);
 		// ad hoc filtering rules
-		for (int i=0; i<n_R; i++) {
-			checkSCCLink(i);
+		for (int k=0; k<n_R; k++) {
+			checkSCCLink(reps[k]);
 		}
 	}
 
+	/**
+	 * Bring the SCC decomposition up to date, then compute the reduced graph and the arcs between SCCs from scratch,
+	 * by reading all domains, since they are consumed by the filtering.
+	 * Only the SCCs of the last call hold arcs, so only they are cleared.
+	 */
 	public void rebuild(int source) {
-		for(int i=0;i<n2;i++){
+		for (int k = 0; k < n_R; k++) {
+			int i = reps[k];
 			mates[i].clear();
-			support.getSuccessorsOf(i).clear();
-			support.getPredecessorsOf(i).clear();
 			G_R.getPredecessorsOf(i).clear();
 			G_R.getSuccessorsOf(i).clear();
 		}
 		G_R.getNodes().clear();
-		for(int i=0;i<n;i++){
-			IntVar v = vars[i];
-			int lb = v.getLB();
-			int ub = v.getUB();
-			for(int j=lb;j<=ub;j=v.nextValue(j)){
-				if(j-offSet==source){
-					support.addEdge(i,n);
-				}else{
-					support.addEdge(i,j-offSet);
-				}
-			}
+		updateSCC(source);
+		for (int k = 0; k < n_R; k++) {
+			G_R.getNodes().add(reps[k]);
 		}
-		SCCfinder.findAllSCC();
-		int n_R = SCCfinder.getNbSCC();
-		for (int i = 0; i < n_R; i++) {
-			G_R.getNodes().add(i);
-		}
-		sccOf = SCCfinder.getNodesSCC();
-		ISetIterator succs;
 		int x;
 		for (int i = 0; i < n; i++) {
 			x = sccOf[i];
-			succs = support.getSuccessorsOf(i).iterator();
-			while (succs.hasNext()) {
-				int j = succs.nextInt();
+			IntVar v = vars[i];
+			int ub = v.getUB();
+			for (int k = v.getLB(); k <= ub; k = v.nextValue(k)) {
+				int j = node(k, source);
 				if (x != sccOf[j]) {
 					G_R.addEdge(x, sccOf[j]);
 					mates[x].add((i + 1) * n2 + j);
@@ -176,6 +236,180 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 		}
 	}
 
+	/**
+	 * Bring the SCC decomposition of the graph split at <i>source</i> up to date.
+	 * Only SCCs that lost an internal arc since the last call are decomposed again,
+	 * unless the source differs from the one of the last call.
+	 */
+	private void updateSCC(int source) {
+		if (stamp.get() != lastStamp) {
+			// a backtrack occurred: modifications made in the meantime by this are not all known
+			dirty.set(0, n);
+		}
+		stamp.set(++lastStamp);
+		toDecompose.clear();
+		// number of SCCs to decompose, -1 when the decomposition is computed from scratch
+		int nbSCC = -1;
+		if (sccSource.get() != source) {
+			sccSource.set(source);
+			toDecompose.set(0, n2);
+			dirty.set(0, n);
+		} else {
+			for (int i = 0; i < n2; i++) {
+				sccOf[i] = sccRep[i].get();
+			}
+			buildMembers();
+			for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+				if (vars[i].getDomainSize() != lastSize[i].get()
+						&& !toDecompose.get(i)
+						&& countInner(i, source) < nbInner[i].get()) {
+					for (int j = sccOf[i]; j >= 0; j = nextNode[j]) {
+						toDecompose.set(j);
+					}
+					nbSCC++;
+				}
+			}
+		}
+		if (!toDecompose.isEmpty()) {
+			// if no SCC splits, only the modified nodes may have a different number of internal arcs
+			boolean split = decompose(source) > nbSCC + 1;
+			for (int i = toDecompose.nextSetBit(0); i >= 0 && i < n; i = toDecompose.nextSetBit(i + 1)) {
+				if (split || dirty.get(i)) {
+					nbInner[i].set(countInner(i, source));
+				}
+			}
+		}
+		for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+			lastSize[i].set(vars[i].getDomainSize());
+		}
+		dirty.clear();
+		buildMembers();
+	}
+
+	/**
+	 * Remove <i>value</i> from the domain of the successor of <i>i</i>, and remember <i>i</i> as modified
+	 */
+	private void remove(int i, int value) throws ContradictionException {
+		if (vars[i].removeValue(value, this)) {
+			dirty.set(i);
+		}
+	}
+
+	/**
+	 * Compute the SCCs of the subgraph induced by {@link #toDecompose}, with Tarjan's algorithm.
+	 * Since an SCC can only split, the nodes to decompose are made of whole SCCs.
+	 * Each SCC is identified by its smallest node, so that an SCC which does not split keeps its identifier.
+	 * @return the number of SCCs found
+	 */
+	private int decompose(int source) {
+		for (int i = toDecompose.nextSetBit(0); i >= 0; i = toDecompose.nextSetBit(i + 1)) {
+			index[i] = -1;
+		}
+		int idx = 0;
+		int top = 0;
+		int nbSCC = 0;
+		for (int r = toDecompose.nextSetBit(0); r >= 0; r = toDecompose.nextSetBit(r + 1)) {
+			if (index[r] != -1) {
+				continue;
+			}
+			int depth = 0;
+			idx = open(r, idx, top++);
+			calls[depth++] = r;
+			while (depth > 0) {
+				int v = calls[depth - 1];
+				int w = -1;
+				if (v < n) {
+					int ub = vars[v].getUB();
+					while (w == -1 && cursor[v] <= ub) {
+						int j = node(cursor[v], source);
+						cursor[v] = vars[v].nextValue(cursor[v]);
+						if (toDecompose.get(j)) {
+							w = j;
+						}
+					}
+				}
+				if (w == -1) {
+					depth--;
+					if (low[v] == index[v]) {
+						int from = top;
+						int min = v;
+						do {
+							min = Math.min(min, stack[--from]);
+						} while (stack[from] != v);
+						for (int k = from; k < top; k++) {
+							int u = stack[k];
+							onStack.clear(u);
+							sccOf[u] = min;
+							sccRep[u].set(min);
+						}
+						top = from;
+						nbSCC++;
+					}
+					if (depth > 0) {
+						int p = calls[depth - 1];
+						low[p] = Math.min(low[p], low[v]);
+					}
+				} else if (index[w] == -1) {
+					idx = open(w, idx, top++);
+					calls[depth++] = w;
+				} else if (onStack.get(w)) {
+					low[v] = Math.min(low[v], index[w]);
+				}
+			}
+		}
+		return nbSCC;
+	}
+
+	private int open(int v, int idx, int top) {
+		index[v] = low[v] = idx;
+		stack[top] = v;
+		onStack.set(v);
+		cursor[v] = v < n ? vars[v].getLB() : Integer.MAX_VALUE;
+		return idx + 1;
+	}
+
+	/**
+	 * @return the number of arcs from <i>i</i> to a node of its SCC
+	 */
+	private int countInner(int i, int source) {
+		int c = 0;
+		IntVar v = vars[i];
+		int ub = v.getUB();
+		for (int k = v.getLB(); k <= ub; k = v.nextValue(k)) {
+			if (sccOf[node(k, source)] == sccOf[i]) {
+				c++;
+			}
+		}
+		return c;
+	}
+
+	/**
+	 * @return the node of the split graph standing for value <i>k</i>
+	 */
+	private int node(int k, int source) {
+		int j = k - offSet;
+		return j == source ? n : j;
+	}
+
+	/**
+	 * Chain the nodes of each SCC, starting from its representative, and list the representatives
+	 */
+	private void buildMembers() {
+		n_R = 0;
+		for (int i = 0; i < n2; i++) {
+			nextNode[i] = -1;
+		}
+		for (int i = n2 - 1; i >= 0; i--) {
+			int r = sccOf[i];
+			if (r == i) {
+				reps[n_R++] = i;
+			} else {
+				nextNode[i] = nextNode[r];
+				nextNode[r] = i;
+			}
+		}
+	}
+
 	private int visit(int node, int last, int source) throws ContradictionException {
 		if (node == -1) {
 			fails();
@@ -206,7 +440,7 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 				if(to==n){
 					to=source;
 				}
-				vars[from].removeValue(to+offSet, this);
+				remove(from, to+offSet);
 				mates[node].remove(e);
 			}
 		}
@@ -232,7 +466,7 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 							if(val==n){
 								val = source;
 							}
-							vars[a/n2-1].removeValue(val+offSet, this);
+							remove(a/n2-1, val+offSet);
 						}
 					}
 					mates[x].clear();
@@ -284,11 +518,11 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 				if(vars[in].contains(outDoor+offSet)){
 					// Is |scc| > 2 ?
 					int size = 0;
-					for(int i=SCCfinder.getSCCFirstNode(sccFrom); i>=0 && size<3;i=SCCfinder.getNextNode(i)){
+					for(int i=sccFrom; i>=0 && size<3;i=nextNode[i]){
 						size++;
 					}
 					if(size>2){
-						vars[in].removeValue(outDoor+offSet, this);
+						remove(in, outDoor+offSet);
 					}
 				}
 			}
@@ -296,10 +530,9 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 	}
 
 	private void forceInDoor(int x) throws ContradictionException {
-		int sx = sccOf[x];
-		for(int i=0; i<n; i++){
-			if(sccOf[i]==sx){
-				vars[i].removeValue(x+offSet, this);
+		for(int i=sccOf[x]; i>=0; i=nextNode[i]){
+			if(i<n){
+				remove(i, x+offSet);
 			}
 		}
 	}
@@ -310,7 +543,7 @@ public class PropCircuitSCC extends Propagator<IntVar> {
 		int ub = vars[x].getUB();
 		for(int v=lb;v<=ub;v=vars[x].nextValue(v)){
 			if(sccOf[v-offSet]==sx){
-				vars[x].removeValue(v, this);
+				remove(x, v);
 			}
 		}
 	}
@@ -0,0 +1,227 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.Arrays;
+
+/**
+ * A resource profile made of the compulsory parts, [s.UB, e.LB), of a set of tasks,
+ * maintained incrementally from one call to another.
+ * <p>
+ * The contribution of each task, as last recorded, is stored.
+ * On {@link #update(IntVar[], IntVar[], IntVar[])}, only tasks whose compulsory part or minimal height
+ * differs from the recorded one are updated in the profile.
+ * Since the recorded contributions are compared to the current domains,
+ * the profile is valid whatever happened in-between (propagation or backtrack)
+ * and nothing needs to be trailed.
+ * <br/>
+ * The profile is stored as an array of heights, one per point in time,
+ * plus the maximum height of each block of {@link #BLOCK} consecutive points.
+ * The range of the array grows on demand.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+final class CompulsoryProfile {
+
+    private static final int SHIFT = 5;
+    /**
+     * Size of a block
+     */
+    private static final int BLOCK = 1 << SHIFT;
+    /**
+     * First point in time of the profile
+     */
+    private int origin;
+    /**
+     * Height at each point in time, relatively to {@link #origin}
+     */
+    private int[] heights = new int[0];
+    /**
+     * Maximum height of each block
+     */
+    private int[] blockMax = new int[0];
+    /**
+     * Recorded compulsory part of each task, empty when from &ge; to
+     */
+    private final int[] from, to, hgt;
+    /**
+     * Number of tasks with a non-empty compulsory part
+     */
+    private int nbParts;
+
+    /**
+     * @param n number of tasks
+     */
+    CompulsoryProfile(int n) {
+        from = new int[n];
+        to = new int[n];
+        hgt = new int[n];
+    }
+
+    /**
+     * Bring the profile up to date wrt the current domains of the tasks.
+     *
+     * @param s start variables
+     * @param e end variables
+     * @param h height variables
+     */
+    void update(IntVar[] s, IntVar[] e, IntVar[] h) {
+        for (int i = 0; i < s.length; i++) {
+            int nf = s[i].getUB();
+            int nt = e[i].getLB();
+            int nh = h[i].getLB();
+            if (nf >= nt) {
+                nf = nt = nh = 0;
+            }
+            int of = from[i], ot = to[i], oh = hgt[i];
+            if (nf == of && nt == ot && nh == oh) {
+                continue;
+            }
+            if (nf < nt && (nf < origin || nt > origin + heights.length)) {
+                grow(nf, nt);
+            }
+            if (nh == oh && of < ot && nf < nt && Math.max(of, nf) < Math.min(ot, nt)) {
+                // same height, overlapping parts: only update the differences
+                add(nf, of, nh);
+                add(ot, nt, nh);
+                add(of, nf, -nh);
+                add(nt, ot, -nh);
+            } else {
+                add(of, ot, -oh);
+                add(nf, nt, nh);
+            }
+            if (of < ot) {
+                nbParts--;
+            }
+            if (nf < nt) {
+                nbParts++;
+            }
+            from[i] = nf;
+            to[i] = nt;
+            hgt[i] = nh;
+        }
+    }
+
+    /**
+     * Add <i>v</i> to the height of the points in [a,b), if any
+     */
+    private void add(int a, int b, int v) {
+        if (a >= b || v == 0) {
+            return;
+        }
+        int lo = a - origin, hi = b - origin;
+        for (int t = lo; t < hi; t++) {
+            heights[t] += v;
+        }
+        int fb = lo >> SHIFT, lb = (hi - 1) >> SHIFT;
+        for (int k = fb; k <= lb; k++) {
+            int bs = k << SHIFT;
+            if (bs >= lo && bs + BLOCK <= hi) {
+                blockMax[k] += v;
+            } else {
+                refreshBlock(k);
+            }
+        }
+    }
+
+    private void refreshBlock(int k) {
+        int bs = k << SHIFT;
+        int be = Math.min(bs + BLOCK, heights.length);
+        int m = 0;
+        for (int t = bs; t < be; t++) {
+            m = Math.max(m, heights[t]);
+        }
+        blockMax[k] = m;
+    }
+
+    /**
+     * Extend the range of the profile so that it covers [a,b)
+     */
+    private void grow(int a, int b) {
+        int size = heights.length;
+        int nOrigin = size == 0 ? a : Math.min(origin, a);
+        int nEnd = size == 0 ? b : Math.max(origin + size, b);
+        // leave room for further growth
+        int slack = Math.max(BLOCK, (nEnd - nOrigin) / 2);
+        if (size > 0 && nOrigin < origin) {
+            nOrigin = (int) Math.max(Integer.MIN_VALUE, (long) nOrigin - slack);
+        }
+        if (size > 0 && nEnd > origin + size) {
+            nEnd = (int) Math.min(Integer.MAX_VALUE, (long) nEnd + slack);
+        }
+        int[] nHeights = new int[nEnd - nOrigin];
+        if (size > 0) {
+            System.arraycopy(heights, 0, nHeights, origin - nOrigin, size);
+        }
+        heights = nHeights;
+        origin = nOrigin;
+        blockMax = new int[(heights.length + BLOCK - 1) >> SHIFT];
+        for (int k = 0; k < blockMax.length; k++) {
+            refreshBlock(k);
+        }
+    }
+
+    /**
+     * @return <i>true</i> if no task has a compulsory part
+     */
+    boolean isEmpty() {
+        return nbParts == 0;
+    }
+
+    /**
+     * @return the maximum height of the profile
+     */
+    int max() {
+        int m = 0;
+        for (int k = 0; k < blockMax.length; k++) {
+            m = Math.max(m, blockMax[k]);
+        }
+        return m;
+    }
+
+    /**
+     * @return the first point in time covered by {@link #heights()}
+     */
+    int origin() {
+        return origin;
+    }
+
+    /**
+     * @return the point in time that follows the last one covered by {@link #heights()}
+     */
+    int end() {
+        return origin + heights.length;
+    }
+
+    /**
+     * @return heights of the profile, the i<sup>th</sup> cell stands for time <i>origin + i</i>.
+     * Points out of [origin, end) have a null height.
+     */
+    int[] heights() {
+        return heights;
+    }
+
+    /**
+     * Forget all contributions
+     */
+    void clear() {
+        Arrays.fill(heights, 0);
+        Arrays.fill(blockMax, 0);
+        Arrays.fill(from, 0);
+        Arrays.fill(to, 0);
+        Arrays.fill(hgt, 0);
+        nbParts = 0;
+    }
+}
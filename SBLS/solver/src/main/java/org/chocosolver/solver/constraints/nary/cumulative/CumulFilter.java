@@ -9,9 +9,13 @@
  */
 package org.chocosolver.solver.constraints.nary.cumulative;
 
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.sat.MiniSat;
+import org.chocosolver.sat.Reason;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.impl.IntVarEagerLit;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 
 
@@ -27,6 +31,10 @@ public abstract class CumulFilter {
 	//***********************************************************************************
 
 	protected int nbMaxTasks;
+	/**
+	 * Literals of the reason being built (LCG only), the first one is left empty for the asserting literal
+	 */
+	private final TIntArrayList lits = new TIntArrayList();
 
 	//***********************************************************************************
 	// CONSTRUCTORS
@@ -56,4 +64,147 @@ public abstract class CumulFilter {
 	 * @throws ContradictionException
 	 */
 	public abstract void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException;
+
+	/**
+	 * With LCG, a filter which does not explain its filtering relies on the default reason of the propagator,
+	 * that is, on the bounds of all the variables of the constraint, which leads to weak learnt clauses.
+	 * @return <tt>true</tt> if this filter explains its filtering with LCG
+	 */
+	public boolean isExplained() {
+		return false;
+	}
+
+	//***********************************************************************************
+	// EXPLANATIONS
+	//***********************************************************************************
+
+	/**
+	 * @return the literal to add to a reason to state that <i>x &ge; v</i>, which should hold.
+	 * It is lifted to <i>v</i> when <i>x</i> is eagerly encoded, it is the current lower bound of <i>x</i> otherwise.
+	 */
+	protected static int geLit(IntVar x, int v) {
+		assert x.getLB() >= v;
+		if (x instanceof IntVarEagerLit) {
+			return MiniSat.neg(x.getLit(v, IntVar.LR_GE));
+		}
+		return x.getMinLit();
+	}
+
+	/**
+	 * @return the literal to add to a reason to state that <i>x &le; v</i>, which should hold.
+	 * It is lifted to <i>v</i> when <i>x</i> is eagerly encoded, it is the current upper bound of <i>x</i> otherwise.
+	 */
+	protected static int leLit(IntVar x, int v) {
+		assert x.getUB() <= v;
+		if (x instanceof IntVarEagerLit) {
+			return MiniSat.neg(x.getLit(v, IntVar.LR_LE));
+		}
+		return x.getMaxLit();
+	}
+
+	/**
+	 * Start building a new reason
+	 */
+	protected final void newReason() {
+		lits.resetQuick();
+		lits.add(0);
+	}
+
+	/**
+	 * Add a literal to the reason being built
+	 */
+	protected final void addLit(int l) {
+		lits.add(l);
+	}
+
+	/**
+	 * @return the reason built since the last call to {@link #newReason()}
+	 */
+	protected final Reason buildReason() {
+		if (lits.size() == 2) {
+			return Reason.r(lits.getQuick(1));
+		}
+		return Reason.r(lits.toArray());
+	}
+
+	/**
+	 * Interval time-table explanation: add to the reason being built the tasks, but <i>i</i>,
+	 * whose compulsory part covers [a,b), until their cumulated height reaches <i>need</i>.
+	 * Each task is explained by <i>s &le; a</i> and <i>e &ge; b</i>,
+	 * and the last one only by the height that is needed.
+	 * A pointwise explanation at <i>p</i> is an interval explanation on [p,p+1).
+	 *
+	 * @param a    first point of the interval
+	 * @param b    point that follows the last one of the interval
+	 * @param i    a task to ignore, or -1
+	 * @param need the height to explain
+	 * @return the height explained, at least <i>need</i> when the profile over [a,b) is high enough
+	 */
+	protected final int explainProfile(int a, int b, int i, int need, IntVar[] s, IntVar[] e, IntVar[] h) {
+		int sum = 0;
+		for (int j = 0; j < s.length && sum < need; j++) {
+			if (j != i && s[j].getUB() <= a && b <= e[j].getLB() && h[j].getLB() > 0) {
+				int hj = Math.min(h[j].getLB(), need - sum);
+				lits.add(leLit(s[j], a));
+				lits.add(geLit(e[j], b));
+				lits.add(geLit(h[j], hj));
+				sum += hj;
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Explain that task <i>i</i>, of height at least <i>hlb</i>, cannot start before <i>b</i>:
+	 * the compulsory parts of the other tasks leave less than <i>hlb</i> over [a,b) (capacity at most <i>capaMax</i>)
+	 * and the task would overlap [a,b), either because of its end or because of its start and its duration <i>dlb</i>.
+	 *
+	 * @return a reason for <i>s[i] &ge; b</i>
+	 */
+	protected final Reason explainStart(int i, int a, int b, int dlb, int hlb, int capaMax,
+										IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa) {
+		newReason();
+		int sum = explainProfile(a, b, i, capaMax + 1 - hlb, s, e, h);
+		assert sum + hlb > capaMax;
+		if (e[i].getLB() > a) {
+			lits.add(geLit(e[i], a + 1));
+		} else {
+			lits.add(geLit(s[i], a + 1 - dlb));
+			lits.add(geLit(d[i], dlb));
+		}
+		lits.add(geLit(h[i], hlb));
+		lits.add(leLit(capa, capaMax));
+		return buildReason();
+	}
+
+	/**
+	 * Symmetric of {@link #explainStart(int, int, int, int, int, int, IntVar[], IntVar[], IntVar[], IntVar[], IntVar)}
+	 *
+	 * @return a reason for <i>e[i] &le; a</i>
+	 */
+	protected final Reason explainEnd(int i, int a, int b, int dlb, int hlb, int capaMax,
+									  IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa) {
+		newReason();
+		int sum = explainProfile(a, b, i, capaMax + 1 - hlb, s, e, h);
+		assert sum + hlb > capaMax;
+		if (s[i].getUB() < b) {
+			lits.add(leLit(s[i], b - 1));
+		} else {
+			lits.add(leLit(e[i], b - 1 + dlb));
+			lits.add(geLit(d[i], dlb));
+		}
+		lits.add(geLit(h[i], hlb));
+		lits.add(leLit(capa, capaMax));
+		return buildReason();
+	}
+
+	/**
+	 * @return a reason for <i>capa &ge; need</i>, from the compulsory parts covering <i>p</i>
+	 */
+	protected final Reason explainPeak(int p, int need, IntVar[] s, IntVar[] e, IntVar[] h) {
+		newReason();
+		int sum = explainProfile(p, p + 1, -1, need, s, e, h);
+		assert sum >= need;
+		return buildReason();
+	}
 }
@@ -44,6 +44,9 @@ public class Cumulative extends Constraint {
      *                         - SWEEP: filters time-table with a sweep-based algorithm
      *                         - NRJ: greedy energy-based filter.
      *                         BEWARE: should not be used alone, use it in addition to either SWEEP or TIME.
+     *                         - EDGE_FINDING: edge-finding based on a Theta-Lambda tree.
+     *                         - TIME_TABLE_EDGE_FINDING: time-table edge-finding.
+     *                         BEWARE: both should be used in addition to either SWEEP or TIME.
      *
      */
     public Cumulative(Task[] tasks, IntVar[] heights, IntVar capacity, boolean graphBased, Filter... filters) {
@@ -65,6 +68,9 @@ public class Cumulative extends Constraint {
      *                         - SWEEP: filters time-table with a sweep-based algorithm
      *                         - NRJ: greedy energy-based filter.
      *                         BEWARE: should not be used alone, use it in addition to either SWEEP or TIME.
+     *                         - EDGE_FINDING: edge-finding based on a Theta-Lambda tree.
+     *                         - TIME_TABLE_EDGE_FINDING: time-table edge-finding.
+     *                         BEWARE: both should be used in addition to either SWEEP or TIME.
      *
      */
     public Cumulative(Task[] tasks, IntVar[] heights, IntVar capacity, boolean graphBased, CumulFilter... filters) {
@@ -185,6 +191,26 @@ public class Cumulative extends Constraint {
 				return new DisjunctiveTaskIntervalFilter(n);
 			}
 		},
+		/**
+		 * edge-finding based on a Theta-Lambda tree
+		 * not idempotent
+		 * not enough to ensure correctness (only an additional filtering)
+		 */
+		EDGE_FINDING {
+			public CumulFilter make(int n){
+				return new EdgeFindingCumulFilter(n);
+			}
+		},
+		/**
+		 * time-table edge-finding, combines compulsory parts and energetic reasoning
+		 * not idempotent
+		 * not enough to ensure correctness (only an additional filtering)
+		 */
+		TIME_TABLE_EDGE_FINDING {
+			public CumulFilter make(int n){
+				return new TimeTableEdgeFindingCumulFilter(n);
+			}
+		},
 		/**
 		 * Combines above filters as a black-box
 		 * not idempotent
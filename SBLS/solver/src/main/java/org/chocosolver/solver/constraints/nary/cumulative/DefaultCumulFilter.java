@@ -16,7 +16,9 @@ import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 
 /**
- * Default filtering for cumulative
+ * Default filtering for cumulative.
+ * With LCG, only the filters which explain their filtering are applied: the energetic reasoning
+ * and the filtering of heights are skipped.
  * @author Jean-Guillaume Fages
  */
 public class DefaultCumulFilter extends CumulFilter {
@@ -44,10 +46,16 @@ public class DefaultCumulFilter extends CumulFilter {
 	// METHODS
 	//***********************************************************************************
 
+	@Override
+	public boolean isExplained() {
+		return true;
+	}
+
 	public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
 		int min = Integer.MAX_VALUE;
 		int max = Integer.MIN_VALUE;
 		boolean hInst = true;
+		boolean lcg = aCause.lcg();
 		ISetIterator tIter = tasks.iterator();
 		while (tIter.hasNext()){
 			int t = tIter.nextInt();
@@ -59,11 +67,13 @@ public class DefaultCumulFilter extends CumulFilter {
 			getTime().filter(s, d, e, h, capa, tasks, aCause);
 		} else {
 			getSweep().filter(s, d, e, h, capa, tasks, aCause);
-			if (!hInst) {
+			if (!hInst && !lcg) {
 				getHeights().filter(s, d, e, h, capa, tasks, aCause);
 			}
 		}
-		nrj.filter(s, d, e, h, capa, tasks, aCause);
+		if (!lcg) {
+			nrj.filter(s, d, e, h, capa, tasks, aCause);
+		}
 		// only propagated on less than 50 tasks (too costly otherwise)
 		if (tasks.size() < 50) {
 			if (capa.isInstantiatedTo(1)) {
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.constraints.nary.cumulative;
 
+import org.chocosolver.sat.Reason;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
@@ -18,6 +19,11 @@ import org.chocosolver.util.sort.ArraySort;
 import org.chocosolver.util.sort.IntComparator;
 
 /**
+ * Energetic reasoning on pairs of tasks of a disjunctive resource.
+ * <br/>
+ * With LCG, a precedence is explained either by the two tasks (when they cannot be ordered the other way)
+ * or by the windows of the tasks whose energy has been counted.
+ *
  * @author Jean-Guillaume FAGES
  */
 public class DisjunctiveTaskIntervalFilter extends CumulFilter {
@@ -43,6 +49,11 @@ public class DisjunctiveTaskIntervalFilter extends CumulFilter {
     // METHODS
     //***********************************************************************************
 
+    @Override
+    public boolean isExplained() {
+        return true;
+    }
+
     @Override
     public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
         // filtering algorithm for disjunctive constraint
@@ -67,8 +78,11 @@ public class DisjunctiveTaskIntervalFilter extends CumulFilter {
                     int t1 = s[task1].getLB();
                     int t2 = e[task2].getUB();
                     if (e[task1].getLB() > s[task2].getUB()) {
-                        s[task1].updateLowerBound(e[task2].getLB(), aCause);
-                        e[task2].updateUpperBound(s[task1].getUB(), aCause);
+                        boolean lcg = aCause.lcg();
+                        s[task1].updateLowerBound(e[task2].getLB(), aCause,
+                                lcg ? explainPair(task1, task2, true, s, d, e, h, capa) : Reason.undef());
+                        e[task2].updateUpperBound(s[task1].getUB(), aCause,
+                                lcg ? explainPair(task1, task2, false, s, d, e, h, capa) : Reason.undef());
                     } else if (t1 < t2 && (t1 < e[task2].getLB() || t2 > s[task1].getUB())) {
                         int W = 0;
                         for (int z = 0; z < tskSize; z++) {
@@ -85,8 +99,11 @@ public class DisjunctiveTaskIntervalFilter extends CumulFilter {
                             }
                         }
                         if (W + d[task1].getLB() + d[task2].getLB() > t2 - t1) {
-                            s[task1].updateLowerBound(e[task2].getLB(), aCause);
-                            e[task2].updateUpperBound(s[task1].getUB(), aCause);
+                            boolean lcg = aCause.lcg();
+                            s[task1].updateLowerBound(e[task2].getLB(), aCause,
+                                    lcg ? explainEnergy(task1, task2, t1, t2, true, tskSize, s, d, e, h, capa) : Reason.undef());
+                            e[task2].updateUpperBound(s[task1].getUB(), aCause,
+                                    lcg ? explainEnergy(task1, task2, t1, t2, false, tskSize, s, d, e, h, capa) : Reason.undef());
                         }
                     }
                 }
@@ -94,6 +111,77 @@ public class DisjunctiveTaskIntervalFilter extends CumulFilter {
         }
     }
 
+    /**
+     * Add to the reason being built the literals stating that <i>task2</i> precedes <i>task1</i>,
+     * that is, <i>s[task1] &ge; e[task2].LB</i> when <i>start</i> is set to <i>true</i>,
+     * <i>e[task2] &le; s[task1].UB</i> otherwise.
+     */
+    private void explainConclusion(int task1, int task2, boolean start, IntVar[] s, IntVar[] e) {
+        if (start) {
+            addLit(geLit(e[task2], e[task2].getLB()));
+        } else {
+            addLit(leLit(s[task1], s[task1].getUB()));
+        }
+    }
+
+    /**
+     * Add to the reason being built the literals stating that both tasks consume the resource
+     */
+    private void explainDisjunction(int task1, int task2, IntVar[] d, IntVar[] h, IntVar capa) {
+        addLit(geLit(d[task1], 1));
+        addLit(geLit(d[task2], 1));
+        addLit(geLit(h[task1], 1));
+        addLit(geLit(h[task2], 1));
+        addLit(leLit(capa, 1));
+    }
+
+    /**
+     * @return a reason for <i>task2</i> preceding <i>task1</i>, since <i>task1</i> cannot end before <i>task2</i> starts
+     */
+    private Reason explainPair(int task1, int task2, boolean start, IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa) {
+        newReason();
+        int q = s[task2].getUB();
+        addLit(leLit(s[task2], q));
+        addLit(geLit(e[task1], q + 1));
+        explainDisjunction(task1, task2, d, h, capa);
+        explainConclusion(task1, task2, start, s, e);
+        return buildReason();
+    }
+
+    /**
+     * @return a reason for <i>task2</i> preceding <i>task1</i>, since <i>task1</i>, <i>task2</i>
+     * and the energy of the other tasks do not fit in [t1,t2)
+     */
+    private Reason explainEnergy(int task1, int task2, int t1, int t2, boolean start, int tskSize,
+                                 IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa) {
+        newReason();
+        addLit(geLit(s[task1], t1));
+        addLit(leLit(e[task2], t2));
+        addLit(geLit(d[task1], d[task1].getLB()));
+        addLit(geLit(d[task2], d[task2].getLB()));
+        explainDisjunction(task1, task2, d, h, capa);
+        for (int z = 0; z < tskSize; z++) {
+            int task3 = tsks[z];
+            if (task3 != task1 && task3 != task2) {
+                if (s[task3].getLB() >= t2) {
+                    break;
+                }
+                int pB = d[task3].getLB() * h[task3].getLB();
+                int pbt1 = Math.max(0, pB - Math.max(0, t1 - s[task3].getLB()));
+                int pbt2 = Math.max(0, pB - Math.max(0, e[task3].getUB() - t2));
+                if (Math.min(pbt1, pbt2) > 0) {
+                    // contributes to W
+                    addLit(geLit(s[task3], s[task3].getLB()));
+                    addLit(leLit(e[task3], e[task3].getUB()));
+                    addLit(geLit(d[task3], d[task3].getLB()));
+                    addLit(geLit(h[task3], h[task3].getLB()));
+                }
+            }
+        }
+        explainConclusion(task1, task2, start, s, e);
+        return buildReason();
+    }
+
     private static class StartComparator implements IntComparator {
         IntVar[] s;
 
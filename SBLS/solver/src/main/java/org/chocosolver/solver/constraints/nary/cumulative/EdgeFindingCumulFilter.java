@@ -0,0 +1,219 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.sort.ArraySort;
+
+/**
+ * Edge-finding filtering algorithm for the cumulative constraint.
+ * <br/>
+ * The detection of precedences, <i>&Theta; &#8918; i</i>, relies on a {@link ThetaLambdaTree} and runs in O(n log n).
+ * The adjustment of the earliest starting times runs in O(kn<sup>2</sup>), where <i>k</i> is the number of distinct heights.
+ * Latest completion times are filtered on the mirrored problem.
+ * <br/>
+ * The filter reasons on the lower bounds of durations and heights and on the upper bound of the capacity.
+ * It also detects overloaded sets of tasks.
+ * not idempotent
+ * not enough to ensure correctness (only an additional filtering)
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class EdgeFindingCumulFilter extends CumulFilter {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final ThetaLambdaTree tree;
+    private final ArraySort<?> sorter;
+    private final int[] tsks;
+    private final int[] byEst;
+    private final int[] byLct;
+    private final long[] est;
+    private final long[] lct;
+    private final long[] energy;
+    private final long[] height;
+    /**
+     * For each task, the lct of the largest left cut that precedes it, or {@link Long#MIN_VALUE}
+     */
+    private final long[] prec;
+    private final long[] update;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    public EdgeFindingCumulFilter(int nbMaxTasks) {
+        super(nbMaxTasks);
+        tree = new ThetaLambdaTree(nbMaxTasks);
+        sorter = new ArraySort<>(nbMaxTasks, false, true);
+        tsks = new int[nbMaxTasks];
+        byEst = new int[nbMaxTasks];
+        byLct = new int[nbMaxTasks];
+        est = new long[nbMaxTasks];
+        lct = new long[nbMaxTasks];
+        energy = new long[nbMaxTasks];
+        height = new long[nbMaxTasks];
+        prec = new long[nbMaxTasks];
+        update = new long[nbMaxTasks];
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
+        int n = 0;
+        ISetIterator tIter = tasks.iterator();
+        while (tIter.hasNext()) {
+            int t = tIter.nextInt();
+            if (d[t].getLB() > 0 && h[t].getLB() > 0) {
+                tsks[n++] = t;
+            }
+        }
+        if (n == 0) {
+            return;
+        }
+        long c = capa.getUB();
+        // earliest starting times
+        for (int k = 0; k < n; k++) {
+            int t = tsks[k];
+            est[t] = s[t].getLB();
+            lct[t] = e[t].getUB();
+            height[t] = h[t].getLB();
+            energy[t] = height[t] * d[t].getLB();
+        }
+        if (adjust(n, c, aCause)) {
+            for (int k = 0; k < n; k++) {
+                int t = tsks[k];
+                if (update[t] > est[t]) {
+                    s[t].updateLowerBound((int) Math.min(update[t], Integer.MAX_VALUE), aCause);
+                }
+            }
+        }
+        // latest completion times, on the mirrored problem
+        for (int k = 0; k < n; k++) {
+            int t = tsks[k];
+            est[t] = -(long) e[t].getUB();
+            lct[t] = -(long) s[t].getLB();
+        }
+        if (adjust(n, c, aCause)) {
+            for (int k = 0; k < n; k++) {
+                int t = tsks[k];
+                if (update[t] > est[t]) {
+                    e[t].updateUpperBound((int) Math.max(-update[t], Integer.MIN_VALUE), aCause);
+                }
+            }
+        }
+    }
+
+    /**
+     * Detect precedences and compute new earliest starting times in {@link #update}.
+     *
+     * @return <i>true</i> if at least one earliest starting time can be increased
+     */
+    private boolean adjust(int n, long c, Propagator<IntVar> aCause) throws ContradictionException {
+        System.arraycopy(tsks, 0, byEst, 0, n);
+        sorter.sort(byEst, n, (i, j) -> Long.compare(est[i], est[j]));
+        System.arraycopy(tsks, 0, byLct, 0, n);
+        sorter.sort(byLct, n, (i, j) -> Long.compare(lct[i], lct[j]));
+        // 1. detection, by non-increasing lct
+        tree.init(byEst, n, est, energy, c);
+        boolean any = false;
+        for (int k = n - 1; k >= 0; k--) {
+            int j = byLct[k];
+            prec[j] = Long.MIN_VALUE;
+            if (tree.env() > c * lct[j]) {
+                aCause.fails();
+            }
+            while (tree.envLambda() > c * lct[j]) {
+                int i = tree.responsibleEnvLambda();
+                if (lct[i] <= lct[j]) {
+                    // all tasks of the left cut and i end before lct[j]
+                    aCause.fails();
+                }
+                prec[i] = lct[j];
+                any = true;
+                tree.remove(i);
+            }
+            tree.toLambda(j, est, energy, c);
+        }
+        if (!any) {
+            return false;
+        }
+        // 2. adjustment, for each distinct height involved in a precedence
+        any = false;
+        for (int k = 0; k < n; k++) {
+            update[tsks[k]] = Long.MIN_VALUE;
+        }
+        for (int k = 0; k < n; k++) {
+            int i = tsks[k];
+            if (prec[i] == Long.MIN_VALUE || update[i] != Long.MIN_VALUE) {
+                continue;
+            }
+            any |= adjust(n, c, height[i]);
+        }
+        return any;
+    }
+
+    /**
+     * Compute the new earliest starting times of the tasks of height <i>ci</i>
+     * that are preceded by a left cut.
+     * For each left cut, the best set of tasks &Omega; is searched among task intervals.
+     */
+    private boolean adjust(int n, long c, long ci) {
+        boolean any = false;
+        long upd = Long.MIN_VALUE;
+        int k = 0;
+        while (k < n) {
+            // the left cut is made of tasks byLct[0..b]
+            long b = lct[byLct[k]];
+            while (k + 1 < n && lct[byLct[k + 1]] == b) {
+                k++;
+            }
+            long e = 0;
+            for (int x = n - 1; x >= 0; x--) {
+                int t = byEst[x];
+                if (lct[t] <= b) {
+                    e += energy[t];
+                    long rest = e - (c - ci) * (b - est[t]);
+                    if (rest > 0) {
+                        upd = Math.max(upd, est[t] + (rest + ci - 1) / ci);
+                    }
+                }
+            }
+            for (int y = 0; y < n; y++) {
+                int i = byLct[y];
+                if (height[i] == ci && prec[i] == b) {
+                    update[i] = upd;
+                    any |= upd > est[i];
+                }
+            }
+            k++;
+        }
+        // tasks of height ci not preceded by any left cut are skipped by the caller thanks to update
+        for (int y = 0; y < n; y++) {
+            int i = byLct[y];
+            if (height[i] == ci && update[i] == Long.MIN_VALUE) {
+                update[i] = est[i];
+            }
+        }
+        return any;
+    }
+}
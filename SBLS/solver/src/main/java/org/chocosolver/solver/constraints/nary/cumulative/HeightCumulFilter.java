@@ -29,6 +29,11 @@ public class HeightCumulFilter extends SweepCumulFilter {
 		FIXPOINT = false;
 	}
 
+	@Override
+	public boolean isExplained() {
+		return false;
+	}
+
 	//***********************************************************************************
 	// SWEEP ALGORITHM
 	//***********************************************************************************
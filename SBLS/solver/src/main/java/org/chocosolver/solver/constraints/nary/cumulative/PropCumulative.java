@@ -10,6 +10,8 @@
 package org.chocosolver.solver.constraints.nary.cumulative;
 
 import org.chocosolver.memory.IStateInt;
+import org.chocosolver.sat.Reason;
+import org.chocosolver.solver.constraints.Explained;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -29,10 +31,13 @@ import java.util.Arrays;
  * Cumulative propagator
  * Performs energy checking and mandatory part based filtering
  * BEWARE : not idempotent, use two propagators to get the fix point
+ * <br/>
+ * With LCG, the filters that do not explain their filtering rely on the default reason.
  *
  * @author Jean-Guillaume Fages
  * @since 31/01/13
  */
+@Explained(partial = true, comment = "time, sweep and disjunctive filters only")
 public class PropCumulative extends Propagator<IntVar> {
 
     //***********************************************************************************
@@ -112,11 +117,13 @@ public class PropCumulative extends Propagator<IntVar> {
 
     protected void propIni() throws ContradictionException {
         for (int i = 0; i < n; i++) {
-            d[i].updateLowerBound(0, this);
-            h[i].updateLowerBound(0, this);
-            s[i].updateBounds(e[i].getLB() - d[i].getUB(), e[i].getUB() - d[i].getLB(), this);
-            e[i].updateBounds(s[i].getLB() + d[i].getLB(), s[i].getUB() + d[i].getUB(), this);
-            d[i].updateBounds(e[i].getLB() - s[i].getUB(), e[i].getUB() - s[i].getLB(), this);
+            d[i].updateLowerBound(0, this, Reason.undef());
+            h[i].updateLowerBound(0, this, Reason.undef());
+            if (!lcg()) { // otherwise, the tasks are kept consistent by their own (explained) monitor
+                s[i].updateBounds(e[i].getLB() - d[i].getUB(), e[i].getUB() - d[i].getLB(), this);
+                e[i].updateBounds(s[i].getLB() + d[i].getLB(), s[i].getUB() + d[i].getUB(), this);
+                d[i].updateBounds(e[i].getLB() - s[i].getUB(), e[i].getUB() - s[i].getLB(), this);
+            }
         }
     }
 
@@ -126,9 +133,11 @@ public class PropCumulative extends Propagator<IntVar> {
             lastCapaMax.set(capaMax);
             for (int i = 0; i < n; i++) {
                 if(d[i].getLB()>0) {
-                    h[i].updateUpperBound(capaMax, this);
+                    h[i].updateUpperBound(capaMax, this,
+                            lcg() ? Reason.r(capa.getMaxLit(), d[i].getMinLit()) : Reason.undef());
                 }else if(h[i].getLB()>capaMax){
-                    d[i].instantiateTo(0,this);
+                    d[i].instantiateTo(0,this,
+                            lcg() ? Reason.r(capa.getMaxLit(), h[i].getMinLit()) : Reason.undef());
                 }
             }
         }
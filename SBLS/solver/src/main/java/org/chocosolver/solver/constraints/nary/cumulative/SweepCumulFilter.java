@@ -10,6 +10,7 @@
 package org.chocosolver.solver.constraints.nary.cumulative;
 
 import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.sat.Reason;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
@@ -22,6 +23,9 @@ import java.util.Comparator;
 
 /**
  * Basic implementation of Sweep-based Time-Table for cumulative
+ * <br/>
+ * With LCG, the bounds are updated as soon as they are found by the sweep,
+ * each one being explained by the compulsory parts covering the interval it is pushed over.
  * @author Thierry Petit, Jean-Guillaume Fages
  * @since 16/10/13
  */
@@ -49,6 +53,10 @@ public class SweepCumulFilter extends CumulFilter {
 	protected TIntArrayList tprune = new TIntArrayList();
 	protected ArraySort<Event> sort;
 	protected Comparator<Event> eventComparator;
+	// variables of the tasks being swept, to explain filtering
+	private IntVar[] vs, vd, ve, vh;
+	// set to true when sweeping the end upper bounds (dates are negated)
+	private boolean mirror;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
@@ -81,10 +89,19 @@ public class SweepCumulFilter extends CumulFilter {
 	// GENERAL METHODS
 	//***********************************************************************************
 
+	@Override
+	public boolean isExplained() {
+		return true;
+	}
+
 	@Override
 	public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
 		// removing tasks with a duration lower bound equal to 0
 		removeNullDurations(d, tasks);
+		vs = s;
+		vd = d;
+		ve = e;
+		vh = h;
 		int nbT = tasksToUSe.size();
 		// filtering start lower bounds
 		boolean again;
@@ -104,6 +121,7 @@ public class SweepCumulFilter extends CumulFilter {
 				map[i] = t;
 				i++;
 			}
+			mirror = false;
 			while (sweep(capa, h, nbT, aCause)){
 				again = true;
 				if(!FIXPOINT)break;
@@ -120,6 +138,7 @@ public class SweepCumulFilter extends CumulFilter {
 				eub[i]=-s[t].getLB()+1;
 				i++;
 			}
+			mirror = true;
 			while (sweep(capa, h, nbT, aCause)){
 				again = true;
 				if(!FIXPOINT)break;
@@ -142,15 +161,25 @@ public class SweepCumulFilter extends CumulFilter {
 	protected void pruneMin(IntVar[] s, Propagator<IntVar> aCause) throws ContradictionException {
 		int i = 0;
 		ISetIterator tIter = tasksToUSe.iterator();
-		while (tIter.hasNext())
-			s[tIter.nextInt()].updateLowerBound(slb[i++], aCause);
+		while (tIter.hasNext()) {
+			int t = tIter.nextInt();
+			if (slb[i] > s[t].getLB()) {
+				s[t].updateLowerBound(slb[i], aCause);
+			}
+			i++;
+		}
 	}
 
 	protected void pruneMax(IntVar[] e, Propagator<IntVar> aCause) throws ContradictionException {
 		int i = 0;
 		ISetIterator tIter = tasksToUSe.iterator();
-		while (tIter.hasNext())
-			e[tIter.nextInt()].updateUpperBound(1- slb[i++], aCause);
+		while (tIter.hasNext()) {
+			int t = tIter.nextInt();
+			if (1 - slb[i] < e[t].getUB()) {
+				e[t].updateUpperBound(1 - slb[i], aCause);
+			}
+			i++;
+		}
 	}
 
 	//***********************************************************************************
@@ -184,8 +213,11 @@ public class SweepCumulFilter extends CumulFilter {
 						if(currentConso+ hlb[index]>capa) {
 							// filter min start to next event
 							slb[index]=nextDate;
-							if(nextDate> sub[index]) {// early fail detection
-								aCause.fails(); // TODO: could be more precise, for explanation purpose
+							if (aCause.lcg()) {
+								// explained right away, which also detects failures
+								explainedPrune(index, currentDate, nextDate, capa, capamax, aCause);
+							} else if(nextDate> sub[index]) {// early fail detection
+								aCause.fails();
 							}
 							active = true;// perform fix point
 							temp.add(index);
@@ -207,7 +239,10 @@ public class SweepCumulFilter extends CumulFilter {
 				case(SCP):
 					currentConso += hlb[event.index];
 					// filter the capa max LB from the compulsory part consumptions
-					capamax.updateLowerBound(currentConso, aCause);
+					if (currentConso > capamax.getLB()) {
+						capamax.updateLowerBound(currentConso, aCause, aCause.lcg() ?
+								explainPeak(mirror ? -currentDate : currentDate, currentConso, vs, ve, vh) : Reason.undef());
+					}
 					break;
 				case(ECP):
 					currentConso -= hlb[event.index];
@@ -221,6 +256,21 @@ public class SweepCumulFilter extends CumulFilter {
 		return active;
 	}
 
+	/**
+	 * Apply the new bound of the <i>index</i>-th task, which cannot overlap [from,to)
+	 */
+	private void explainedPrune(int index, int from, int to, int capa, IntVar capamax, Propagator<IntVar> aCause) throws ContradictionException {
+		int t = map[index];
+		if (mirror) {
+			// dates are negated: [1-to, 1-from) is the real interval
+			ve[t].updateUpperBound(1 - slb[index], aCause,
+					explainEnd(t, 1 - to, 1 - from, dlb[index], hlb[index], capa, vs, vd, ve, vh, capamax));
+		} else {
+			vs[t].updateLowerBound(slb[index], aCause,
+					explainStart(t, from, to, dlb[index], hlb[index], capa, vs, vd, ve, vh, capamax));
+		}
+	}
+
 	protected void generateMinEvents(int nbT) {
 		nbEvents = 0;
 		for(int i=0; i<nbT; i++) {
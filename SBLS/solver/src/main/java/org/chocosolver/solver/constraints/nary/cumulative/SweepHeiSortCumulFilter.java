@@ -48,6 +48,11 @@ public class SweepHeiSortCumulFilter extends SweepCumulFilter {
 	// GENERAL METHODS
 	//***********************************************************************************
 
+	@Override
+	public boolean isExplained() {
+		return false;
+	}
+
 	@Override
 	public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
 		int size = 0;
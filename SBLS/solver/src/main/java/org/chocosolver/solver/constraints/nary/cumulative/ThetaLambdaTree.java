@@ -0,0 +1,204 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import java.util.Arrays;
+
+/**
+ * A Theta-Lambda tree for cumulative resources, as described in:
+ * <br/>
+ * "Edge Finding Filtering Algorithm for Discrete Cumulative Resources in O(kn log n)",
+ * P. Vilím, CP 2009.
+ * <p>
+ * Leaves are tasks sorted by non-decreasing earliest starting time.
+ * A task is either in Theta (white), in Lambda (gray) or absent.
+ * Each node maintains, for the tasks of its subtree:
+ * <ul>
+ *     <li><i>e</i>: the energy of Theta,</li>
+ *     <li><i>env</i>: the energy envelope of Theta, that is max(C.est<sub>&Omega;</sub> + e<sub>&Omega;</sub>),</li>
+ *     <li><i>eL</i>: the energy of Theta plus at most one task of Lambda,</li>
+ *     <li><i>envL</i>: the energy envelope of Theta plus at most one task of Lambda.</li>
+ * </ul>
+ * The structure is allocated once and reused between calls.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+final class ThetaLambdaTree {
+
+    private static final long NONE = Long.MIN_VALUE / 4;
+
+    /**
+     * Index of the first leaf
+     */
+    private int first;
+    /**
+     * Task at a given leaf, or -1
+     */
+    private int[] task;
+    /**
+     * Leaf position of a task
+     */
+    private final int[] leafOf;
+    private long[] e;
+    private long[] env;
+    private long[] eL;
+    private long[] envL;
+
+    /**
+     * @param nbMaxTasks maximum number of tasks
+     */
+    ThetaLambdaTree(int nbMaxTasks) {
+        leafOf = new int[nbMaxTasks];
+        allocate(Math.max(1, nbMaxTasks));
+    }
+
+    private void allocate(int n) {
+        int size = 1;
+        while (size < n) {
+            size <<= 1;
+        }
+        first = size - 1;
+        task = new int[2 * size - 1];
+        e = new long[2 * size - 1];
+        env = new long[2 * size - 1];
+        eL = new long[2 * size - 1];
+        envL = new long[2 * size - 1];
+    }
+
+    /**
+     * Put all the tasks in Theta.
+     *
+     * @param sorted   tasks sorted by non-decreasing est
+     * @param n        number of tasks in <i>sorted</i>
+     * @param est      earliest starting times, indexed by task
+     * @param energy   energies, indexed by task
+     * @param capacity capacity of the resource
+     */
+    void init(int[] sorted, int n, long[] est, long[] energy, long capacity) {
+        if (n > first + 1) {
+            allocate(n);
+        }
+        Arrays.fill(task, -1);
+        for (int k = 0; k < n; k++) {
+            int t = sorted[k];
+            int v = first + k;
+            task[v] = t;
+            leafOf[t] = v;
+            e[v] = energy[t];
+            env[v] = capacity * est[t] + energy[t];
+            eL[v] = e[v];
+            envL[v] = env[v];
+        }
+        for (int v = first + n; v < task.length; v++) {
+            e[v] = 0;
+            env[v] = eL[v] = envL[v] = NONE;
+        }
+        for (int v = first - 1; v >= 0; v--) {
+            update(v);
+        }
+    }
+
+    /**
+     * Move task <i>t</i> from Theta to Lambda.
+     *
+     * @param t        a task in Theta
+     * @param est      earliest starting times, indexed by task
+     * @param energy   energies, indexed by task
+     * @param capacity capacity of the resource
+     */
+    void toLambda(int t, long[] est, long[] energy, long capacity) {
+        int v = leafOf[t];
+        e[v] = 0;
+        env[v] = NONE;
+        eL[v] = energy[t];
+        envL[v] = capacity * est[t] + energy[t];
+        updateAncestors(v);
+    }
+
+    /**
+     * Remove task <i>t</i> from the tree.
+     *
+     * @param t a task in the tree
+     */
+    void remove(int t) {
+        int v = leafOf[t];
+        e[v] = 0;
+        env[v] = eL[v] = envL[v] = NONE;
+        updateAncestors(v);
+    }
+
+    /**
+     * @return the energy envelope of Theta
+     */
+    long env() {
+        return env[0];
+    }
+
+    /**
+     * @return the energy envelope of Theta plus at most one task of Lambda
+     */
+    long envLambda() {
+        return envL[0];
+    }
+
+    /**
+     * @return the task of Lambda responsible for {@link #envLambda()}, or -1 if no task of Lambda is involved
+     */
+    int responsibleEnvLambda() {
+        int v = 0;
+        while (v < first) {
+            int l = 2 * v + 1, r = l + 1;
+            if (envL[v] == envL[r]) {
+                v = r;
+            } else if (envL[v] == add(envL[l], e[r])) {
+                v = l;
+            } else {
+                assert envL[v] == add(env[l], eL[r]);
+                return responsibleELambda(r);
+            }
+        }
+        return envL[v] != env[v] ? task[v] : -1;
+    }
+
+    private int responsibleELambda(int v) {
+        while (v < first) {
+            int l = 2 * v + 1, r = l + 1;
+            if (eL[v] == add(eL[l], e[r])) {
+                v = l;
+            } else {
+                assert eL[v] == add(e[l], eL[r]);
+                v = r;
+            }
+        }
+        return task[v];
+    }
+
+    private void updateAncestors(int v) {
+        while (v > 0) {
+            v = (v - 1) / 2;
+            update(v);
+        }
+    }
+
+    private void update(int v) {
+        int l = 2 * v + 1, r = l + 1;
+        e[v] = e[l] + e[r];
+        env[v] = Math.max(add(env[l], e[r]), env[r]);
+        eL[v] = Math.max(add(eL[l], e[r]), add(e[l], eL[r]));
+        envL[v] = Math.max(Math.max(add(envL[l], e[r]), add(env[l], eL[r])), envL[r]);
+    }
+
+    private static long add(long a, long b) {
+        return a == NONE || b == NONE ? NONE : a + b;
+    }
+}
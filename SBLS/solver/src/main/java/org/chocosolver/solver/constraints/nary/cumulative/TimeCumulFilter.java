@@ -9,16 +9,17 @@
  */
 package org.chocosolver.solver.constraints.nary.cumulative;
 
+import org.chocosolver.sat.Reason;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 
-import java.util.Arrays;
-
 /**
- * Time-based filtering (compute the profile over every point in time)
+ * Time-based filtering (compute the profile over every point in time).
+ * The profile is maintained from one call to another, see {@link CompulsoryProfile}.
+ * With LCG, each filtering is explained by the compulsory parts covering a single point in time.
  * @author Jean-Guillaume Fages
  */
 public class TimeCumulFilter extends CumulFilter {
@@ -27,7 +28,10 @@ public class TimeCumulFilter extends CumulFilter {
 	// VARIABLES
 	//***********************************************************************************
 
-	private int[] time = new int[31];
+	/**
+	 * Profile of the compulsory parts of all the tasks, updated incrementally
+	 */
+	private final CompulsoryProfile profile;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
@@ -35,60 +39,52 @@ public class TimeCumulFilter extends CumulFilter {
 
 	public TimeCumulFilter(int nbMaxTasks) {
 		super(nbMaxTasks);
+		profile = new CompulsoryProfile(nbMaxTasks);
 	}
 
 	//***********************************************************************************
 	// METHODS
 	//***********************************************************************************
 
+	@Override
+	public boolean isExplained() {
+		return true;
+	}
+
 	public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
-		int min = Integer.MAX_VALUE / 2;
-		int max = Integer.MIN_VALUE / 2;
-		ISetIterator tIter = tasks.iterator();
-		while (tIter.hasNext()){
-			int i = tIter.nextInt();
-			if (s[i].getUB() < e[i].getLB()) {
-				min = Math.min(min, s[i].getUB());
-				max = Math.max(max, e[i].getLB());
-			}
-		}
-		if (min < max) {
-			if(max-min>time.length){
-				time = new int[max-min];
-			}
-			else{
-				Arrays.fill(time, 0, max - min, 0);
-			}
+		// only tasks whose compulsory part changed since the last call are reconsidered
+		profile.update(s, e, h);
+		if (!profile.isEmpty()) {
+			int min = profile.origin();
+			int max = profile.end();
+			int[] time = profile.heights();
 			int capaMax = capa.getUB();
-			// fill mandatory parts and filter capacity
-			int elb,hlb;
-			int maxC=0;
-
-			tIter = tasks.iterator();
-			while (tIter.hasNext()){
-				int i = tIter.nextInt();
-				elb = e[i].getLB();
-				hlb = h[i].getLB();
-				for (int t = s[i].getUB(); t < elb; t++) {
-					time[t - min] += hlb;
-					maxC = Math.max(maxC,time[t - min]);
-				}
+			// filter capacity
+			int peak = profile.max();
+			if (peak > capa.getLB()) {
+				capa.updateLowerBound(peak, aCause, aCause.lcg() ? explainPeak(at(peak, time, min), peak, s, e, h) : Reason.undef());
 			}
-			capa.updateLowerBound(maxC, aCause);
+			int elb,hlb;
 			// filter max height
-			int minH;
+			int minH, p;
 
-			tIter = tasks.iterator();
+			ISetIterator tIter = tasks.iterator();
 			while (tIter.hasNext()){
 				int i = tIter.nextInt();
 				if(!h[i].isInstantiated()){
 					minH = h[i].getUB();
+					p = 0;
 					elb = e[i].getLB();
 					hlb = h[i].getLB();
 					for (int t = s[i].getUB(); t < elb; t++) {
-						minH = Math.min(minH,capaMax-(time[t-min]-hlb));
+						if (capaMax - (time[t - min] - hlb) < minH) {
+							minH = capaMax - (time[t - min] - hlb);
+							p = t;
+						}
+					}
+					if (minH < h[i].getUB()) {
+						h[i].updateUpperBound(minH, aCause, aCause.lcg() ? explainHeight(i, p, minH, capaMax, s, e, h, capa) : Reason.undef());
 					}
-					h[i].updateUpperBound(minH,aCause);
 				}
 			}
 			tIter = tasks.iterator();
@@ -97,17 +93,45 @@ public class TimeCumulFilter extends CumulFilter {
 				if (h[i].getLB() > 0) {
 					// filters
 					if (s[i].getLB() + d[i].getLB() > min) {
-						filterInf(s[i],e[i].getLB(),d[i].getLB(),h[i].getLB(), min, max, time, capaMax, aCause);
+						filterInf(i, s, d, e, h, capa, min, max, time, capaMax, aCause);
 					}
 					if (e[i].getUB() - d[i].getLB() < max) {
-						filterSup(s[i].getUB(),e[i],d[i].getLB(),h[i].getLB(), min, max, time, capaMax, aCause);
+						filterSup(i, s, d, e, h, capa, min, max, time, capaMax, aCause);
 					}
 				}
 			}
 		}
 	}
 
-	protected void filterInf(IntVar start, int elb, int dlb, int hlb, int min, int max, int[] time, int capaMax, Propagator<IntVar> aCause) throws ContradictionException {
+	/**
+	 * @return the first point in time where the profile reaches <i>height</i>
+	 */
+	private static int at(int height, int[] time, int min) {
+		int t = 0;
+		while (time[t] < height) {
+			t++;
+		}
+		return min + t;
+	}
+
+	/**
+	 * @return a reason for <i>h[i] &le; minH</i>, task <i>i</i> covering <i>p</i>
+	 */
+	private Reason explainHeight(int i, int p, int minH, int capaMax, IntVar[] s, IntVar[] e, IntVar[] h, IntVar capa) {
+		newReason();
+		explainProfile(p, p + 1, i, capaMax - minH, s, e, h);
+		addLit(leLit(s[i], p));
+		addLit(geLit(e[i], p + 1));
+		addLit(leLit(capa, capaMax));
+		return buildReason();
+	}
+
+	protected void filterInf(int i, IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa,
+							 int min, int max, int[] time, int capaMax, Propagator<IntVar> aCause) throws ContradictionException {
+		IntVar start = s[i];
+		int elb = e[i].getLB();
+		int dlb = d[i].getLB();
+		int hlb = h[i].getLB();
 		int nbOk = 0;
 		int sub = start.getUB();
 		for (int t = start.getLB(); t < sub; t++) {
@@ -119,12 +143,17 @@ public class TimeCumulFilter extends CumulFilter {
 			} else {
 				if(dlb==0 && t >= elb)return;
 				nbOk = 0;
-				start.updateLowerBound(t + 1, aCause);
+				start.updateLowerBound(t + 1, aCause, aCause.lcg() ? explainStart(i, t, t + 1, dlb, hlb, capaMax, s, d, e, h, capa) : Reason.undef());
 			}
 		}
 	}
 
-	protected void filterSup(int sub, IntVar end, int dlb, int hlb, int min, int max, int[] time, int capaMax, Propagator<IntVar> aCause) throws ContradictionException {
+	protected void filterSup(int i, IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa,
+							 int min, int max, int[] time, int capaMax, Propagator<IntVar> aCause) throws ContradictionException {
+		IntVar end = e[i];
+		int sub = s[i].getUB();
+		int dlb = d[i].getLB();
+		int hlb = h[i].getLB();
 		int nbOk = 0;
 		int elb = end.getLB();
 		for (int t = end.getUB(); t > elb; t--) {
@@ -136,7 +165,7 @@ public class TimeCumulFilter extends CumulFilter {
 			} else {
 				if(dlb==0 && t <= sub)return;
 				nbOk = 0;
-				end.updateUpperBound(t - 1, aCause);
+				end.updateUpperBound(t - 1, aCause, aCause.lcg() ? explainEnd(i, t - 1, t, dlb, hlb, capaMax, s, d, e, h, capa) : Reason.undef());
 			}
 		}
 	}
@@ -0,0 +1,256 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.sort.ArraySort;
+
+/**
+ * Time-table edge-finding filtering algorithm for the cumulative constraint, in O(n<sup>2</sup>), as described in:
+ * <br/>
+ * "Explaining time-table-edge-finding propagation for the cumulative resource constraint",
+ * A. Schutt, T. Feydy and P.J. Stuckey, CPAIOR 2013.
+ * <p>
+ * The energy of a task is split into a compulsory part, stored in a time-table, and a free part.
+ * For each window [est<sub>a</sub>, lct<sub>b</sub>), the free energy of the tasks inside the window
+ * plus the energy of the time-table in the window is compared to the capacity of the window.
+ * Then, the task which would use the most free energy in the window if left-shifted is pushed.
+ * Latest completion times are filtered on the mirrored problem.
+ * <br/>
+ * The filter reasons on the lower bounds of durations and heights and on the upper bound of the capacity.
+ * not idempotent
+ * not enough to ensure correctness (only an additional filtering)
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class TimeTableEdgeFindingCumulFilter extends CumulFilter {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final ArraySort<?> sorter;
+    private final int[] tsks;
+    private final int[] byEst;
+    private final int[] byLct;
+    private final long[] est;
+    private final long[] lct;
+    private final long[] dur;
+    private final long[] height;
+    private final long[] update;
+    /**
+     * Time-table energy before the est of each task
+     */
+    private final long[] ttBeforeEst;
+    // time-table, as a step function
+    private final int[] evts;
+    private final long[] evTime;
+    private final long[] evDelta;
+    private final long[] ttTime;
+    private final long[] ttHeight;
+    private final long[] ttEnergy;
+    private int ttSize;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    public TimeTableEdgeFindingCumulFilter(int nbMaxTasks) {
+        super(nbMaxTasks);
+        sorter = new ArraySort<>(2 * nbMaxTasks, false, true);
+        tsks = new int[nbMaxTasks];
+        byEst = new int[nbMaxTasks];
+        byLct = new int[nbMaxTasks];
+        est = new long[nbMaxTasks];
+        lct = new long[nbMaxTasks];
+        dur = new long[nbMaxTasks];
+        height = new long[nbMaxTasks];
+        update = new long[nbMaxTasks];
+        ttBeforeEst = new long[nbMaxTasks];
+        evts = new int[2 * nbMaxTasks];
+        evTime = new long[2 * nbMaxTasks];
+        evDelta = new long[2 * nbMaxTasks];
+        ttTime = new long[2 * nbMaxTasks];
+        ttHeight = new long[2 * nbMaxTasks];
+        ttEnergy = new long[2 * nbMaxTasks];
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
+        int n = 0;
+        ISetIterator tIter = tasks.iterator();
+        while (tIter.hasNext()) {
+            int t = tIter.nextInt();
+            if (d[t].getLB() > 0 && h[t].getLB() > 0) {
+                tsks[n++] = t;
+            }
+        }
+        if (n == 0) {
+            return;
+        }
+        long c = capa.getUB();
+        for (int k = 0; k < n; k++) {
+            int t = tsks[k];
+            est[t] = s[t].getLB();
+            lct[t] = e[t].getUB();
+            dur[t] = d[t].getLB();
+            height[t] = h[t].getLB();
+        }
+        if (adjust(n, c, aCause)) {
+            for (int k = 0; k < n; k++) {
+                int t = tsks[k];
+                if (update[t] > est[t]) {
+                    s[t].updateLowerBound((int) Math.min(update[t], Integer.MAX_VALUE), aCause);
+                }
+            }
+        }
+        // latest completion times, on the mirrored problem
+        for (int k = 0; k < n; k++) {
+            int t = tsks[k];
+            est[t] = -(long) e[t].getUB();
+            lct[t] = -(long) s[t].getLB();
+        }
+        if (adjust(n, c, aCause)) {
+            for (int k = 0; k < n; k++) {
+                int t = tsks[k];
+                if (update[t] > est[t]) {
+                    e[t].updateUpperBound((int) Math.max(-update[t], Integer.MIN_VALUE), aCause);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check windows and compute new earliest starting times in {@link #update}.
+     *
+     * @return <i>true</i> if at least one earliest starting time can be increased
+     */
+    private boolean adjust(int n, long c, Propagator<IntVar> aCause) throws ContradictionException {
+        buildTimeTable(n, c, aCause);
+        System.arraycopy(tsks, 0, byEst, 0, n);
+        sorter.sort(byEst, n, (i, j) -> Long.compare(est[i], est[j]));
+        System.arraycopy(tsks, 0, byLct, 0, n);
+        sorter.sort(byLct, n, (i, j) -> Long.compare(lct[i], lct[j]));
+        for (int k = 0; k < n; k++) {
+            int t = tsks[k];
+            update[t] = est[t];
+            ttBeforeEst[t] = ttEnergyBefore(est[t]);
+        }
+        boolean any = false;
+        for (int y = n - 1; y >= 0; y--) {
+            long b = lct[byLct[y]];
+            if (y > 0 && lct[byLct[y - 1]] == b) {
+                continue; // the window will be considered with the whole left cut
+            }
+            long ttBeforeB = ttEnergyBefore(b);
+            long free = 0;
+            int u = -1;
+            long uExtra = Long.MIN_VALUE;
+            for (int x = n - 1; x >= 0; x--) {
+                int i = byEst[x];
+                long a = est[i];
+                if (a >= b) {
+                    continue;
+                }
+                long ect = a + dur[i], lst = lct[i] - dur[i];
+                if (lct[i] <= b) {
+                    free += height[i] * (dur[i] - Math.max(0, ect - lst));
+                } else {
+                    // energy used by the free part of i in the window when left-shifted
+                    long extra = height[i] * (Math.min(b, ect) - a - Math.max(0, Math.min(ect, b) - lst));
+                    if (extra > uExtra) {
+                        uExtra = extra;
+                        u = i;
+                    }
+                }
+                long avail = c * (b - a) - free - (ttBeforeB - ttBeforeEst[i]);
+                if (avail < 0) {
+                    aCause.fails();
+                }
+                if (uExtra > avail) {
+                    long comp = Math.max(0, Math.min(est[u] + dur[u], b) - (lct[u] - dur[u]));
+                    long upd = b - comp - avail / height[u];
+                    if (upd > update[u]) {
+                        update[u] = upd;
+                        any = true;
+                    }
+                }
+            }
+        }
+        return any;
+    }
+
+    /**
+     * Build the time-table made of the compulsory parts of the tasks.
+     */
+    private void buildTimeTable(int n, long c, Propagator<IntVar> aCause) throws ContradictionException {
+        int m = 0;
+        for (int k = 0; k < n; k++) {
+            int t = tsks[k];
+            long lst = lct[t] - dur[t], ect = est[t] + dur[t];
+            if (lst < ect) {
+                evTime[m] = lst;
+                evDelta[m] = height[t];
+                evts[m] = m;
+                m++;
+                evTime[m] = ect;
+                evDelta[m] = -height[t];
+                evts[m] = m;
+                m++;
+            }
+        }
+        sorter.sort(evts, m, (i, j) -> Long.compare(evTime[i], evTime[j]));
+        ttSize = 0;
+        long cur = 0;
+        for (int k = 0; k < m; k++) {
+            int ev = evts[k];
+            cur += evDelta[ev];
+            if (k + 1 < m && evTime[evts[k + 1]] == evTime[ev]) {
+                continue;
+            }
+            if (cur > c) {
+                aCause.fails();
+            }
+            ttTime[ttSize] = evTime[ev];
+            ttHeight[ttSize] = cur;
+            ttEnergy[ttSize] = ttSize == 0 ? 0 :
+                    ttEnergy[ttSize - 1] + ttHeight[ttSize - 1] * (ttTime[ttSize] - ttTime[ttSize - 1]);
+            ttSize++;
+        }
+    }
+
+    /**
+     * @return the energy of the time-table before <i>t</i>
+     */
+    private long ttEnergyBefore(long t) {
+        int lo = 0, hi = ttSize - 1, k = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ttTime[mid] <= t) {
+                k = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return k < 0 ? 0 : ttEnergy[k] + ttHeight[k] * (t - ttTime[k]);
+    }
+}
@@ -14,270 +14,314 @@ import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
-import org.chocosolver.util.objects.IntCircularQueue;
+import org.chocosolver.util.objects.IntHeap;
 import org.chocosolver.util.tools.ArrayUtils;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 /**
+ * Propagator for the cost flow constraint, based on a minimum cost flow.
+ * <br/>
+ * The bounds of the flow variables are the lower and upper capacities of the arcs.
+ * A minimum cost flow, that satisfies the balance of each node, gives a lower bound of the cost.
+ * Then, the bounds of each flow variable are filtered with reduced costs:
+ * increasing (resp. decreasing) the flow on an arc requires to send flow along a cycle of the residual graph
+ * that goes through this arc (resp. its reverse arc).
+ * Since the minimum cost is a convex function of the flow on a given arc,
+ * the cost of the shortest such cycle is a lower bound of the cost of each additional unit.
+ * Shortest cycles are computed with one Dijkstra's algorithm per node, on reduced costs.
+ * <p>
+ * The flow and the node potentials are kept from one call to another.
+ * On a new call, the flow on each arc is first moved back within the bounds of its variable,
+ * arcs that violate the reduced cost optimality conditions
+ * (which may happen on backtrack, when domains are restored) are saturated,
+ * and the resulting excesses are routed with successive shortest paths.
+ * So, only the arcs whose bounds changed since the last call are repaired.
  * <br/>
  *
  * @author Charles Prud'homme
  * @since 06/01/2022
  */
 public class PropMinCostMaxFlow extends Propagator<IntVar> {
-    private final int offset;
-    private final int[] starts;
-    private final int[] ends;
+
+    private static final long INF = Long.MAX_VALUE / 4;
+
     private final int[] balances;
     private final int[] weights;
     private final IntVar[] flows;
     private final IntVar cost;
-    private final Residual g;
+    /**
+     * Number of nodes
+     */
+    private final int n;
+    /**
+     * Residual graph: edge 2a stands for arc a, edge 2a+1 for its reverse.
+     */
+    private final int[] from;
+    private final int[] to;
+    /**
+     * Out-going edges of node v are adj[adjStart[v]..adjStart[v+1]-1]
+     */
+    private final int[] adjStart;
+    private final int[] adj;
+    /**
+     * Lower and upper bounds of the flow variables, as read on the last call
+     */
+    private final int[] lb;
+    private final int[] ub;
+    /**
+     * Current flow, kept from one call to another
+     */
+    private final int[] x;
+    /**
+     * Node potentials, such that reduced costs of edges of the residual graph are non-negative.
+     * Kept from one call to another.
+     */
+    private final long[] pi;
+    private final long[] excess;
+    private final long[] dist;
+    /**
+     * Last edge of the shortest path to a node, or -1
+     */
+    private final int[] pred;
+    private final boolean[] settled;
+    private final IntHeap heap;
+    /**
+     * Edges whose shortest cycle has to be computed with a dedicated search
+     */
+    private final int[] postponed;
 
     public PropMinCostMaxFlow(int[] starts, int[] ends, int[] balances, int[] weights, IntVar[] flows, IntVar cost, int offset) {
         super(ArrayUtils.append(flows, new IntVar[]{cost}), PropagatorPriority.QUADRATIC, false);
-        this.offset = offset;
-        this.starts = starts;
-        this.ends = ends;
         this.balances = balances;
         this.weights = weights;
         this.flows = flows;
         this.cost = cost;
-        this.g = new Residual();
+        this.n = balances.length;
+        int m = starts.length;
+        this.from = new int[2 * m];
+        this.to = new int[2 * m];
+        this.adjStart = new int[n + 1];
+        this.adj = new int[2 * m];
+        for (int a = 0; a < m; a++) {
+            from[2 * a] = to[2 * a + 1] = starts[a] - offset;
+            to[2 * a] = from[2 * a + 1] = ends[a] - offset;
+            adjStart[from[2 * a] + 1]++;
+            adjStart[from[2 * a + 1] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            adjStart[v + 1] += adjStart[v];
+        }
+        int[] pos = Arrays.copyOf(adjStart, n);
+        for (int e = 0; e < 2 * m; e++) {
+            adj[pos[from[e]]++] = e;
+        }
+        this.lb = new int[m];
+        this.ub = new int[m];
+        this.x = new int[m];
+        this.pi = new long[n];
+        this.excess = new long[n];
+        this.dist = new long[n];
+        this.pred = new int[n];
+        this.settled = new boolean[n];
+        this.heap = new IntHeap((u, v) -> dist[u] < dist[v]);
+        this.postponed = new int[2 * m];
     }
 
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         boolean hasChanged = true;
         while (hasChanged) {
-            hasChanged = false;
-            g.refresh(-1, 0);
-            int minCost = minCostFlow(-1, 0);
-            if (minCost == -1) {
+            long minCost = minCostFlow();
+            if (minCost > cost.getUB()) {
                 this.fails();
             }
-            this.cost.updateLowerBound(minCost, this);
-
-            int maxcost = this.cost.getUB();
-            for (int i = 0; i < flows.length; i++) {
-                hasChanged |= updateFlow(i, maxcost);
-            }
+            this.cost.updateLowerBound((int) minCost, this);
+            hasChanged = filter(cost.getUB() - minCost);
         }
     }
 
-    private boolean updateFlow(int i, int maxcost) throws ContradictionException {
-        int l = flows[i].getLB();
-        int u = flows[i].getUB();
-        int m = u;
-        g.refresh(i, m);
-        int c = minCostFlow(i, m);
-        if (c > maxcost || c == -1) {
-            // u is the first value that does not work
-            u--;
-            while (l <= u) {
-                m = (l + u) >>> 1;
-                g.refresh(i, m);
-                c = minCostFlow(i, m);
-                if (c == -1 || c > maxcost) {
-                    u = m - 1;
-                } else {// if (c <= maxcost) {
-                    l = m + 1;
+    /**
+     * Repair the current flow into a minimum cost flow wrt the current bounds.
+     *
+     * @return the cost of the flow
+     * @throws ContradictionException if there is no feasible flow
+     */
+    private long minCostFlow() throws ContradictionException {
+        Arrays.fill(excess, 0);
+        for (int v = 0; v < n; v++) {
+            excess[v] = balances[v];
+        }
+        for (int a = 0; a < x.length; a++) {
+            lb[a] = flows[a].getLB();
+            ub[a] = flows[a].getUB();
+            long rc = reducedCost(2 * a);
+            if (rc < 0) {
+                x[a] = ub[a];
+            } else if (rc > 0) {
+                x[a] = lb[a];
+            } else {
+                x[a] = Math.max(lb[a], Math.min(ub[a], x[a]));
+            }
+            excess[from[2 * a]] -= x[a];
+            excess[to[2 * a]] += x[a];
+        }
+        // successive shortest paths, from nodes in excess to nodes in deficit
+        while (true) {
+            int t = shortestPaths(-1, -1, -1);
+            if (t == -1) {
+                break;
+            }
+            long d = dist[t];
+            for (int v = 0; v < n; v++) {
+                pi[v] += Math.min(dist[v], d);
+            }
+            long f = -excess[t];
+            int v = t;
+            while (pred[v] != -1) {
+                f = Math.min(f, capacity(pred[v]));
+                v = from[pred[v]];
+            }
+            f = Math.min(f, excess[v]);
+            excess[v] -= f;
+            excess[t] += f;
+            v = t;
+            while (pred[v] != -1) {
+                int e = pred[v];
+                if ((e & 1) == 0) {
+                    x[e >> 1] += (int) f;
+                } else {
+                    x[e >> 1] -= (int) f;
                 }
+                v = from[e];
             }
-            return flows[i].updateUpperBound(u, this)
-                    && u > flows[i].getUB();
         }
-        return false;
-    }
-
-    /// /////////////////////
-    private final static class Edge {
-        final int id;
-        final int from;
-        final int to;
-        int capacity;
-        int flow;
-        final int cost;
-        final int rId;
-
-        public Edge(int id, int from, int to, int capacity, int cost, int rId) {
-            this.id = id;
-            this.from = from;
-            this.to = to;
-            this.capacity = capacity;
-            this.cost = cost;
-            this.rId = rId;
+        for (int v = 0; v < n; v++) {
+            if (excess[v] != 0) {
+                this.fails();
+            }
         }
-
-        @Override
-        public String toString() {
-            return "E#" + id + ": (" + from + "," + to + ") ca=" + capacity + ", co=" + cost + " -- " + rId;
+        long c = 0;
+        for (int a = 0; a < x.length; a++) {
+            c += (long) x[a] * weights[a];
         }
+        return c;
     }
 
-    private final class Residual {
-        final int n;
-        final int n2;
-        final int m;
-        final int s;
-        final int t;
-        final Edge[] edges;
-        final List<Edge>[] adj;
-        final int[] d; // distance
-        final int[] p; // predecessor
-        final int[] b; // balance or demand on each vertex
-        final IntCircularQueue queue;
-        int D;
-
-        public Residual() {
-            this.s = balances.length; // add a super source
-            this.t = s + 1; // add super sink
-            this.n = balances.length + 2; // nb of nodes
-            this.n2 = n - 2;
-            this.d = new int[n];
-            this.p = new int[n];
-            this.queue = new IntCircularQueue(n);
-            this.adj = new ArrayList[n];
-            this.b = new int[n];
-            for (int i = 0; i < n; i++) {
-                this.adj[i] = new ArrayList<>();
-                if (i < n - 2) {
-                    if (balances[i] > 0) {
-                        b[s] += balances[i];
-                    } else if (balances[i] < 0) {
-                        b[t] += balances[i];
+    /**
+     * Filter the bounds of the flow variables with the shortest cycles of the residual graph.
+     *
+     * @param slack the maximum increase of the cost of the current flow
+     * @return <i>true</i> if a bound has been modified
+     * @throws ContradictionException if a failure occurs
+     */
+    private boolean filter(long slack) throws ContradictionException {
+        boolean hasChanged = false;
+        for (int s = 0; s < n; s++) {
+            if (adjStart[s] == adjStart[s + 1]) {
+                continue;
+            }
+            shortestPaths(s, -1, -1);
+            int p = 0;
+            for (int k = adjStart[s]; k < adjStart[s + 1]; k++) {
+                // sending flow along the reverse of e, then back to s, excluding e
+                int e = adj[k];
+                if (capacity(e ^ 1) > 0) {
+                    if (pred[to[e]] == e) {
+                        postponed[p++] = e;
+                    } else {
+                        hasChanged |= filter(e, dist[to[e]], slack);
                     }
                 }
             }
-            this.m = starts.length + 2 * n2; // 2*(n-2) for extra edges to deal with demand and l(e)
-            this.edges = new Edge[m * 2];
-            for (int i = 0; i < starts.length; i++) {
-                int f = starts[i] - offset;
-                int t = ends[i] - offset;
-                int cost = weights[i];
-                edges[i] = new Edge(i, f, t, 0, cost, i + m);
-                this.adj[f].add(edges[i]);
-                edges[i + m] = new Edge(i + m, t, f, 0, -cost, i);
-                this.adj[t].add(edges[i + m]);
-            }
-            for (int i = 0, k = starts.length; i < n2; i++, k++) {
-                // from super source to i
-                edges[k] = new Edge(k, s, i, 0, 0, k + m);
-                this.adj[s].add(edges[k]);
-                edges[k + m] = new Edge(k + m, i, s, 0, 0, k);
-                this.adj[i].add(edges[k + m]);
-                // from super i to super sink
-                edges[k + n2] = new Edge(k + n2, i, t, 0, 0, k + n2 + m);
-                this.adj[i].add(edges[k + n2]);
-                edges[k + n2 + m] = new Edge(k + n2 + m, t, i, 0, 0, k + n2);
-                this.adj[t].add(edges[k + n2 + m]);
+            for (int k = 0; k < p; k++) {
+                int e = postponed[k];
+                shortestPaths(s, e, to[e]);
+                hasChanged |= filter(e, dist[to[e]], slack);
             }
         }
+        return hasChanged;
+    }
 
-        // https://ocw.tudelft.nl/wp-content/uploads/Algoritmiek_Extensions_to_Max_Flow_-_circulations_01.pdf
-        public void refresh(int a, int v) {
-            Arrays.fill(b, 0);
-            System.arraycopy(balances, 0, b, 0, balances.length);
-            for (int i = 0; i < starts.length; i++) {
-                int f = starts[i] - offset;
-                int t = ends[i] - offset;
-                int lowerCap = flows[i].getLB();
-                int upperCap = flows[i].getUB();
-                if (a == i) {
-                    lowerCap = v;
-                }
-                b[f] -= lowerCap;
-                b[t] += lowerCap;
-                edges[i].capacity = upperCap - lowerCap;
-                edges[i + m].capacity = 0;
-                edges[i].flow = edges[i + m].flow = 0;
+    /**
+     * Filter the flow of the arc of <i>e</i>, knowing that the cost of the shortest path
+     * from the source of <i>e</i> to its target, without <i>e</i>, is <i>d</i>.
+     */
+    private boolean filter(int e, long d, long slack) throws ContradictionException {
+        int a = e >> 1;
+        long max = capacity(e ^ 1);
+        if (d < INF) {
+            long r = d - reducedCost(e);
+            assert r >= 0;
+            if (r == 0) {
+                return false;
             }
-            // fill super edges, if needed
-            int dIn = 0, dOut = 0;
-            for (int i = 0, k = starts.length; i < n2; i++, k++) {
-                edges[k].capacity = edges[k + m].capacity = edges[k + n2].capacity = edges[k + n2 + m].capacity = 0;
-                edges[k].flow = edges[k + m].flow = edges[k + n2].flow = edges[k + n2 + m].flow = 0;
-                if (b[i] > 0) {
-                    int b_ = b[i];
-                    b[edges[k].from] += b_;
-                    b[edges[k].to] -= b_;
-                    edges[k].capacity = b_;
-                    dIn += b_;
-                } else if (b[i] < 0) {
-                    int b_ = b[i];
-                    b[edges[k + n2].from] -= b_;
-                    b[edges[k + n2].to] += b_;
-                    edges[k + n2].capacity = -b_;
-                    dOut -= b_;
-                }
-            }
-            assert dIn == dOut;
-            D = dIn;
+            max = Math.min(max, slack / r);
+        } else {
+            max = 0;
+        }
+        if ((e & 1) == 1) {
+            return flows[a].updateUpperBound(x[a] + (int) max, this);
+        } else {
+            return flows[a].updateLowerBound(x[a] - (int) max, this);
         }
     }
 
-    private void shortest_paths(int s) {
-        Arrays.fill(g.d, Integer.MAX_VALUE);
-        Arrays.fill(g.p, -1);
-        g.d[s] = 0;
-        g.queue.clear();
-        g.queue.addLast(s);
-        while (!g.queue.isEmpty()) {
-            int u = g.queue.pollFirst();
-            for (int i = 0; i < g.adj[u].size(); i++) {
-                Edge e = g.adj[u].get(i);
-                int v = e.to;
-                if (e.capacity > 0 && g.d[v] > g.d[u] + e.cost) {
-                    g.d[v] = g.d[u] + e.cost;
-                    g.p[v] = e.id; // not the predecessor but the arc
-                    g.queue.addLast(v);
+    /**
+     * Dijkstra's algorithm on reduced costs.
+     *
+     * @param source    the source node, or -1 to start from all nodes in excess
+     * @param forbidden an edge to ignore, or -1
+     * @param target    a node to stop at, or -1 to stop at the first node in deficit (when <i>source</i> is -1)
+     *                  or to compute all distances
+     * @return the node the search stopped at, or -1
+     */
+    private int shortestPaths(int source, int forbidden, int target) {
+        Arrays.fill(dist, INF);
+        Arrays.fill(pred, -1);
+        Arrays.fill(settled, false);
+        heap.clear();
+        if (source == -1) {
+            for (int v = 0; v < n; v++) {
+                if (excess[v] > 0) {
+                    dist[v] = 0;
+                    heap.insert(v);
                 }
             }
+        } else {
+            dist[source] = 0;
+            heap.insert(source);
         }
-    }
-
-    private int minCostFlow(int a, int v) {
-        int fl = 0;
-        int cost = 0;
-
-        while (fl < g.D) {
-            shortest_paths(g.s);
-            if (g.d[g.t] == Integer.MAX_VALUE)
-                break;
-            // find max flow on that path
-            int f = g.D - fl;
-            int cur = g.p[g.t];
-            Edge e;
-            while (cur != -1) {
-                e = g.edges[cur];
-                f = Math.min(f, e.capacity);
-                cur = g.p[e.from];
-            }
-            // apply flow
-            fl += f;
-            cost += f * g.d[g.t];
-            cur = g.p[g.t];
-            while (cur != -1) {
-                e = g.edges[cur];
-                e.capacity -= f;
-                g.edges[e.rId].capacity += f;
-                cur = g.p[e.from];
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            settled[u] = true;
+            if (u == target || (source == -1 && excess[u] < 0)) {
+                return u;
             }
-        }
-        if (fl < g.D) {
-            return -1;
-        }
-        for (int i = 0; i < starts.length; i++) {
-            if (a == i) {
-                cost += v * g.edges[i].cost;
-            } else {
-                cost += flows[i].getLB() * g.edges[i].cost;
+            for (int k = adjStart[u]; k < adjStart[u + 1]; k++) {
+                int e = adj[k];
+                int v = to[e];
+                if (e != forbidden && !settled[v] && capacity(e) > 0) {
+                    long dv = dist[u] + reducedCost(e);
+                    if (dv < dist[v]) {
+                        dist[v] = dv;
+                        pred[v] = e;
+                        heap.update(v);
+                    }
+                }
             }
         }
-        return cost;
+        return -1;
+    }
+
+    private long capacity(int e) {
+        int a = e >> 1;
+        return (e & 1) == 0 ? ub[a] - x[a] : x[a] - lb[a];
+    }
+
+    private long reducedCost(int e) {
+        long c = (e & 1) == 0 ? weights[e >> 1] : -weights[e >> 1];
+        return c + pi[from[e]] - pi[to[e]];
     }
 
     @Override
@@ -14,6 +14,7 @@ import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.ConstraintsName;
 import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 
@@ -22,17 +23,27 @@ import java.util.List;
 
 /**
  * Global Cardinality constraint
+ * The consistency level should be chosen among "AC", "BC" and "DEFAULT".
  *
  * @author Hadrien Cambazard, Charles Prud'homme, Jean-Guillaume Fages
  * @since 16/06/11
  */
 public class GlobalCardinality extends Constraint {
 
+	public static final String AC = "AC";
+	public static final String BC = "BC";
+	public static final String DEFAULT = "DEFAULT";
+
     public GlobalCardinality(IntVar[] vars, int[] values, IntVar[] cards) {
-    	super(ConstraintsName.GCC, createProp(vars, values, cards));
+    	this(vars, values, cards, DEFAULT);
+    }
+
+    public GlobalCardinality(IntVar[] vars, int[] values, IntVar[] cards, String consistency) {
+    	super(ConstraintsName.GCC, createProps(vars, values, cards, consistency));
     }
 
-	private static Propagator<IntVar> createProp(IntVar[] vars, int[] values, IntVar[] cards) {
+	@SuppressWarnings("unchecked")
+	private static Propagator<IntVar>[] createProps(IntVar[] vars, int[] values, IntVar[] cards, String consistency) {
 		assert values.length == cards.length;
 		TIntIntHashMap map = new TIntIntHashMap();
 		int idx = 0;
@@ -44,7 +55,16 @@ public class GlobalCardinality extends Constraint {
 				throw new UnsupportedOperationException("ERROR: multiple occurrences of value: " + v);
 			}
 		}
-		return new PropFastGCC(vars, values, map, cards);
+		switch (consistency) {
+			case AC:
+				return new Propagator[]{new PropFastGCC(vars, values, map, cards), new PropFlowGCC(vars, values, map, cards, false)};
+			case BC:
+				return new Propagator[]{new PropFastGCC(vars, values, map, cards), new PropFlowGCC(vars, values, map, cards, true)};
+			case DEFAULT:
+				return new Propagator[]{new PropFastGCC(vars, values, map, cards)};
+			default:
+				throw new SolverException("Unknown consistency level for globalCardinality: " + consistency);
+		}
 	}
 
     public static Constraint reformulate(IntVar[] vars, IntVar[] card, Model model) {
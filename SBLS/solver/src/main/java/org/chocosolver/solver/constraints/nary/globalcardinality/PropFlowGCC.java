@@ -0,0 +1,563 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.globalcardinality;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.graphOperations.connectivity.StrongConnectivityFinder;
+import org.chocosolver.util.objects.graphs.DirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Flow-based propagator for the Global Cardinality Constraint (GCC), as described in:
+ * <br/>
+ * "Generalized Arc Consistency for Global Cardinality Constraint", J.-C. R&eacute;gin, AAAI 1996.
+ * <p>
+ * Variables are on one side of a bipartite graph, values on the other side.
+ * A value <i>v</i> must be taken by at least <i>card(v).LB</i> and at most <i>card(v).UB</i> variables
+ * (values that are not constrained can be taken by any number of variables).
+ * A feasible flow is maintained from one call to another and only repaired:
+ * variables whose assigned value was removed, or whose value is now taken too often, are re-assigned
+ * with augmenting paths, then values that are not taken often enough pull variables from other values.
+ * A variable-value pair is then supported iff it belongs to the flow or
+ * both ends lie in the same strongly connected component of the residual graph.
+ * <br/>
+ * When <i>bounds</i> is set to <i>true</i>, holes in domains are ignored and
+ * values are grouped into intervals that no bound of a variable and no constrained value separate.
+ * The size of the graph is then independent of the size of the domains and only the bounds of
+ * the variables are filtered.
+ * <br/>
+ * The cardinality variables are not filtered: this propagator is meant to be posted with {@link PropFastGCC}.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class PropFlowGCC extends Propagator<IntVar> {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final int n;
+    private final int[] values;
+    private final TIntIntHashMap map;
+    private final boolean bounds;
+    /**
+     * Value (or first value of the interval) each variable was assigned to on the last call
+     */
+    private final int[] assigned;
+    // value nodes of the current call, sorted, each one covers [nodeMin, nodeMax]
+    private int k;
+    private final int[] nodeMin;
+    private final int[] nodeMax;
+    private final int[] low;
+    private final int[] up;
+    private final int[] flow;
+    // adjacency of variables, and reverse
+    private int[] adj;
+    private final int[] adjStart;
+    private int[] radj;
+    private final int[] radjStart;
+    // the flow: node of each variable, and doubly-linked lists of the variables of each node
+    private final int[] match;
+    private final int[] head;
+    private final int[] next;
+    private final int[] prev;
+    // for BFS
+    private final int[] fifo;
+    private final int[] parent;
+    private final int[] via;
+    private final BitSet visited;
+    // for SCC
+    private final DirectedGraph digraph;
+    private final StrongConnectivityFinder sccFinder;
+    private final BitSet restriction;
+    private int[] buffer;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    /**
+     * Flow-based propagator for Global Cardinality Constraint (GCC) for integer variables
+     *
+     * @param decvars            array of integer variables
+     * @param restrictedValues   array of int
+     * @param map                mapping from values to their index in <i>restrictedValues</i>
+     * @param valueCardinalities array of integer variables
+     * @param bounds             set to <i>true</i> to ignore holes in domains and only filter bounds
+     */
+    public PropFlowGCC(IntVar[] decvars, int[] restrictedValues, TIntIntHashMap map, IntVar[] valueCardinalities,
+                       boolean bounds) {
+        super(ArrayUtils.append(decvars, valueCardinalities), PropagatorPriority.QUADRATIC, false);
+        if (restrictedValues.length != valueCardinalities.length) {
+            throw new SolverException("restricted values array and cardinalities array have different length");
+        }
+        this.n = decvars.length;
+        this.values = restrictedValues;
+        this.map = map;
+        this.bounds = bounds;
+        this.assigned = new int[n];
+        Arrays.fill(assigned, Integer.MIN_VALUE);
+        int maxNodes;
+        if (bounds) {
+            maxNodes = 2 * (n + values.length);
+        } else {
+            BitSet seen = new BitSet();
+            int min = Arrays.stream(decvars).mapToInt(IntVar::getLB).min().orElse(0);
+            for (int v : values) {
+                min = Math.min(min, v);
+            }
+            int size = values.length;
+            for (IntVar var : decvars) {
+                size += var.getDomainSize();
+            }
+            buffer = new int[size];
+            int count = 0;
+            for (IntVar var : decvars) {
+                int ub = var.getUB();
+                for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+                    if (!seen.get(v - min)) {
+                        seen.set(v - min);
+                        count++;
+                    }
+                }
+            }
+            for (int v : values) {
+                if (!seen.get(v - min)) {
+                    seen.set(v - min);
+                    count++;
+                }
+            }
+            maxNodes = count;
+        }
+        maxNodes = Math.max(maxNodes, 1);
+        this.nodeMin = new int[maxNodes];
+        this.nodeMax = new int[maxNodes];
+        this.low = new int[maxNodes];
+        this.up = new int[maxNodes];
+        this.flow = new int[maxNodes];
+        this.head = new int[maxNodes];
+        this.radjStart = new int[maxNodes + 1];
+        this.adjStart = new int[n + 1];
+        this.adj = new int[0];
+        this.radj = new int[0];
+        this.match = new int[n];
+        this.next = new int[n];
+        this.prev = new int[n];
+        this.fifo = new int[maxNodes];
+        this.parent = new int[maxNodes];
+        this.via = new int[maxNodes];
+        this.visited = new BitSet(maxNodes);
+        this.digraph = new DirectedGraph(n + maxNodes + 1, SetType.BITSET, true);
+        this.sccFinder = new StrongConnectivityFinder(digraph);
+        this.restriction = new BitSet(n + maxNodes + 1);
+    }
+
+    //***********************************************************************************
+    // PROPAGATION
+    //***********************************************************************************
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        buildNodes();
+        buildAdjacency();
+        repairFlow();
+        filter();
+    }
+
+    /**
+     * Compute the value nodes of this call.
+     */
+    private void buildNodes() {
+        int m = 0;
+        if (bounds) {
+            if (buffer == null) {
+                buffer = new int[2 * (n + values.length)];
+            }
+            for (int i = 0; i < n; i++) {
+                buffer[m++] = vars[i].getLB();
+                buffer[m++] = vars[i].getUB() + 1;
+            }
+            for (int v : values) {
+                buffer[m++] = v;
+                buffer[m++] = v + 1;
+            }
+            m = sortUnique(m);
+            // each interval [buffer[j], buffer[j+1]-1] is a node
+            k = m - 1;
+            for (int j = 0; j < k; j++) {
+                nodeMin[j] = buffer[j];
+                nodeMax[j] = buffer[j + 1] - 1;
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                IntVar v = vars[i];
+                int ub = v.getUB();
+                for (int val = v.getLB(); val <= ub; val = v.nextValue(val)) {
+                    buffer[m++] = val;
+                }
+            }
+            for (int v : values) {
+                buffer[m++] = v;
+            }
+            k = sortUnique(m);
+            for (int j = 0; j < k; j++) {
+                nodeMin[j] = nodeMax[j] = buffer[j];
+            }
+        }
+        for (int j = 0; j < k; j++) {
+            low[j] = 0;
+            up[j] = n;
+            // a constrained value is always a node on its own
+            if (nodeMin[j] == nodeMax[j] && map.containsKey(nodeMin[j])) {
+                IntVar card = vars[n + map.get(nodeMin[j])];
+                low[j] = card.getLB();
+                up[j] = Math.min(n, card.getUB());
+            }
+        }
+    }
+
+    private int sortUnique(int m) {
+        Arrays.sort(buffer, 0, m);
+        int u = 0;
+        for (int i = 0; i < m; i++) {
+            if (u == 0 || buffer[u - 1] != buffer[i]) {
+                buffer[u++] = buffer[i];
+            }
+        }
+        return u;
+    }
+
+    /**
+     * @return the node that contains <i>value</i>, or -1
+     */
+    private int nodeOf(int value) {
+        int lo = 0, hi = k - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (nodeMax[mid] < value) {
+                lo = mid + 1;
+            } else if (nodeMin[mid] > value) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private void buildAdjacency() {
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            adjStart[i] = m;
+            IntVar v = vars[i];
+            int j = nodeOf(v.getLB());
+            int last = nodeOf(v.getUB());
+            if (bounds) {
+                m = ensureAdj(m, last - j + 1);
+                for (; j <= last; j++) {
+                    adj[m++] = j;
+                }
+            } else {
+                m = ensureAdj(m, v.getDomainSize());
+                int ub = v.getUB();
+                for (int val = v.getLB(); val <= ub; val = v.nextValue(val)) {
+                    while (nodeMin[j] < val) {
+                        j++;
+                    }
+                    adj[m++] = j;
+                }
+            }
+        }
+        adjStart[n] = m;
+        // reverse adjacency
+        if (radj.length < m) {
+            radj = new int[adj.length];
+        }
+        Arrays.fill(radjStart, 0, k + 1, 0);
+        for (int e = 0; e < m; e++) {
+            radjStart[adj[e] + 1]++;
+        }
+        for (int j = 0; j < k; j++) {
+            radjStart[j + 1] += radjStart[j];
+        }
+        for (int i = 0; i < n; i++) {
+            for (int e = adjStart[i]; e < adjStart[i + 1]; e++) {
+                int j = adj[e];
+                radj[radjStart[j]++] = i;
+            }
+        }
+        for (int j = k; j > 0; j--) {
+            radjStart[j] = radjStart[j - 1];
+        }
+        radjStart[0] = 0;
+    }
+
+    private int ensureAdj(int m, int size) {
+        if (adj.length < m + size) {
+            adj = Arrays.copyOf(adj, Math.max(2 * adj.length, m + size));
+        }
+        return m;
+    }
+
+    //***********************************************************************************
+    // FLOW
+    //***********************************************************************************
+
+    private void assign(int i, int j) {
+        match[i] = j;
+        flow[j]++;
+        next[i] = head[j];
+        prev[i] = -1;
+        if (head[j] != -1) {
+            prev[head[j]] = i;
+        }
+        head[j] = i;
+    }
+
+    private void unassign(int i) {
+        int j = match[i];
+        flow[j]--;
+        if (prev[i] != -1) {
+            next[prev[i]] = next[i];
+        } else {
+            head[j] = next[i];
+        }
+        if (next[i] != -1) {
+            prev[next[i]] = prev[i];
+        }
+        match[i] = -1;
+    }
+
+    /**
+     * Restore the flow of the previous call, where still valid, and complete it.
+     */
+    private void repairFlow() throws ContradictionException {
+        Arrays.fill(flow, 0, k, 0);
+        Arrays.fill(head, 0, k, -1);
+        for (int i = 0; i < n; i++) {
+            match[i] = -1;
+            int a = assigned[i];
+            if (a != Integer.MIN_VALUE && (bounds ? vars[i].getLB() <= a && a <= vars[i].getUB() : vars[i].contains(a))) {
+                int j = nodeOf(a);
+                if (flow[j] < up[j]) {
+                    assign(i, j);
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (match[i] == -1 && !augment(i)) {
+                fails();
+            }
+        }
+        for (int j = 0; j < k; j++) {
+            while (flow[j] < low[j]) {
+                if (!pull(j)) {
+                    fails();
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            assigned[i] = nodeMin[match[i]];
+        }
+    }
+
+    /**
+     * Find an augmenting path from the free variable <i>root</i> to a node that can receive one more variable.
+     *
+     * @return <i>true</i> if the flow has been augmented
+     */
+    private boolean augment(int root) {
+        visited.clear();
+        int first = 0, last = 0;
+        for (int e = adjStart[root]; e < adjStart[root + 1]; e++) {
+            int j = adj[e];
+            if (!visited.get(j)) {
+                visited.set(j);
+                via[j] = root;
+                fifo[last++] = j;
+            }
+        }
+        while (first < last) {
+            int j = fifo[first++];
+            if (flow[j] < up[j]) {
+                // move each variable of the path to the node it was reached from
+                while (true) {
+                    int i = via[j];
+                    int from = match[i];
+                    if (from != -1) {
+                        unassign(i);
+                    }
+                    assign(i, j);
+                    if (i == root) {
+                        return true;
+                    }
+                    j = from;
+                }
+            }
+            for (int i = head[j]; i != -1; i = next[i]) {
+                for (int e = adjStart[i]; e < adjStart[i + 1]; e++) {
+                    int l = adj[e];
+                    if (!visited.get(l)) {
+                        visited.set(l);
+                        via[l] = i;
+                        fifo[last++] = l;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find a path from the node <i>root</i>, that does not have enough variables,
+     * to a node that can lose one variable.
+     *
+     * @return <i>true</i> if the flow of <i>root</i> has been increased
+     */
+    private boolean pull(int root) {
+        visited.clear();
+        visited.set(root);
+        int first = 0, last = 0;
+        fifo[last++] = root;
+        while (first < last) {
+            int j = fifo[first++];
+            for (int e = radjStart[j]; e < radjStart[j + 1]; e++) {
+                int i = radj[e];
+                int l = match[i];
+                if (l != j && !visited.get(l)) {
+                    visited.set(l);
+                    // i would move from l to j
+                    via[l] = i;
+                    parent[l] = j;
+                    if (flow[l] > low[l]) {
+                        while (l != root) {
+                            i = via[l];
+                            int to = parent[l];
+                            unassign(i);
+                            assign(i, to);
+                            l = to;
+                        }
+                        return true;
+                    }
+                    fifo[last++] = l;
+                }
+            }
+        }
+        return false;
+    }
+
+    //***********************************************************************************
+    // PRUNING
+    //***********************************************************************************
+
+    private void filter() throws ContradictionException {
+        int t = n + k;
+        for (int x = 0; x <= t; x++) {
+            digraph.getSuccessorsOf(x).clear();
+            digraph.getPredecessorsOf(x).clear();
+        }
+        for (int i = 0; i < n; i++) {
+            for (int e = adjStart[i]; e < adjStart[i + 1]; e++) {
+                int j = adj[e];
+                if (match[i] == j) {
+                    digraph.addEdge(n + j, i);
+                } else {
+                    digraph.addEdge(i, n + j);
+                }
+            }
+        }
+        for (int j = 0; j < k; j++) {
+            if (flow[j] < up[j]) {
+                digraph.addEdge(n + j, t);
+            }
+            if (flow[j] > low[j]) {
+                digraph.addEdge(t, n + j);
+            }
+        }
+        restriction.clear();
+        restriction.set(0, t + 1);
+        sccFinder.findAllSCCOf(restriction);
+        int[] scc = sccFinder.getNodesSCC();
+        for (int i = 0; i < n; i++) {
+            IntVar v = vars[i];
+            int s = adjStart[i], e = adjStart[i + 1];
+            if (bounds) {
+                int lo = s;
+                while (!supported(i, adj[lo], scc)) {
+                    lo++;
+                }
+                int hi = e - 1;
+                while (!supported(i, adj[hi], scc)) {
+                    hi--;
+                }
+                v.updateBounds(nodeMin[adj[lo]], nodeMax[adj[hi]], this);
+            } else {
+                for (int p = s; p < e; p++) {
+                    int j = adj[p];
+                    if (!supported(i, j, scc)) {
+                        v.removeValue(nodeMin[j], this);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean supported(int i, int j, int[] scc) {
+        return match[i] == j || scc[i] == scc[n + j];
+    }
+
+    @Override
+    public ESat isEntailed() {
+        int n2 = values.length;
+        int[] min = new int[n2];
+        int[] max = new int[n2];
+        for (int i = 0; i < n; i++) {
+            IntVar v = vars[i];
+            if (v.isInstantiated()) {
+                if (map.containsKey(v.getValue())) {
+                    int j = map.get(v.getValue());
+                    min[j]++;
+                    max[j]++;
+                }
+            } else {
+                int ub = v.getUB();
+                for (int val = v.getLB(); val <= ub; val = v.nextValue(val)) {
+                    if (map.containsKey(val)) {
+                        max[map.get(val)]++;
+                    }
+                }
+            }
+        }
+        for (int j = 0; j < n2; j++) {
+            if (vars[n + j].getLB() > max[j] || vars[n + j].getUB() < min[j]) {
+                return ESat.FALSE;
+            }
+        }
+        for (int j = 0; j < n2; j++) {
+            if (!(vars[n + j].isInstantiated() && max[j] == min[j])) {
+                return ESat.UNDEFINED;
+            }
+        }
+        return ESat.TRUE;
+    }
+}
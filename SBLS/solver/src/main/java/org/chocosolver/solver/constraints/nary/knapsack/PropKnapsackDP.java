@@ -0,0 +1,478 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.knapsack;
+
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.Arrays;
+
+/**
+ * Propagator for the Knapsack constraint based on dynamic programming, as described in:
+ * <br/>
+ * "A dynamic programming approach for consistency and propagation for knapsack constraints",
+ * M.A. Trick, Annals of Operations Research, 2003.
+ * <p>
+ * For each prefix (resp. suffix) of the items, the best profit that reaches each weight
+ * (resp. that completes each weight into the bounds of the capacity) is computed.
+ * A number of occurrences of an item is supported iff a weight combines a prefix and the following suffix
+ * with a profit at least equal to the lower bound of the power.
+ * The bounds of the occurrences are filtered this way, which ensures arc consistency on 0/1 items
+ * wrt the bounds of the capacity and the lower bound of the power.
+ * <p>
+ * An item with occurrences in [a,b] is handled at once, with a sliding window maximum per residue of its weight,
+ * so that each layer is computed in O(C), where C is the upper bound of the capacity.
+ * Instantiated items are folded into an offset of the weight and of the profit, so there is one layer per free item,
+ * and C decreases with the weight of the instantiated items.
+ * The layers are kept from one call to another, together with the items and the bounds they were computed with.
+ * On a call, only the forward layers that follow the first layer whose item or bounds differ,
+ * and the backward layers that precede the last one, are computed again.
+ * Only the lower bound of the power on the last call that filtered nothing is trailed, to skip identical calls.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class PropKnapsackDP extends Propagator<IntVar> {
+
+    /**
+     * Maximum number of cells per table
+     */
+    private static final int LIMIT = 1 << 22;
+    /**
+     * Value of an unreachable weight, any negative value is unreachable
+     */
+    private static final int NEG = Integer.MIN_VALUE / 2;
+    private static final int UNKNOWN = -1;
+
+    private final int n;
+    private final int[] weight;
+    private final int[] energy;
+    private final IntVar capacity;
+    private final IntVar power;
+    /**
+     * Largest weight of interest
+     */
+    private final int maxW;
+    private final int width;
+    /**
+     * Items that are not instantiated, in increasing order, and their number
+     */
+    private final int[] free;
+    private int m;
+    /**
+     * fwd[j * width + c]: best profit of free[0..j-1] with a weight equal to c.
+     * bwd[j * width + c]: best profit of free[j..m-1] added to a weight equal to c, that ends in [lo, hi].
+     */
+    private final int[] fwd;
+    private final int[] bwd;
+    /**
+     * Items and bounds of their occurrences when the layers were computed, per layer
+     */
+    private final int[] cachedItem;
+    private final int[] cachedLB;
+    private final int[] cachedUB;
+    private int cachedM = UNKNOWN;
+    private int cachedLo = UNKNOWN;
+    private int cachedHi = UNKNOWN;
+    /**
+     * Forward layers do not depend on the capacity, they are valid for weights up to this one
+     */
+    private int fwdHi = UNKNOWN;
+    /**
+     * Lower bound of the power on the last call, or {@link #UNKNOWN} if this call filtered something.
+     * It is trailed, since the upper bound of the power is not an input of the layers:
+     * a backtrack may relax it while the layers remain the same.
+     */
+    private final IStateInt lastPl;
+    /**
+     * Sliding window: indices and values
+     */
+    private final int[] dqIdx;
+    private final long[] dqVal;
+    /**
+     * Prefix maximum of a forward layer and suffix maximum of a backward layer
+     */
+    private final int[] pmax;
+    private final int[] smax;
+
+    public PropKnapsackDP(IntVar[] itemOccurence, IntVar capacity, IntVar power,
+                          int[] weight, int[] energy) {
+        super(ArrayUtils.append(itemOccurence, new IntVar[]{capacity, power}), PropagatorPriority.CUBIC, false);
+        this.n = itemOccurence.length;
+        this.weight = weight;
+        this.energy = energy;
+        this.capacity = vars[n];
+        this.power = vars[n + 1];
+        this.maxW = (int) Math.max(Math.min(capacity.getUB(), maxWeight(itemOccurence, weight)), 0);
+        this.width = maxW + 1;
+        this.fwd = new int[(n + 1) * width];
+        this.bwd = new int[(n + 1) * width];
+        this.free = new int[n];
+        this.cachedItem = new int[n];
+        this.cachedLB = new int[n];
+        this.cachedUB = new int[n];
+        Arrays.fill(cachedItem, UNKNOWN);
+        this.lastPl = model.getEnvironment().makeInt(UNKNOWN);
+        this.dqIdx = new int[width];
+        this.dqVal = new long[width];
+        this.pmax = new int[width];
+        this.smax = new int[width];
+    }
+
+    /**
+     * @param itemOccurence number of occurrences of every item
+     * @param capacity      upper bound of the capacity
+     * @param weight        weight of each item
+     * @param energy        energy of each item
+     * @return <i>true</i> if occurrences, weights and energies are non-negative,
+     * if the tables of this propagator are small enough and if the profits cannot overflow
+     */
+    public static boolean isApplicable(IntVar[] itemOccurence, int capacity, int[] weight, int[] energy) {
+        long e = 0;
+        for (int i = 0; i < itemOccurence.length; i++) {
+            if (itemOccurence[i].getLB() < 0 || weight[i] < 0 || energy[i] < 0) {
+                return false;
+            }
+            e += (long) itemOccurence[i].getUB() * energy[i];
+        }
+        long w = Math.min(capacity, maxWeight(itemOccurence, weight));
+        return w >= 0 && (w + 1) * (itemOccurence.length + 1) <= LIMIT && e < (1 << 29);
+    }
+
+    private static long maxWeight(IntVar[] itemOccurence, int[] weight) {
+        long s = 0;
+        for (int i = 0; i < itemOccurence.length; i++) {
+            s += (long) itemOccurence[i].getUB() * weight[i];
+        }
+        return s;
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        if (vIdx <= n) {
+            // updates on items and on the capacity
+            return IntEventType.boundAndInst();
+        } else {
+            // updates on the power
+            return IntEventType.lowerBoundAndInst();
+        }
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        // instantiated items are folded into an offset
+        long fw = 0;
+        int fp = 0;
+        m = 0;
+        for (int k = 0; k < n; k++) {
+            if (vars[k].isInstantiated()) {
+                fw += (long) vars[k].getValue() * weight[k];
+                fp += vars[k].getValue() * energy[k];
+            } else {
+                free[m++] = k;
+            }
+        }
+        int lo = (int) Math.max(capacity.getLB() - fw, 0);
+        int hi = (int) Math.min(capacity.getUB() - fw, maxW);
+        if (lo > hi) {
+            fails();
+        }
+        // a negative profit stands for an unreachable weight
+        int pl = Math.max(power.getLB() - fp, 0);
+        if (!update(lo, hi) && pl == lastPl.get()) {
+            // same input as the last call, which filtered nothing
+            return;
+        }
+        lastPl.set(UNKNOWN);
+        // best profit over all weights
+        int best = bwd[0];
+        if (best < pl) {
+            fails();
+        }
+        boolean filtered = power.updateUpperBound(best + fp, this);
+        // weights that can be completed with enough profit
+        int f = m * width;
+        int wl = lo;
+        while (fwd[f + wl] < pl) {
+            wl++;
+        }
+        int wu = hi;
+        while (fwd[f + wu] < pl) {
+            wu--;
+        }
+        filtered |= capacity.updateBounds((int) (wl + fw), (int) (wu + fw), this);
+        // occurrences
+        for (int j = 0; j < m; j++) {
+            IntVar o = vars[free[j]];
+            boolean bounded = false;
+            int q = cachedLB[j];
+            while (q <= cachedUB[j] && !isSupported(j, q, pl, bounded)) {
+                if (!bounded && cachedUB[j] - q > 1) {
+                    // to discard most of the next values in O(1)
+                    prefixAndSuffixMax(j, hi);
+                    bounded = true;
+                }
+                q = o.nextValue(q);
+            }
+            filtered |= o.updateLowerBound(q, this);
+            q = cachedUB[j];
+            while (q > o.getLB() && !isSupported(j, q, pl, bounded)) {
+                if (!bounded && q - o.getLB() > 1) {
+                    prefixAndSuffixMax(j, hi);
+                    bounded = true;
+                }
+                q = o.previousValue(q);
+            }
+            filtered |= o.updateUpperBound(q, this);
+        }
+        if (!filtered) {
+            lastPl.set(pl);
+        }
+    }
+
+    /**
+     * pmax[c]: best profit of fwd<sub>j</sub> up to c, smax[c]: best profit of bwd<sub>j+1</sub> from c
+     */
+    private void prefixAndSuffixMax(int j, int hi) {
+        int fj = j * width;
+        int bj = fj + width;
+        pmax[0] = fwd[fj];
+        for (int c = 1; c <= hi; c++) {
+            pmax[c] = Math.max(pmax[c - 1], fwd[fj + c]);
+        }
+        smax[hi] = bwd[bj + hi];
+        for (int c = hi - 1; c >= 0; c--) {
+            smax[c] = Math.max(smax[c + 1], bwd[bj + c]);
+        }
+    }
+
+    /**
+     * @param bounded set to <i>true</i> if {@link #pmax} and {@link #smax} are up to date for this item
+     * @return <i>true</i> if the j<sup>th</sup> free item can occur <i>q</i> times
+     */
+    private boolean isSupported(int j, int q, int pl, boolean bounded) {
+        int k = free[j];
+        long dw = (long) q * weight[k];
+        if (dw > cachedHi) {
+            return false;
+        }
+        int d = (int) dw;
+        int p = q * energy[k];
+        if (bounded && pmax[cachedHi - d] + p + smax[d] < pl) {
+            return false;
+        }
+        int fk = j * width;
+        int bk = (j + 1) * width + d;
+        for (int c = 0; c + d <= cachedHi; c++) {
+            int a = fwd[fk + c];
+            if (a >= 0 && a + p + bwd[bk + c] >= pl) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bring the layers up to date wrt the free items, the bounds of their occurrences and the bounds of the capacity
+     *
+     * @return <i>true</i> if a layer has been computed again
+     */
+    private boolean update(int lo, int hi) {
+        int first = m, last = -1;
+        for (int j = 0; j < m; j++) {
+            IntVar o = vars[free[j]];
+            if (free[j] != cachedItem[j] || o.getLB() != cachedLB[j] || o.getUB() != cachedUB[j]) {
+                first = Math.min(first, j);
+                last = j;
+                cachedItem[j] = free[j];
+                cachedLB[j] = o.getLB();
+                cachedUB[j] = o.getUB();
+            }
+        }
+        if (hi > fwdHi) {
+            first = 0;
+        }
+        if (first == 0) {
+            Arrays.fill(fwd, 0, hi + 1, NEG);
+            fwd[0] = 0;
+        }
+        if (first < m) {
+            fwdHi = hi;
+        }
+        if (m != cachedM || lo != cachedLo || hi != cachedHi) {
+            int b = m * width;
+            for (int c = 0; c <= hi; c++) {
+                bwd[b + c] = c >= lo ? 0 : NEG;
+            }
+            last = m - 1;
+            cachedM = m;
+            cachedLo = lo;
+            cachedHi = hi;
+        }
+        for (int j = first; j < m; j++) {
+            forward(j, hi + 1);
+        }
+        for (int j = last; j >= 0; j--) {
+            backward(j, hi + 1);
+        }
+        return first < m || last >= 0;
+    }
+
+    /**
+     * Compute the (j+1)<sup>th</sup> forward layer from the j<sup>th</sup> one:
+     * fwd<sub>j+1</sub>[c] = max<sub>q in [a,b]</sub> fwd<sub>j</sub>[c - q.w] + q.p, for c &lt; lim
+     */
+    private void forward(int j, int lim) {
+        int k = free[j];
+        int from = j * width;
+        int to = from + width;
+        int w = weight[k];
+        long p = energy[k];
+        int a = cachedLB[j];
+        int b = cachedUB[j];
+        if (w == 0) {
+            int bp = b * energy[k];
+            for (int c = 0; c < lim; c++) {
+                fwd[to + c] = fwd[from + c] + bp;
+            }
+            return;
+        }
+        if (b - a <= 1) {
+            // at most two candidates, no need for a sliding window
+            int aw = (int) Math.min((long) a * w, lim), bw = (int) Math.min((long) b * w, lim);
+            int ap = a * energy[k], bp = b * energy[k];
+            for (int c = 0; c < lim; c++) {
+                int v = c >= aw ? fwd[from + c - aw] + ap : NEG;
+                if (c >= bw) {
+                    v = Math.max(v, fwd[from + c - bw] + bp);
+                }
+                fwd[to + c] = v;
+            }
+            return;
+        }
+        for (int r = 0; r < w && r < lim; r++) {
+            // with c = r + t.w and s = t - q: fwd[to + c] = t.p + max_{s in [t-b, t-a]} (fwd[from + r + s.w] - s.p)
+            if (b >= (lim - 1 - r) / w) {
+                // the window is never bounded from below: a running maximum is enough
+                long best = Long.MIN_VALUE;
+                for (int t = 0, c = r; c < lim; t++, c += w) {
+                    int s = t - a;
+                    if (s >= 0) {
+                        best = Math.max(best, fwd[from + r + s * w] - s * p);
+                    }
+                    fwd[to + c] = s >= 0 ? (int) (best + t * p) : NEG;
+                }
+                continue;
+            }
+            int head = 0, tail = 0;
+            for (int t = 0, c = r; c < lim; t++, c += w) {
+                int s = t - a;
+                if (s >= 0) {
+                    long v = fwd[from + r + s * w] - s * p;
+                    while (tail > head && dqVal[tail - 1] <= v) {
+                        tail--;
+                    }
+                    dqIdx[tail] = s;
+                    dqVal[tail++] = v;
+                }
+                while (tail > head && dqIdx[head] < t - b) {
+                    head++;
+                }
+                fwd[to + c] = tail > head ? (int) (dqVal[head] + t * p) : NEG;
+            }
+        }
+    }
+
+    /**
+     * Compute the j<sup>th</sup> backward layer from the (j+1)<sup>th</sup> one:
+     * bwd<sub>j</sub>[c] = max<sub>q in [a,b]</sub> bwd<sub>j+1</sub>[c + q.w] + q.p, for c &lt; lim
+     */
+    private void backward(int j, int lim) {
+        int k = free[j];
+        int to = j * width;
+        int from = to + width;
+        int w = weight[k];
+        long p = energy[k];
+        int a = cachedLB[j];
+        int b = cachedUB[j];
+        if (w == 0) {
+            int bp = b * energy[k];
+            for (int c = 0; c < lim; c++) {
+                bwd[to + c] = bwd[from + c] + bp;
+            }
+            return;
+        }
+        if (b - a <= 1) {
+            int aw = (int) Math.min((long) a * w, lim), bw = (int) Math.min((long) b * w, lim);
+            int ap = a * energy[k], bp = b * energy[k];
+            for (int c = 0; c < lim; c++) {
+                int v = c + aw < lim ? bwd[from + c + aw] + ap : NEG;
+                if (c + bw < lim) {
+                    v = Math.max(v, bwd[from + c + bw] + bp);
+                }
+                bwd[to + c] = v;
+            }
+            return;
+        }
+        for (int r = 0; r < w && r < lim; r++) {
+            // with c = r + t.w and s = t + q: bwd[to + c] = max_{s in [t+a, t+b]} (bwd[from + r + s.w] + s.p) - t.p
+            int top = (lim - 1 - r) / w;
+            if (b >= top) {
+                // the window is never bounded from above: a running maximum is enough
+                long best = Long.MIN_VALUE;
+                for (int t = top; t >= 0; t--) {
+                    int s = t + a;
+                    if (s <= top) {
+                        best = Math.max(best, bwd[from + r + s * w] + s * p);
+                    }
+                    bwd[to + r + t * w] = s <= top ? (int) (best - t * p) : NEG;
+                }
+                continue;
+            }
+            int head = 0, tail = 0;
+            for (int t = top; t >= 0; t--) {
+                int s = t + a;
+                if (s <= top) {
+                    long v = bwd[from + r + s * w] + s * p;
+                    while (tail > head && dqVal[tail - 1] <= v) {
+                        tail--;
+                    }
+                    dqIdx[tail] = s;
+                    dqVal[tail++] = v;
+                }
+                while (tail > head && dqIdx[head] > t + b) {
+                    head++;
+                }
+                bwd[to + r + t * w] = tail > head ? (int) (dqVal[head] - t * p) : NEG;
+            }
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        if (isCompletelyInstantiated()) {
+            long w = 0, p = 0;
+            for (int k = 0; k < n; k++) {
+                w += (long) vars[k].getValue() * weight[k];
+                p += (long) vars[k].getValue() * energy[k];
+            }
+            return ESat.eval(capacity.contains((int) w) && power.contains((int) p));
+        }
+        return ESat.UNDEFINED;
+    }
+}
@@ -280,6 +280,13 @@ public class PropScalar extends PropSum {
         return check(sumLB, sumUB);
     }
 
+    /**
+     * @return a copy of the coefficients
+     */
+    public int[] getCoefficients() {
+        return c.clone();
+    }
+
     @Override
     public String toString() {
         StringBuilder linComb = new StringBuilder(20);
@@ -502,6 +502,27 @@ public class PropSum extends Propagator<IntVar> {
         }
     }
 
+    /**
+     * @return the position of the last positive coefficient
+     */
+    public int getPos() {
+        return pos;
+    }
+
+    /**
+     * @return the operator among EQ, LE, GE and NE
+     */
+    public Operator getOperator() {
+        return o;
+    }
+
+    /**
+     * @return the bound to respect
+     */
+    public int getBound() {
+        return b;
+    }
+
     @Override
     public String toString() {
         StringBuilder linComb = new StringBuilder(20);
@@ -0,0 +1,279 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.sum;
+
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.tools.ArrayUtils;
+
+/**
+ * A propagator for SUM(|x_i - y_i|) o total, where o is in {EQ, LE, GE}.
+ * <br/>
+ * The smallest and largest values each |x_i - y_i| can take are derived from the bounds of x_i and y_i.
+ * Their sums are maintained incrementally on fine events and used to filter:
+ * <ul>
+ *     <li>the bounds of <i>total</i>,</li>
+ *     <li>the bounds of x_i and y_i, when the slack left by the other terms
+ *     bounds |x_i - y_i| from above (o in {EQ, LE}) or from below (o in {EQ, GE}).</li>
+ * </ul>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class PropSumAbsDiff extends Propagator<IntVar> {
+
+    /**
+     * Number of pairs (x_i, y_i)
+     */
+    private final int n;
+    /**
+     * The operator among EQ, LE and GE
+     */
+    private final Operator o;
+    /**
+     * Smallest value |x_i - y_i| can take, as last recorded
+     */
+    private final IStateInt[] dmin;
+    /**
+     * Largest value |x_i - y_i| can take, as last recorded
+     */
+    private final IStateInt[] dmax;
+    /**
+     * Sum of {@link #dmin}
+     */
+    private final IStateInt sumMin;
+    /**
+     * Sum of {@link #dmax}
+     */
+    private final IStateInt sumMax;
+    /**
+     * An upper bound of the largest <i>dmax[i] - dmin[i]</i>,
+     * used to skip the filtering of the pairs when the slack is large enough.
+     */
+    private final IStateInt maxSpan;
+
+    /**
+     * Creates a propagator for SUM(|x_i - y_i|) o total
+     *
+     * @param x     first operands, such that |x| = |y|
+     * @param y     second operands
+     * @param o     an operator among EQ, LE and GE
+     * @param total resulting variable
+     */
+    public PropSumAbsDiff(IntVar[] x, IntVar[] y, Operator o, IntVar total) {
+        super(ArrayUtils.append(x, y, new IntVar[]{total}), PropagatorPriority.LINEAR, true);
+        assert o == Operator.EQ || o == Operator.LE || o == Operator.GE;
+        this.n = x.length;
+        this.o = o;
+        this.dmin = new IStateInt[n];
+        this.dmax = new IStateInt[n];
+        for (int i = 0; i < n; i++) {
+            dmin[i] = model.getEnvironment().makeInt();
+            dmax[i] = model.getEnvironment().makeInt();
+        }
+        this.sumMin = model.getEnvironment().makeInt();
+        this.sumMax = model.getEnvironment().makeInt();
+        this.maxSpan = model.getEnvironment().makeInt(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            int smin = 0, smax = 0;
+            for (int i = 0; i < n; i++) {
+                int mn = minOf(i), mx = maxOf(i);
+                dmin[i].set(mn);
+                dmax[i].set(mx);
+                smin += mn;
+                smax += mx;
+            }
+            sumMin.set(smin);
+            sumMax.set(smax);
+            maxSpan.set(Integer.MAX_VALUE);
+        }
+        filter();
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        if (idxVarInProp < 2 * n) {
+            refresh(idxVarInProp % n);
+        }
+        forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+    }
+
+    /**
+     * Smallest value |x_i - y_i| can take wrt the bounds of x_i and y_i
+     */
+    private int minOf(int i) {
+        IntVar x = vars[i], y = vars[n + i];
+        return Math.max(0, Math.max(x.getLB() - y.getUB(), y.getLB() - x.getUB()));
+    }
+
+    /**
+     * Largest value |x_i - y_i| can take wrt the bounds of x_i and y_i
+     */
+    private int maxOf(int i) {
+        IntVar x = vars[i], y = vars[n + i];
+        return Math.max(x.getUB() - y.getLB(), y.getUB() - x.getLB());
+    }
+
+    /**
+     * Update the contribution of the i^th pair to {@link #sumMin} and {@link #sumMax}
+     */
+    private void refresh(int i) {
+        int mn = minOf(i), mx = maxOf(i);
+        if (mn != dmin[i].get()) {
+            sumMin.add(mn - dmin[i].get());
+            dmin[i].set(mn);
+        }
+        if (mx != dmax[i].get()) {
+            sumMax.add(mx - dmax[i].get());
+            dmax[i].set(mx);
+        }
+    }
+
+    private void filter() throws ContradictionException {
+        IntVar total = vars[2 * n];
+        boolean anychange;
+        do {
+            anychange = false;
+            if (o != Operator.GE) {
+                total.updateLowerBound(sumMin.get(), this);
+            }
+            if (o != Operator.LE) {
+                total.updateUpperBound(sumMax.get(), this);
+            }
+            int span = maxSpan.get();
+            if ((o == Operator.GE || span <= total.getUB() - sumMin.get())
+                    && (o == Operator.LE || span <= sumMax.get() - total.getLB())) {
+                break;
+            }
+            span = 0;
+            for (int i = 0; i < n; i++) {
+                refresh(i);
+                if (o != Operator.GE) {
+                    anychange |= filterUpper(i, total.getUB() - sumMin.get() + dmin[i].get());
+                }
+                if (o != Operator.LE) {
+                    anychange |= filterLower(i, total.getLB() - sumMax.get() + dmax[i].get());
+                }
+                span = Math.max(span, dmax[i].get() - dmin[i].get());
+            }
+            maxSpan.set(span);
+        } while (anychange);
+        if ((o == Operator.LE && sumMax.get() <= total.getLB())
+                || (o == Operator.GE && sumMin.get() >= total.getUB())
+                || (sumMin.get() == sumMax.get() && total.isInstantiated())) {
+            setPassive();
+        }
+    }
+
+    /**
+     * Filter x_i and y_i to ensure that |x_i - y_i| &le; cap
+     *
+     * @return <i>true</i> if a domain has been modified
+     */
+    private boolean filterUpper(int i, int cap) throws ContradictionException {
+        if (dmax[i].get() <= cap) {
+            return false;
+        }
+        IntVar x = vars[i], y = vars[n + i];
+        boolean change = x.updateBounds(y.getLB() - cap, y.getUB() + cap, this);
+        change |= y.updateBounds(x.getLB() - cap, x.getUB() + cap, this);
+        if (change) {
+            refresh(i);
+        }
+        return change;
+    }
+
+    /**
+     * Filter x_i and y_i to ensure that |x_i - y_i| &ge; need
+     *
+     * @return <i>true</i> if a domain has been modified
+     */
+    private boolean filterLower(int i, int need) throws ContradictionException {
+        if (dmin[i].get() >= need) {
+            return false;
+        }
+        IntVar x = vars[i], y = vars[n + i];
+        boolean change = false;
+        boolean xAbove = x.getUB() - y.getLB() >= need; // x - y >= need is possible
+        boolean yAbove = y.getUB() - x.getLB() >= need; // y - x >= need is possible
+        if (!xAbove && !yAbove) {
+            fails();
+        } else if (!xAbove) {
+            change = y.updateLowerBound(x.getLB() + need, this);
+            change |= x.updateUpperBound(y.getUB() - need, this);
+        } else if (!yAbove) {
+            change = x.updateLowerBound(y.getLB() + need, this);
+            change |= y.updateUpperBound(x.getUB() - need, this);
+        } else if (y.isInstantiated()) {
+            change = x.removeInterval(y.getValue() - need + 1, y.getValue() + need - 1, this);
+        } else if (x.isInstantiated()) {
+            change = y.removeInterval(x.getValue() - need + 1, x.getValue() + need - 1, this);
+        }
+        if (change) {
+            refresh(i);
+        }
+        return change;
+    }
+
+    @Override
+    public ESat isEntailed() {
+        int smin = 0, smax = 0;
+        for (int i = 0; i < n; i++) {
+            smin += minOf(i);
+            smax += maxOf(i);
+        }
+        IntVar total = vars[2 * n];
+        switch (o) {
+            case LE:
+                if (smax <= total.getLB()) return ESat.TRUE;
+                if (smin > total.getUB()) return ESat.FALSE;
+                break;
+            case GE:
+                if (smin >= total.getUB()) return ESat.TRUE;
+                if (smax < total.getLB()) return ESat.FALSE;
+                break;
+            default:
+                if (smin > total.getUB() || smax < total.getLB()) return ESat.FALSE;
+                if (smin == smax && total.isInstantiated()) return ESat.TRUE;
+                break;
+        }
+        return ESat.UNDEFINED;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder st = new StringBuilder();
+        st.append("SUM(");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) st.append(" + ");
+            st.append('|').append(vars[i].getName()).append(" - ").append(vars[n + i].getName()).append('|');
+        }
+        st.append(") ").append(o).append(' ').append(vars[2 * n].getName());
+        return st.toString();
+    }
+}
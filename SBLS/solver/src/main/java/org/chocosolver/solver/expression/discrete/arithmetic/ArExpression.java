@@ -332,6 +332,22 @@ public interface ArExpression {
         }
     }
 
+    /**
+     * Add <i>coeff * this</i> to <i>form</i>.
+     * Linear nodes (addition, subtraction, negation, multiplication by a constant)
+     * are flattened, other nodes are turned into a variable with {@link #intVar()}.
+     *
+     * @param coeff multiplier of this expression
+     * @param form  linear form to complete
+     */
+    default void linearize(long coeff, LinearForm form) {
+        if (primitive().isPresent()) {
+            form.addConstant(coeff * primitive().getAsInt());
+        } else {
+            form.addTerm(intVar(), coeff);
+        }
+    }
+
     /**
      * @param values int values to evaluate
      * @param map    mapping between variables of the topmost expression and position in <i>values</i>
@@ -76,20 +76,17 @@ public class BiArExpression implements ArExpression {
     @Override
     public IntVar intVar() {
         if (me == null) {
+            if (isLinear()) {
+                // the linear sub-tree is posted as a single scalar constraint
+                LinearForm form = new LinearForm();
+                linearize(1, form);
+                me = form.toIntVar(model, op == Operator.ADD ? "sum_exp_" : op.name().toLowerCase() + "_exp_");
+                return me;
+            }
             IntVar v1 = e1.intVar();
             IntVar v2 = e2.intVar();
             int[] bounds;
             switch (op) {
-                case ADD:
-                    bounds = VariableUtils.boundsForAddition(v1, v2);
-                    me = model.intVar(model.generateName("sum_exp_"), bounds[0], bounds[1]);
-                    model.arithm(v1, "+", v2, "=", me).post();
-                    break;
-                case SUB:
-                    bounds = VariableUtils.boundsForSubstraction(v1, v2);
-                    me = model.intVar(model.generateName("sub_exp_"), bounds[0], bounds[1]);
-                    model.arithm(v1, "-", v2, "=", me).post();
-                    break;
                 case MUL:
                     bounds = VariableUtils.boundsForMultiplication(v1, v2);
                     me = model.intVar(model.generateName("mul_exp_"), bounds[0], bounds[1]);
@@ -127,6 +124,44 @@ public class BiArExpression implements ArExpression {
         return me;
     }
 
+    /**
+     * @return <i>true</i> if this node is linear, that is, an addition, a subtraction
+     * or a multiplication by a constant
+     */
+    private boolean isLinear() {
+        return op == Operator.ADD || op == Operator.SUB
+                || (op == Operator.MUL && (e1.primitive().isPresent() || e2.primitive().isPresent()));
+    }
+
+    @Override
+    public void linearize(long coeff, LinearForm form) {
+        if (me != null) {
+            form.addTerm(me, coeff);
+            return;
+        }
+        if (!isLinear()) {
+            form.addTerm(intVar(), coeff);
+            return;
+        }
+        switch (op) {
+            case ADD:
+                e1.linearize(coeff, form);
+                e2.linearize(coeff, form);
+                break;
+            case SUB:
+                e1.linearize(coeff, form);
+                e2.linearize(-coeff, form);
+                break;
+            case MUL:
+                if (e1.primitive().isPresent()) {
+                    e2.linearize(coeff * e1.primitive().getAsInt(), form);
+                } else {
+                    e1.linearize(coeff * e2.primitive().getAsInt(), form);
+                }
+                break;
+        }
+    }
+
     @Override
     public int ieval(int[] values, Map<IntVar, Integer> map) {
         return op.eval(e1.ieval(values, map), e2.ieval(values, map));
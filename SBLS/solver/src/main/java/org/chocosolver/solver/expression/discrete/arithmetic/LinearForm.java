@@ -0,0 +1,173 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.expression.discrete.arithmetic;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.tools.ArrayUtils;
+import org.chocosolver.util.tools.VariableUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A linear form, that is, <i>&Sigma; c<sub>i</sub>.x<sub>i</sub> + k</i>,
+ * obtained by flattening the linear part of an {@link ArExpression}.
+ * <p>
+ * Nodes that are not linear (eg, <i>x*y</i>, <i>|x|</i>) are turned into variables thanks to
+ * {@link ArExpression#intVar()} and then considered as terms of the form.
+ * This way, a tree of additions, subtractions, negations and multiplications by a constant
+ * is posted as a single scalar constraint instead of a chain of ternary constraints.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026.
+ */
+public final class LinearForm {
+
+    /**
+     * Variables of the form, without duplicates
+     */
+    private final List<IntVar> vars = new ArrayList<>();
+    /**
+     * Coefficients of the variables, stored as long to detect overflow
+     */
+    private final List<Long> coeffs = new ArrayList<>();
+    /**
+     * Map between a variable's ID and its position in {@link #vars}
+     */
+    private final TIntIntHashMap positions = new TIntIntHashMap(16, .5f, -1, -1);
+    /**
+     * Constant part of the form
+     */
+    private long constant;
+
+    /**
+     * Add the term <i>coeff.var</i> to this form.
+     * If <i>var</i> is already part of the form, its coefficient is updated.
+     *
+     * @param var   a variable
+     * @param coeff its coefficient
+     */
+    public void addTerm(IntVar var, long coeff) {
+        if (var.isInstantiated()) {
+            addConstant(coeff * var.getValue());
+            return;
+        }
+        int pos = positions.get(var.getId());
+        if (pos == -1) {
+            positions.put(var.getId(), vars.size());
+            vars.add(var);
+            coeffs.add(coeff);
+        } else {
+            coeffs.set(pos, coeffs.get(pos) + coeff);
+        }
+    }
+
+    /**
+     * Add the constant <i>c</i> to this form
+     *
+     * @param c a constant
+     */
+    public void addConstant(long c) {
+        constant += c;
+    }
+
+    /**
+     * @return the variables of this form whose coefficient is not null
+     */
+    public IntVar[] getVars() {
+        List<IntVar> vs = new ArrayList<>();
+        for (int i = 0; i < vars.size(); i++) {
+            if (coeffs.get(i) != 0) {
+                vs.add(vars.get(i));
+            }
+        }
+        return vs.toArray(new IntVar[0]);
+    }
+
+    /**
+     * @return the non-null coefficients of this form, in the same order as {@link #getVars()}
+     */
+    public int[] getCoeffs() {
+        return coeffs.stream().filter(c -> c != 0).mapToInt(LinearForm::toInt).toArray();
+    }
+
+    /**
+     * @return the constant part of this form
+     */
+    public int getConstant() {
+        return toInt(constant);
+    }
+
+    /**
+     * Return a variable equal to this form.
+     * When the form is made of a single term, a view is returned,
+     * otherwise a new variable is created and linked to the form with a scalar constraint.
+     *
+     * @param model the model
+     * @param name  prefix of the name of the variable, if created
+     * @return a variable equal to this form
+     */
+    public IntVar toIntVar(Model model, String name) {
+        IntVar[] vs = getVars();
+        int[] cs = getCoeffs();
+        int k = getConstant();
+        if (vs.length == 0) {
+            return model.intVar(k);
+        }
+        if (vs.length == 1) {
+            return model.intView(cs[0], vs[0], k);
+        }
+        int[] bounds = VariableUtils.boundsForScalar(vs, cs);
+        IntVar me = model.intVar(model.generateName(name),
+                toInt((long) bounds[0] + k), toInt((long) bounds[1] + k));
+        model.scalar(
+                ArrayUtils.append(vs, new IntVar[]{me}),
+                ArrayUtils.append(cs, new int[]{-1}),
+                "=", -k).post();
+        return me;
+    }
+
+    /**
+     * Return a constraint which ensures that <i>this operator 0</i>.
+     *
+     * @param model    the model
+     * @param operator an operator in {"=", "!=", ">","<",">=","<="}
+     * @return a scalar constraint
+     */
+    public Constraint toConstraint(Model model, String operator) {
+        IntVar[] vs = getVars();
+        if (vs.length == 0) {
+            return model.arithm(model.intVar(getConstant()), operator, 0);
+        }
+        return model.scalar(vs, getCoeffs(), operator, -getConstant());
+    }
+
+    private static int toInt(long c) {
+        if (c < Integer.MIN_VALUE || c > Integer.MAX_VALUE) {
+            throw new SolverException("Integer overflow while flattening a linear expression");
+        }
+        return (int) c;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder st = new StringBuilder();
+        for (int i = 0; i < vars.size(); i++) {
+            st.append(coeffs.get(i)).append('.').append(vars.get(i).getName()).append(" + ");
+        }
+        return st.append(constant).toString();
+    }
+}
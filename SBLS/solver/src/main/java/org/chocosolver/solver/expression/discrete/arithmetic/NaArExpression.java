@@ -81,14 +81,16 @@ public class NaArExpression implements ArExpression {
     @Override
     public IntVar intVar() {
         if (me == null) {
+            if (op == Operator.ADD) {
+                // the linear sub-tree is posted as a single scalar constraint
+                LinearForm form = new LinearForm();
+                linearize(1, form);
+                me = form.toIntVar(model, "sum_exp_");
+                return me;
+            }
             IntVar[] vs = Arrays.stream(es).map(ArExpression::intVar).toArray(IntVar[]::new);
             int[] bounds;
             switch (op) {
-                case ADD:
-                    bounds = VariableUtils.boundsForAddition(vs);
-                    me = model.intVar(model.generateName("sum_exp_"), bounds[0], bounds[1]);
-                    model.sum(vs, "=", me).post();
-                    break;
                 case MUL:
                     bounds = VariableUtils.boundsForMultiplication(vs[0], vs[1]);
                     me = model.intVar(model.generateName("mul_exp_0_"), bounds[0], bounds[1]);
@@ -117,6 +119,17 @@ public class NaArExpression implements ArExpression {
         return me;
     }
 
+    @Override
+    public void linearize(long coeff, LinearForm form) {
+        if (me == null && op == Operator.ADD) {
+            for (ArExpression e : es) {
+                e.linearize(coeff, form);
+            }
+        } else {
+            form.addTerm(intVar(), coeff);
+        }
+    }
+
     @Override
     public int ieval(int[] values, Map<IntVar, Integer> map) {
 //        int r = es[0].eval(values, map);
@@ -99,6 +99,15 @@ public class UnArExpression implements ArExpression {
         return me;
     }
 
+    @Override
+    public void linearize(long coeff, LinearForm form) {
+        if (me == null && op == Operator.NEG) {
+            e.linearize(-coeff, form);
+        } else {
+            form.addTerm(intVar(), coeff);
+        }
+    }
+
     @Override
     public int ieval(int[] values, Map<IntVar, Integer> map) {
         return op.eval(e.ieval(values, map));
@@ -134,6 +134,29 @@ public class UnCArExpression implements ArExpression {
         return me;
     }
 
+    @Override
+    public void linearize(long coeff, LinearForm form) {
+        if (me != null) {
+            form.addTerm(me, coeff);
+            return;
+        }
+        switch (op) {
+            case ADD:
+                e1.linearize(coeff, form);
+                form.addConstant(coeff * e2);
+                break;
+            case SUB:
+                e1.linearize(coeff, form);
+                form.addConstant(-coeff * e2);
+                break;
+            case MUL:
+                e1.linearize(coeff * e2, form);
+                break;
+            default:
+                form.addTerm(intVar(), coeff);
+        }
+    }
+
     @Override
     public int ieval(int[] values, Map<IntVar, Integer> map) {
         return op.eval(e1.ieval(values, map), e2);
@@ -0,0 +1,358 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * An index of mutually non-dominated points, to be maximized, each one attached to an object.
+ * <p>
+ * Points are stored in a k-d tree where each node knows the bounding box of its subtree,
+ * so that dominance queries only visit the subtrees that may contain an answer.
+ * A removed point is only marked as such; the tree is rebuilt, balanced, when there are more removed points
+ * than living ones or when an insertion makes it too deep.
+ *
+ * @param <T> type of the objects attached to the points
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+final class DominanceIndex<T> {
+
+    /**
+     * Number of dimensions
+     */
+    private final int m;
+    /**
+     * For each entry: its point, the bounding box of its subtree and its insertion rank
+     */
+    private int[][] point, lo, hi;
+    private long[] rank;
+    /**
+     * For each entry: its children and its splitting dimension in the tree
+     */
+    private int[] left, right, dim;
+    private Object[] payload;
+    private boolean[] alive;
+    /**
+     * Free entries are linked through {@link #left}
+     */
+    private int root = -1, free = -1, next;
+    private int size, nbDead;
+    private long counter;
+
+    /**
+     * @param m number of dimensions
+     */
+    DominanceIndex(int m) {
+        this.m = m;
+        int n = 16;
+        point = new int[n][];
+        lo = new int[n][];
+        hi = new int[n][];
+        rank = new long[n];
+        left = new int[n];
+        right = new int[n];
+        dim = new int[n];
+        payload = new Object[n];
+        alive = new boolean[n];
+    }
+
+    /**
+     * @return the number of points
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return <tt>true</tt> if there is no point
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int allocate() {
+        int e;
+        if (free >= 0) {
+            e = free;
+            free = left[e];
+        } else {
+            if (next == point.length) {
+                int n = next * 2;
+                point = Arrays.copyOf(point, n);
+                lo = Arrays.copyOf(lo, n);
+                hi = Arrays.copyOf(hi, n);
+                rank = Arrays.copyOf(rank, n);
+                left = Arrays.copyOf(left, n);
+                right = Arrays.copyOf(right, n);
+                dim = Arrays.copyOf(dim, n);
+                payload = Arrays.copyOf(payload, n);
+                alive = Arrays.copyOf(alive, n);
+            }
+            e = next++;
+        }
+        return e;
+    }
+
+    /**
+     * Add a point, which is expected not to be dominated by any other.
+     *
+     * @param p a point
+     * @param t the object attached to <i>p</i>
+     */
+    void add(int[] p, T t) {
+        int e = allocate();
+        point[e] = p.clone();
+        lo[e] = p.clone();
+        hi[e] = p.clone();
+        rank[e] = counter++;
+        left[e] = right[e] = -1;
+        payload[e] = t;
+        alive[e] = true;
+        size++;
+        if (root < 0) {
+            root = e;
+            dim[e] = 0;
+            return;
+        }
+        int node = root, depth = 1;
+        while (true) {
+            for (int j = 0; j < m; j++) {
+                lo[node][j] = Math.min(lo[node][j], p[j]);
+                hi[node][j] = Math.max(hi[node][j], p[j]);
+            }
+            int d = dim[node];
+            int child = p[d] < point[node][d] ? left[node] : right[node];
+            depth++;
+            if (child < 0) {
+                if (p[d] < point[node][d]) {
+                    left[node] = e;
+                } else {
+                    right[node] = e;
+                }
+                dim[e] = (d + 1) % m;
+                break;
+            }
+            node = child;
+        }
+        if (depth > 2 * (32 - Integer.numberOfLeadingZeros(size + nbDead)) + 4) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Remove all the points weakly dominated by <i>v</i>, that is, lower than or equal to <i>v</i>
+     * on every dimension.
+     *
+     * @param v        a point
+     * @param onRemove called with the object attached to each point removed
+     */
+    @SuppressWarnings("unchecked")
+    void removeDominatedBy(int[] v, Consumer<T> onRemove) {
+        if (root < 0) {
+            return;
+        }
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!below(lo[node], v)) {
+                continue;
+            }
+            if (alive[node] && below(point[node], v)) {
+                alive[node] = false;
+                size--;
+                nbDead++;
+                onRemove.accept((T) payload[node]);
+                payload[node] = null;
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            if (left[node] >= 0) {
+                stack[top++] = left[node];
+            }
+            if (right[node] >= 0) {
+                stack[top++] = right[node];
+            }
+        }
+        if (nbDead > size && nbDead > 16) {
+            rebuild();
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if <i>a</i> is lower than or equal to <i>b</i> on every dimension
+     */
+    private boolean below(int[] a, int[] b) {
+        for (int j = 0; j < m; j++) {
+            if (a[j] > b[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compute the smallest value on dimension <i>i</i> that a point dominating <i>b</i> must exceed
+     * not to be dominated by the points of this index.
+     * For each point <i>a</i> which dominates <i>b</i>, that is, <i>a</i> is greater than or equal to <i>b</i>
+     * on every dimension and different from it, the value is <i>a<sub>i</sub></i>
+     * when <i>a</i> and <i>b</i> only differ on dimension <i>i</i>, <i>a<sub>i</sub> + 1</i> otherwise.
+     *
+     * @param b a point
+     * @param i a dimension
+     * @return the largest value among the points which dominate <i>b</i>,
+     * or {@link Integer#MIN_VALUE} if there is none
+     */
+    int tightest(int[] b, int i) {
+        long best = Integer.MIN_VALUE;
+        if (root < 0) {
+            return Integer.MIN_VALUE;
+        }
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (hi[node][i] + 1L <= best || !below(b, hi[node])) {
+                continue;
+            }
+            if (alive[node] && below(b, point[node])) {
+                int[] a = point[node];
+                boolean other = false, strict = a[i] > b[i];
+                for (int j = 0; j < m && !other; j++) {
+                    other = j != i && a[j] > b[j];
+                }
+                if (other) {
+                    best = Math.max(best, a[i] + 1L);
+                } else if (strict) {
+                    best = Math.max(best, a[i]);
+                }
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            if (left[node] >= 0) {
+                stack[top++] = left[node];
+            }
+            if (right[node] >= 0) {
+                stack[top++] = right[node];
+            }
+        }
+        return (int) Math.min(best, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Apply <i>action</i> on the object attached to each point, in insertion order.
+     *
+     * @param action an action
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<T> action) {
+        Integer[] entries = new Integer[size];
+        int k = 0;
+        for (int e = 0; e < next; e++) {
+            if (alive[e]) {
+                entries[k++] = e;
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(rank[a], rank[b]));
+        for (int e : entries) {
+            action.accept((T) payload[e]);
+        }
+    }
+
+    /**
+     * Remove the points marked as removed and build a balanced tree from the remaining ones
+     */
+    private void rebuild() {
+        int[] entries = new int[size];
+        int k = 0;
+        free = -1;
+        for (int e = next - 1; e >= 0; e--) {
+            if (alive[e]) {
+                entries[k++] = e;
+            } else {
+                point[e] = lo[e] = hi[e] = null;
+                left[e] = free;
+                free = e;
+            }
+        }
+        nbDead = 0;
+        root = build(entries, 0, k);
+    }
+
+    private int build(int[] entries, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        // split on the dimension with the largest spread
+        int d = 0;
+        long spread = -1;
+        for (int j = 0; j < m; j++) {
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            for (int k = from; k < to; k++) {
+                min = Math.min(min, point[entries[k]][j]);
+                max = Math.max(max, point[entries[k]][j]);
+            }
+            if ((long) max - min > spread) {
+                spread = (long) max - min;
+                d = j;
+            }
+        }
+        int mid = (from + to) >>> 1;
+        select(entries, from, to - 1, mid, d);
+        int node = entries[mid];
+        dim[node] = d;
+        left[node] = build(entries, from, mid);
+        right[node] = build(entries, mid + 1, to);
+        lo[node] = point[node].clone();
+        hi[node] = point[node].clone();
+        for (int c : new int[]{left[node], right[node]}) {
+            if (c >= 0) {
+                for (int j = 0; j < m; j++) {
+                    lo[node][j] = Math.min(lo[node][j], lo[c][j]);
+                    hi[node][j] = Math.max(hi[node][j], hi[c][j]);
+                }
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Reorder <i>entries</i> between <i>l</i> and <i>r</i> (inclusive) so that the entry at <i>k</i>
+     * is the one it would be if they were sorted on dimension <i>d</i>.
+     */
+    private void select(int[] entries, int l, int r, int k, int d) {
+        while (l < r) {
+            int pivot = point[entries[(l + r) >>> 1]][d];
+            int i = l, j = r;
+            while (i <= j) {
+                while (point[entries[i]][d] < pivot) i++;
+                while (point[entries[j]][d] > pivot) j--;
+                if (i <= j) {
+                    int tmp = entries[i];
+                    entries[i++] = entries[j];
+                    entries[j--] = tmp;
+                }
+            }
+            if (k <= j) {
+                r = j;
+            } else if (k >= i) {
+                l = i;
+            } else {
+                return;
+            }
+        }
+    }
+}
@@ -26,6 +26,10 @@ import java.util.List;
  * <p>
  * Based on "Multi-Objective Large Neighborhood Search", P. Schaus , R. Hartert (CP'2013)
  * </p>
+ * <p>
+ * The objective values of the front are indexed (see {@link DominanceIndex}) so that neither updating the front
+ * nor filtering the objectives requires to scan it entirely.
+ * </p>
  *
  * @author Charles Vernerey
  * @author Charles Prud'homme
@@ -40,7 +44,9 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
 
     // Set of incomparable and Pareto-best solutions
     private final List<Solution> paretoSolutions;
-    private final List<int[]> paretoFront;
+    private final DominanceIndex<Solution> paretoFront;
+    // Set to true when paretoSolutions is to be updated from paretoFront
+    private boolean changed;
 
     private final Model model;
 
@@ -72,9 +78,9 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
     public ParetoMaximizer(final IntVar[] objectives) {
         super(objectives, PropagatorPriority.QUADRATIC, false);
         this.paretoSolutions = new ArrayList<>();
-        this.paretoFront = new ArrayList<>();
         this.objectives = objectives.clone();
         n = objectives.length;
+        this.paretoFront = new DominanceIndex<>(n);
         model = objectives[0].getModel();
         //vals = new int[n];
     }
@@ -87,6 +93,11 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
      * @return the set of Pareto-best (possibly optimal) solutions found so far
      */
     public List<Solution> getParetoFront() {
+        if (changed) {
+            paretoSolutions.clear();
+            paretoFront.forEach(paretoSolutions::add);
+            changed = false;
+        }
         return paretoSolutions;
     }
 
@@ -98,37 +109,22 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
             vals[i] = objectives[i].getValue();
         }
         // remove dominated solutions
-        for (int i = paretoFront.size() - 1; i >= 0; i--) {
-            if (isDominated(paretoSolutions.get(i), vals)) {
-                poolSols.add(paretoSolutions.remove(i));
-                paretoFront.remove(i);
-            }
-        }
+        paretoFront.removeDominatedBy(vals, poolSols::add);
         // store current solution
         Solution solution;
         if (poolSols.isEmpty()) {
             solution = new Solution(model);
         } else {
-            solution = poolSols.remove(0);
+            solution = poolSols.remove(poolSols.size() - 1);
         }
         solution.record();
-        paretoSolutions.add(solution);
-        paretoFront.add(vals);
-    }
-
-    private boolean isDominated(Solution solution, int[] vals) {
-        for (int i = 0; i < n; i++) {
-            int delta = solution.getIntVal(objectives[i]) - vals[i];
-            if (delta > 0) {
-                return false;
-            }
-        }
-        return true;
+        paretoFront.add(vals, solution);
+        changed = true;
     }
 
     @Override
     public void propagate(int evtmask) throws ContradictionException {
-        if (paretoFront.size() > 0) {
+        if (!paretoFront.isEmpty()) {
             for (int i = 0; i < objectives.length; i++) {
                 computeTightestPoint(i);
             }
@@ -143,18 +139,8 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
      */
     private void computeTightestPoint(int i) throws ContradictionException {
         // tightest point can not be calculated if paretoFront is empty
-        if (paretoFront.size() > 0) {
-            int tightestPoint = Integer.MIN_VALUE;
-            int[] dominatedPoint = computeDominatedPoint(i);
-            for (int[] sol : paretoFront) {
-                int dominates = dominates(sol, dominatedPoint, i);
-                if (dominates > 0) {
-                    int currentPoint = dominates == 1 ? sol[i] : sol[i] + 1;
-                    if (tightestPoint < currentPoint) {
-                        tightestPoint = currentPoint;
-                    }
-                }
-            }
+        if (!paretoFront.isEmpty()) {
+            int tightestPoint = paretoFront.tightest(computeDominatedPoint(i), i);
             if (tightestPoint > Integer.MIN_VALUE) {
                 objectives[i].updateLowerBound(tightestPoint, this);
             }
@@ -177,29 +163,6 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
         return dp;
     }
 
-    /**
-     * Return an int :
-     * 0 if a doesn't dominate b
-     * 1 if a dominates b and a = b if we don't take into account index i
-     * 2 if a dominates b and a dominates b if we don't take into account index i
-     *
-     * @param a vector
-     * @param b vector
-     * @param i index
-     * @return an int representing the fact that a dominates b
-     */
-    private int dominates(int[] a, int[] b, int i) {
-        int dominates = 0;
-        for (int j = 0; j < objectives.length; j++) {
-            if (a[j] < b[j]) return 0;
-            if (a[j] > b[j]) {
-                if (dominates == 0) dominates = 1;
-                if (j != i) dominates = 2;
-            }
-        }
-        return dominates;
-    }
-
     @Override
     public ESat isEntailed() {
         return ESat.TRUE;
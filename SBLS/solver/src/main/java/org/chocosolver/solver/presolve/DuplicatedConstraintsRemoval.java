@@ -0,0 +1,99 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.presolve;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelAnalyser;
+import org.chocosolver.solver.constraints.Arithmetic;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.ConstraintsName;
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.nary.sum.PropScalar;
+import org.chocosolver.solver.constraints.nary.sum.PropSum;
+import org.chocosolver.solver.constraints.nary.sum.PropSumBool;
+import org.chocosolver.solver.constraints.nary.sum.PropSumFullBool;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A reformulation which unposts constraints that are posted more than once.
+ * <br/>
+ * Two constraints are considered as duplicated when they have the same structure:
+ * the same name, the same variables, the same operators, coefficients and constant.
+ * Only constraints which expose their structure are considered,
+ * that is, {@link Arithmetic} constraints and sum constraints based on {@link PropSum} or {@link PropScalar}.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class DuplicatedConstraintsRemoval implements IReformulation {
+
+    @Override
+    public int apply(Model model, ModelAnalyser analyser) {
+        Set<String> keys = new HashSet<>();
+        int count = 0;
+        for (Constraint c : model.getCstrs()) {
+            String key = keyOf(c);
+            if (key != null && !keys.add(key)) {
+                model.unpost(c);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return a key which describes the structure of <i>c</i>, or <tt>null</tt> if it is not exposed
+     */
+    private static String keyOf(Constraint c) {
+        if (c.isReified()) {
+            return null;
+        }
+        StringBuilder st = new StringBuilder(c.getName());
+        if (c instanceof Arithmetic) {
+            Arithmetic a = (Arithmetic) c;
+            appendIds(st, a.getVariables());
+            Operator[] ops = a.getOperators();
+            st.append(ops[0].name()).append('|').append(ops[1].name()).append('|').append(a.getConstant());
+        } else if (ConstraintsName.SUM.equals(c.getName())) {
+            for (Propagator<?> p : c.getPropagators()) {
+                // an incremental or long-based propagator does not expose its structure
+                if (p.getClass() != PropSum.class && p.getClass() != PropScalar.class
+                        && p.getClass() != PropSumBool.class && p.getClass() != PropSumFullBool.class) {
+                    return null;
+                }
+                PropSum ps = (PropSum) p;
+                st.append('|').append(p.getClass().getSimpleName());
+                appendIds(st, ps.getVars());
+                st.append(ps.getPos()).append('|').append(ps.getOperator().name()).append('|').append(ps.getBound());
+                if (p instanceof PropScalar) {
+                    st.append('|').append(Arrays.toString(((PropScalar) p).getCoefficients()));
+                }
+            }
+        } else {
+            return null;
+        }
+        return st.toString();
+    }
+
+    private static void appendIds(StringBuilder st, Variable[] vars) {
+        st.append('[');
+        for (Variable v : vars) {
+            st.append(v.getId()).append(',');
+        }
+        st.append(']');
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.presolve;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelAnalyser;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.util.ESat;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A reformulation which unposts constraints whose variables are all fixed and which are satisfied.
+ * This typically occurs when variables are declared as constants, and their value has been
+ * substituted in the constraints they appear in.
+ * <br/>
+ * Violated constraints are kept, the initial propagation will detect them.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class EntailedConstraintsRemoval implements IReformulation {
+
+    @Override
+    public int apply(Model model, ModelAnalyser analyser) {
+        Set<Constraint> candidates = new LinkedHashSet<>();
+        for (Propagator<?> p : analyser.getCompletelyInstantiatedPropagators()) {
+            candidates.add(p.getConstraint());
+        }
+        int count = 0;
+        for (Constraint c : candidates) {
+            if (c.getStatus() == Constraint.Status.POSTED && isEntailed(c)) {
+                model.unpost(c);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isEntailed(Constraint c) {
+        for (Propagator<?> p : c.getPropagators()) {
+            // propagators without variables (eg, clauses store) are not concerned
+            if (p.getNbVars() == 0 || p.isReified()
+                    || !p.isCompletelyInstantiated() || p.isEntailed() != ESat.TRUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.presolve;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelAnalyser;
+
+/**
+ * An interface to define a model reformulation,
+ * that is, a rewriting of the constraint network that preserves the set of solutions
+ * (restricted to the variables that remain in the model).
+ * <br/>
+ * Reformulations are applied by a {@link Presolver} before the initial propagation,
+ * so they may freely post or unpost constraints.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public interface IReformulation {
+
+    /**
+     * Apply this reformulation to <i>model</i>.
+     *
+     * @param model    the model to reformulate
+     * @param analyser the analyser of <i>model</i>
+     * @return the number of rewritings made, <i>0</i> means that the model is left unchanged
+     */
+    int apply(Model model, ModelAnalyser analyser);
+
+}
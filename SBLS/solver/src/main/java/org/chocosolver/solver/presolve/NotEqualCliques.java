@@ -0,0 +1,170 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.presolve;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelAnalyser;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.binary.PropNotEqualX_Y;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A reformulation which detects cliques of binary disequalities, <i>x != y</i>,
+ * and replaces each of them by an allDifferent constraint.
+ * <br/>
+ * Cliques are built greedily: edges are considered by decreasing degree of their endpoints,
+ * and each uncovered edge is extended with the common neighbours of the clique, by decreasing degree.
+ * Only cliques of size at least {@link #minSize} are kept.
+ * A disequality is unposted as soon as one clique covers it.
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class NotEqualCliques implements IReformulation {
+
+    /**
+     * Smallest size of a clique to be replaced by an allDifferent
+     */
+    private final int minSize;
+
+    /**
+     * Detect cliques of at least 3 variables
+     */
+    public NotEqualCliques() {
+        this(3);
+    }
+
+    /**
+     * Detect cliques of at least <i>minSize</i> variables
+     *
+     * @param minSize smallest size of a clique, must be greater than 2
+     */
+    public NotEqualCliques(int minSize) {
+        this.minSize = Math.max(3, minSize);
+    }
+
+    private static long edge(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    @Override
+    public int apply(Model model, ModelAnalyser analyser) {
+        TIntObjectHashMap<IntVar> vars = new TIntObjectHashMap<>();
+        TIntObjectHashMap<TIntHashSet> adj = new TIntObjectHashMap<>();
+        TLongObjectHashMap<List<Constraint>> edges = new TLongObjectHashMap<>();
+        for (Constraint c : model.getCstrs()) {
+            Propagator<?>[] ps = c.getPropagators();
+            if (ps.length != 1 || !(ps[0] instanceof PropNotEqualX_Y) || ps[0].isReified()) {
+                continue;
+            }
+            IntVar x = (IntVar) ps[0].getVar(0), y = (IntVar) ps[0].getVar(1);
+            if (x == y) {
+                continue;
+            }
+            vars.put(x.getId(), x);
+            vars.put(y.getId(), y);
+            neighbours(adj, x.getId()).add(y.getId());
+            neighbours(adj, y.getId()).add(x.getId());
+            long e = edge(x.getId(), y.getId());
+            List<Constraint> cs = edges.get(e);
+            if (cs == null) {
+                cs = new ArrayList<>(1);
+                edges.put(e, cs);
+            }
+            cs.add(c);
+        }
+        if (edges.size() < 3) {
+            return 0;
+        }
+        // vertices by decreasing degree, ties broken by ID for determinism
+        Integer[] order = Arrays.stream(adj.keys()).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, (a, b) -> {
+            int d = adj.get(b).size() - adj.get(a).size();
+            return d != 0 ? d : a - b;
+        });
+        TIntIntHashMap rank = new TIntIntHashMap();
+        for (int i = 0; i < order.length; i++) {
+            rank.put(order[i], i);
+        }
+        TLongHashSet covered = new TLongHashSet();
+        List<IntVar[]> cliques = new ArrayList<>();
+        for (int v : order) {
+            int[] ns = Arrays.stream(adj.get(v).toArray()).boxed()
+                    .sorted(Comparator.comparingInt(rank::get))
+                    .mapToInt(Integer::intValue).toArray();
+            for (int u : ns) {
+                if (covered.contains(edge(u, v))) {
+                    continue;
+                }
+                List<Integer> clique = new ArrayList<>();
+                clique.add(v);
+                clique.add(u);
+                for (int w : ns) {
+                    if (w != u && adjacentToAll(adj.get(w), clique)) {
+                        clique.add(w);
+                    }
+                }
+                if (clique.size() >= minSize) {
+                    IntVar[] cvars = new IntVar[clique.size()];
+                    for (int i = 0; i < clique.size(); i++) {
+                        cvars[i] = vars.get(clique.get(i));
+                        for (int j = i + 1; j < clique.size(); j++) {
+                            covered.add(edge(clique.get(i), clique.get(j)));
+                        }
+                    }
+                    cliques.add(cvars);
+                }
+            }
+        }
+        if (cliques.isEmpty()) {
+            return 0;
+        }
+        for (long e : covered.toArray()) {
+            for (Constraint c : edges.get(e)) {
+                model.unpost(c);
+            }
+        }
+        for (IntVar[] clique : cliques) {
+            model.allDifferent(clique).post();
+        }
+        return cliques.size();
+    }
+
+    private static TIntHashSet neighbours(TIntObjectHashMap<TIntHashSet> adj, int v) {
+        TIntHashSet ns = adj.get(v);
+        if (ns == null) {
+            ns = new TIntHashSet();
+            adj.put(v, ns);
+        }
+        return ns;
+    }
+
+    private static boolean adjacentToAll(TIntHashSet ns, List<Integer> clique) {
+        for (int c : clique) {
+            if (!ns.contains(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
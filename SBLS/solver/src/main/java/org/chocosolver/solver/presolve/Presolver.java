@@ -0,0 +1,120 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.presolve;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelAnalyser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A presolver applies a sequence of {@link IReformulation} to a model,
+ * right before the initial propagation.
+ * The sequence is applied again as long as one of them modifies the model,
+ * up to a maximum number of rounds.
+ * <br/>
+ * A presolver is declared in the settings of a model:
+ * <pre> {@code
+ * Model model = new Model(Settings.init().setPresolver(Presolver.defaults()));
+ * }</pre>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see org.chocosolver.solver.Settings#setPresolver(Presolver)
+ * @since 19/10/2026
+ */
+public class Presolver {
+
+    /**
+     * The reformulations, in application order
+     */
+    private final List<IReformulation> reformulations = new ArrayList<>();
+    /**
+     * Maximum number of times the sequence of reformulations is applied
+     */
+    private int maxRounds = 4;
+
+    /**
+     * @return a presolver that does nothing
+     */
+    public static Presolver none() {
+        return new Presolver();
+    }
+
+    /**
+     * @return a presolver which removes entailed and duplicated constraints and
+     * turns cliques of binary disequalities into allDifferent constraints.
+     * @see EntailedConstraintsRemoval
+     * @see DuplicatedConstraintsRemoval
+     * @see NotEqualCliques
+     */
+    public static Presolver defaults() {
+        return new Presolver().add(
+                new EntailedConstraintsRemoval(),
+                new DuplicatedConstraintsRemoval(),
+                new NotEqualCliques());
+    }
+
+    /**
+     * Add reformulations at the end of the sequence
+     *
+     * @param reformulations reformulations to add
+     * @return the current instance
+     */
+    public Presolver add(IReformulation... reformulations) {
+        Collections.addAll(this.reformulations, reformulations);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of times the sequence of reformulations is applied
+     *
+     * @param maxRounds a positive int
+     * @return the current instance
+     */
+    public Presolver setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+        return this;
+    }
+
+    /**
+     * @return <i>true</i> if this presolver declares no reformulation
+     */
+    public boolean isEmpty() {
+        return reformulations.isEmpty();
+    }
+
+    /**
+     * Apply the reformulations to <i>model</i>.
+     *
+     * @param model the model to presolve
+     * @return the total number of rewritings made
+     */
+    public int apply(Model model) {
+        if (reformulations.isEmpty()) {
+            return 0;
+        }
+        ModelAnalyser analyser = model.getModelAnalyser();
+        int total = 0;
+        int round = 0;
+        int changes;
+        do {
+            changes = 0;
+            for (IReformulation r : reformulations) {
+                changes += r.apply(model, analyser);
+            }
+            total += changes;
+        } while (changes > 0 && ++round < maxRounds);
+        return total;
+    }
+}
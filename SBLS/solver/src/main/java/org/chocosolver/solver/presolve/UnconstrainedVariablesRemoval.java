@@ -0,0 +1,45 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.presolve;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelAnalyser;
+import org.chocosolver.solver.variables.Variable;
+
+/**
+ * A reformulation which removes from the model variables that are involved in no constraint.
+ * Constants, views, variables with views and the objective variable are kept.
+ * <br/>
+ * Note that removed variables do not appear in solutions anymore and are not enumerated,
+ * which is why this reformulation is not part of {@link Presolver#defaults()}.
+ * It is intended to be used when only a subset of variables is output (eg, FlatZinc).
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class UnconstrainedVariablesRemoval implements IReformulation {
+
+    @Override
+    public int apply(Model model, ModelAnalyser analyser) {
+        int count = 0;
+        for (Variable v : analyser.getUnconstrainedVariables()) {
+            if ((v.getTypeAndKind() & (Variable.CSTE | Variable.VIEW)) != 0
+                    || v.getNbViews() > 0
+                    || v == model.getObjective()) {
+                continue;
+            }
+            model.unassociates(v);
+            count++;
+        }
+        return count;
+    }
+}
@@ -12,6 +12,7 @@ package org.chocosolver.solver.search;
 import org.chocosolver.solver.ISelf;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.SolutionStore;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.Propagator;
@@ -156,6 +157,42 @@ public interface IResolutionHelper extends ISelf<Solver> {
         return solutions;
     }
 
+    /**
+     * Attempts to find all solutions of the declared satisfaction problem,
+     * and records them in <i>store</i>, after the ones already stored.
+     * <p>
+     * Unlike {@link #findAllSolutions(Criterion...)}, solutions are stored compactly,
+     * which is to be preferred when many solutions are expected.
+     * This method run the following instructions:
+     * <pre>
+     *     {@code
+     *     while (model.getSolver().solve()){
+     *          store.record();
+     *     }
+     *     return store;
+     *     }
+     * </pre>
+     * <p>
+     * Note that only the variables declared in <i>store</i> will be recorded
+     * <p>
+     * Note that it clears the current objective function, if any
+     * <p>
+     * Note that a {@link SolutionCounter} can be given as criterion to bound the number of solutions recorded
+     *
+     * @param store the store to record the solutions in
+     * @param stop  optional criterion to stop the search before finding all solutions
+     * @return <i>store</i>
+     */
+    default SolutionStore findAllSolutions(SolutionStore store, Criterion... stop) {
+        ref().getModel().clearObjective();
+        ref().addStopCriterion(stop);
+        while (ref().solve()) {
+            store.record();
+        }
+        ref().removeStopCriterion(stop);
+        return store;
+    }
+
     /**
      * Attempts to find all solutions of the declared problem.
      * <ul>
@@ -817,5 +854,22 @@ public interface IResolutionHelper extends ISelf<Solver> {
         return StreamSupport.stream(it, false);
     }
 
-
+    /**
+     * Estimate the number of nodes of the search tree, and its number of solutions,
+     * with <i>probes</i> random descents driven by the search strategy declared (or the default one),
+     * without exploring the tree.
+     * <p>
+     * Probes are run on this solver; see {@link SearchTreeEstimator} to run them in parallel on several models.
+     * As for any resolution, the solver must be reset (see {@link Solver#reset()}) before being solved anew.
+     * </p>
+     *
+     * @param probes number of probes to run
+     * @param seed   seed for random branching
+     * @param stop   optional criteria to stop probing
+     * @return the estimates computed from the probes completed
+     * @throws SolverException if the search has already started
+     */
+    default SearchTreeEstimator.Estimate estimateSearchTree(int probes, long seed, Criterion... stop) {
+        return new SearchTreeEstimator(ref().getModel()).estimate(probes, seed, stop);
+    }
 }
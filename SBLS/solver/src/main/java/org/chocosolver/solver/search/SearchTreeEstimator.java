@@ -0,0 +1,329 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+import org.chocosolver.solver.search.loop.move.Move;
+import org.chocosolver.solver.search.loop.move.MoveBinaryDFS;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.util.criteria.Criterion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * An estimator of the size of a search tree and of its number of solutions, based on Knuth's method[1].
+ * </p>
+ * <p>
+ * A probe goes down from the root node, following the decisions of the search strategy declared
+ * (or the default one), and picking a branch of each decision at random, until a failure or a solution is met.
+ * Along the way, the product of the arities of the decisions met weights each node visited.
+ * The sum of these weights is an unbiased estimate of the number of nodes of the search tree,
+ * and the weight of a solution is an unbiased estimate of the number of solutions.
+ * Averaging over many probes, a confidence interval is also given.
+ * </p>
+ * <p>
+ * Probes can be run in parallel: each model, built the very same way, runs its share of them in its own thread.
+ * <pre>
+ * <code>SearchTreeEstimator estimator = new SearchTreeEstimator(modeller(), modeller(), modeller());
+ * SearchTreeEstimator.Estimate estimate = estimator.estimate(3000, 0L);
+ * if (estimate.getNodes() &lt; 1e6) {
+ *     // run a complete search
+ * } else {
+ *     // switch to LNS
+ * }
+ * </code>
+ * </pre>
+ * </p>
+ * <p>
+ * As for any resolution, the solvers must be reset (see {@link Solver#reset()}) before being solved anew.
+ * Note that, when a model has an objective, the cut on the objective imposed by the solutions found
+ * applies to the next probes.
+ * </p>
+ * <p>
+ * [1]: D.E. Knuth, Estimating the Efficiency of Backtrack Programs, Mathematics of Computation, 1975.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @see IResolutionHelper#estimateSearchTree(int, long, Criterion...)
+ * @since 19/10/2026
+ */
+public class SearchTreeEstimator {
+
+    /**
+     * Models to run probes on
+     */
+    private final Model[] models;
+
+    /**
+     * Create an estimator which runs probes on <i>models</i>, in parallel if there are more than one.
+     *
+     * @param models models built the very same way, whose search has not started yet
+     */
+    public SearchTreeEstimator(Model... models) {
+        if (models.length == 0) {
+            throw new SolverException("SearchTreeEstimator: no model is given");
+        }
+        this.models = models.clone();
+    }
+
+    /**
+     * Run <i>probes</i> probes, shared among the models, and gather them.
+     *
+     * @param probes number of probes to run
+     * @param seed   seed for random branching, the model at index <i>i</i> uses <i>seed + i</i>
+     * @param stop   optional criteria to stop probing, they are declared on each solver
+     * @return the estimates computed from the probes completed
+     * @throws SolverException if the search of a model has already started
+     */
+    public Estimate estimate(int probes, long seed, Criterion... stop) {
+        for (Model m : models) {
+            if (m.getSolver().getSearchState() != SearchState.NEW) {
+                throw new SolverException("SearchTreeEstimator: the search of " + m.getName() + " has already started, reset it first");
+            }
+        }
+        Probe[] runs = new Probe[models.length];
+        for (int i = 0; i < models.length; i++) {
+            int n = probes / models.length + (i < probes % models.length ? 1 : 0);
+            runs[i] = new Probe(models[i].getSolver(), n, seed + i);
+        }
+        if (models.length == 1) {
+            runs[0].run(stop);
+        } else {
+            ExecutorService executorService = Executors.newFixedThreadPool(models.length);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (Probe run : runs) {
+                    workers.add(executorService.submit(() -> run.run(stop)));
+                }
+                for (Future<?> w : workers) {
+                    w.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SolverException) {
+                    throw (SolverException) e.getCause();
+                }
+                throw new SolverException("SearchTreeEstimator: a probe failed, " + e.getCause());
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+        Estimate estimate = new Estimate();
+        for (Probe run : runs) {
+            estimate.merge(run.estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * A move which runs probes, going down the search tree by picking branches at random.
+     */
+    private static class Probe extends MoveBinaryDFS implements IMonitorRestart {
+
+        private final Solver solver;
+        private final int probes;
+        private final Random random;
+        private final Estimate estimate = new Estimate();
+        /**
+         * Weight of the current node, and sum of the weights of the nodes of the current probe
+         */
+        private double weight = 1, nodes = 1;
+        /**
+         * Set to <tt>true</tt> when the current probe has reached a solution
+         */
+        private boolean solution;
+        /**
+         * Set to <tt>true</tt> when this restarts the search
+         */
+        private boolean restarting;
+
+        Probe(Solver solver, int probes, long seed) {
+            super(solver.getMove().getStrategy());
+            this.solver = solver;
+            this.probes = probes;
+            this.random = new Random(seed);
+        }
+
+        void run(Criterion... stop) {
+            if (probes == 0) {
+                return;
+            }
+            Move move = solver.getMove();
+            Criterion done = () -> estimate.count >= probes;
+            solver.setMove(this);
+            solver.plugMonitor(this);
+            solver.addStopCriterion(stop);
+            solver.addStopCriterion(done);
+            try {
+                //noinspection StatementWithEmptyBody
+                while (solver.solve()) ;
+                if (estimate.count == 0 && !solver.isStopCriterionMet()) {
+                    // the root node fails
+                    estimate.add(1, 0);
+                }
+            } finally {
+                solver.removeStopCriterion(done);
+                solver.removeStopCriterion(stop);
+                solver.unplugMonitor(this);
+                solver.setMove(move);
+            }
+        }
+
+        @Override
+        public boolean extend(Solver solver) {
+            Decision<?> current = strategy.getDecision();
+            if (current == null) {
+                // a solution is about to be validated
+                solution = true;
+                return false;
+            }
+            int arity = current.getArity();
+            if (arity > 1) {
+                // the solver builds the next branch itself
+                for (int k = random.nextInt(arity); k > 0; k--) {
+                    current.buildNext();
+                }
+                weight *= arity;
+            }
+            nodes += weight;
+            solver.getDecisionPath().pushDecision(current);
+            solver.pushTrail();
+            return true;
+        }
+
+        @Override
+        public boolean repair(Solver solver) {
+            end();
+            if (estimate.count >= probes) {
+                return false;
+            }
+            restarting = true;
+            solver.restart();
+            restarting = false;
+            return true;
+        }
+
+        /**
+         * Record the current probe and prepare the next one
+         */
+        private void end() {
+            estimate.add(nodes, solution ? weight : 0);
+            forget();
+        }
+
+        private void forget() {
+            weight = nodes = 1;
+            solution = false;
+        }
+
+        @Override
+        public void beforeRestart() {
+            // restarts declared on the solver interrupt probes
+            if (!restarting) {
+                if (solution) {
+                    end();
+                } else {
+                    forget();
+                }
+            }
+        }
+    }
+
+    /**
+     * Estimates of the number of nodes of a search tree, root included, and of its number of solutions.
+     */
+    public static final class Estimate {
+
+        private int count;
+        private double nodes, nodes2, solutions, solutions2;
+
+        private void add(double n, double s) {
+            count++;
+            nodes += n;
+            nodes2 += n * n;
+            solutions += s;
+            solutions2 += s * s;
+        }
+
+        private void merge(Estimate other) {
+            count += other.count;
+            nodes += other.nodes;
+            nodes2 += other.nodes2;
+            solutions += other.solutions;
+            solutions2 += other.solutions2;
+        }
+
+        /**
+         * @return the number of probes completed
+         */
+        public int getProbes() {
+            return count;
+        }
+
+        /**
+         * @return the estimated number of nodes of the search tree, root included, or 0 if no probe has been completed
+         */
+        public double getNodes() {
+            return count == 0 ? 0 : nodes / count;
+        }
+
+        /**
+         * @return the estimated number of solutions, or 0 if no probe has been completed
+         */
+        public double getSolutions() {
+            return count == 0 ? 0 : solutions / count;
+        }
+
+        /**
+         * @param z number of standard errors, for instance 1.96 for a 95% confidence level
+         * @return the confidence interval of the number of nodes
+         */
+        public double[] getNodesInterval(double z) {
+            return interval(nodes, nodes2, z, 1);
+        }
+
+        /**
+         * @param z number of standard errors, for instance 1.96 for a 95% confidence level
+         * @return the confidence interval of the number of solutions
+         */
+        public double[] getSolutionsInterval(double z) {
+            return interval(solutions, solutions2, z, 0);
+        }
+
+        private double[] interval(double sum, double sum2, double z, double min) {
+            if (count == 0) {
+                return new double[]{0, Double.POSITIVE_INFINITY};
+            }
+            double mean = sum / count;
+            double variance = count > 1 ? Math.max(0, (sum2 - count * mean * mean) / (count - 1)) : 0;
+            double delta = z * Math.sqrt(variance / count);
+            return new double[]{Math.max(min, mean - delta), mean + delta};
+        }
+
+        @Override
+        public String toString() {
+            double[] n = getNodesInterval(1.96);
+            double[] s = getSolutionsInterval(1.96);
+            return String.format("Estimate on %d probes: %.1f nodes [%.1f, %.1f], %.1f solutions [%.1f, %.1f] (95%%)",
+                    count, getNodes(), n[0], n[1], getSolutions(), s[0], s[1]);
+        }
+    }
+}
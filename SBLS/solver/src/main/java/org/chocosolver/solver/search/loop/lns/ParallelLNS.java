@@ -0,0 +1,248 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ResolutionPolicy;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.lns.neighbors.AdaptiveNeighborhood;
+import org.chocosolver.solver.search.loop.lns.neighbors.INeighbor;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.loop.move.MoveLNS;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * A Large Neighborhood Search run in parallel.
+ * </p>
+ * <p>
+ * Each worker is a model of the problem, with its own neighbor, solved in its own thread.
+ * The workers share the best solution found so far, the incumbent:
+ * when a worker improves it, the cut on the objective variable's value is propagated to all models,
+ * and the other workers compute their next fragments from this solution
+ * (see {@link MoveLNS#shareSolution(Solution)}).
+ * As soon as one worker ends (naturally or by hitting a limit) the other ones are eagerly stopped.
+ * </p>
+ * <p>
+ * Example of use.
+ *
+ * <pre>
+ * <code>ParallelLNS plns = new ParallelLNS();
+ * int n = 4; // number of workers
+ * for (int i = 0; i < n; i++) {
+ *      Model model = modeller();
+ *      model.getSolver().limitTime("10s");
+ *      plns.addWorker(model);
+ * }
+ * plns.solve();
+ * Solution best = plns.getBestSolution();
+ * </code>
+ * </pre>
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ * @implSpec All models are expected to be created following the very same steps,
+ * so that a variable has the same ID in all models.
+ * Indeed, the solutions are shared among workers through the ID of the variables.
+ */
+public class ParallelLNS {
+
+    /**
+     * List of {@link Model}s to be executed in parallel.
+     */
+    private final List<Model> models = new ArrayList<>();
+    /**
+     * The neighbor of each model
+     */
+    private final List<INeighbor> neighbors = new ArrayList<>();
+    /**
+     * The LNS move of each model, once prepared
+     */
+    private final List<MoveLNS> moves = new ArrayList<>();
+    private final AtomicBoolean terminated = new AtomicBoolean(false);
+    private boolean isPrepared = false;
+    /**
+     * The incumbent, its objective value and the model which found it
+     */
+    private Solution best;
+    private int bestValue;
+    private Model finder;
+
+    /**
+     * Add a worker which uses an adaptive neighbor, seeded with the index of this worker,
+     * made of a random, a propagation-guided and a reverse propagation-guided neighbor
+     * over all the integer variables but the objective.
+     *
+     * @param model a populated model, with an objective
+     * @see #addWorker(Model, INeighbor)
+     */
+    public void addWorker(Model model) {
+        IntVar[] vars = Arrays.stream(model.retrieveIntVars(true))
+                .filter(v -> v != model.getObjective())
+                .toArray(IntVar[]::new);
+        if (vars.length == 0) {
+            throw new SolverException("ParallelLNS: no variable to define a neighbor on");
+        }
+        long seed = models.size();
+        addWorker(model, new AdaptiveNeighborhood(seed,
+                INeighborFactory.random(seed, vars),
+                INeighborFactory.propagationGuided(seed, vars),
+                INeighborFactory.reversedPropagationGuided(seed, vars)));
+    }
+
+    /**
+     * <p>
+     * Add a worker to run in parallel.
+     * </p>
+     * <p>
+     * <b>Important:</b>
+     *  <ul>
+     *      <li>the populating process is not managed by this {@code ParallelLNS}
+     *  and should be done externally, with a dedicated method for example.
+     *  </li>
+     *  <li>
+     *      the objective variable <b>HAS</b> to be declared eagerly with
+     *      {@link Model#setObjective(boolean, org.chocosolver.solver.variables.Variable)}.
+     *  </li>
+     *  <li>
+     *      the neighbor has to be defined on the variables of <i>model</i>.
+     *  </li>
+     *  </ul>
+     * </p>
+     *
+     * @param model    a populated model, with an objective
+     * @param neighbor the neighbor of this worker
+     */
+    public void addWorker(Model model, INeighbor neighbor) {
+        if (isPrepared) {
+            throw new SolverException("ParallelLNS: a worker cannot be added once the resolution has started");
+        }
+        models.add(model);
+        neighbors.add(neighbor);
+    }
+
+    /**
+     * Run LNS on every worker in parallel, until one of them ends.
+     *
+     * <p>
+     * Note that a call to {@link #getBestSolution()} returns the best solution found.
+     * </p>
+     *
+     * @return <code>true</code> if and only if at least one solution has been found.
+     * @throws SolverException if no worker has been added or if a model has no objective.
+     */
+    public boolean solve() {
+        if (!isPrepared) {
+            prepare();
+        }
+        terminated.set(false);
+        ExecutorService executorService = Executors.newFixedThreadPool(models.size());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (Model m : models) {
+                workers.add(executorService.submit(() -> {
+                    try {
+                        Solver s = m.getSolver();
+                        //noinspection StatementWithEmptyBody
+                        while (!terminated.get() && s.solve()) ;
+                    } finally {
+                        terminated.set(true);
+                    }
+                }));
+            }
+            for (Future<?> w : workers) {
+                w.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SolverException) {
+                throw (SolverException) e.getCause();
+            }
+            throw new SolverException("ParallelLNS: a worker failed, " + e.getCause());
+        } finally {
+            executorService.shutdownNow();
+            terminated.set(false);// otherwise, solver.isStopCriterionMet() always returns true
+        }
+        return getBestSolution() != null;
+    }
+
+    /**
+     * @return the best solution found, or <tt>null</tt> if no solution has been found.
+     */
+    public synchronized Solution getBestSolution() {
+        return best;
+    }
+
+    /**
+     * @return the model which found the best solution, or <tt>null</tt> if no solution has been found.
+     */
+    public synchronized Model getBestModel() {
+        return finder;
+    }
+
+    /**
+     * @return the (mutable!) list of models used in this ParallelLNS
+     */
+    public List<Model> getModels() {
+        return models;
+    }
+
+    private void prepare() {
+        if (models.isEmpty()) {
+            throw new SolverException("ParallelLNS: no worker has been added");
+        }
+        for (int i = 0; i < models.size(); i++) {
+            Model m = models.get(i);
+            if (m.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
+                throw new SolverException("ParallelLNS: the objective of " + m.getName() + " is not declared");
+            }
+            Solver s = m.getSolver();
+            s.setLNS(neighbors.get(i));
+            moves.add((MoveLNS) s.getMove());
+            s.addStopCriterion(terminated::get);
+            s.plugMonitor((IMonitorSolution) () -> updateFromSolution(m));
+        }
+        isPrepared = true;
+    }
+
+    /**
+     * Record the solution of <i>m</i> if it improves the incumbent, then share it with the other workers.
+     *
+     * @param m the model which finds a solution
+     */
+    private synchronized void updateFromSolution(Model m) {
+        int val = ((IntVar) m.getObjective()).getValue();
+        if (best == null || (m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE ? val > bestValue : val < bestValue)) {
+            best = new Solution(m).record();
+            bestValue = val;
+            finder = m;
+            for (int i = 0; i < models.size(); i++) {
+                Model o = models.get(i);
+                if (o != m) {
+                    o.getSolver().onReceivingExternalCut(val);
+                    moves.get(i).shareSolution(best);
+                }
+            }
+        }
+    }
+}
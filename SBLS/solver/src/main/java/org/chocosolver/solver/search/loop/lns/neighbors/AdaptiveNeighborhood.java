@@ -10,10 +10,18 @@
 package org.chocosolver.solver.search.loop.lns.neighbors;
 
 import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
 
 import java.util.Random;
 
 /**
+ * A neighbor which picks one of its neighbors randomly, each time a fragment is needed,
+ * with a probability proportional to the number of solutions it has found so far.
+ * A loaded solution is not credited to any neighbor.
+ * <p>
+ * In addition, the success rate of each neighbor, that is the ratio of its recent fragments
+ * which lead to a solution, is fed back into the size of its fragments (see {@link INeighbor#relax(double)}):
+ * a neighbor which rarely succeeds relaxes more variables, one which often succeeds relaxes less variables.
  * <br/>
  *
  * @author Charles Prud'homme
@@ -21,29 +29,92 @@ import java.util.Random;
  */
 public class AdaptiveNeighborhood extends SequenceNeighborhood {
 
+    /**
+     * Maximum change of the relaxed part of a fragment after a run
+     */
+    private static final double ALPHA = .1;
+    /**
+     * Number of runs after which the older ones weigh half in the success rates
+     */
+    private static final int WINDOW = 64;
+
     private final Random random;
     private int sum;
+    /**
+     * Number of fragments recently computed by each neighbor
+     */
+    private final int[] tries;
+    /**
+     * Number of those fragments which lead to a solution
+     */
+    private final int[] hits;
+    /**
+     * Neighbor which computes the current fragment, -1 if none
+     */
+    private int last = -1;
 
     public AdaptiveNeighborhood(long seed, INeighbor... neighbors) {
         super(neighbors);
         this.random = new Random(seed);
         sum = count - 1;
+        tries = new int[count];
+        hits = new int[count];
     }
 
     @Override
     public void recordSolution() {
         sum++;
+        if (last >= 0) {
+            hits[last]++;
+        }
         super.recordSolution();
     }
 
     @Override
     public void loadFromSolution(Solution solution) {
-        sum++;
+        if (last >= 0) { // the current fragment is abandoned
+            tries[last]--;
+            last = -1;
+        }
         super.loadFromSolution(solution);
     }
 
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        nextNeighbor();
+        if (who == count) who = 0;
+        last = who;
+        if (++tries[last] > WINDOW) {
+            tries[last] >>= 1;
+            hits[last] >>= 1;
+        }
+        neighbors[who].fixSomeVariables();
+    }
+
+    @Override
+    public void restrictLess() {
+        super.restrictLess();
+        if (last >= 0) {
+            // relax more below a success rate of 1/2, less above
+            neighbors[last].relax(1. + ALPHA * (1. - 2. * getSuccessRate(last)));
+            last = -1;
+        }
+    }
+
+    /**
+     * @param i index of a neighbor
+     * @return the estimated ratio of the recent fragments of the <i>i</i>th neighbor which lead to a solution,
+     * 1/2 when unknown
+     */
+    public double getSuccessRate(int i) {
+        return (hits[i] + 1.) / (tries[i] + 2.);
+    }
     @Override
     protected void nextNeighbor() {
+        if (sum == 0) { // only one neighbor, which has not found any solution yet
+            who = 0;
+            return;
+        }
         int r = random.nextInt(sum);
         for (int i = 0; i < count; i++) {
             r -= (counters[i] + 1);
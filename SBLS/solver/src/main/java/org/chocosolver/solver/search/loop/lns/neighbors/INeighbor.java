@@ -48,6 +48,16 @@ public interface INeighbor extends ICause {
         // Intentionally left empty.
     }
 
+    /**
+     * Scale the relaxed part of the next fragments, on top of the own policy of this neighbor.
+     * Called by a neighbor which manages this one, like {@link AdaptiveNeighborhood}.
+     *
+     * @param ratio greater than 1 to relax more variables, lower than 1 to relax less variables
+     */
+    default void relax(double ratio){
+        // Intentionally left empty.
+    }
+
     /**
      * @return true iff the search is in a complete mode (no fixed variable)
      */
@@ -12,18 +12,24 @@ package org.chocosolver.solver.search.loop.lns.neighbors;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IVariableMonitor;
 import org.chocosolver.solver.variables.IntVar;
-import org.chocosolver.util.tools.MathUtils;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.util.objects.IntHeap;
 
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Arrays;
+import java.util.Random;
 
 /**
  * A Propagation Guided LNS
  * <p>
  * Based on "Propagation Guided Large Neighborhood Search", Perron et al. CP2004.
  * <br/>
+ * The variables modified by the propagation of a freeze are observed with {@link IVariableMonitor},
+ * so only them are visited to update the domain reductions and the logarithmic cardinality.
+ * Views do not notify monitors, they are visited after each propagation.
+ * <br/>
  *
  * @author Charles Prud'homme
  * @since 08/04/13
@@ -36,15 +42,11 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
      */
     protected final int n;
     /**
-     * Domain size of each variable in {@link #variables}
-     */
-    protected int[] curDoms;
-    /**
-     * Domain size of each variable in {@link #variables} before propagation
+     * Domain size of each variable in {@link #variables} before the last propagation
      */
     protected int[] befDoms;
     /**
-     * Store the modified variables
+     * Domain reduction of each variable during the last propagation
      */
     protected int[] all;
     /**
@@ -68,13 +70,35 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
      */
     double logSum = 0.;
     /**
-     * Store the variable elligible for propagation
+     * Keep the {@link #listSize} most reduced variables, the least reduced one on top
+     */
+    private final IntHeap heap;
+    /**
+     * Store the variable elligible for propagation, by decreasing domain reduction,
+     * from {@link #head} to {@link #nbCandidates}
+     */
+    private final int[] candidates;
+    private int nbCandidates, head;
+    /**
+     * Variables not frozen yet, as a sparse set: the first {@link #nbFree} ones
      */
-    List<Integer> candidates;
+    private final int[] free;
+    private final int[] position;
+    private int nbFree;
     /**
-     * Indicate which variables are selected in a fragment
+     * Variables modified since the last propagation, the first {@link #nbTouched} ones
      */
-    protected BitSet fragment;
+    private final int[] touched;
+    private final boolean[] isTouched;
+    private int nbTouched;
+    /**
+     * Set to <i>true</i> while the fragment is created, so that variable modifications are recorded
+     */
+    private boolean listening;
+    /**
+     * Index of the variables that cannot be observed, i.e. views
+     */
+    private int[] polled;
     /**
      * Reference to the model
      */
@@ -96,16 +120,38 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
         this.desiredSize = desiredSize;
         this.listSize = listSize;
         this.all = new int[n];
-        this.candidates = new ArrayList<>();
-        this.fragment = new BitSet(n);
+        this.befDoms = new int[n];
+        this.heap = new IntHeap(this::lessReduced);
+        this.candidates = new int[Math.max(listSize, 0)];
+        this.free = new int[n];
+        this.position = new int[n];
+        this.touched = new int[n];
+        this.isTouched = new boolean[n];
     }
 
     @Override
     public void fixSomeVariables() throws ContradictionException {
-        logSum = Arrays.stream(variables).mapToDouble(v -> MathUtils.log2(v.getDomainSize())).sum();
-        System.arraycopy(curDoms, 0, befDoms, 0, curDoms.length);
-        fragment.set(0, n); // all variables are frozen
-        update();
+        logSum = 0.;
+        nbFree = 0;
+        for (int i = 0; i < n; i++) {
+            int ds = variables[i].getDomainSize();
+            logSum += Math.log(ds);
+            befDoms[i] = ds;
+            if (ds > 1) { // all variables but the instantiated ones can be frozen
+                position[i] = nbFree;
+                free[nbFree++] = i;
+            }
+        }
+        nbCandidates = head = 0;
+        listening = true;
+        try {
+            update();
+        } finally {
+            listening = false;
+            while (nbTouched > 0) {
+                isTouched[touched[--nbTouched]] = false;
+            }
+        }
     }
 
     /**
@@ -114,56 +160,99 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
      * @throws ContradictionException if the fragment is trivially infeasible
      */
     protected void update() throws ContradictionException {
-        while (logSum > size && fragment.cardinality() > 0) {
+        while (logSum > size && nbFree > 0) {
             // 1. pick a variable
             int id = selectVariable();
             // 2. freeze it to its solution value and propagate
             if (variables[id].contains(values[id])) {  // to deal with objective variable and related
                 freeze(id);
                 mModel.getSolver().propagate();
-                fragment.clear(id);
-                logSum = 0.;
-                // 3. compute domain reductions & update logSum
-                for (int i = 0; i < n; i++) {
+                unfree(id);
+                // 3. compute domain reductions & update logSum, for modified variables only
+                for (int i : polled) {
+                    touch(i);
+                }
+                heap.clear();
+                while (nbTouched > 0) {
+                    int i = touched[--nbTouched];
+                    isTouched[i] = false;
                     int ds = variables[i].getDomainSize();
-                    logSum += Math.log(ds);
-                    if (fragment.get(i)) { // if not frozen until now
-                        if (ds == 1) {       // if fixed by side effect
-                            fragment.clear(i); // set it has fixed
-                        } else if (curDoms[i] - ds > 0) {
-                            all[i] = befDoms[i] - ds; // add it to candidate list
-                            befDoms[i] = ds;
+                    if (ds < befDoms[i]) {
+                        logSum += Math.log(ds) - Math.log(befDoms[i]);
+                        all[i] = befDoms[i] - ds;
+                        befDoms[i] = ds;
+                        if (isFree(i)) { // if not frozen until now
+                            if (ds == 1) { // if fixed by side effect
+                                unfree(i); // set it has fixed
+                            } else {
+                                offer(i); // add it to candidate list
+                            }
                         }
                     }
                 }
                 // 4. update variable list
-                candidates = IntStream.range(0, n)
-                        .filter(i -> fragment.get(i) && all[i] > 0)
-                        .boxed()
-                        .sorted(Comparator.comparingInt(i -> -all[i]))
-                        .limit(listSize)
-                        .collect(Collectors.toList());
+                head = 0;
+                nbCandidates = heap.size();
+                for (int k = nbCandidates - 1; k >= 0; k--) {
+                    candidates[k] = heap.removeMin();
+                }
             } else {
-                fragment.clear(id);
+                unfree(id);
                 logSum -= Math.log(variables[id].getDomainSize());
             }
         }
     }
 
+    /**
+     * Add the variable <i>i</i> to the candidates if it is among the {@link #listSize} most reduced ones
+     */
+    private void offer(int i) {
+        if (heap.size() < listSize) {
+            heap.insert(i);
+        } else if (listSize > 0 && lessReduced(heap.get(0), i)) {
+            heap.removeMin();
+            heap.insert(i);
+        }
+    }
+
+    /**
+     * @return <i>true</i> if the variable <i>a</i> is less reduced than <i>b</i>, ties are broken by index
+     */
+    private boolean lessReduced(int a, int b) {
+        return all[a] < all[b] || (all[a] == all[b] && a > b);
+    }
+
+    private void touch(int i) {
+        if (!isTouched[i]) {
+            isTouched[i] = true;
+            touched[nbTouched++] = i;
+        }
+    }
+
+    private boolean isFree(int i) {
+        return position[i] < nbFree && free[position[i]] == i;
+    }
+
+    private void unfree(int i) {
+        int p = position[i];
+        int j = free[--nbFree];
+        free[p] = j;
+        position[j] = p;
+        free[nbFree] = i;
+        position[i] = nbFree;
+    }
+
     /**
      * @return a variable id in {@link #variables} to be part of the fragment
      */
     int selectVariable() {
-        int id;
-        if (candidates.isEmpty()) {
-            int cc = rd.nextInt(fragment.cardinality());
-            for (id = fragment.nextSetBit(0); id >= 0 && cc > 0; id = fragment.nextSetBit(id + 1)) {
-                cc--;
+        while (head < nbCandidates) {
+            int id = candidates[head++];
+            if (isFree(id)) {
+                return id;
             }
-        } else {
-            id = candidates.remove(0);
         }
-        return id;
+        return free[rd.nextInt(nbFree)];
     }
 
     @Override
@@ -183,12 +272,42 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
         size *= 1.01;
     }
 
+    @Override
+    public void relax(double ratio) {
+        size *= ratio;
+    }
+
     @Override
     public void init() {
-        this.curDoms = new int[n];
-        this.befDoms = new int[n];
-        for (int i = 0; i < n; i++) {
-            curDoms[i] = variables[i].getDomainSize();
+        if (polled == null) {
+            int k = 0;
+            int[] views = new int[n];
+            for (int i = 0; i < n; i++) {
+                if ((variables[i].getTypeAndKind() & Variable.VIEW) != 0) {
+                    views[k++] = i;
+                } else {
+                    variables[i].addMonitor(new Watcher(i));
+                }
+            }
+            polled = Arrays.copyOf(views, k);
+        }
+    }
+
+    /**
+     * Record the modifications of a variable while the fragment is created
+     */
+    private final class Watcher implements IVariableMonitor<IntVar> {
+        private final int idx;
+
+        private Watcher(int idx) {
+            this.idx = idx;
+        }
+
+        @Override
+        public void onUpdate(IntVar var, IEventType evt) {
+            if (listening) {
+                touch(idx);
+            }
         }
     }
 }
@@ -117,4 +117,9 @@ public class RandomNeighborhood extends IntNeighbor {
             nbFixedVariables = rd.nextDouble() * n;
         }
     }
+
+    @Override
+    public void relax(double ratio) {
+        nbFixedVariables = Math.max(1., Math.min(n, n - (n - nbFixedVariables) * ratio));
+    }
 }
@@ -174,6 +174,11 @@ public class ReversePropagationGuidedNeighborhood extends IntNeighbor{
         return id;
     }
 
+    @Override
+    public void relax(double ratio) {
+        epsilon *= ratio;
+    }
+
     @Override
     public void init() {
         this.domSiz = new int[n];
@@ -77,6 +77,11 @@ public class SequenceNeighborhood implements INeighbor {
         neighbors[who].restrictLess();
     }
 
+    @Override
+    public void relax(double ratio) {
+        neighbors[who].relax(ratio);
+    }
+
     @Override
     public boolean isSearchComplete() {
         boolean isComplete = false;
@@ -74,6 +74,23 @@ public interface IMoveFactory extends ISelf<Solver> {
         ref().setMove(new MoveBinaryHBFS(ref().getModel(), ref().getSearch(), a, b, N));
     }
 
+    /**
+     * Creates a move object based on:
+     * Hybrid Best-First Search[1] algorithms with binary decisions,
+     * where at most <i>capacity</i> decisions are stored in open right branches.
+     * When exceeded, the worst open right branches are evicted
+     * and explored again, if needed, by a DFS from the root node.
+     *
+     * @param a        lower bound to limit the rate of redundantly propagated decisions
+     * @param b        upper bound to limit the rate of redundantly propagated decisions.
+     * @param N        backtrack limit for each DFS try, should be large enough to limit redundancy
+     * @param capacity maximum number of decisions stored in open right branches
+     * @see #setHBFS(double, double, long)
+     */
+    default void setHBFS(double a, double b, long N, int capacity) {
+        ref().setMove(new MoveBinaryHBFS(ref().getModel(), ref().getSearch(), a, b, N, capacity));
+    }
+
     /**
      * Defines a restart policy.
      * Every time the <code>restartCriterion</code> is met, a restart is done, the new restart limit is updated
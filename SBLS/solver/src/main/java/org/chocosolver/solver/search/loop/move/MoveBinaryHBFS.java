@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.search.loop.move;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Solver;
@@ -18,12 +19,10 @@ import org.chocosolver.solver.search.strategy.decision.Decision;
 import org.chocosolver.solver.search.strategy.decision.DecisionPath;
 import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
 import org.chocosolver.solver.variables.IntVar;
-import org.chocosolver.util.tools.ArrayUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
 
 /**
  * A move dedicated to run an Hybrid Best-First Search[1] (HBFS) with binary decisions.
@@ -33,6 +32,11 @@ import java.util.PriorityQueue;
  * <p>
  * It restarts anytime a backtrack limit is reached and a new open right branch needs to be selected.
  * <p>
+ * The open right branches share their decisions, which are compactly encoded (see {@link OpenNodes}).
+ * Their memory can be bounded: when too many decisions are stored, the open right branches with the worst bounds
+ * are evicted. Once all the remaining ones have been explored, if an evicted one may still lead to a better solution,
+ * the search goes on with a plain DFS from the root node, so that it remains complete.
+ * <p>
  * Created by cprudhom on 02/11/2015.
  * Project: choco.
  * @author Charles Prud'homme
@@ -83,10 +87,15 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
      */
     private boolean isMinimization;
 
+    /**
+     * maximum number of decisions stored in open right branches.
+     */
+    private final int capacity;
+
     /**
      * list of open right branches.
      */
-    private final PriorityQueue<Open> opens;
+    private OpenNodes opens;
 
     /**
      * Current open right branch.
@@ -98,11 +107,21 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
      */
     private final List<Decision> _unkopen;
 
+    /**
+     * Stored decisions of copen, from the top, kept until the next extraction to share them.
+     */
+    private final TIntArrayList cnodes;
+
     /**
      * Current decision in copen
      */
     private int current;
 
+    /**
+     * Set to <tt>true</tt> when the search goes on with a plain DFS, after evictions.
+     */
+    private boolean dfsOnly;
+
     /**
      * The owner model.
      */
@@ -117,10 +136,25 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
      * @param N maximum number of backtracks to not exceed when updating node recomputation parameters.
      */
     public MoveBinaryHBFS(Model model, AbstractStrategy strategy, double a, double b, long N) {
+        this(model, strategy, a, b, N, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a move dedicated to run an Hybrid Best-First Search[1] (HBFS) with binary decisions,
+     * with a bounded memory.
+     * @param model a model
+     * @param strategy the search strategy to use
+     * @param a lower bound to limit the rate of redundantly propagated decisions.
+     * @param b upper bound to limit the rate of redundantly propagated decisions.
+     * @param N maximum number of backtracks to not exceed when updating node recomputation parameters.
+     * @param capacity maximum number of decisions stored in open right branches.
+     */
+    public MoveBinaryHBFS(Model model, AbstractStrategy strategy, double a, double b, long N, int capacity) {
         super(strategy);
         this.mModel = model;
         this.dfslimit = new BacktrackCounter(model, N);
-        this.opens = new PriorityQueue<>();
+        this.capacity = capacity;
+        this.cnodes = new TIntArrayList();
         this.copen = new Decision[0];
         this.current = 0;
         this.Z = 1;
@@ -139,6 +173,7 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
             throw new UnsupportedOperationException("HBFS is not adapted to satisfaction problems.");
         }
         isMinimization = objectiveManager.getPolicy() == ResolutionPolicy.MINIMIZE;
+        opens = new OpenNodes(isMinimization, capacity);
         return init;
     }
 
@@ -159,7 +194,7 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
     @Override
     public boolean repair(Solver solver) {
         boolean repair;
-        if (!dfslimit.isMet(limit)) {
+        if (dfsOnly || !dfslimit.isMet(limit)) {
             current = copen.length;
             repair = super.repair(solver);
         } else {
@@ -189,20 +224,27 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
         if(i < _unkopen.size()) {
             extractOB(solver, i);
         }
+        opens.shrink();
+        // the decisions of copen are not needed anymore
+        if (cnodes.size() > 0) {
+            opens.release(cnodes.getQuick(cnodes.size() - 1));
+            cnodes.resetQuick();
+        }
         // finally, get the best ORB to keep up the search
-        Open next = opens.poll();
-        while (next != null && !isValid(next.currentBound())) {
+        int next = opens.poll();
+        while (next >= 0 && !isValid(opens.bound(next))) {
+            opens.release(opens.take(next));
             next = opens.poll();
         }
-        if (next != null) {
-            copen = next.toArray();
-            // the decision in 0 is the last taken, then the array us reversed
-            ArrayUtils.reverse(copen);
+        if (next >= 0) {
+            copen = opens.decode(opens.take(next), solver.getDecisionPath(), cnodes);
             current = 0;
             nodesRecompute = solver.getNodeCount() + copen.length;
         } else{
             // to be sure not to use the previous path
             current = copen.length;
+            // some parts of the search tree may have been lost, they are explored again
+            dfsOnly = opens.hasEvicted() && isValid(opens.evictedBound());
         }
         // then do the restart
         solver.restart();
@@ -247,12 +289,26 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
         DecisionPath dp = solver.getDecisionPath();
         int bound;
         Decision decision = dp.getLastDecision();
+        // the stored decisions of the path, from the top, built on demand
+        int[] nodes = new int[_unkopen.size()];
+        int built = 0;
         while (decision.getPosition() != stopAt) {
             bound = isMinimization ?
                     objectiveManager.getObjective().getLB() :
                     objectiveManager.getObjective().getUB();
             if (decision.hasNext() && isValid(bound)) {
-                opens.add(new Open(decision, dp, bound, isMinimization));
+                int k = decision.getPosition() - topDecisionPosition - 1;
+                for (; built <= k; built++) {
+                    // the top of the path can be shared with copen
+                    if (built < cnodes.size()
+                            && (built == 0 || nodes[built - 1] == cnodes.getQuick(built - 1))
+                            && opens.matches(cnodes.getQuick(built), _unkopen.get(built))) {
+                        nodes[built] = cnodes.getQuick(built);
+                    } else {
+                        nodes[built] = opens.store(built == 0 ? -1 : nodes[built - 1], _unkopen.get(built));
+                    }
+                }
+                opens.add(nodes[k], bound, k + 1);
             }
             dp.synchronize();
             decision = dp.getLastDecision();
@@ -270,83 +326,4 @@ public class MoveBinaryHBFS extends MoveBinaryDFS {
                 bound < objectiveManager.getBestUB().intValue() :
                 bound > objectiveManager.getBestLB().intValue();
     }
-
-    /**
-     * A class to represent an open right branch, from which the search can be kept up.
-     */
-    private class Open implements Comparable<Open> {
-
-        /**
-         * List of open decisions
-         */
-        private final List<Decision> path;
-        /**
-         * store the current lower bound of the decision path for minimization
-         */
-        private final int currentBound;
-        /**
-         * 1 for minimization, -1 for maximization
-         */
-        private final byte minimization;
-
-        /**
-         * Create an open right branch for HBFS
-         *
-         * @param decision      an open decision in <i>decisionPath</i>
-         * @param decisionPath  the current decision path
-         * @param currentBound current lower (resp. upper) bound of the objective value for mimimization (resp. maximization)
-         * @param minimization set to <tt>true</tt> for minimization
-         */
-        public Open(Decision decision, DecisionPath decisionPath, int currentBound, boolean minimization) {
-            this.path = new ArrayList<>();
-            while (decision.getPosition() != topDecisionPosition) {
-                Decision d = decision.duplicate();
-                while (decision.triesLeft() != d.triesLeft() - 1) {
-                    d.buildNext();
-                }
-                path.add(d);
-                decision = decisionPath.getDecision(decision.getPosition() -1);
-            }
-            this.currentBound = currentBound;
-            this.minimization = (byte) (minimization ? 1 : -1);
-        }
-
-        /**
-         * Return the current decision path that can be extended
-         * @return an array of decisions
-         */
-        public Decision[] toArray() {
-            return path.toArray(new Decision[0]);
-        }
-
-        /**
-         * Return the current bound of this open right branch
-         * @return the current bound of this
-         */
-        public int currentBound() {
-            return currentBound;
-        }
-
-        @Override
-        public int compareTo(Open o) {
-            // the minimum lower bound
-            int clb = minimization * (currentBound - o.currentBound);
-            if (clb == 0) {
-                // the maximum depth
-                return (o.path.size() - path.size());
-            } else {
-                return clb;
-            }
-        }
-
-        @Override
-        public String toString() {
-            StringBuilder st = new StringBuilder();
-            st.append('[').append(currentBound).append(']');
-            for(int i = path.size() - 1;i > -1 ; i--){
-                st.append(path.get(i)).append(',');
-            }
-            return st.toString();
-        }
-    }
 }
@@ -25,6 +25,7 @@ import org.chocosolver.util.ESat;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This {@link Move}'s implementation defines a Large Neighborhood Search.
@@ -67,6 +68,10 @@ public class MoveLNS implements Move {
     protected PropLNS prop;
 
     private boolean canApplyNeighborhood;
+    /**
+     * A solution found by another solver, not adopted yet
+     */
+    private final AtomicReference<Solution> shared = new AtomicReference<>();
 
     /**
      * Create a move which defines a Large Neighborhood Search.
@@ -124,6 +129,18 @@ public class MoveLNS implements Move {
     @Override
     public boolean extend(Solver solver) {
         boolean extend;
+        Solution solution = shared.getAndSet(null);
+        if (solution != null) {
+            neighbor.loadFromSolution(solution);
+            solutionLoaded = true;
+            if (!freshRestart) {
+                // the current fragment is abandoned
+                freshRestart = true;
+                counter.overrideLimit(counter.currentValue() + frequency);
+                solver.restart();
+                return true;
+            }
+        }
         // when a new fragment is needed (condition: at least one solution has been found)
         if (solutions > 0 || solutionLoaded) {
             if (freshRestart) {
@@ -246,6 +263,23 @@ public class MoveLNS implements Move {
         }
     }
 
+    /**
+     * Share a solution found by another solver working on the same problem.
+     * The solution is adopted by the solver which manages this move,
+     * in its own thread, the next time a decision is needed:
+     * the current fragment is abandoned and the next ones are computed from this solution.
+     * <p>
+     * This method is thread-safe, and a solution shared before the previous one is adopted replaces it.
+     * </p>
+     *
+     * @param solution a solution, which is only read
+     * @implSpec The values of the variables of the neighbor are read by their ID,
+     * so the two models should declare the same variables in the same order.
+     */
+    public void shareSolution(Solution solution) {
+        shared.set(solution);
+    }
+
     @Override
     public void setTopDecisionPosition(int position) {
         move.setTopDecisionPosition(position);
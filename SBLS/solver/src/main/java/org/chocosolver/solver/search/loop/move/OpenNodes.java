@@ -0,0 +1,345 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.move;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionMaker;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.IntHeap;
+
+import java.util.Arrays;
+
+/**
+ * A compact store of the open right branches of {@link MoveBinaryHBFS}.
+ * <p>
+ * The decisions are stored in a tree, each one is shared by all the open nodes below it.
+ * An integer decision made with one of the operators of {@link DecisionOperatorFactory}
+ * is encoded with a few integers: its parent, its variable, its operator, its value and its branch.
+ * Any other decision is kept as a copy.
+ * A decision is freed as soon as no open node depends on it anymore.
+ * <p>
+ * The open nodes are ordered by bound, then by depth.
+ * When more than <i>capacity</i> decisions are stored, the worst open nodes are evicted.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+final class OpenNodes {
+
+    @SuppressWarnings("unchecked")
+    private static final DecisionOperator<IntVar>[] OPS = (DecisionOperator<IntVar>[]) new DecisionOperator<?>[]{
+            DecisionOperatorFactory.makeIntEq(),
+            DecisionOperatorFactory.makeIntNeq(),
+            DecisionOperatorFactory.makeIntSplit(),
+            DecisionOperatorFactory.makeIntReverseSplit()
+    };
+    /**
+     * Operator code of a decision which is kept as a copy
+     */
+    private static final int COPY = OPS.length;
+
+    /**
+     * The stored decisions, <i>parent</i> also links the free slots
+     */
+    private int[] parent, var, value, op, branch, refs;
+    private Decision<?>[] copies;
+    private int freeDecision = -1, nextDecision, nbDecisions;
+    /**
+     * The variables of the integer decisions, and the position of each of them wrt its ID
+     */
+    private IntVar[] vars = new IntVar[8];
+    private int nbVars;
+    private final TIntIntHashMap varIdx = new TIntIntHashMap(16, .5f, -1, -1);
+
+    /**
+     * The open nodes: their deepest decision, their bound and their depth.
+     * <i>node</i> also links the free slots
+     */
+    private int[] node, bound, depth;
+    private int freeOpen = -1, nextOpen;
+    private final IntHeap heap;
+    /**
+     * 1 for minimization, -1 for maximization
+     */
+    private final int minimization;
+    private final int capacity;
+    /**
+     * The best bound among the evicted open nodes
+     */
+    private int evictedBound;
+    private boolean evicted;
+
+    /**
+     * @param minimization set to <tt>true</tt> for minimization
+     * @param capacity     maximum number of decisions to store
+     */
+    OpenNodes(boolean minimization, int capacity) {
+        this.minimization = minimization ? 1 : -1;
+        this.capacity = capacity;
+        int n = 64;
+        parent = new int[n];
+        var = new int[n];
+        value = new int[n];
+        op = new int[n];
+        branch = new int[n];
+        refs = new int[n];
+        copies = new Decision<?>[n];
+        node = new int[n];
+        bound = new int[n];
+        depth = new int[n];
+        heap = new IntHeap(this::before);
+    }
+
+    /**
+     * @return <tt>true</tt> if the open node <i>a</i> is to be explored before <i>b</i>:
+     * the minimum lower bound first, then the maximum depth.
+     */
+    private boolean before(int a, int b) {
+        int clb = minimization * (bound[a] - bound[b]);
+        return clb == 0 ? depth[b] - depth[a] < 0 : clb < 0;
+    }
+
+    /**
+     * The branch to store for <i>d</i>: the one it will be set to,
+     * once duplicated, to be extended from the decision path.
+     */
+    private static int branchOf(Decision<?> d) {
+        return 1 - d.triesLeft();
+    }
+
+    private static int opOf(Decision<?> d) {
+        if (d instanceof IntDecision) {
+            DecisionOperator<IntVar> dop = ((IntDecision) d).getDecOp();
+            for (int i = 0; i < OPS.length; i++) {
+                if (OPS[i] == dop) {
+                    return i;
+                }
+            }
+        }
+        return COPY;
+    }
+
+    /**
+     * Store a decision.
+     *
+     * @param p the decision above <i>d</i>, -1 if none
+     * @param d a decision of the decision path
+     * @return the index of the stored decision
+     */
+    int store(int p, Decision<?> d) {
+        int e;
+        if (freeDecision >= 0) {
+            e = freeDecision;
+            freeDecision = parent[e];
+        } else {
+            if (nextDecision == parent.length) {
+                int n = parent.length * 2;
+                parent = Arrays.copyOf(parent, n);
+                var = Arrays.copyOf(var, n);
+                value = Arrays.copyOf(value, n);
+                op = Arrays.copyOf(op, n);
+                branch = Arrays.copyOf(branch, n);
+                refs = Arrays.copyOf(refs, n);
+                copies = Arrays.copyOf(copies, n);
+            }
+            e = nextDecision++;
+        }
+        nbDecisions++;
+        parent[e] = p;
+        if (p >= 0) {
+            refs[p]++;
+        }
+        refs[e] = 0;
+        op[e] = opOf(d);
+        branch[e] = branchOf(d);
+        if (op[e] == COPY) {
+            copies[e] = d.duplicate();
+        } else {
+            IntDecision id = (IntDecision) d;
+            var[e] = varIndex(id.getDecisionVariable());
+            value[e] = id.getDecisionValue();
+        }
+        return e;
+    }
+
+    private int varIndex(IntVar v) {
+        int i = varIdx.get(v.getId());
+        if (i < 0 || vars[i] != v) {
+            if (nbVars == vars.length) {
+                vars = Arrays.copyOf(vars, nbVars * 2);
+            }
+            i = nbVars++;
+            vars[i] = v;
+            varIdx.put(v.getId(), i);
+        }
+        return i;
+    }
+
+    /**
+     * @return <tt>true</tt> if the stored decision <i>e</i> is <i>d</i>, as it would be stored now
+     */
+    boolean matches(int e, Decision<?> d) {
+        if (op[e] == COPY || op[e] != opOf(d) || branch[e] != branchOf(d)) {
+            return false;
+        }
+        IntDecision id = (IntDecision) d;
+        return vars[var[e]] == id.getDecisionVariable() && value[e] == id.getDecisionValue();
+    }
+
+    /**
+     * Release a reference to the stored decision <i>e</i>,
+     * and free it, and its ancestors, if they are not referenced anymore.
+     */
+    void release(int e) {
+        while (e >= 0 && --refs[e] == 0) {
+            int p = parent[e];
+            if (copies[e] != null) {
+                copies[e].free();
+                copies[e] = null;
+            }
+            parent[e] = freeDecision;
+            freeDecision = e;
+            nbDecisions--;
+            e = p;
+        }
+    }
+
+    /**
+     * Add an open node.
+     *
+     * @param e     its deepest decision
+     * @param b     its bound
+     * @param depth its number of decisions
+     */
+    void add(int e, int b, int depth) {
+        int o;
+        if (freeOpen >= 0) {
+            o = freeOpen;
+            freeOpen = node[o];
+        } else {
+            if (nextOpen == node.length) {
+                int n = node.length * 2;
+                node = Arrays.copyOf(node, n);
+                bound = Arrays.copyOf(bound, n);
+                this.depth = Arrays.copyOf(this.depth, n);
+            }
+            o = nextOpen++;
+        }
+        refs[e]++;
+        node[o] = e;
+        bound[o] = b;
+        this.depth[o] = depth;
+        heap.insert(o);
+    }
+
+    /**
+     * @return the best open node, or -1 if there is none. It is still to be {@link #take(int)}.
+     */
+    int poll() {
+        return heap.isEmpty() ? -1 : heap.removeMin();
+    }
+
+    /**
+     * @return the bound of the open node <i>o</i>
+     */
+    int bound(int o) {
+        return bound[o];
+    }
+
+    /**
+     * Remove the open node <i>o</i>, returned by {@link #poll()}.
+     *
+     * @return its deepest decision, still referenced: it should be {@link #release(int)}d after use
+     */
+    int take(int o) {
+        int e = node[o];
+        node[o] = freeOpen;
+        freeOpen = o;
+        return e;
+    }
+
+    /**
+     * Rebuild the decisions from the top to the stored decision <i>e</i>.
+     *
+     * @param e     a stored decision
+     * @param maker to build integer decisions
+     * @param chain filled with the stored decisions, from the top
+     * @return the decisions, from the top
+     */
+    Decision<?>[] decode(int e, DecisionMaker maker, TIntArrayList chain) {
+        chain.resetQuick();
+        for (int f = e; f >= 0; f = parent[f]) {
+            chain.add(f);
+        }
+        chain.reverse();
+        Decision<?>[] path = new Decision<?>[chain.size()];
+        for (int i = 0; i < path.length; i++) {
+            int f = chain.getQuick(i);
+            Decision<?> d = op[f] == COPY ?
+                    copies[f].duplicate() :
+                    maker.makeIntDecision(vars[var[f]], OPS[op[f]], value[f]);
+            for (int k = 0; k < branch[f]; k++) {
+                d.buildNext();
+            }
+            path[i] = d;
+        }
+        return path;
+    }
+
+    /**
+     * Evict the worst open nodes when more than <i>capacity</i> decisions are stored,
+     * until three quarters of it are reached.
+     */
+    void shrink() {
+        if (nbDecisions <= capacity || heap.isEmpty()) {
+            return;
+        }
+        Integer[] opens = new Integer[heap.size()];
+        for (int i = 0; i < opens.length; i++) {
+            opens[i] = heap.get(i);
+        }
+        // the worst ones first
+        Arrays.sort(opens, (a, b) -> before(a, b) ? 1 : before(b, a) ? -1 : 0);
+        long target = capacity / 4L * 3L;
+        int i = 0;
+        while (i < opens.length && nbDecisions > target) {
+            int o = opens[i++];
+            if (!evicted || minimization * (bound[o] - evictedBound) < 0) {
+                evictedBound = bound[o];
+            }
+            evicted = true;
+            release(take(o));
+        }
+        TIntArrayList kept = new TIntArrayList(opens.length - i);
+        for (; i < opens.length; i++) {
+            kept.add(opens[i]);
+        }
+        heap.build(kept);
+    }
+
+    /**
+     * @return <tt>true</tt> if some open nodes have been evicted
+     */
+    boolean hasEvicted() {
+        return evicted;
+    }
+
+    /**
+     * @return the best bound among the evicted open nodes
+     */
+    int evictedBound() {
+        return evictedBound;
+    }
+}
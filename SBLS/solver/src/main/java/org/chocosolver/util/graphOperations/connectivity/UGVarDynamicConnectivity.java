@@ -0,0 +1,300 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.graphOperations.connectivity;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateBool;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.variables.UndirectedGraphVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+
+import java.util.Arrays;
+
+/**
+ * Connected components of the envelope of an undirected graph variable,
+ * maintained through a backtrackable spanning forest.
+ * <p>
+ * Each potential node stores its parent in the forest, as a backtrackable int.
+ * Since the envelope can only lose nodes and edges within a branch,
+ * the forest restored on backtrack spans the envelope, or a supergraph of it.
+ * On {@link #findAllCC()}, tree edges that left the envelope are cut,
+ * then the pieces of each former tree are reconnected with replacement edges,
+ * searched from all pieces but the largest one.
+ * So, the cost of an update is O(n) plus the degrees of the nodes that got disconnected from the largest piece
+ * of their tree, instead of O(n+m) for a new exploration of the envelope.
+ * <br/>
+ * The output is the same as the one of {@link ConnectivityFinder#findAllCC()}, applied to the envelope.
+ *
+ * SEE ConnectivityFinder
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class UGVarDynamicConnectivity {
+
+    // input data
+    private final UndirectedGraphVar g;
+    private final int n;
+
+    // backtrackable spanning forest
+    private final IStateInt[] parent;
+    private final IStateBool built;
+
+    // internal variables
+    private final int[] oldRoot;
+    private final int[] root;
+    private final int[] uf;
+    private final int[] pieceSize;
+    private final int[] largest;
+    private final int[] fifo;
+
+    // output data
+    private final int[] CCFirstNode;
+    private final int[] CCNextNode;
+    private final int[] nodeCC;
+    private final int[] sizeCC;
+    private int nbCC, sizeMinCC, sizeMaxCC;
+
+    // --- constructor
+    public UGVarDynamicConnectivity(UndirectedGraphVar g) {
+        this.g = g;
+        this.n = g.getNbMaxNodes();
+        IEnvironment environment = g.getModel().getEnvironment();
+        this.parent = new IStateInt[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = environment.makeInt(-1);
+        }
+        this.built = environment.makeBool(false);
+        this.oldRoot = new int[n];
+        this.root = new int[n];
+        this.uf = new int[n];
+        this.pieceSize = new int[n];
+        this.largest = new int[n];
+        this.fifo = new int[n];
+        this.CCFirstNode = new int[n];
+        this.CCNextNode = new int[n];
+        this.nodeCC = new int[n];
+        this.sizeCC = new int[n];
+    }
+
+    //***********************************************************************************
+    // CONNECTIVITY
+    //***********************************************************************************
+
+    /**
+     * Bring the spanning forest up to date wrt the envelope, and compute the connected components of the envelope
+     */
+    public void findAllCC() {
+        if (!built.get()) {
+            build();
+        } else {
+            repair();
+        }
+        label();
+    }
+
+    /**
+     * Build a spanning forest of the envelope from scratch, by BFS
+     */
+    private void build() {
+        Arrays.fill(root, -1);
+        for (int s : g.getPotentialNodes()) {
+            if (root[s] == -1) {
+                int first = 0;
+                int last = 0;
+                fifo[last++] = s;
+                root[s] = s;
+                parent[s].set(-1);
+                while (first < last) {
+                    int i = fifo[first++];
+                    for (int j : g.getPotentialNeighborsOf(i)) {
+                        if (root[j] == -1) {
+                            root[j] = s;
+                            parent[j].set(i);
+                            fifo[last++] = j;
+                        }
+                    }
+                }
+            }
+        }
+        built.set(true);
+    }
+
+    /**
+     * Cut the tree edges that left the envelope and reconnect the pieces with replacement edges
+     */
+    private void repair() {
+        ISet nodes = g.getPotentialNodes();
+        // 1. roots of the former trees
+        findRoots(oldRoot);
+        // 2. cut tree edges that are no longer in the envelope
+        boolean cut = false;
+        for (int i = 0; i < n; i++) {
+            int p = parent[i].get();
+            if (p != -1 && (!nodes.contains(i) || !nodes.contains(p) || !g.getPotentialNeighborsOf(i).contains(p))) {
+                parent[i].set(-1);
+                cut = true;
+            }
+        }
+        if (!cut) {
+            for (int i = 0; i < n; i++) {
+                root[i] = oldRoot[i];
+            }
+            return;
+        }
+        findRoots(root);
+        // 3. the largest piece of each former tree needs not to be scanned
+        for (int i : nodes) {
+            pieceSize[root[i]] = 0;
+            largest[oldRoot[i]] = -1;
+            uf[root[i]] = root[i];
+        }
+        for (int i : nodes) {
+            pieceSize[root[i]]++;
+        }
+        for (int i : nodes) {
+            int r = root[i];
+            int l = largest[oldRoot[i]];
+            if (l == -1 || pieceSize[r] > pieceSize[l]) {
+                largest[oldRoot[i]] = r;
+            }
+        }
+        // 4. replacement edges
+        for (int i : nodes) {
+            if (largest[oldRoot[i]] == root[i]) {
+                continue;
+            }
+            for (int j : g.getPotentialNeighborsOf(i)) {
+                int ri = find(root[i]);
+                int rj = find(root[j]);
+                if (ri != rj) {
+                    uf[ri] = rj;
+                    link(i, j);
+                }
+            }
+        }
+        for (int i : nodes) {
+            root[i] = find(root[i]);
+        }
+    }
+
+    /**
+     * Make <i>i</i> the root of its tree, then hang it to <i>j</i>
+     */
+    private void link(int i, int j) {
+        int prev = j;
+        int cur = i;
+        while (cur != -1) {
+            int next = parent[cur].get();
+            parent[cur].set(prev);
+            prev = cur;
+            cur = next;
+        }
+    }
+
+    private int find(int i) {
+        while (uf[i] != i) {
+            uf[i] = uf[uf[i]];
+            i = uf[i];
+        }
+        return i;
+    }
+
+    /**
+     * Store in <i>roots</i> the root of each potential node in the current forest
+     */
+    private void findRoots(int[] roots) {
+        ISet nodes = g.getPotentialNodes();
+        for (int i = 0; i < n; i++) {
+            roots[i] = -1;
+        }
+        for (int i : nodes) {
+            if (roots[i] == -1) {
+                int last = 0;
+                int j = i;
+                while (roots[j] == -1 && parent[j].get() != -1) {
+                    fifo[last++] = j;
+                    j = parent[j].get();
+                }
+                int r = roots[j] == -1 ? j : roots[j];
+                roots[j] = r;
+                while (last > 0) {
+                    roots[fifo[--last]] = r;
+                }
+            }
+        }
+    }
+
+    private void label() {
+        Arrays.fill(CCFirstNode, -1);
+        Arrays.fill(sizeCC, -1);
+        Arrays.fill(nodeCC, -1);
+        sizeMinCC = 0;
+        sizeMaxCC = 0;
+        int cc = 0;
+        for (int i : g.getPotentialNodes()) {
+            int r = root[i];
+            if (nodeCC[r] == -1) {
+                nodeCC[r] = cc++;
+                sizeCC[nodeCC[r]] = 0;
+            }
+            int c = nodeCC[r];
+            nodeCC[i] = c;
+            CCNextNode[i] = CCFirstNode[c];
+            CCFirstNode[c] = i;
+            sizeCC[c]++;
+        }
+        nbCC = cc;
+        for (int c = 0; c < nbCC; c++) {
+            if (sizeMinCC == 0 || sizeMinCC > sizeCC[c]) {
+                sizeMinCC = sizeCC[c];
+            }
+            if (sizeMaxCC < sizeCC[c]) {
+                sizeMaxCC = sizeCC[c];
+            }
+        }
+    }
+
+    // --- accessors
+
+    /**
+     * @return the number of CC in the envelope, as computed on the last call to {@link #findAllCC()}
+     */
+    public int getNBCC() {
+        return nbCC;
+    }
+
+    public int getSizeMinCC() {
+        return sizeMinCC;
+    }
+
+    public int getSizeMaxCC() {
+        return sizeMaxCC;
+    }
+
+    public int[] getSizeCC() {
+        return sizeCC;
+    }
+
+    public int[] getCCFirstNode() {
+        return CCFirstNode;
+    }
+
+    public int[] getCCNextNode() {
+        return CCNextNode;
+    }
+
+    /**
+     * @return the CC of each node, -1 for nodes out of the envelope
+     */
+    public int[] getNodeCC() {
+        return nodeCC;
+    }
+}
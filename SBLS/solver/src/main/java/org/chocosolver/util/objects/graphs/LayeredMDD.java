@@ -0,0 +1,225 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.objects.graphs;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+/**
+ * A read-only, layered view of a {@link MultivaluedDecisionDiagram}, made of nodes and labelled edges.
+ * <p>
+ * Nodes are numbered layer by layer: nodes of layer <i>l</i> are in [nodeStart(l), nodeStart(l+1)),
+ * the root is 0 and the terminal node is the only node of the last layer, <i>n</i>.
+ * Edges are numbered by tail: out-going edges of node <i>u</i> are in [outStart(u), outStart(u+1)).
+ * In-coming edges of a node and edges labelled with a given value are stored as contiguous segments.
+ * A value is referred to by a flat index: the j<sup>th</sup> value of layer <i>l</i> is valueStart(l) + j.
+ * <p>
+ * Only nodes that can be reached from the root are considered,
+ * and an edge to the terminal node is kept only if it goes out of the last layer of variables.
+ * This view is built once per diagram, see {@link MultivaluedDecisionDiagram#getLayered()},
+ * and can be shared by any number of propagators.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public final class LayeredMDD {
+
+    private final int nbLayers;
+    private final int[] nodeStart;
+    private final int[] outStart;
+    private final int[] tail;
+    private final int[] head;
+    private final int[] label;
+    private final int[] inStart;
+    private final int[] inEdges;
+    private final int[] valueStart;
+    private final int[] labelStart;
+    private final int[] labelEdges;
+
+    LayeredMDD(MultivaluedDecisionDiagram mdd, int nbLayers) {
+        this.nbLayers = nbLayers;
+        int[] diagram = mdd.getDiagram();
+        this.valueStart = new int[nbLayers + 1];
+        for (int l = 0; l < nbLayers; l++) {
+            valueStart[l + 1] = valueStart[l] + mdd.getNodeSize(l);
+        }
+        // breadth-first exploration, layer by layer
+        this.nodeStart = new int[nbLayers + 2];
+        TIntArrayList cells = new TIntArrayList(); // diagram index of each node
+        TIntArrayList tails = new TIntArrayList();
+        TIntArrayList heads = new TIntArrayList(); // diagram index, then node
+        TIntArrayList labels = new TIntArrayList();
+        TIntIntHashMap ids = new TIntIntHashMap(16, .5f, -1, -1);
+        TIntArrayList outs = new TIntArrayList();
+        cells.add(0);
+        for (int l = 0; l < nbLayers; l++) {
+            nodeStart[l + 1] = cells.size();
+            ids.clear();
+            boolean last = l == nbLayers - 1;
+            for (int u = nodeStart[l]; u < nodeStart[l + 1]; u++) {
+                outs.add(tails.size());
+                int node = cells.get(u);
+                for (int j = 0; j < mdd.getNodeSize(l); j++) {
+                    int c = node + j < diagram.length ? diagram[node + j] : MultivaluedDecisionDiagram.EMPTY;
+                    if (c == MultivaluedDecisionDiagram.EMPTY
+                            || (c == MultivaluedDecisionDiagram.TERMINAL) != last) {
+                        continue;
+                    }
+                    int v;
+                    if (last) {
+                        v = -1;
+                    } else {
+                        v = ids.get(c);
+                        if (v == -1) {
+                            v = cells.size();
+                            ids.put(c, v);
+                            cells.add(c);
+                        }
+                    }
+                    tails.add(u);
+                    heads.add(v);
+                    labels.add(valueStart[l] + j);
+                }
+            }
+        }
+        int terminal = cells.size();
+        nodeStart[nbLayers + 1] = terminal + 1;
+        outs.add(tails.size()); // the terminal node has no out-going edge
+        outs.add(tails.size());
+        this.outStart = outs.toArray();
+        this.tail = tails.toArray();
+        this.head = heads.toArray();
+        this.label = labels.toArray();
+        for (int e = 0; e < head.length; e++) {
+            if (head[e] == -1) {
+                head[e] = terminal;
+            }
+        }
+        // in-coming edges and edges per value, by counting sort
+        this.inStart = new int[terminal + 2];
+        this.inEdges = new int[head.length];
+        this.labelStart = new int[valueStart[nbLayers] + 1];
+        this.labelEdges = new int[head.length];
+        bucket(head, inStart, inEdges);
+        bucket(label, labelStart, labelEdges);
+    }
+
+    private static void bucket(int[] keys, int[] start, int[] sorted) {
+        for (int key : keys) {
+            start[key + 1]++;
+        }
+        for (int k = 1; k < start.length; k++) {
+            start[k] += start[k - 1];
+        }
+        int[] pos = new int[start.length];
+        System.arraycopy(start, 0, pos, 0, start.length);
+        for (int e = 0; e < keys.length; e++) {
+            sorted[pos[keys[e]]++] = e;
+        }
+    }
+
+    /**
+     * @return the number of layers of variables, the terminal node stands alone in layer {@link #getNbLayers()}
+     */
+    public int getNbLayers() {
+        return nbLayers;
+    }
+
+    /**
+     * @return the number of nodes, including the terminal one
+     */
+    public int getNbNodes() {
+        return nodeStart[nbLayers + 1];
+    }
+
+    public int getNbEdges() {
+        return tail.length;
+    }
+
+    /**
+     * @return the number of flat value indices
+     */
+    public int getNbValues() {
+        return valueStart[nbLayers];
+    }
+
+    /**
+     * @return the first node of <i>layer</i>, for <i>layer</i> in [0, n+1]
+     */
+    public int nodeStart(int layer) {
+        return nodeStart[layer];
+    }
+
+    /**
+     * @return the terminal node
+     */
+    public int terminal() {
+        return nodeStart[nbLayers];
+    }
+
+    /**
+     * @return the first out-going edge of <i>node</i>, the out-going edges of <i>node</i> end at outStart(node + 1)
+     */
+    public int outStart(int node) {
+        return outStart[node];
+    }
+
+    public int tail(int edge) {
+        return tail[edge];
+    }
+
+    public int head(int edge) {
+        return head[edge];
+    }
+
+    /**
+     * @return the flat index of the value of <i>edge</i>
+     */
+    public int label(int edge) {
+        return label[edge];
+    }
+
+    /**
+     * @return the position of the first in-coming edge of <i>node</i> in {@link #getInEdges()},
+     * they end at inStart(node + 1)
+     */
+    public int inStart(int node) {
+        return inStart[node];
+    }
+
+    /**
+     * Return the in-coming edges of all nodes (not a copy), grouped by head
+     */
+    public int[] getInEdges() {
+        return inEdges;
+    }
+
+    /**
+     * @return the flat index of the first value of <i>layer</i>, for <i>layer</i> in [0, n]
+     */
+    public int valueStart(int layer) {
+        return valueStart[layer];
+    }
+
+    /**
+     * @return the position of the first edge labelled with <i>value</i> (a flat index) in {@link #getLabelEdges()},
+     * they end at labelStart(value + 1)
+     */
+    public int labelStart(int value) {
+        return labelStart[value];
+    }
+
+    /**
+     * Return the edges of all values (not a copy), grouped by flat value index
+     */
+    public int[] getLabelEdges() {
+        return labelEdges;
+    }
+}
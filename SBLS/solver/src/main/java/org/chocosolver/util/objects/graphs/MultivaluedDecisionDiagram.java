@@ -11,11 +11,14 @@ package org.chocosolver.util.objects.graphs;
 
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.variables.IntVar;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A Multi-valued Decision Diagram (MDD for short) to store
@@ -84,6 +87,11 @@ public class MultivaluedDecisionDiagram {
     private final Compact compact;
     private final boolean sortTuples;
 
+    /**
+     * Layered view of the diagram, built on demand and shared by the propagators
+     */
+    private LayeredMDD layered;
+
     // TEMPORARY DATA STRUCTURE, PREFIX WITH "_", CLEARED AFTER USAGE
     private TIntIntHashMap _nodesToRemove; // store the nodes to remove and the size of each node
     private ArrayList<int[]>[][] _identicalNodes; // store child nodes of a node
@@ -106,6 +114,60 @@ public class MultivaluedDecisionDiagram {
         return FLATDOM;
     }
 
+    /**
+     * Return the MDD of a set of tuples over the initial domains of some variables,
+     * built once per model: posting the same tuples over variables with the same bounds many times
+     * shares one reduced diagram, and the same {@link LayeredMDD}.
+     * The tuples are identified by reference and by their number, so that adding tuples leads to a new diagram.
+     *
+     * @param VARIABLES array of variables
+     * @param TUPLES    set of (allowed) tuples
+     * @return a MDD, that may be shared with other constraints of the model
+     */
+    @SuppressWarnings("unchecked")
+    public static MultivaluedDecisionDiagram share(IntVar[] VARIABLES, Tuples TUPLES) {
+        Model model = VARIABLES[0].getModel();
+        Map<CacheKey, MultivaluedDecisionDiagram> cache =
+                (Map<CacheKey, MultivaluedDecisionDiagram>) model.getHook(Model.MDD_HOOK_NAME);
+        if (cache == null) {
+            cache = new HashMap<>();
+            model.addHook(Model.MDD_HOOK_NAME, cache);
+        }
+        int[] bounds = new int[2 * VARIABLES.length];
+        for (int i = 0; i < VARIABLES.length; i++) {
+            bounds[2 * i] = VARIABLES[i].getLB();
+            bounds[2 * i + 1] = VARIABLES[i].getUB();
+        }
+        return cache.computeIfAbsent(new CacheKey(TUPLES, bounds),
+                k -> new MultivaluedDecisionDiagram(VARIABLES, TUPLES));
+    }
+
+    private static final class CacheKey {
+        private final Tuples tuples;
+        private final int nbTuples;
+        private final int[] bounds;
+
+        private CacheKey(Tuples tuples, int[] bounds) {
+            this.tuples = tuples;
+            this.nbTuples = tuples.nbTuples();
+            this.bounds = bounds;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey k = (CacheKey) o;
+            return tuples == k.tuples && nbTuples == k.nbTuples && Arrays.equals(bounds, k.bounds);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(tuples) + nbTuples) + Arrays.hashCode(bounds);
+        }
+    }
+
     /**
      * Create an MDD based on an array of flatten domains and a set of tuples
      * Note that the MDD is compacted once all tuples are added.
@@ -231,6 +293,7 @@ public class MultivaluedDecisionDiagram {
      * @param TUPLE tuple to add
      */
     public boolean addTuple(int[] TUPLE) {
+        layered = null;
         for (int i = 0; i < nbLayers; i++) {
             // if the tuple is out of declared domain
             if (TUPLE[i] < offsets[i] || TUPLE[i] >= offsets[i] + sizes[i]) {
@@ -493,6 +556,17 @@ public class MultivaluedDecisionDiagram {
         return mdd;
     }
 
+    /**
+     * Return the layered view of the diagram, built on the first call, then shared.
+     */
+    public LayeredMDD getLayered() {
+        LayeredMDD l = layered;
+        if (l == null) {
+            layered = l = new LayeredMDD(this, nbLayers);
+        }
+        return l;
+    }
+
     /**
      * Return the initial domain size of the variable in layer
      *
@@ -0,0 +1,161 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.limits.SolutionCounter;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.*;
+import java.util.List;
+
+/**
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class SolutionStoreTest {
+
+    private static Model model() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 4, -3, 40);
+        model.allDifferent(xs).post();
+        model.arithm(xs[0], "+", xs[1], "=", 37).post();
+        IntVar big = model.intVar("big", Integer.MIN_VALUE / 2, Integer.MAX_VALUE / 2, true);
+        model.arithm(big, "=", xs[2], "*", 1_000_000).post();
+        BoolVar b = model.boolVar("b");
+        model.reifyXltC(xs[3], 10, b);
+        model.intVar("c", 7);
+        return model;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFindAllSolutions() {
+        List<Solution> solutions = model().getSolver().findAllSolutions();
+        Model model = model();
+        SolutionStore store = model.getSolver().findAllSolutions(new SolutionStore(model));
+        Assert.assertEquals(store.size(), solutions.size());
+        Assert.assertTrue(store.size() > 1000);
+        IntVar[] vars = store.getVars();
+        List<IntVar> others = solutions.get(0).retrieveIntVars(true);
+        Assert.assertEquals(vars.length, others.size());
+        int k = 0;
+        for (Solution s : store) {
+            for (int i = 0; i < vars.length; i++) {
+                int v = solutions.get(k).getIntVal(others.get(i));
+                Assert.assertEquals(store.getIntVal(k, vars[i]), v);
+                Assert.assertEquals(s.getIntVal(vars[i]), v);
+            }
+            k++;
+        }
+        Assert.assertEquals(k, store.size());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMonitorAndRestore() throws ContradictionException {
+        Model model = model();
+        SolutionStore store = new SolutionStore(model);
+        model.getSolver().plugMonitor(store);
+        model.getSolver().findAllSolutions();
+        int n = (int) model.getSolver().getSolutionCount();
+        Assert.assertEquals(store.size(), n);
+        int[] last = store.getIntVals(n - 1);
+        model.getSolver().reset();
+        model.getEnvironment().worldPush();
+        store.restore(n - 1);
+        IntVar[] vars = store.getVars();
+        for (int i = 0; i < vars.length; i++) {
+            Assert.assertTrue(vars[i].isInstantiatedTo(last[i]));
+        }
+        model.getEnvironment().worldPop();
+        Assert.assertFalse(vars[0].isInstantiated());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testWriteRead() throws IOException {
+        Model model = model();
+        IntVar[] xs = model.retrieveIntVars(true);
+        SolutionStore store = model.getSolver().findAllSolutions(new SolutionStore(model, xs));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        store.write(new DataOutputStream(bytes));
+        SolutionStore copy = new SolutionStore(model, xs);
+        copy.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        copy.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        Assert.assertEquals(copy.size(), 2 * store.size());
+        for (int s = 0; s < store.size(); s++) {
+            Assert.assertEquals(copy.getIntVals(s), store.getIntVals(s));
+            Assert.assertEquals(copy.getIntVals(store.size() + s), store.getIntVals(s));
+        }
+        SolutionStore other = new SolutionStore(model, xs[0], xs[1]);
+        Assert.assertThrows(SolverException.class,
+                () -> other.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        // x[3] and b are swapped
+        IntVar[] ys = xs.clone();
+        ys[3] = xs[5];
+        ys[5] = xs[3];
+        SolutionStore swapped = new SolutionStore(model, ys);
+        Assert.assertThrows(SolverException.class,
+                () -> swapped.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        Assert.assertTrue(swapped.isEmpty());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testErrors() {
+        Model model = model();
+        IntVar[] xs = model.retrieveIntVars(true);
+        SolutionStore store = new SolutionStore(model, xs[0]);
+        Assert.assertThrows(SolverException.class, store::record);
+        Assert.assertTrue(store.isEmpty());
+        model.getSolver().solve();
+        store.record();
+        Assert.assertEquals(store.size(), 1);
+        Assert.assertThrows(SolverException.class, () -> store.getIntVal(0, xs[1]));
+        Assert.assertThrows(SolverException.class, () -> store.getIntVals(1));
+        store.clear();
+        Assert.assertTrue(store.isEmpty());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRecordOutOfInitialDomain() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 100);
+        IntVar y = model.intVar("y", 0, 3);
+        model.getEnvironment().worldPush();
+        x.updateBounds(10, 12, Cause.Null);
+        SolutionStore store = new SolutionStore(model, x, y);
+        model.getEnvironment().worldPop();
+        for (int v : new int[]{50, 5}) {
+            model.getEnvironment().worldPush();
+            y.instantiateTo(1, Cause.Null);
+            x.instantiateTo(v, Cause.Null);
+            Assert.assertThrows(SolverException.class, store::record);
+            Assert.assertTrue(store.isEmpty());
+            model.getEnvironment().worldPop();
+        }
+        model.getEnvironment().worldPush();
+        y.instantiateTo(2, Cause.Null);
+        x.instantiateTo(11, Cause.Null);
+        store.record();
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(store.getIntVals(0), new int[]{11, 2});
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSolutionCounter() {
+        Model model = model();
+        SolutionStore store = model.getSolver().findAllSolutions(new SolutionStore(model),
+                new SolutionCounter(model, 10));
+        Assert.assertEquals(store.size(), 10);
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 10);
+    }
+}
@@ -9,6 +9,10 @@
  */
 package org.chocosolver.solver;
 
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.SetVar;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -19,4 +23,94 @@ public class SolutionTest {
         final Solution emptySolution = new Solution(null);
         Assert.assertNotSame(emptySolution, emptySolution.copySolution());
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRecordRestore() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 5, 0, 4);
+        SetVar s = model.setVar("s", new int[]{}, new int[]{0, 1, 2});
+        model.allDifferent(xs).post();
+        model.member(xs[0], s).post();
+        model.getSolver().solve();
+        Solution solution = new Solution(model).record();
+        int[] values = new int[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            values[i] = xs[i].getValue();
+            Assert.assertEquals(solution.getIntVal(xs[i]), values[i]);
+        }
+        int[] set = s.getValue().toArray();
+        Solution copy = solution.copySolution();
+        copy.setIntVal(xs[0], -1);
+        Assert.assertEquals(solution.getIntVal(xs[0]), values[0]);
+        Assert.assertEquals(copy.getIntVal(xs[0]), -1);
+        model.getSolver().reset();
+        model.getEnvironment().worldPush();
+        solution.restore();
+        for (int i = 0; i < xs.length; i++) {
+            Assert.assertTrue(xs[i].isInstantiatedTo(values[i]));
+        }
+        Assert.assertEquals(s.getValue().toArray(), set);
+        model.getEnvironment().worldPop();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testUndeclaredVariables() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 3, 0, 4);
+        model.allDifferent(xs).post();
+        Solution solution = new Solution(model, xs[1]);
+        model.getSolver().solve();
+        solution.record();
+        Assert.assertEquals(solution.getIntVal(xs[1]), xs[1].getValue());
+        Assert.assertThrows(SolverException.class, () -> solution.getIntVal(xs[0]));
+        Assert.assertThrows(SolverException.class, () -> solution.getIntVal(xs[2]));
+        solution.setIntVal(xs[2], 7);
+        Assert.assertEquals(solution.getIntVal(xs[2]), 7);
+        Assert.assertEquals(solution.getIntVal(model.intVar(3)), 3);
+        // variables are identified by their ID, as for models built the same way
+        Model other = new Model();
+        IntVar[] ys = other.intVarArray("x", 3, 0, 4);
+        Assert.assertEquals(solution.getIntVal(ys[1]), xs[1].getValue());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRestoreNotInstantiated() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 3, 0, 4);
+        Solution solution = new Solution(model, xs);
+        model.getEnvironment().worldPush();
+        try {
+            xs[0].instantiateTo(1, Cause.Null);
+            xs[2].instantiateTo(3, Cause.Null);
+        } catch (ContradictionException e) {
+            Assert.fail();
+        }
+        solution.record();
+        model.getEnvironment().worldPop();
+        // xs[1] was not instantiated when recording
+        Assert.assertThrows(SolverException.class, () -> solution.getIntVal(xs[1]));
+        model.getEnvironment().worldPush();
+        Assert.assertThrows(ContradictionException.class, solution::restore);
+        model.getEnvironment().worldPop();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEmptyCopy() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 3, 0, 4);
+        model.allDifferent(xs).post();
+        Solution shape = new Solution(model, xs[2], xs[0]);
+        Solution first = shape.emptyCopy();
+        Solution second = shape.emptyCopy();
+        Assert.assertFalse(first.exists());
+        model.getSolver().solve();
+        first.record();
+        second.setIntVal(xs[0], 4);
+        Assert.assertFalse(shape.exists());
+        Assert.assertEquals(first.getIntVal(xs[0]), xs[0].getValue());
+        Assert.assertEquals(first.getIntVal(xs[2]), xs[2].getValue());
+        Assert.assertThrows(SolverException.class, () -> first.getIntVal(xs[1]));
+        Assert.assertEquals(second.getIntVal(xs[0]), 4);
+        Assert.assertThrows(SolverException.class, () -> second.getIntVal(xs[2]));
+    }
 }
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.graph.connectivity;
 
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
@@ -17,12 +19,16 @@ import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.UndirectedGraphVar;
 import org.chocosolver.util.ESat;
+import org.chocosolver.util.graphOperations.connectivity.ConnectivityFinder;
+import org.chocosolver.util.graphOperations.connectivity.UGVarDynamicConnectivity;
 import org.chocosolver.util.objects.graphs.GraphFactory;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.SetType;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Random;
+
 /**
  * Created by ezulkosk on 5/22/15.
  */
@@ -480,4 +486,64 @@ public class ConnectedTest {
 		}
 		Assert.assertEquals(model.getSolver().getSolutionCount(), count);
 	}
+
+	@Test(groups = "1s", timeOut = 60000)
+	public void testDynamicConnectivity() throws ContradictionException {
+		for (int seed = 0; seed < 20; seed++) {
+			Random rnd = new Random(seed);
+			Model model = new Model();
+			int n = 30;
+			UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.BIPARTITESET, false);
+			UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BIPARTITESET, false);
+			for (int i = 0; i < n; i++) {
+				GUB.addNode(i);
+				for (int j = 0; j < i; j++) {
+					if (rnd.nextInt(10) == 0) {
+						GUB.addEdge(i, j);
+					}
+				}
+			}
+			UndirectedGraphVar graph = model.graphVar("G", GLB, GUB);
+			UGVarDynamicConnectivity dyn = new UGVarDynamicConnectivity(graph);
+			ConnectivityFinder finder = new ConnectivityFinder(graph.getUB());
+			IEnvironment env = model.getEnvironment();
+			int depth = 0;
+			for (int step = 0; step < 300; step++) {
+				if (depth > 0 && rnd.nextInt(4) == 0) {
+					int k = 1 + rnd.nextInt(depth);
+					for (int d = 0; d < k; d++) {
+						env.worldPop();
+					}
+					depth -= k;
+				} else {
+					env.worldPush();
+					depth++;
+					int[] nodes = graph.getPotentialNodes().toArray();
+					int i = nodes[rnd.nextInt(nodes.length)];
+					if (rnd.nextInt(8) == 0) {
+						graph.removeNode(i, Cause.Null);
+					} else {
+						int[] neighbors = graph.getPotentialNeighborsOf(i).toArray();
+						for (int j : neighbors) {
+							if (rnd.nextBoolean()) {
+								graph.removeEdge(i, j, Cause.Null);
+							}
+						}
+					}
+				}
+				if (rnd.nextInt(3) > 0) {
+					dyn.findAllCC();
+					finder.findAllCC();
+					Assert.assertEquals(dyn.getNBCC(), finder.getNBCC());
+					Assert.assertEquals(dyn.getSizeMaxCC(), finder.getSizeMaxCC());
+					for (int i : graph.getPotentialNodes()) {
+						for (int j : graph.getPotentialNodes()) {
+							Assert.assertEquals(dyn.getNodeCC()[i] == dyn.getNodeCC()[j],
+									finder.getNodeCC()[i] == finder.getNodeCC()[j]);
+						}
+					}
+				}
+			}
+		}
+	}
 }
@@ -14,8 +14,21 @@
  */
 package org.chocosolver.solver.constraints.graph.cost.tsp;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.graph.cost.tsp.lagrangian.PropLagrOneTree;
+import org.chocosolver.solver.search.strategy.strategy.GraphCostBasedSearch;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.UndirectedGraphVar;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Random;
+
 public class TspTest {
 
     public final static String INSTANCE = "bier127.tsp";
@@ -32,4 +45,45 @@ public class TspTest {
             new TSP_exact(data, lns.getBestSolutionValue());
         }
     }
+
+    private static int solveRandom(int seed, int n, int lagrMode, int budget) {
+        Random rnd = new Random(seed);
+        int[][] costs = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                costs[i][j] = costs[j][i] = 1 + rnd.nextInt(100);
+            }
+        }
+        Model model = new Model();
+        IntVar totalCost = model.intVar("obj", 0, 100 * n, true);
+        UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.LINKED_LIST, true);
+        UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BIPARTITESET, true);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                GUB.addEdge(i, j);
+            }
+        }
+        UndirectedGraphVar graph = model.graphVar("G", GLB, GUB);
+        Constraint tsp = model.tsp(graph, totalCost, costs, lagrMode);
+        for (Propagator<?> p : tsp.getPropagators()) {
+            if (p instanceof PropLagrOneTree) {
+                ((PropLagrOneTree) p).setIterationBudget(budget);
+            }
+        }
+        tsp.post();
+        Solver solver = model.getSolver();
+        solver.setSearch(new GraphCostBasedSearch(graph, costs).configure(GraphCostBasedSearch.MIN_COST));
+        model.setObjective(Model.MINIMIZE, totalCost);
+        while (solver.solve()) ;
+        return solver.getBestSolutionValue().intValue();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLagrangianWarmStart() {
+        for (int seed = 0; seed < 10; seed++) {
+            int opt = solveRandom(seed, 9, 0, 0);
+            Assert.assertEquals(solveRandom(seed, 9, 1, 150), opt, "seed " + seed);
+            Assert.assertEquals(solveRandom(seed, 9, 1, 5), opt, "seed " + seed);
+        }
+    }
 }
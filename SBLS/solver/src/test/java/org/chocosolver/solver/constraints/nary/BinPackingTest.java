@@ -29,6 +29,7 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -183,4 +184,91 @@ public class BinPackingTest {
 			// should fail
 		}
 	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testKnapsack() {
+		int[] itemSize = new int[]{10, 10, 10, 9, 9, 9, 9, 2, 1};
+		Model model = new Model();
+		IntVar[] itemBin = model.intVarArray(itemSize.length, 0,1);
+		IntVar[] binLoad = model.intVarArray(2, 0, 69);
+		binLoad[0] = model.intVar(34, 35);
+		model.post(
+			new Constraint(
+				ConstraintsName.BINPACKING,
+				new PropBinPacking(itemBin, itemSize, binLoad, 0, false, true)
+			)
+		);
+		Assert.assertFalse(model.getSolver().solve());
+		Assert.assertEquals(model.getSolver().getNodeCount(), 0);
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testL2() {
+		// each pair of items exceeds the capacity, 3 bins are needed
+		int[] itemSize = new int[]{6, 6, 6};
+		Model model = new Model();
+		IntVar[] itemBin = model.intVarArray(itemSize.length, 0,1);
+		IntVar[] binLoad = model.intVarArray(2, 0, 10);
+		model.post(
+			new Constraint(
+				ConstraintsName.BINPACKING,
+				new PropBinPacking(itemBin, itemSize, binLoad, 0, false, true)
+			)
+		);
+		try {
+			model.getSolver().propagate();
+			Assert.fail();
+		} catch (ContradictionException e) {
+			// should fail
+		}
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testKnapsackRandom() {
+		Random rnd = new Random();
+		for (int seed = 0; seed < 40; seed++) {
+			rnd.setSeed(seed);
+			int n = 4 + rnd.nextInt(4);
+			int m = 2 + rnd.nextInt(2);
+			int[] itemSize = new int[n];
+			for (int i = 0; i < n; i++) {
+				itemSize[i] = 1 + rnd.nextInt(6);
+			}
+			int capa = 5 + rnd.nextInt(6);
+			long[] counts = new long[2];
+			for (int k = 0; k < 2; k++) {
+				Model model = new Model();
+				IntVar[] itemBin = model.intVarArray("b", n, 0, m - 1);
+				IntVar[] binLoad = model.intVarArray("l", m, 0, capa);
+				if (k == 0) {
+					bpDecomposition(itemBin, itemSize, binLoad, 0).post();
+				} else {
+					model.post(new Constraint(ConstraintsName.BINPACKING,
+						new PropBinPacking(itemBin, itemSize, binLoad, 0, true, true)));
+				}
+				Solver solver = model.getSolver();
+				solver.setSearch(Search.randomSearch(ArrayUtils.append(itemBin, binLoad), seed));
+				while (solver.solve()) ;
+				counts[k] = solver.getSolutionCount();
+			}
+			Assert.assertEquals(counts[1], counts[0], "seed " + seed);
+		}
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testKnapsackFactory() {
+		// no subset of the items fills the first bin exactly
+		int[] itemSize = new int[]{2, 12, 6, 6, 10, 12, 6};
+		long[] nodes = new long[2];
+		for (int k = 0; k < 2; k++) {
+			Model model = new Model();
+			IntVar[] itemBin = model.intVarArray(itemSize.length, 0, 1);
+			IntVar[] binLoad = new IntVar[]{model.intVar(19), model.intVar(0, 100)};
+			model.binPacking(itemBin, itemSize, binLoad, 0, k == 1).post();
+			Assert.assertFalse(model.getSolver().solve());
+			nodes[k] = model.getSolver().getNodeCount();
+		}
+		Assert.assertTrue(nodes[0] > 0);
+		Assert.assertEquals(nodes[1], 0);
+	}
 }
@@ -12,7 +12,9 @@ package org.chocosolver.solver.constraints.nary;
 import org.chocosolver.solver.Settings;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.constraints.nary.globalcardinality.GlobalCardinality;
 import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Random;
@@ -131,4 +133,106 @@ public class BoundGlobalCardinalityTest {
 
         }
     }
+
+    private static long[] solveRandom(long seed, String consistency) {
+        Random random = new Random(seed);
+        int n = 3 + random.nextInt(5);
+        int m = 2 + random.nextInt(4);
+        Model model = new Model();
+        int[] values = new int[m];
+        IntVar[] cards = new IntVar[m];
+        for (int i = 0; i < m; i++) {
+            values[i] = i;
+            int lb = random.nextInt(2);
+            cards[i] = model.intVar("card" + i, lb, lb + random.nextInt(3));
+        }
+        IntVar[] vars = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            vars[i] = model.intVar("v" + i, random.ints(1 + random.nextInt(4), 0, m + 1).toArray());
+        }
+        model.globalCardinality(vars, values, cards, false, consistency).post();
+        model.getSolver().setSearch(inputOrderLBSearch(append(vars, cards)));
+        long sols = model.getSolver().streamSolutions().count();
+        return new long[]{sols, model.getSolver().getNodeCount()};
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testConsistencyRandom() {
+        for (long seed = 0; seed < 300; seed++) {
+            long[] def = solveRandom(seed, GlobalCardinality.DEFAULT);
+            long[] ac = solveRandom(seed, GlobalCardinality.AC);
+            long[] bc = solveRandom(seed, GlobalCardinality.BC);
+            assertEquals(ac[0], def[0], "seed: " + seed);
+            assertEquals(bc[0], def[0], "seed: " + seed);
+            assertTrue(ac[1] <= def[1], "seed: " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAC() throws ContradictionException {
+        for (long seed = 0; seed < 100; seed++) {
+            Random random = new Random(seed);
+            int n = 3 + random.nextInt(4);
+            int m = 2 + random.nextInt(3);
+            int[] values = new int[m];
+            int[][] cards = new int[m][2];
+            int[][] doms = new int[n][];
+            for (int i = 0; i < m; i++) {
+                values[i] = i;
+                cards[i][0] = random.nextInt(2);
+                cards[i][1] = cards[i][0] + random.nextInt(3);
+            }
+            for (int i = 0; i < n; i++) {
+                doms[i] = random.ints(1 + random.nextInt(4), 0, m + 1).toArray();
+            }
+            Model model = new Model();
+            IntVar[] vars = new IntVar[n];
+            for (int i = 0; i < n; i++) {
+                vars[i] = model.intVar("v" + i, doms[i]);
+            }
+            IntVar[] cs = new IntVar[m];
+            for (int i = 0; i < m; i++) {
+                cs[i] = model.intVar("c" + i, cards[i][0], cards[i][1]);
+            }
+            model.globalCardinality(vars, values, cs, false, GlobalCardinality.AC).post();
+            try {
+                model.getSolver().propagate();
+            } catch (ContradictionException e) {
+                continue;
+            }
+            // each remaining value has a support
+            for (int i = 0; i < n; i++) {
+                for (int v = vars[i].getLB(); v <= vars[i].getUB(); v = vars[i].nextValue(v)) {
+                    Model sup = new Model();
+                    IntVar[] svars = new IntVar[n];
+                    for (int j = 0; j < n; j++) {
+                        svars[j] = j == i ? sup.intVar(v) : sup.intVar("v" + j, doms[j]);
+                    }
+                    IntVar[] scs = new IntVar[m];
+                    for (int j = 0; j < m; j++) {
+                        scs[j] = sup.intVar("c" + j, cards[j][0], cards[j][1]);
+                    }
+                    sup.globalCardinality(svars, values, scs, false).post();
+                    assertTrue(sup.getSolver().solve(), "seed: " + seed + ", " + vars[i] + " = " + v);
+                }
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testBCLargeDomains() {
+        Model model = new Model();
+        IntVar[] vars = model.intVarArray("v", 4, 0, 1_000_000, true);
+        IntVar[] cards = model.intVarArray("c", 2, 2, 2, true);
+        model.globalCardinality(vars, new int[]{0, 1_000_000}, cards, false, GlobalCardinality.BC).post();
+        try {
+            model.getSolver().propagate();
+        } catch (ContradictionException e) {
+            Assert.fail();
+        }
+        for (IntVar v : vars) {
+            assertTrue(v.isInstantiated() || (v.getLB() == 0 && v.getUB() == 1_000_000));
+        }
+        assertEquals(model.getSolver().streamSolutions().count(), 6);
+    }
 }
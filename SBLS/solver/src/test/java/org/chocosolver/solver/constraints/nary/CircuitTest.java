@@ -17,12 +17,17 @@
 package org.chocosolver.solver.constraints.nary;
 
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.nary.circuit.CircuitConf;
+import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 import static org.chocosolver.util.tools.ArrayUtils.append;
 import static org.testng.Assert.assertEquals;
@@ -136,4 +141,55 @@ public class CircuitTest {
         }
         Assert.assertEquals(model.getSolver().getSolutionCount(), 2);
     }
+
+    private static long[] solveRandom(int seed, int n, CircuitConf conf) {
+        Random rnd = new Random(seed);
+        Model model = new Model();
+        model.setSeed(seed);
+        IntVar[] x = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            int[] dom = IntStream.range(0, n).filter(j -> rnd.nextInt(10) < 6).toArray();
+            x[i] = model.intVar("x" + i, dom.length == 0 ? new int[]{i} : dom);
+        }
+        model.circuit(x, 0, conf).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.inputOrderLBSearch(x));
+        while (solver.solve()) ;
+        return new long[]{solver.getSolutionCount(), solver.getNodeCount()};
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSCCRandom() {
+        for (int seed = 0; seed < 30; seed++) {
+            long[] light = solveRandom(seed, 8, CircuitConf.LIGHT);
+            for (CircuitConf conf : new CircuitConf[]{CircuitConf.FIRST, CircuitConf.RD, CircuitConf.ALL}) {
+                long[] scc = solveRandom(seed, 8, conf);
+                Assert.assertEquals(scc[0], light[0], "seed " + seed + ", " + conf);
+                Assert.assertTrue(scc[1] <= light[1], "seed " + seed + ", " + conf);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSCCLargeRD() {
+        int n = 400;
+        Random rnd = new Random(0);
+        Model model = new Model();
+        IntVar[] x = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            int from = i;
+            int[] dom = IntStream.range(0, n).filter(j -> j != from && rnd.nextInt(100) < 3).toArray();
+            x[i] = model.intVar("x" + i, dom);
+        }
+        model.circuit(x).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.minDomLBSearch(x));
+        Assert.assertTrue(solver.solve());
+        int k = 0, i = 0;
+        do {
+            i = x[i].getValue();
+            k++;
+        } while (i != 0);
+        Assert.assertEquals(k, n);
+    }
 }
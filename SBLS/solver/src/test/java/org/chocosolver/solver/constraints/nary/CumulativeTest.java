@@ -13,8 +13,11 @@ import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Providers;
 import org.chocosolver.solver.Settings;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.nary.cumulative.CumulFilter;
 import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Task;
 import org.testng.Assert;
@@ -241,4 +244,248 @@ public class CumulativeTest {
 
         Assert.assertEquals(solver.getSolutionCount(), 8);
     }
+
+    private static IntVar[] edgeFindingInstance(Model model, Cumulative.Filter filter) {
+        // A and B share [0,8) on a resource of capacity 2, T needs 7 units of time
+        IntVar[] s = new IntVar[]{model.intVar("sA", 0, 3), model.intVar("sB", 0, 3), model.intVar("sT", 0, 13)};
+        int[] d = new int[]{5, 5, 7};
+        Task[] t = new Task[3];
+        for (int i = 0; i < 3; i++) {
+            t[i] = new Task(s[i], model.intVar(d[i]), model.offset(s[i], d[i]));
+        }
+        model.cumulative(t, new IntVar[]{model.intVar(1), model.intVar(1), model.intVar(1)},
+                model.intVar(2), false, filter).post();
+        return s;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEdgeFinding() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] s = edgeFindingInstance(model, Cumulative.Filter.EDGE_FINDING);
+        model.getSolver().propagate();
+        // T cannot end before A and B: the 2 units of spare energy in [0,8) are not enough
+        Assert.assertEquals(s[2].getLB(), 2);
+        Assert.assertEquals(s[0].getUB(), 3);
+        Assert.assertEquals(s[1].getUB(), 3);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTimeTableEdgeFinding() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] s = edgeFindingInstance(model, Cumulative.Filter.TIME_TABLE_EDGE_FINDING);
+        model.getSolver().propagate();
+        Assert.assertEquals(s[2].getLB(), 2);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEdgeFindingBeyondTimeTable() throws ContradictionException {
+        // no compulsory part, so the time-table cannot filter anything
+        for (boolean ef : new boolean[]{false, true}) {
+            Model model = new Model();
+            IntVar[] s = new IntVar[]{model.intVar("sA", 0, 6), model.intVar("sB", 0, 6), model.intVar("sT", 0, 17)};
+            int[] d = new int[]{4, 4, 3};
+            Task[] t = new Task[3];
+            for (int i = 0; i < 3; i++) {
+                t[i] = new Task(s[i], model.intVar(d[i]), model.offset(s[i], d[i]));
+            }
+            Cumulative.Filter[] filters = ef ?
+                    new Cumulative.Filter[]{Cumulative.Filter.TIME, Cumulative.Filter.EDGE_FINDING} :
+                    new Cumulative.Filter[]{Cumulative.Filter.TIME};
+            model.cumulative(t, new IntVar[]{model.intVar(1), model.intVar(1), model.intVar(1)},
+                    model.intVar(1), false, filters).post();
+            model.getSolver().propagate();
+            Assert.assertEquals(s[2].getLB(), ef ? 8 : 0);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEdgeFindingOverload() {
+        for (Cumulative.Filter f : new Cumulative.Filter[]{Cumulative.Filter.EDGE_FINDING, Cumulative.Filter.TIME_TABLE_EDGE_FINDING}) {
+            Model model = new Model();
+            Task[] t = new Task[3];
+            for (int i = 0; i < 3; i++) {
+                IntVar s = model.intVar("s" + i, 0, 2);
+                t[i] = new Task(s, model.intVar(3), model.offset(s, 3));
+            }
+            model.cumulative(t, new IntVar[]{model.intVar(1), model.intVar(1), model.intVar(1)},
+                    model.intVar(1), false, f).post();
+            Assert.assertThrows(ContradictionException.class, () -> model.getSolver().propagate());
+        }
+    }
+
+    private static long[] solveRandom(long seed, Cumulative.Filter... filters) {
+        java.util.Random rnd = new java.util.Random(seed);
+        Model model = new Model();
+        int n = 5;
+        Task[] t = new Task[n];
+        IntVar[] h = new IntVar[n];
+        IntVar[] s = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            int d = 1 + rnd.nextInt(4);
+            int est = rnd.nextInt(4);
+            s[i] = model.intVar("s" + i, est, est + rnd.nextInt(6));
+            t[i] = new Task(s[i], model.intVar(d), model.offset(s[i], d));
+            h[i] = model.intVar(1 + rnd.nextInt(3));
+        }
+        model.cumulative(t, h, model.intVar(3 + rnd.nextInt(2)), rnd.nextBoolean(), filters).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch(s));
+        long sols = solver.streamSolutions().count();
+        return new long[]{sols, solver.getNodeCount()};
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEdgeFindingRandom() {
+        for (long seed = 0; seed < 200; seed++) {
+            long[] ref = solveRandom(seed, Cumulative.Filter.TIME);
+            long[] ef = solveRandom(seed, Cumulative.Filter.TIME, Cumulative.Filter.EDGE_FINDING);
+            long[] ttef = solveRandom(seed, Cumulative.Filter.TIME, Cumulative.Filter.TIME_TABLE_EDGE_FINDING);
+            Assert.assertEquals(ef[0], ref[0], "seed: " + seed);
+            Assert.assertEquals(ttef[0], ref[0], "seed: " + seed);
+            Assert.assertTrue(ef[1] <= ref[1], "seed: " + seed);
+            Assert.assertTrue(ttef[1] <= ref[1], "seed: " + seed);
+        }
+    }
+
+    private static long[] solveIncremental(long seed, boolean graph, boolean fixed, Cumulative.Filter... filters) {
+        java.util.Random rnd = new java.util.Random(seed);
+        Model model = new Model();
+        int n = 5;
+        Task[] t = new Task[n];
+        IntVar[] h = new IntVar[n];
+        IntVar[] s = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            int est = rnd.nextInt(20);
+            s[i] = model.intVar("s" + i, est, est + rnd.nextInt(6));
+            int d = 1 + rnd.nextInt(6);
+            t[i] = new Task(s[i], model.intVar(d), model.offset(s[i], d));
+            h[i] = fixed ? model.intVar(1 + rnd.nextInt(3)) : model.intVar("h" + i, 1, 1 + rnd.nextInt(2));
+        }
+        IntVar capa = fixed ? model.intVar(2 + rnd.nextInt(3)) : model.intVar("c", 2, 4);
+        model.cumulative(t, h, capa, graph, filters).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(org.chocosolver.solver.search.strategy.Search.randomSearch(model.retrieveIntVars(true), seed));
+        long sols = solver.streamSolutions().count();
+        return new long[]{sols, solver.getNodeCount()};
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testIncrementalTimeTable() {
+        for (long seed = 0; seed < 10; seed++) {
+            for (boolean graph : new boolean[]{false, true}) {
+                long[] ref = solveIncremental(seed, graph, true, Cumulative.Filter.NAIVETIME);
+                long[] inc = solveIncremental(seed, graph, true, Cumulative.Filter.TIME);
+                Assert.assertEquals(inc[0], ref[0], "seed: " + seed);
+                Assert.assertTrue(inc[1] <= ref[1], "seed: " + seed);
+                // variable heights and capacity
+                ref = solveIncremental(seed, graph, false, Cumulative.Filter.HEIGHTS, Cumulative.Filter.SWEEP);
+                inc = solveIncremental(seed, graph, false, Cumulative.Filter.TIME);
+                Assert.assertEquals(inc[0], ref[0], "seed: " + seed);
+            }
+        }
+    }
+
+    private static long solveLCG(long seed, boolean lcg, boolean disjunctive, Cumulative.Filter... filters) {
+        java.util.Random rnd = new java.util.Random(seed);
+        Model model = new Model(Settings.init().setLCG(lcg));
+        int n = 4;
+        Task[] t = new Task[n];
+        IntVar[] h = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            int est = rnd.nextInt(6);
+            // a mix of eagerly and lazily encoded variables
+            boolean bounded = rnd.nextBoolean();
+            IntVar s = model.intVar("s" + i, est, est + 1 + rnd.nextInt(4), bounded);
+            if (bounded) {
+                IntVar d = model.intVar("d" + i, 1 + rnd.nextInt(2), 2 + rnd.nextInt(2), true);
+                t[i] = new Task(s, d, model.intVar("e" + i, 0, 20, true));
+            } else {
+                int d = 1 + rnd.nextInt(3);
+                t[i] = new Task(s, model.intVar(d), model.offset(s, d));
+            }
+            h[i] = disjunctive ? model.intVar(1) : model.intVar("h" + i, 1, 1 + rnd.nextInt(2));
+        }
+        IntVar capa = disjunctive ? model.intVar(1) : model.intVar("c", 2, 3);
+        Constraint c = model.cumulative(t, h, capa, rnd.nextBoolean(), filters);
+        // with LCG, the constraint is decomposed when a filter does not explain its filtering
+        boolean explained = !lcg || Arrays.stream(filters).map(f -> f.make(n)).allMatch(CumulFilter::isExplained);
+        Assert.assertEquals(c instanceof Cumulative, explained);
+        c.post();
+        Solver solver = model.getSolver();
+        solver.setSearch(randomSearch(model.retrieveIntVars(true), seed));
+        return solver.streamSolutions().count();
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testLCG() {
+        Cumulative.Filter[][] filters = new Cumulative.Filter[][]{
+                {Cumulative.Filter.TIME},
+                {Cumulative.Filter.SWEEP},
+                {Cumulative.Filter.HEIGHTS, Cumulative.Filter.SWEEP},
+                {Cumulative.Filter.DEFAULT},
+                {Cumulative.Filter.TIME, Cumulative.Filter.NRJ},
+        };
+        for (long seed = 0; seed < 8; seed++) {
+            for (Cumulative.Filter[] f : filters) {
+                Assert.assertEquals(solveLCG(seed, true, false, f), solveLCG(seed, false, false, f),
+                        "seed: " + seed + ", filters: " + Arrays.toString(f));
+            }
+            Assert.assertEquals(
+                    solveLCG(seed, true, true, Cumulative.Filter.TIME, Cumulative.Filter.DISJUNCTIVE_TASK_INTERVAL),
+                    solveLCG(seed, false, true, Cumulative.Filter.TIME, Cumulative.Filter.DISJUNCTIVE_TASK_INTERVAL),
+                    "seed: " + seed);
+        }
+    }
+
+    private static long[] solveRCPSP(long seed, boolean decomposition) {
+        java.util.Random rnd = new java.util.Random(seed);
+        Model model = new Model(Settings.init().setLCG(true));
+        int n = 10;
+        int horizon = 60;
+        Task[] t = new Task[n];
+        IntVar[] s = new IntVar[n];
+        IntVar[] e = new IntVar[n];
+        IntVar[] h = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            int d = 1 + rnd.nextInt(6);
+            s[i] = model.intVar("s" + i, 0, horizon);
+            e[i] = model.intVar("e" + i, 0, horizon + d);
+            t[i] = new Task(s[i], model.intVar(d), e[i]);
+            h[i] = model.intVar(1 + rnd.nextInt(3));
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (rnd.nextInt(8) == 0) {
+                    model.arithm(e[i], "<=", s[j]).post();
+                }
+            }
+        }
+        IntVar capa = model.intVar(4);
+        if (decomposition) {
+            model.cumulativeDec(t, h, capa);
+        } else {
+            model.cumulative(t, h, capa).post();
+        }
+        IntVar makespan = model.intVar("makespan", 0, horizon + 10);
+        model.max(makespan, e).post();
+        model.setObjective(Model.MINIMIZE, makespan);
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.inputOrderLBSearch(s));
+        while (solver.solve()) ;
+        return new long[]{solver.getBestSolutionValue().longValue(), solver.getFailCount()};
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testLCGFailsVsDecomposition() {
+        long fails = 0, decFails = 0;
+        for (long seed = 0; seed < 8; seed++) {
+            long[] cumul = solveRCPSP(seed, false);
+            long[] dec = solveRCPSP(seed, true);
+            Assert.assertEquals(cumul[0], dec[0], "seed: " + seed);
+            fails += cumul[1];
+            decFails += dec[1];
+        }
+        // the default filter only learns explained clauses, so it should not learn worse than the decomposition
+        Assert.assertTrue(fails <= decFails * 5 / 4, fails + " fails vs. " + decFails);
+    }
 }
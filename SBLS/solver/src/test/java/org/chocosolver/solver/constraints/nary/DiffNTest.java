@@ -11,6 +11,8 @@ package org.chocosolver.solver.constraints.nary;
 
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.tools.ArrayUtils;
@@ -18,6 +20,8 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Random;
+
 /**
  * <br/>
  *
@@ -85,4 +89,92 @@ public class DiffNTest {
         Assert.assertEquals(model.getSolver().getSolutionCount(), 1);
     }
 
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandom() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 30; seed++) {
+            rnd.setSeed(seed);
+            int n = 3 + rnd.nextInt(3);
+            int k = 2 + rnd.nextInt(2);
+            int size = k == 2 ? 3 : 2;
+            int[][] l = new int[n][k];
+            for (int i = 0; i < n; i++) {
+                for (int d = 0; d < k; d++) {
+                    l[i][d] = 1 + rnd.nextInt(2);
+                }
+            }
+            Assert.assertEquals(solveRandom(l, size, false), solveRandom(l, size, true), "seed " + seed);
+        }
+    }
+
+    private long solveRandom(int[][] l, int size, boolean sweep) {
+        int n = l.length;
+        int k = l[0].length;
+        Model model = new Model();
+        IntVar[][] x = new IntVar[n][k];
+        for (int i = 0; i < n; i++) {
+            for (int d = 0; d < k; d++) {
+                x[i][d] = model.intVar("x_" + i + "_" + d, 0, size - l[i][d]);
+            }
+        }
+        if (sweep) {
+            model.diffN(x, l).post();
+        } else {
+            // pairwise decomposition
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    Constraint[] cs = new Constraint[2 * k];
+                    for (int d = 0; d < k; d++) {
+                        cs[2 * d] = model.arithm(x[i][d], "+", model.intVar(l[i][d]), "<=", x[j][d]);
+                        cs[2 * d + 1] = model.arithm(x[j][d], "+", model.intVar(l[j][d]), "<=", x[i][d]);
+                    }
+                    model.or(cs).post();
+                }
+            }
+        }
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.randomSearch(ArrayUtils.flatten(x), 0));
+        while (solver.solve()) ;
+        return solver.getSolutionCount();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEdgeFinding() throws ContradictionException {
+        // three unit squares within [0,2) on x, and a 1x2 rectangle that fills the height:
+        // the latter cannot start before x = 2, whereas no forbidden region can tell it.
+        // The same holds, mirrored, for the four last rectangles
+        Model model = new Model();
+        IntVar[][] x = new IntVar[8][];
+        int[][] l = new int[8][];
+        for (int i = 0; i < 3; i++) {
+            x[i] = new IntVar[]{model.intVar("x_" + i, 0, 1), model.intVar("y_" + i, 0, 1)};
+            x[4 + i] = new IntVar[]{model.intVar("x_" + (4 + i), 8, 9), model.intVar("y_" + (4 + i), 0, 1)};
+            l[i] = l[4 + i] = new int[]{1, 1};
+        }
+        x[3] = new IntVar[]{model.intVar("x_3", 0, 5), model.intVar("y_3", 0)};
+        x[7] = new IntVar[]{model.intVar("x_7", 4, 9), model.intVar("y_7", 0)};
+        l[3] = l[7] = new int[]{1, 2};
+        model.diffN(x, l).post();
+        model.getSolver().propagate();
+        Assert.assertEquals(x[3][0].getLB(), 2);
+        Assert.assertEquals(x[7][0].getUB(), 7);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLarge() {
+        // 2000 unit squares in a 40x50 grid: the overload checking must detect that one more does not fit
+        int n = 2001;
+        Model model = new Model();
+        IntVar[][] x = new IntVar[n][2];
+        int[][] w = new int[n][2];
+        for (int i = 0; i < n; i++) {
+            x[i][0] = model.intVar("x_" + i, 0, 39);
+            x[i][1] = model.intVar("y_" + i, 0, 49);
+            w[i][0] = 1;
+            w[i][1] = 1;
+        }
+        model.diffN(x, w).post();
+        Assert.assertFalse(model.getSolver().solve());
+    }
 }
\ No newline at end of file
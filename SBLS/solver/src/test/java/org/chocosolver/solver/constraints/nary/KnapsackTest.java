@@ -9,18 +9,27 @@
  */
 package org.chocosolver.solver.constraints.nary;
 
+import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.ConstraintsName;
+import org.chocosolver.solver.constraints.nary.knapsack.PropKnapsackDP;
+import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.selectors.values.IntDomainBest;
 import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMax;
 import org.chocosolver.solver.search.strategy.selectors.variables.Largest;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.tools.MathUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+
 /**
  * @author Jean-Guillaume FAGES (cosling)
  * @since 05/04/2017.
@@ -128,4 +137,132 @@ public class KnapsackTest {
         }
 
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDPArcConsistency() throws ContradictionException {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 200; seed++) {
+            rnd.setSeed(seed);
+            int n = 4 + rnd.nextInt(7);
+            int[] ws = new int[n];
+            int[] es = new int[n];
+            for (int i = 0; i < n; i++) {
+                ws[i] = rnd.nextInt(15);
+                es[i] = rnd.nextInt(15);
+            }
+            Model m = new Model();
+            BoolVar[] occs = m.boolVarArray("o", n);
+            IntVar capa = m.intVar("capa", rnd.nextInt(20), 20 + rnd.nextInt(20));
+            IntVar power = m.intVar("power", rnd.nextInt(50), 999);
+            m.post(new Constraint(ConstraintsName.KNAPSACK, new PropKnapsackDP(occs, capa, power, ws, es)));
+            for (int i = 0; i < n; i++) {
+                if (rnd.nextInt(4) == 0) {
+                    occs[i].instantiateTo(rnd.nextInt(2), Cause.Null);
+                }
+            }
+            // supports, by enumeration
+            boolean[][] supported = new boolean[n][2];
+            boolean any = false;
+            for (int s = 0; s < 1 << n; s++) {
+                int w = 0, e = 0;
+                boolean ok = true;
+                for (int i = 0; i < n && ok; i++) {
+                    int v = (s >> i) & 1;
+                    ok = occs[i].contains(v);
+                    w += v * ws[i];
+                    e += v * es[i];
+                }
+                if (ok && capa.getLB() <= w && w <= capa.getUB() && e >= power.getLB()) {
+                    any = true;
+                    for (int i = 0; i < n; i++) {
+                        supported[i][(s >> i) & 1] = true;
+                    }
+                }
+            }
+            try {
+                m.getSolver().propagate();
+                Assert.assertTrue(any, "seed " + seed);
+                for (int i = 0; i < n; i++) {
+                    for (int v = 0; v < 2; v++) {
+                        Assert.assertEquals(occs[i].contains(v), supported[i][v], "seed " + seed);
+                    }
+                }
+            } catch (ContradictionException e) {
+                Assert.assertFalse(any, "seed " + seed);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDPRandom() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 20; seed++) {
+            rnd.setSeed(seed);
+            int n = 8 + rnd.nextInt(5);
+            int[] ws = new int[n];
+            int[] es = new int[n];
+            for (int i = 0; i < n; i++) {
+                ws[i] = 1 + rnd.nextInt(20);
+                es[i] = 1 + rnd.nextInt(20);
+            }
+            int[] ubs = new int[n];
+            for (int i = 0; i < n; i++) {
+                ubs[i] = 1 + rnd.nextInt(3);
+            }
+            int c = 30 + rnd.nextInt(30);
+            long[] counts = new long[2];
+            for (int k = 0; k < 2; k++) {
+                Model m = new Model();
+                IntVar[] occs = new IntVar[n];
+                for (int i = 0; i < n; i++) {
+                    occs[i] = m.intVar("o" + i, 0, ubs[i]);
+                }
+                IntVar capa = m.intVar("capa", 0, c);
+                IntVar power = m.intVar("power", 40, 999);
+                m.scalar(occs, ws, "=", capa).post();
+                m.scalar(occs, es, "=", power).post();
+                if (k == 1) {
+                    m.post(new Constraint(ConstraintsName.KNAPSACK, new PropKnapsackDP(occs, capa, power, ws, es)));
+                }
+                Solver s = m.getSolver();
+                s.setSearch(Search.randomSearch(occs, seed));
+                while (s.solve()) ;
+                counts[k] = s.getSolutionCount();
+            }
+            Assert.assertEquals(counts[1], counts[0], "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDPBacktrack() throws ContradictionException {
+        Model m = new Model();
+        BoolVar[] occs = m.boolVarArray("o", 4);
+        IntVar capa = m.intVar("capa", 0, 10);
+        IntVar power = m.intVar("power", 0, 999);
+        PropKnapsackDP dp = new PropKnapsackDP(occs, capa, power, new int[]{3, 4, 5, 6}, new int[]{2, 3, 4, 5});
+        m.post(new Constraint(ConstraintsName.KNAPSACK, dp));
+        m.getEnvironment().worldPush();
+        dp.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+        Assert.assertEquals(power.getUB(), 8);
+        // filters nothing
+        dp.propagate(PropagatorEventType.CUSTOM_PROPAGATION.getMask());
+        m.getEnvironment().worldPop();
+        Assert.assertEquals(power.getUB(), 999);
+        dp.propagate(PropagatorEventType.CUSTOM_PROPAGATION.getMask());
+        Assert.assertEquals(power.getUB(), 8);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDPOptIn() {
+        int[] ws = {3, 4, 5, 6};
+        int[] es = {2, 3, 4, 5};
+        for (boolean dp : new boolean[]{false, true}) {
+            Model m = new Model();
+            BoolVar[] occs = m.boolVarArray("o", 4);
+            IntVar capa = m.intVar("capa", 0, 10);
+            IntVar power = m.intVar("power", 0, 999);
+            Constraint c = m.knapsack(occs, capa, power, ws, es, dp);
+            Assert.assertEquals(Arrays.stream(c.getPropagators()).anyMatch(p -> p instanceof PropKnapsackDP), dp);
+        }
+    }
 }
@@ -12,6 +12,8 @@ package org.chocosolver.solver.constraints.nary;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.nary.automata.FA.FiniteAutomaton;
 import org.chocosolver.solver.constraints.nary.automata.FA.ICostAutomaton;
+import org.chocosolver.solver.constraints.nary.automata.PropMultiCostRegular;
+import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.variables.IntVar;
 import org.testng.annotations.Test;
 
@@ -29,6 +31,10 @@ import static org.testng.Assert.assertEquals;
 public class MultiCostRegularTest {
 
     private Model make(int period, long seed) {
+        return make(period, seed, PropMultiCostRegular.MAXBOUNDITER);
+    }
+
+    private Model make(int period, long seed, int lagrangianIterations) {
 
         Model model = new Model();
         IntVar[] sequence = model.intVarArray("x", period, 0, 2, false);
@@ -77,7 +83,7 @@ public class MultiCostRegularTest {
             }
         }
         ICostAutomaton costAutomaton = makeMultiResources(auto, costMatrix, bounds);
-        model.multiCostRegular(sequence, bounds, costAutomaton).post();
+        model.multiCostRegular(sequence, bounds, costAutomaton, 1e-4d, lagrangianIterations).post();
 //        solver.set(StrategyFactory.presetI(ArrayUtils.append(sequence, bounds), solver.getEnvironment()));
         model.getSolver().setSearch(randomSearch(append(sequence, bounds), seed));
         return model;
@@ -133,4 +139,20 @@ public class MultiCostRegularTest {
             assertEquals(model.getSolver().getSolutionCount(), 85, "seed:" + (seed + i));
         }
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLagrangianIterations() {
+        for (int i = 0; i < 20; i++) {
+            for (int iterations : new int[]{1, 3, 2 * PropMultiCostRegular.MAXBOUNDITER}) {
+                Model model = make(14, i, iterations);
+                while (model.getSolver().solve()) ;
+                assertEquals(model.getSolver().getSolutionCount(), 141, "seed:" + i);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testLagrangianIterationsNegative() {
+        make(7, 0, 0);
+    }
 }
@@ -16,6 +16,7 @@ import org.chocosolver.solver.variables.IntVar;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Random;
 import java.util.stream.IntStream;
 
 /**
@@ -255,4 +256,60 @@ public class NetworkflowTest {
         }
         Assert.assertEquals(solver.getSolutionCount(), 2);
     }
+
+    private static long[] solveTransport(long seed, boolean propagator) {
+        Random rnd = new Random(seed);
+        int ns = 2 + rnd.nextInt(2), nd = 2 + rnd.nextInt(2);
+        int[] supplies = new int[ns + nd];
+        int total = 0;
+        for (int i = 0; i < ns; i++) {
+            supplies[i] = 1 + rnd.nextInt(3);
+            total += supplies[i];
+        }
+        for (int j = 0; j < nd - 1; j++) {
+            supplies[ns + j] = -rnd.nextInt(total + 1);
+            total += supplies[ns + j];
+        }
+        supplies[ns + nd - 1] = -total;
+        int m = ns * nd;
+        int[] starts = new int[m];
+        int[] ends = new int[m];
+        int[] costs = new int[m];
+        Model model = new Model();
+        IntVar[] flow = new IntVar[m];
+        for (int i = 0, k = 0; i < ns; i++) {
+            for (int j = 0; j < nd; j++, k++) {
+                starts[k] = i;
+                ends[k] = ns + j;
+                costs[k] = rnd.nextInt(5);
+                flow[k] = model.intVar("f" + k, 0, 2 + rnd.nextInt(3));
+            }
+        }
+        IntVar cost = model.intVar("cost", 0, 12);
+        if (propagator) {
+            model.costFlow(starts, ends, supplies, costs, flow, cost, 0);
+        } else {
+            model.scalar(flow, costs, "=", cost).post();
+            for (int v = 0; v < ns + nd; v++) {
+                int fv = v;
+                IntVar[] out = IntStream.range(0, m).filter(k -> starts[k] == fv).mapToObj(k -> flow[k]).toArray(IntVar[]::new);
+                IntVar[] in = IntStream.range(0, m).filter(k -> ends[k] == fv).mapToObj(k -> flow[k]).toArray(IntVar[]::new);
+                model.sum(out, "=", model.offset(model.sum("in" + v, in.length == 0 ? new IntVar[]{model.intVar(0)} : in), supplies[v])).post();
+            }
+        }
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.randomSearch(flow, seed));
+        long sols = solver.streamSolutions().count();
+        return new long[]{sols, solver.getNodeCount()};
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNFCRandom() {
+        for (long seed = 0; seed < 100; seed++) {
+            long[] ref = solveTransport(seed, false);
+            long[] mcf = solveTransport(seed, true);
+            Assert.assertEquals(mcf[0], ref[0], "seed: " + seed);
+            Assert.assertTrue(mcf[1] <= ref[1], "seed: " + seed);
+        }
+    }
 }
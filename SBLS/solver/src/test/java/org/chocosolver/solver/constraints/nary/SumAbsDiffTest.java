@@ -0,0 +1,123 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.tools.ArrayUtils;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class SumAbsDiffTest {
+
+    @DataProvider(name = "ops")
+    public Object[][] ops() {
+        return new Object[][]{{"="}, {"!="}, {"<"}, {"<="}, {">"}, {">="}};
+    }
+
+    private static long count(int n, int seed, String op, boolean decomp, boolean bounded) {
+        Random rnd = new Random(seed);
+        Model model = new Model();
+        IntVar[] x = new IntVar[n];
+        IntVar[] y = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            int l = rnd.nextInt(5) - 2;
+            x[i] = model.intVar("x" + i, l, l + rnd.nextInt(4), bounded);
+            l = rnd.nextInt(5) - 2;
+            y[i] = model.intVar("y" + i, l, l + rnd.nextInt(4), bounded);
+        }
+        // share a variable between two pairs
+        y[n - 1] = x[0];
+        IntVar t = model.intVar("t", 0, 4 * n, bounded);
+        if (decomp) {
+            IntVar[] d = new IntVar[n];
+            for (int i = 0; i < n; i++) {
+                d[i] = x[i].dist(y[i]).intVar();
+            }
+            model.sum(d, op, t).post();
+        } else {
+            model.sumAbsDiff(x, y, op, t).post();
+        }
+        model.getSolver().setSearch(Search.inputOrderLBSearch(ArrayUtils.append(x, y, new IntVar[]{t})));
+        return model.getSolver().streamSolutions().count();
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "ops")
+    public void testCompareToDecomposition(String op) {
+        for (int seed = 0; seed < 20; seed++) {
+            for (boolean bounded : new boolean[]{true, false}) {
+                Assert.assertEquals(count(3, seed, op, false, bounded), count(3, seed, op, true, bounded),
+                        "seed: " + seed + ", bounded: " + bounded);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFilterUpper() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 2);
+        IntVar y = model.intVar("y", 5, 7);
+        IntVar z = model.intVar("z", 0, 10);
+        IntVar w = model.intVar("w", 0, 10);
+        IntVar t = model.intVar("t", 0, 3);
+        model.sumAbsDiff(new IntVar[]{x, z}, new IntVar[]{y, w}, "<=", t).post();
+        model.getSolver().propagate();
+        Assert.assertTrue(x.isInstantiatedTo(2));
+        Assert.assertTrue(y.isInstantiatedTo(5));
+        Assert.assertTrue(t.isInstantiatedTo(3));
+        Assert.assertEquals(z.getUB(), 10);
+        model.getEnvironment().worldPush();
+        z.instantiateTo(4, Cause.Null);
+        model.getSolver().propagate();
+        Assert.assertTrue(w.isInstantiatedTo(4));
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(w.getLB(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFilterLower() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10);
+        IntVar y = model.intVar("y", 5);
+        IntVar t = model.intVar("t", 3, 4);
+        model.sumAbsDiff(new IntVar[]{x}, new IntVar[]{y}, "=", t).post();
+        model.getSolver().propagate();
+        Assert.assertEquals(x.getLB(), 1);
+        Assert.assertEquals(x.getUB(), 9);
+        Assert.assertFalse(x.contains(3));
+        Assert.assertFalse(x.contains(5));
+        Assert.assertFalse(x.contains(7));
+        Assert.assertEquals(x.getDomainSize(), 4);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEntailment() {
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 3, 0, 2);
+        IntVar[] y = model.intVarArray("y", 3, 4, 5);
+        Assert.assertEquals(model.sumAbsDiff(x, y, "<=", model.intVar(5)).isSatisfied(), ESat.FALSE);
+        Assert.assertEquals(model.sumAbsDiff(x, y, "<=", model.intVar(15)).isSatisfied(), ESat.TRUE);
+        Assert.assertEquals(model.sumAbsDiff(x, y, "=", model.intVar(8)).isSatisfied(), ESat.UNDEFINED);
+    }
+}
@@ -16,6 +16,7 @@ package org.chocosolver.solver.constraints.nary;
 
 import org.chocosolver.solver.*;
 import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.ConstraintsName;
 import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.constraints.extension.TuplesFactory;
 import org.chocosolver.solver.constraints.extension.hybrid.HybridTuples;
@@ -964,4 +965,82 @@ public class TableTest {
         }
     }
 
-}
\ No newline at end of file
+    private static long solveLCG(long seed, boolean lcg, String algo, boolean star) {
+        Random rnd = new Random(seed);
+        Model model = new Model(Settings.init().setLCG(lcg));
+        // a mix of eagerly and lazily encoded variables
+        IntVar[] vars = new IntVar[]{
+                model.intVar("x0", 0, 4, true),
+                model.intVar("x1", new int[]{-1, 1, 2, 5}),
+                model.boolVar("x2"),
+                model.intVar("x3", 0, 4, false),
+                model.intVar("x4", 1, 5, false)
+        };
+        IntVar[][] scopes = {{vars[0], vars[1], vars[2], vars[3]}, {vars[2], vars[3], vars[4], vars[0]}};
+        postRandomTables(rnd, scopes, algo, star);
+        model.getSolver().setSearch(randomSearch(vars, seed));
+        return model.getSolver().streamSolutions().count();
+    }
+
+    private static long solveLCGEager(long seed, boolean lcg, String algo, boolean star) {
+        Random rnd = new Random(seed);
+        Model model = new Model(Settings.init().setLCG(lcg));
+        // only eagerly encoded variables, so removals made by tables are explained lazily
+        IntVar[] vars = new IntVar[]{
+                model.intVar("x0", 0, 4, false),
+                model.intVar("x1", new int[]{-1, 1, 2, 5}),
+                model.boolVar("x2"),
+                model.intVar("x3", 0, 4, false),
+                model.intVar("x4", 1, 5, false)
+        };
+        IntVar[][] scopes = {{vars[0], vars[1], vars[2], vars[3]}, {vars[2], vars[3], vars[4], vars[0]},
+                {vars[4], vars[1], vars[3], vars[2]}};
+        postRandomTables(rnd, scopes, algo, star);
+        model.getSolver().setSearch(randomSearch(vars, seed));
+        return model.getSolver().streamSolutions().count();
+    }
+
+    private static void postRandomTables(Random rnd, IntVar[][] scopes, String algo, boolean star) {
+        int ST = -9;
+        for (IntVar[] scope : scopes) {
+            Tuples tuples = new Tuples(true);
+            if (star) {
+                tuples.setUniversalValue(ST);
+            }
+            for (int t = 0; t < 25; t++) {
+                int[] tuple = new int[scope.length];
+                for (int i = 0; i < scope.length; i++) {
+                    if (star && rnd.nextInt(6) == 0) {
+                        tuple[i] = ST;
+                    } else { // may be out of the domain
+                        tuple[i] = scope[i].getLB() + rnd.nextInt(scope[i].getUB() - scope[i].getLB() + 2);
+                    }
+                }
+                tuples.add(tuple);
+            }
+            Constraint c = scope[0].getModel().table(scope, tuples, algo);
+            Assert.assertEquals(c.getName(), ConstraintsName.TABLE);
+            c.post();
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "starred")
+    public void testLCG(String algo) {
+        for (long seed = 0; seed < 20; seed++) {
+            for (boolean star : new boolean[]{false, true}) {
+                Assert.assertEquals(solveLCG(seed, true, algo, star), solveLCG(seed, false, algo, star),
+                        "seed: " + seed + ", star: " + star);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "starred")
+    public void testLCGLazyReasons(String algo) {
+        for (long seed = 0; seed < 20; seed++) {
+            for (boolean star : new boolean[]{false, true}) {
+                Assert.assertEquals(solveLCGEager(seed, true, algo, star), solveLCGEager(seed, false, algo, star),
+                        "seed: " + seed + ", star: " + star);
+            }
+        }
+    }
+}
@@ -672,4 +672,66 @@ public class ExpressionTest {
         yvar.eq(xvar.pow(3)).post();
         Assert.assertTrue(model.getSolver().solve());
     }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "post")
+    public void testLinearFlattening1(int p) {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        IntVar z = model.intVar("z", 0, 5);
+        int nbsol = 0;
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 6; j++) {
+                for (int k = 0; k < 6; k++) {
+                    if (3 * i + j - (2 * k + 1) == 4) nbsol++;
+                }
+            }
+        }
+        eval(model, x.mul(3).add(y).sub(z.mul(2).add(1)).eq(4), p, nbsol);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLinearFlattening2() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        IntVar z = model.intVar("z", 0, 5);
+        x.mul(3).add(y).sub(z.mul(2).add(1)).eq(4).decompose().post();
+        // no intermediate variable (but the constant), a single scalar constraint
+        Assert.assertEquals(model.getNbVars(), 4);
+        Assert.assertEquals(model.getNbCstrs(), 1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testLinearFlattening3() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        IntVar z = model.intVar("z", 0, 5);
+        IntVar s = x.add(y).sub(z).add(x.neg().mul(2)).intVar();
+        // only one intermediate variable (and the constant), a single scalar constraint
+        Assert.assertEquals(model.getNbVars(), 5);
+        Assert.assertEquals(model.getNbCstrs(), 1);
+        Assert.assertEquals(s.getLB(), -10);
+        Assert.assertEquals(s.getUB(), 5);
+        Assert.assertEquals(model.getSolver().streamSolutions().count(), 216);
+        model.getSolver().reset();
+        model.getSolver().findAllSolutions().forEach(sol ->
+                Assert.assertEquals(sol.getIntVal(s),
+                        -sol.getIntVal(x) + sol.getIntVal(y) - sol.getIntVal(z)));
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "post")
+    public void testLinearFlattening4(int p) {
+        Model model = new Model();
+        IntVar x = model.intVar("x", -2, 2);
+        IntVar y = model.intVar("y", -2, 2);
+        int nbsol = 0;
+        for (int i = -2; i < 3; i++) {
+            for (int j = -2; j < 3; j++) {
+                if (i * j + 2 * i - j <= 1) nbsol++;
+            }
+        }
+        eval(model, x.mul(y).add(x.mul(2)).sub(y).le(1), p, nbsol);
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class DominanceIndexTest {
+
+    @DataProvider
+    public Object[][] dims() {
+        return new Object[][]{{2}, {3}, {5}};
+    }
+
+    private static boolean below(int[] a, int[] b) {
+        for (int j = 0; j < a.length; j++) {
+            if (a[j] > b[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The tightest point computed by scanning the front, as ParetoMaximizer used to do
+     */
+    private static int tightest(List<int[]> front, int[] b, int i) {
+        int tightest = Integer.MIN_VALUE;
+        for (int[] a : front) {
+            int dominates = 0;
+            for (int j = 0; j < a.length && dominates >= 0; j++) {
+                if (a[j] < b[j]) {
+                    dominates = -1;
+                } else if (a[j] > b[j]) {
+                    if (dominates == 0) dominates = 1;
+                    if (j != i) dominates = 2;
+                }
+            }
+            if (dominates > 0) {
+                tightest = Math.max(tightest, dominates == 1 ? a[i] : a[i] + 1);
+            }
+        }
+        return tightest;
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "dims")
+    public void testAgainstScan(int m) {
+        Random rnd = new Random(m);
+        DominanceIndex<int[]> index = new DominanceIndex<>(m);
+        List<int[]> front = new ArrayList<>();
+        for (int k = 0; k < 3000; k++) {
+            int[] v = new int[m];
+            for (int j = 0; j < m; j++) {
+                v[j] = rnd.nextInt(100);
+            }
+            if (front.stream().anyMatch(a -> below(v, a) && !below(a, v))) {
+                continue;
+            }
+            List<int[]> removed = new ArrayList<>();
+            index.removeDominatedBy(v, removed::add);
+            int before = front.size();
+            front.removeIf(a -> below(a, v));
+            Assert.assertEquals(removed.size(), before - front.size());
+            for (int[] r : removed) {
+                Assert.assertTrue(below(r, v));
+            }
+            index.add(v, v);
+            front.add(v);
+            Assert.assertEquals(index.size(), front.size());
+            int[] b = new int[m];
+            for (int j = 0; j < m; j++) {
+                b[j] = rnd.nextInt(100);
+            }
+            for (int i = 0; i < m; i++) {
+                Assert.assertEquals(index.tightest(b, i), tightest(front, b, i));
+            }
+        }
+        List<int[]> all = new ArrayList<>();
+        index.forEach(all::add);
+        Assert.assertEquals(all, front);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTightest() {
+        DominanceIndex<String> index = new DominanceIndex<>(2);
+        Assert.assertEquals(index.tightest(new int[]{0, 0}, 0), Integer.MIN_VALUE);
+        index.add(new int[]{5, 1}, "a");
+        index.add(new int[]{2, 4}, "b");
+        // (5,1) only differs from (3,1) on the first objective
+        Assert.assertEquals(index.tightest(new int[]{3, 1}, 0), 5);
+        // (5,1) and (2,4) both dominate (1,1)
+        Assert.assertEquals(index.tightest(new int[]{1, 1}, 0), 5);
+        Assert.assertEquals(index.tightest(new int[]{1, 1}, 1), 5);
+        Assert.assertEquals(index.tightest(new int[]{1, 0}, 0), 6);
+        // equal points do not dominate
+        Assert.assertEquals(index.tightest(new int[]{5, 1}, 0), Integer.MIN_VALUE);
+        List<String> removed = new ArrayList<>();
+        index.removeDominatedBy(new int[]{5, 4}, removed::add);
+        Assert.assertEquals(removed.size(), 2);
+        Assert.assertTrue(index.isEmpty());
+    }
+}
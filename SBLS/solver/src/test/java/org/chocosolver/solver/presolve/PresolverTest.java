@@ -0,0 +1,153 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.presolve;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Settings;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.ConstraintsName;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class PresolverTest {
+
+    private static long nbCstrs(Model model, String name) {
+        return Arrays.stream(model.getCstrs()).map(Constraint::getName).filter(name::equals).count();
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNoPresolve() {
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 3, 0, 2);
+        model.arithm(x[0], "!=", x[1]).post();
+        model.arithm(x[0], "!=", x[2]).post();
+        model.arithm(x[1], "!=", x[2]).post();
+        Assert.assertEquals(model.getSolver().streamSolutions().count(), 6);
+        Assert.assertEquals(model.getNbCstrs(), 3);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNotEqualCliques() {
+        Model model = new Model(Settings.init().setPresolver(Presolver.defaults()));
+        IntVar[] x = model.intVarArray("x", 5, 0, 4);
+        for (int i = 0; i < 4; i++) {
+            for (int j = i + 1; j < 4; j++) {
+                model.arithm(x[i], "!=", x[j]).post();
+            }
+        }
+        // a pendant edge, not part of the clique
+        model.arithm(x[3], "!=", x[4]).post();
+        Assert.assertEquals(model.getSolver().streamSolutions().count(), 5 * 4 * 3 * 2 * 4);
+        Assert.assertEquals(nbCstrs(model, ConstraintsName.ALLDIFFERENT), 1);
+        Assert.assertEquals(nbCstrs(model, ConstraintsName.ARITHM), 1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNotEqualCliquesRandom() {
+        for (int seed = 0; seed < 20; seed++) {
+            long[] counts = new long[2];
+            for (int k = 0; k < 2; k++) {
+                Random rnd = new Random(seed);
+                Model model = new Model(Settings.init().setPresolver(k == 0 ? Presolver.none() : Presolver.defaults()));
+                IntVar[] x = model.intVarArray("x", 7, 0, 4);
+                for (int i = 0; i < 7; i++) {
+                    for (int j = i + 1; j < 7; j++) {
+                        if (rnd.nextInt(10) < 6) {
+                            model.arithm(x[i], "!=", x[j]).post();
+                        }
+                    }
+                }
+                counts[k] = model.getSolver().streamSolutions().count();
+            }
+            Assert.assertEquals(counts[1], counts[0], "seed: " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDuplicatedConstraints() {
+        Model model = new Model(Settings.init().setPresolver(Presolver.defaults()));
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        model.arithm(x, "<", y).post();
+        model.arithm(x, "<", y).post();
+        model.arithm(x, "<", y, "+", 1).post();
+        model.sum(new IntVar[]{x, y}, "<=", 7).post();
+        model.sum(new IntVar[]{x, y}, "<=", 7).post();
+        model.sum(new IntVar[]{x, y}, "<=", 6).post();
+        Assert.assertEquals(model.getSolver().streamSolutions().count(), 11);
+        Assert.assertEquals(model.getNbCstrs(), 4);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDuplicatedConstraintsDifferentConstants() {
+        long[] counts = new long[2];
+        for (int k = 0; k < 2; k++) {
+            Model model = new Model(Settings.init().setPresolver(
+                    k == 0 ? Presolver.none() : Presolver.none().add(new DuplicatedConstraintsRemoval())));
+            IntVar x = model.intVar("x", 0, 4);
+            IntVar y = model.intVar("y", 0, 4);
+            model.arithm(x, "+", y, "!=", 3).post();
+            model.arithm(x, "+", y, "!=", 5).post();
+            model.scalar(new IntVar[]{x, y}, new int[]{2, 3}, "!=", 6).post();
+            model.scalar(new IntVar[]{x, y}, new int[]{2, 3}, "!=", 8).post();
+            counts[k] = model.getSolver().streamSolutions().count();
+            Assert.assertEquals(model.getNbCstrs(), 4);
+        }
+        Assert.assertEquals(counts[1], counts[0]);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEntailedConstraints() {
+        Model model = new Model(Settings.init().setPresolver(Presolver.defaults()));
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar c = model.intVar("c", 3);
+        model.arithm(c, ">", 2).post();
+        model.arithm(c, "!=", model.intVar(4)).post();
+        model.arithm(x, "<", c).post();
+        model.arithm(x, ">", 0).reify();
+        Assert.assertEquals(model.getSolver().streamSolutions().count(), 3);
+        Assert.assertEquals(model.getNbCstrs(), 2);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testViolatedConstraintIsKept() {
+        Model model = new Model(Settings.init().setPresolver(Presolver.defaults()));
+        IntVar c = model.intVar("c", 3);
+        model.arithm(c, "<", 2).post();
+        Assert.assertFalse(model.getSolver().solve());
+        Assert.assertEquals(model.getNbCstrs(), 1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testUnconstrainedVariables() {
+        Model model = new Model(Settings.init().setPresolver(
+                Presolver.defaults().add(new UnconstrainedVariablesRemoval())));
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        model.intVar("z", 0, 5);
+        model.intView(-1, model.intVar("u", 0, 5), 0);
+        model.arithm(x, "<", y).post();
+        // z is dropped, u is kept since it has a view
+        Assert.assertEquals(model.getSolver().streamSolutions().count(), 15 * 6);
+        Assert.assertEquals(Arrays.stream(model.getVars()).filter(v -> v.getName().equals("z")).count(), 0);
+        Assert.assertEquals(Arrays.stream(model.getVars()).filter(v -> v.getName().equals("u")).count(), 1);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2025, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.BoolVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.chocosolver.util.ProblemMaker.makeNQueenWithOneAlldifferent;
+
+/**
+ * @author Charles Prud'homme
+ * @since 19/10/2026
+ */
+public class SearchTreeEstimatorTest {
+
+    private static Model queens() {
+        Model model = makeNQueenWithOneAlldifferent(8);
+        model.getSolver().setSearch(Search.inputOrderLBSearch(model.retrieveIntVars(false)));
+        return model;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCompleteBinaryTree() {
+        Model model = new Model();
+        BoolVar[] bs = model.boolVarArray(10);
+        model.getSolver().setSearch(Search.inputOrderLBSearch(bs));
+        SearchTreeEstimator.Estimate estimate = model.getSolver().estimateSearchTree(50, 0L);
+        // every probe sees the very same tree
+        Assert.assertEquals(estimate.getProbes(), 50);
+        Assert.assertEquals(estimate.getNodes(), (1 << 11) - 1, 1e-9);
+        Assert.assertEquals(estimate.getSolutions(), 1 << 10, 1e-9);
+        Assert.assertEquals(estimate.getNodesInterval(3)[1], estimate.getNodes(), 1e-9);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testQueens() {
+        Model model = queens();
+        SearchTreeEstimator.Estimate estimate = model.getSolver().estimateSearchTree(20000, 0L);
+        Assert.assertEquals(estimate.getProbes(), 20000);
+        double[] sols = estimate.getSolutionsInterval(4);
+        Assert.assertTrue(sols[0] <= 92 && 92 <= sols[1], estimate.toString());
+        // the solver can be solved afterwards
+        Solver solver = model.getSolver();
+        solver.reset();
+        while (solver.solve()) ;
+        Assert.assertEquals(solver.getSolutionCount(), 92);
+        double[] nodes = estimate.getNodesInterval(4);
+        // the nodes of the complete search tree: the ones opened by the solver, the root and the failing ones
+        long size = 1 + solver.getNodeCount() + solver.getFailCount();
+        Assert.assertTrue(nodes[0] <= size && size <= nodes[1], estimate + " vs " + size);
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testParallel() {
+        SearchTreeEstimator estimator = new SearchTreeEstimator(queens(), queens(), queens());
+        SearchTreeEstimator.Estimate estimate = estimator.estimate(30000, 0L);
+        Assert.assertEquals(estimate.getProbes(), 30000);
+        double[] sols = estimate.getSolutionsInterval(4);
+        Assert.assertTrue(sols[0] <= 92 && 92 <= sols[1], estimate.toString());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRootFailure() {
+        Model model = new Model();
+        BoolVar[] bs = model.boolVarArray(3);
+        model.sum(bs, ">", 3).post();
+        SearchTreeEstimator.Estimate estimate = model.getSolver().estimateSearchTree(10, 0L);
+        Assert.assertEquals(estimate.getProbes(), 1);
+        Assert.assertEquals(estimate.getNodes(), 1, 1e-9);
+        Assert.assertEquals(estimate.getSolutions(), 0, 1e-9);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testStarted() {
+        Model model = queens();
+        model.getSolver().solve();
+        Assert.assertThrows(SolverException.class, () -> model.getSolver().estimateSearchTree(10, 0L));
+    }
+}
@@ -16,6 +16,7 @@ import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.search.limits.BacktrackCounter;
 import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.lns.ParallelLNS;
 import org.chocosolver.solver.search.loop.lns.neighbors.*;
 import org.chocosolver.solver.search.loop.move.Move;
 import org.chocosolver.solver.search.loop.move.MoveBinaryDFS;
@@ -33,6 +34,8 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+
 import static java.lang.Math.ceil;
 import static org.chocosolver.solver.search.strategy.Search.domOverWDegSearch;
 import static org.chocosolver.solver.search.strategy.Search.lastConflict;
@@ -221,6 +224,163 @@ public class LNSTest {
         Assert.assertEquals(bw, 1092);
     }
 
+    private static Model knapsack20() {
+        int[] capacities = {99, 1101};
+        int[] volumes = {54, 12, 47, 33, 30, 65, 56, 57, 91, 88, 77, 99, 29, 23, 39, 86, 12, 85, 22, 64};
+        int[] energies = {38, 57, 69, 90, 79, 89, 28, 70, 38, 71, 46, 41, 49, 43, 36, 68, 92, 33, 84, 90};
+        Model model = new Model();
+        IntVar[] objects = new IntVar[volumes.length];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = model.intVar("o_" + (i + 1), 0, (int) ceil(capacities[1] * 1. / volumes[i]), true);
+        }
+        IntVar power = model.intVar("power", 0, 99999, true);
+        IntVar scalar = model.intVar("weight", capacities[0], capacities[1], true);
+        model.scalar(objects, volumes, "=", scalar).post();
+        model.scalar(objects, energies, "=", power).post();
+        model.knapsack(objects, scalar, power, volumes, energies).post();
+        model.setObjective(Model.MAXIMIZE, power);
+        model.getSolver().setSearch(lastConflict(domOverWDegSearch(objects)));
+        return model;
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testParallelLNS() {
+        Model first = knapsack20();
+        Assert.assertTrue(first.getSolver().solve());
+        int firstValue = ((IntVar) first.getObjective()).getValue();
+        ParallelLNS plns = new ParallelLNS();
+        for (int i = 0; i < 3; i++) {
+            Model model = knapsack20();
+            model.getSolver().limitNode(5000);
+            if (i == 0) {
+                plns.addWorker(model, new RandomNeighborhood(model.retrieveIntVars(false), 200, 123456L));
+            } else {
+                plns.addWorker(model);
+            }
+        }
+        Assert.assertTrue(plns.solve());
+        Solution best = plns.getBestSolution();
+        Model finder = plns.getBestModel();
+        int bestValue = best.getIntVal((IntVar) finder.getObjective());
+        Assert.assertTrue(bestValue > firstValue);
+        Assert.assertTrue(bestValue <= 8372);
+        for (Model model : plns.getModels()) {
+            // the solution can be read from any worker
+            Assert.assertEquals(best.getIntVal((IntVar) model.getObjective()), bestValue);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAdaptiveRelax() throws ContradictionException {
+        double[] ratios = {1., 1., 1.};
+        int[] called = new int[1];
+        INeighbor[] neighbors = new INeighbor[3];
+        for (int i = 0; i < 3; i++) {
+            int j = i;
+            neighbors[i] = new INeighbor() {
+                @Override
+                public void recordSolution() {
+                }
+
+                @Override
+                public void fixSomeVariables() {
+                    called[0] = j;
+                }
+
+                @Override
+                public void relax(double ratio) {
+                    ratios[j] *= ratio;
+                }
+
+                @Override
+                public void loadFromSolution(Solution solution) {
+                }
+            };
+        }
+        AdaptiveNeighborhood adaptive = new AdaptiveNeighborhood(0L, neighbors);
+        adaptive.loadFromSolution(null);
+        // the second neighbor finds a solution with each of its fragments, the third one never does
+        for (int k = 0; k < 100; k++) {
+            adaptive.fixSomeVariables();
+            if (called[0] == 1) {
+                adaptive.recordSolution();
+            }
+            adaptive.restrictLess();
+        }
+        Assert.assertTrue(adaptive.getSuccessRate(1) > .5);
+        Assert.assertTrue(adaptive.getSuccessRate(2) < .5);
+        // the successful neighbor relaxes less variables, the failing one relaxes more variables
+        Assert.assertTrue(ratios[1] < 1.);
+        Assert.assertTrue(ratios[2] > 1.);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testShareSolution() {
+        Model first = knapsack20();
+        Assert.assertTrue(first.getSolver().solve());
+        Solution sol = new Solution(first).record();
+        Model model = knapsack20();
+        IntVar[] objects = Arrays.stream(model.retrieveIntVars(false))
+                .filter(v -> v.getName().startsWith("o_")).toArray(IntVar[]::new);
+        int[] calls = new int[2];
+        Solver solver = model.getSolver();
+        solver.setLNS(new RandomNeighborhood(objects, 200, 0L) {
+            @Override
+            public void loadFromSolution(Solution solution) {
+                calls[0]++;
+                super.loadFromSolution(solution);
+            }
+
+            @Override
+            public void fixSomeVariables() throws ContradictionException {
+                calls[1]++;
+                super.fixSomeVariables();
+            }
+        });
+        ((MoveLNS) solver.getMove()).shareSolution(sol);
+        Assert.assertTrue(solver.solve());
+        // the first solution is found in a fragment of the shared one
+        Assert.assertEquals(calls[0], 1);
+        Assert.assertTrue(calls[1] > 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPropagationGuidedFragment() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 12, 0, 5);
+        model.sum(xs, "=", 25).post();
+        model.allDifferent(xs[0], xs[1], xs[2], xs[3], xs[4]).post();
+        // views are not observed, they should be checked nonetheless
+        IntVar[] vars = ArrayUtils.append(xs, new IntVar[]{
+                model.offset(xs[0], 2), model.neg(xs[5]), model.mul(xs[6], 3)});
+        Solver solver = model.getSolver();
+        PropagationGuidedNeighborhood pgn = new PropagationGuidedNeighborhood(vars, 4, 3, 0L);
+        pgn.init();
+        Assert.assertTrue(solver.solve());
+        pgn.recordSolution();
+        int[] values = new int[vars.length];
+        for (int i = 0; i < vars.length; i++) {
+            values[i] = vars[i].getValue();
+        }
+        solver.reset();
+        solver.propagate();
+        boolean relaxed = false;
+        for (int k = 0; k < 20; k++) {
+            model.getEnvironment().worldPush();
+            pgn.fixSomeVariables();
+            double logSum = 0.;
+            for (int i = 0; i < vars.length; i++) {
+                logSum += Math.log(vars[i].getDomainSize());
+                Assert.assertTrue(vars[i].contains(values[i]));
+            }
+            Assert.assertTrue(logSum <= 4 + 1e-6, "" + logSum);
+            relaxed |= logSum > 0.;
+            model.getEnvironment().worldPop();
+        }
+        // not all variables are frozen
+        Assert.assertTrue(relaxed);
+    }
+
     @Test(groups = "1s", timeOut = 60000)
     public void testPN1() {
         // Instance copied from meb-inst-18-09.eprime-param
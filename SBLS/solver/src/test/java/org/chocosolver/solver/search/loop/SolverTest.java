@@ -125,6 +125,20 @@ public class SolverTest {
         assertEquals(model.getSolver().getNodeCount(), 4542);
     }
 
+    @Test(groups = "10s", timeOut = 60000)
+    public void test1HBFSBounded() {
+        Model model = makeGolombRuler(8);
+        Solver r = model.getSolver();
+        r.setSearch(inputOrderLBSearch(model.retrieveIntVars(false)));
+        r.setHBFS(.05, .1, 32, 16);
+        int best = Integer.MAX_VALUE;
+        while (model.getSolver().solve()) {
+            best = ((IntVar) model.getObjective()).getValue();
+        }
+        assertEquals(best, 34);
+        Assert.assertTrue(model.getSolver().isObjectiveOptimal());
+    }
+
     @Test(groups = "1s", timeOut = 60000)
     public void test2DFS() {
         Model model = makeNQueenWithOneAlldifferent(8);
@@ -12,11 +12,15 @@ package org.chocosolver.util;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
+import org.chocosolver.util.tools.ArrayUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Random;
+
 import static org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram.Compact.*;
 
 /**
@@ -252,4 +256,39 @@ public class MDDTest {
         Assert.assertEquals(mdd.getDiagram(), new int[]{3, 11, 19, 0, 0, 6, 0, 0, -1, 0, 0, 0, 0, 14, 0, 0, -1, 0, 0, 22, 0, 0, 0, 0, -1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
     }
 
+    @Test(groups = "1s", timeOut = 60000)
+    public void testShare() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 20; seed++) {
+            rnd.setSeed(seed);
+            long[] counts = new long[2];
+            long[] nodes = new long[2];
+            for (int k = 0; k < 2; k++) {
+                Model model = new Model();
+                IntVar[][] vars = model.intVarMatrix("X", 3, 4, 0, 3);
+                Tuples tuples = new Tuples();
+                rnd.setSeed(seed);
+                for (int t = 0; t < 40; t++) {
+                    tuples.add(rnd.nextInt(4), rnd.nextInt(4), rnd.nextInt(4), rnd.nextInt(4));
+                }
+                for (int i = 0; i < 3; i++) {
+                    model.table(vars[i], tuples, k == 0 ? "CT+" : "MDD+").post();
+                }
+                model.allDifferent(vars[0][0], vars[1][1], vars[2][2]).post();
+                model.arithm(vars[0][3], "<", vars[2][0]).post();
+                if (k == 1) {
+                    Assert.assertSame(MultivaluedDecisionDiagram.share(vars[0], tuples),
+                            MultivaluedDecisionDiagram.share(vars[2], tuples));
+                }
+                Solver solver = model.getSolver();
+                solver.setSearch(Search.randomSearch(ArrayUtils.flatten(vars), seed));
+                while (solver.solve()) ;
+                counts[k] = solver.getSolutionCount();
+                nodes[k] = solver.getNodeCount();
+            }
+            Assert.assertEquals(counts[1], counts[0], "seed " + seed);
+            Assert.assertEquals(nodes[1], nodes[0], "seed " + seed);
+        }
+    }
+
 }